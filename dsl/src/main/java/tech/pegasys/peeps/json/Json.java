@@ -13,6 +13,7 @@
 package tech.pegasys.peeps.json;
 
 import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.DecodeException;
@@ -39,4 +40,8 @@ public class Json {
   public static <T> T decode(final Buffer buf, final Class<T> clazz) throws DecodeException {
     return DECODER.read(buf, clazz);
   }
+
+  public static <T> T convert(final JsonNode node, final Class<T> clazz) throws DecodeException {
+    return DECODER.convert(node, clazz);
+  }
 }
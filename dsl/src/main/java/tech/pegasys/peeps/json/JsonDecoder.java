@@ -15,6 +15,8 @@ package tech.pegasys.peeps.json;
 import java.io.IOException;
 import java.io.InputStream;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.netty.buffer.ByteBufInputStream;
 import io.vertx.core.buffer.Buffer;
@@ -35,4 +37,12 @@ public class JsonDecoder {
       throw new DecodeException("Failed to decode: " + e.getMessage(), e);
     }
   }
+
+  public <T> T convert(final JsonNode node, final Class<T> clazz) throws DecodeException {
+    try {
+      return mapper.treeToValue(node, clazz);
+    } catch (final JsonProcessingException e) {
+      throw new DecodeException("Failed to decode: " + e.getMessage(), e);
+    }
+  }
 }
@@ -0,0 +1,250 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.json.rpc;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import io.vertx.core.json.JsonObject;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Every request and response exchanged by the RPC clients of a test run, stored as gzipped JSON
+ * lines.
+ *
+ * <p>A recording cassette appends each exchange as it completes. A replaying cassette serves the
+ * recorded responses instead of any node, matching each request on the node, the request body
+ * (method and params) and how many times that same request was made before.
+ */
+public class Cassette {
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  public enum Mode {
+    RECORD,
+    REPLAY
+  }
+
+  public enum Timing {
+    /** Replayed responses take as long as the recorded exchanges did. */
+    PRESERVED,
+    /** Replayed responses are served immediately. */
+    COMPRESSED
+  }
+
+  private final Path file;
+  private final Mode mode;
+  private final Timing timing;
+  private final Map<String, AtomicInteger> sequences = new ConcurrentHashMap<>();
+  private final Map<String, List<Exchange>> recorded = new ConcurrentHashMap<>();
+
+  private Writer writer;
+
+  private Cassette(final Path file, final Mode mode, final Timing timing) {
+    this.file = file;
+    this.mode = mode;
+    this.timing = timing;
+  }
+
+  /** Records the exchanges to the file, replacing any previous recording. */
+  public static Cassette record(final Path file) {
+    final Cassette cassette = new Cassette(file, Mode.RECORD, Timing.PRESERVED);
+    try {
+      cassette.writer =
+          new BufferedWriter(
+              new OutputStreamWriter(
+                  new GZIPOutputStream(Files.newOutputStream(file)), StandardCharsets.UTF_8));
+    } catch (final IOException e) {
+      throw new UncheckedIOException("Failed creating cassette: " + file, e);
+    }
+    return cassette;
+  }
+
+  public static Cassette replay(final Path file, final Timing timing) {
+    final Cassette cassette = new Cassette(file, Mode.REPLAY, timing);
+    try (final BufferedReader reader =
+        new BufferedReader(
+            new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        final Exchange exchange = Exchange.decode(line);
+        final List<Exchange> exchanges =
+            cassette.recorded.computeIfAbsent(exchange.key(), key -> new ArrayList<>());
+        while (exchanges.size() <= exchange.sequence) {
+          exchanges.add(null);
+        }
+        exchanges.set(exchange.sequence, exchange);
+      }
+    } catch (final IOException e) {
+      throw new UncheckedIOException("Failed reading cassette: " + file, e);
+    }
+
+    LOG.info("Replaying {} distinct requests from cassette: {}", cassette.recorded.size(), file);
+    return cassette;
+  }
+
+  public Mode getMode() {
+    return mode;
+  }
+
+  public boolean isReplaying() {
+    return mode == Mode.REPLAY;
+  }
+
+  void record(
+      final String node,
+      final String uri,
+      final String request,
+      final String response,
+      final Duration latency) {
+    checkState(mode == Mode.RECORD, "Cassette is not recording");
+    final String key = Exchange.key(node, uri, request);
+    final Exchange exchange =
+        new Exchange(node, uri, request, nextSequence(key), response, latency.toNanos());
+
+    synchronized (this) {
+      checkState(writer != null, "Cassette is closed: %s", file);
+      try {
+        writer.write(exchange.encode());
+        writer.write('\n');
+      } catch (final IOException e) {
+        throw new UncheckedIOException("Failed writing to cassette: " + file, e);
+      }
+    }
+  }
+
+  /**
+   * Once a request has been made more often than it was recorded, the last recorded response is
+   * served again, as the node would most likely have still answered the same.
+   */
+  String replay(final String node, final String uri, final String request) {
+    checkState(mode == Mode.REPLAY, "Cassette is not replaying");
+    final String key = Exchange.key(node, uri, request);
+    final List<Exchange> exchanges = recorded.get(key);
+    checkState(
+        exchanges != null,
+        "No recorded response in %s for node: %s, request: %s",
+        file,
+        node,
+        request);
+
+    final int sequence = Math.min(nextSequence(key), exchanges.size() - 1);
+    final Exchange exchange = exchanges.get(sequence);
+    checkState(exchange != null, "Missing exchange %s in %s for: %s", sequence, file, request);
+
+    if (timing == Timing.PRESERVED) {
+      pause(exchange.latencyNanos);
+    }
+
+    return exchange.response;
+  }
+
+  public synchronized void close() {
+    if (writer != null) {
+      try {
+        writer.close();
+      } catch (final IOException e) {
+        throw new UncheckedIOException("Failed closing cassette: " + file, e);
+      } finally {
+        writer = null;
+      }
+    }
+  }
+
+  private int nextSequence(final String key) {
+    return sequences.computeIfAbsent(key, k -> new AtomicInteger()).getAndIncrement();
+  }
+
+  private static void pause(final long nanos) {
+    try {
+      Thread.sleep(nanos / 1_000_000, (int) (nanos % 1_000_000));
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted replaying response", e);
+    }
+  }
+
+  private static class Exchange {
+    private final String node;
+    private final String uri;
+    private final String request;
+    private final int sequence;
+    private final String response;
+    private final long latencyNanos;
+
+    Exchange(
+        final String node,
+        final String uri,
+        final String request,
+        final int sequence,
+        final String response,
+        final long latencyNanos) {
+      this.node = node;
+      this.uri = uri;
+      this.request = request;
+      this.sequence = sequence;
+      this.response = response;
+      this.latencyNanos = latencyNanos;
+    }
+
+    static String key(final String node, final String uri, final String request) {
+      return node + ' ' + uri + ' ' + request;
+    }
+
+    String key() {
+      return key(node, uri, request);
+    }
+
+    String encode() {
+      return new JsonObject()
+          .put("node", node)
+          .put("uri", uri)
+          .put("request", request)
+          .put("sequence", sequence)
+          .put("response", response)
+          .put("latencyNanos", latencyNanos)
+          .encode();
+    }
+
+    static Exchange decode(final String line) {
+      final JsonObject json = new JsonObject(line);
+      return new Exchange(
+          json.getString("node"),
+          json.getString("uri"),
+          json.getString("request"),
+          json.getInteger("sequence"),
+          json.getString("response"),
+          json.getLong("latencyNanos"));
+    }
+  }
+}
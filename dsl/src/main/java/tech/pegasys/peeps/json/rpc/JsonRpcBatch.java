@@ -0,0 +1,78 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.json.rpc;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import tech.pegasys.peeps.json.Json;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Calls gathered to be sent together as JSON-RPC batch requests, each call being answered by the
+ * response carrying its id, in whatever order the responses arrive.
+ */
+public class JsonRpcBatch {
+
+  private final String version;
+  private final List<JsonRpcRequest> requests = new ArrayList<>();
+  private final List<Class<?>> responseTypes = new ArrayList<>();
+  private final List<Object> responses = new ArrayList<>();
+
+  JsonRpcBatch(final String version) {
+    this.version = version;
+  }
+
+  /** @return response to the call, once the batch has been posted. */
+  public <T> Supplier<T> add(final String method, final Class<T> clazz, final Object... params) {
+    final int id = requests.size();
+    requests.add(new JsonRpcRequest(version, method, params, new JsonRpcRequestId(id)));
+    responseTypes.add(clazz);
+    responses.add(null);
+
+    return () -> {
+      checkState(responses.get(id) != null, "No response to %s, the batch is not posted", method);
+      return clazz.cast(responses.get(id));
+    };
+  }
+
+  public int size() {
+    return requests.size();
+  }
+
+  public boolean isEmpty() {
+    return requests.isEmpty();
+  }
+
+  List<JsonRpcRequest> requests(final int from, final int to) {
+    return requests.subList(from, to);
+  }
+
+  /** Decodes each response as the type of the call with the same id. */
+  void respond(final JsonNode batchResponse) {
+    checkState(batchResponse.isArray(), "Batch request failed: %s", batchResponse);
+
+    for (final JsonNode response : batchResponse) {
+      final JsonNode id = response.get("id");
+      checkState(
+          id != null && id.canConvertToInt() && id.asInt() >= 0 && id.asInt() < size(),
+          "Batch response with an unknown id: %s",
+          response);
+      responses.set(id.asInt(), Json.convert(response, responseTypes.get(id.asInt())));
+    }
+  }
+}
@@ -13,9 +13,11 @@
 package tech.pegasys.peeps.json.rpc;
 
 import java.time.Duration;
+import java.util.List;
 import java.util.Set;
 import java.util.function.Supplier;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import io.vertx.core.Vertx;
 import org.apache.logging.log4j.Logger;
 
@@ -23,6 +25,7 @@ public class JsonRpcClient extends RpcClient {
 
   private static final String JSON_RPC_VERSION = "2.0";
   private static final String JSON_RPC_CONTEXT_PATH = "/";
+  private static final int MAX_BATCH_SIZE = 1000;
 
   public JsonRpcClient(
       final Vertx vertx,
@@ -42,4 +45,20 @@ public class JsonRpcClient extends RpcClient {
         new JsonRpcRequest(JSON_RPC_VERSION, method, params, new JsonRpcRequestId(1)),
         clazz);
   }
+
+  public JsonRpcBatch batch() {
+    return new JsonRpcBatch(JSON_RPC_VERSION);
+  }
+
+  /**
+   * Sends the calls of the batch, in batch requests of at most {@value #MAX_BATCH_SIZE} calls to
+   * stay within the batch limit of the clients.
+   */
+  public void post(final JsonRpcBatch batch) {
+    for (int from = 0; from < batch.size(); from += MAX_BATCH_SIZE) {
+      final List<JsonRpcRequest> requests =
+          batch.requests(from, Math.min(from + MAX_BATCH_SIZE, batch.size()));
+      batch.respond(super.post(JSON_RPC_CONTEXT_PATH, requests, JsonNode.class));
+    }
+  }
 }
@@ -19,6 +19,7 @@ import static org.testcontainers.shaded.com.github.dockerjava.core.MediaType.APP
 
 import tech.pegasys.peeps.json.Json;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.List;
 import java.util.Set;
@@ -27,6 +28,7 @@ import java.util.concurrent.ExecutionException;
 import java.util.function.Supplier;
 
 import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpClient;
 import io.vertx.core.http.HttpClientRequest;
 import io.vertx.ext.web.client.WebClientOptions;
@@ -43,6 +45,8 @@ public abstract class RpcClient {
 
   private HttpClient rpc;
   private String containerId;
+  private Cassette cassette;
+  private String cassetteNode;
 
   public RpcClient(
       final Vertx vertx,
@@ -55,9 +59,24 @@ public abstract class RpcClient {
     this.dockerLogs = dockerLogs;
   }
 
+  /**
+   * Exchanges are recorded to, or replayed from, the cassette under the node name, which unlike
+   * the container identifier must be the same for every run.
+   */
+  public void use(final Cassette cassette, final String node) {
+    checkState(rpc == null, "A cassette must be used before binding");
+    this.cassette = cassette;
+    this.cassetteNode = node;
+  }
+
   public void bind(final String containerId, final String ipAddress, final int httpJsonRpcPort) {
     this.containerId = containerId;
 
+    if (isReplaying()) {
+      log.info("Replaying responses for {} from cassette", cassetteNode);
+      return;
+    }
+
     checkNotNull(ipAddress, "Container IP address must be set");
     checkState(httpJsonRpcPort > 0, "Container HTTP PRC port must be set");
     checkState(
@@ -83,8 +102,32 @@ public abstract class RpcClient {
 
   protected <T> T post(final String relativeUri, final Object requestPojo, final Class<T> clazz) {
     try {
-      return performPost(relativeUri, requestPojo, clazz);
-
+      final String json = Json.encode(requestPojo);
+      final Buffer body;
+
+      if (isReplaying()) {
+        body = Buffer.buffer(cassette.replay(cassetteNode, relativeUri, json));
+      } else {
+        final long start = System.nanoTime();
+        body = performPost(relativeUri, json);
+        if (cassette != null) {
+          cassette.record(
+              cassetteNode,
+              relativeUri,
+              json,
+              body.toString(StandardCharsets.UTF_8),
+              Duration.ofNanos(System.nanoTime() - start));
+        }
+      }
+
+      log.info(
+          "Container {}, relative URL: {}, request: {}, response: {}",
+          containerId,
+          relativeUri,
+          json,
+          body);
+
+      return decode(body, clazz);
     } catch (final RuntimeException e) {
       dockerLogs.forEach(dockerLog -> log.error(dockerLog.get()));
       log.error("Post request failed", e);
@@ -92,10 +135,20 @@ public abstract class RpcClient {
     }
   }
 
-  private <T> T performPost(
-      final String relativeUri, final Object requestPojo, final Class<T> clazz) {
-    final CompletableFuture<T> future = new CompletableFuture<>();
-    final String json = Json.encode(requestPojo);
+  private boolean isReplaying() {
+    return cassette != null && cassette.isReplaying();
+  }
+
+  private <T> T decode(final Buffer body, final Class<T> clazz) {
+    try {
+      return Json.decode(body, clazz);
+    } catch (final Exception e) {
+      throw new IllegalStateException("Failed decoding json rpc response", e);
+    }
+  }
+
+  private Buffer performPost(final String relativeUri, final String json) {
+    final CompletableFuture<Buffer> future = new CompletableFuture<>();
 
     @SuppressWarnings("deprecation")
     final HttpClientRequest request =
@@ -103,21 +156,7 @@ public abstract class RpcClient {
             relativeUri,
             result -> {
               if (HTTP_OK_STATUSES.contains(result.statusCode())) {
-                result.bodyHandler(
-                    body -> {
-                      log.info(
-                          "Container {}, relative URL: {}, request: {}, response: {}",
-                          containerId,
-                          relativeUri,
-                          json,
-                          body);
-                      try {
-                        future.complete(Json.decode(body, clazz));
-                      } catch (Exception e) {
-                        future.completeExceptionally(
-                            new IllegalStateException("Failed decoding json rpc response", e));
-                      }
-                    });
+                result.bodyHandler(future::complete);
               } else {
                 final String errorMessage =
                     String.format(
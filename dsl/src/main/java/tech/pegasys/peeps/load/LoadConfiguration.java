@@ -0,0 +1,67 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.load;
+
+import java.time.Duration;
+
+public class LoadConfiguration {
+
+  private final double transactionsPerSecond;
+  private final Duration warmUp;
+  private final Duration duration;
+  private final int concurrency;
+  private final Duration drainTimeout;
+
+  public LoadConfiguration(
+      final double transactionsPerSecond,
+      final Duration warmUp,
+      final Duration duration,
+      final int concurrency,
+      final Duration drainTimeout) {
+    this.transactionsPerSecond = transactionsPerSecond;
+    this.warmUp = warmUp;
+    this.duration = duration;
+    this.concurrency = concurrency;
+    this.drainTimeout = drainTimeout;
+  }
+
+  /** @return rate the transactions are offered at, regardless of how fast they complete. */
+  public double getTransactionsPerSecond() {
+    return transactionsPerSecond;
+  }
+
+  /** @return period before the measurement, whose transactions are sent but not reported. */
+  public Duration getWarmUp() {
+    return warmUp;
+  }
+
+  /** @return period of the measurement, following the warm up. */
+  public Duration getDuration() {
+    return duration;
+  }
+
+  /** @return most transactions submitted at the same time. */
+  public int getConcurrency() {
+    return concurrency;
+  }
+
+  /** @return how long the transactions still in flight are awaited once the load ends. */
+  public Duration getDrainTimeout() {
+    return drainTimeout;
+  }
+
+  /** @return time between the intended submissions of consecutive transactions. */
+  public Duration getInterval() {
+    return Duration.ofNanos(Math.round(1_000_000_000d / transactionsPerSecond));
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.load;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.time.Duration;
+
+public class LoadConfigurationBuilder {
+
+  private static final int DEFAULT_CONCURRENCY = 64;
+  private static final Duration DEFAULT_DRAIN_TIMEOUT = Duration.ofSeconds(30);
+
+  private double transactionsPerSecond;
+  private Duration warmUp = Duration.ZERO;
+  private Duration duration;
+  private int concurrency = DEFAULT_CONCURRENCY;
+  private Duration drainTimeout = DEFAULT_DRAIN_TIMEOUT;
+
+  public LoadConfigurationBuilder withTransactionsPerSecond(final double transactionsPerSecond) {
+    this.transactionsPerSecond = transactionsPerSecond;
+    return this;
+  }
+
+  public LoadConfigurationBuilder withWarmUp(final Duration warmUp) {
+    this.warmUp = warmUp;
+    return this;
+  }
+
+  public LoadConfigurationBuilder withDuration(final Duration duration) {
+    this.duration = duration;
+    return this;
+  }
+
+  /**
+   * Transactions due while every submission is still in flight are queued, their waiting counting
+   * towards their latency.
+   */
+  public LoadConfigurationBuilder withConcurrency(final int concurrency) {
+    this.concurrency = concurrency;
+    return this;
+  }
+
+  public LoadConfigurationBuilder withDrainTimeout(final Duration drainTimeout) {
+    this.drainTimeout = drainTimeout;
+    return this;
+  }
+
+  public LoadConfiguration build() {
+    checkNotNull(warmUp, "A warm up period is mandatory");
+    checkNotNull(duration, "A duration is mandatory");
+    checkNotNull(drainTimeout, "A drain timeout is mandatory");
+    checkArgument(transactionsPerSecond > 0, "Transactions per second must be positive");
+    checkArgument(!warmUp.isNegative(), "Warm up period must not be negative");
+    checkArgument(!duration.isNegative() && !duration.isZero(), "Duration must be positive");
+    checkArgument(concurrency > 0, "Concurrency must be positive");
+
+    return new LoadConfiguration(
+        transactionsPerSecond, warmUp, duration, concurrency, drainTimeout);
+  }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.load;
+
+import tech.pegasys.peeps.monitor.LatencyHistogram;
+import tech.pegasys.peeps.node.model.Hash;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Offers transactions at a fixed rate, without waiting for earlier transactions to complete (open
+ * loop).
+ *
+ * <p>Latency is measured from when each transaction was due, not when it was actually sent, so
+ * transactions held back by a stalled node are charged for their wait (coordinated omission
+ * correction).
+ *
+ * <p>Invariants of the network are checked before each transaction is offered, so a breach ends the
+ * load as soon as it is observed, rather than after the whole duration.
+ */
+public class LoadGenerator {
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  private final LoadConfiguration config;
+  private final TransactionSubmitter submitter;
+  private final Runnable invariants;
+
+  public LoadGenerator(final LoadConfiguration config, final TransactionSubmitter submitter) {
+    this(config, submitter, () -> {});
+  }
+
+  /** @param invariants throws an AssertionError once the network misbehaves, ending the load. */
+  public LoadGenerator(
+      final LoadConfiguration config,
+      final TransactionSubmitter submitter,
+      final Runnable invariants) {
+    this.config = config;
+    this.submitter = submitter;
+    this.invariants = invariants;
+  }
+
+  public LoadReport run() {
+    final ExecutorService workers =
+        Executors.newFixedThreadPool(config.getConcurrency(), new WorkerFactory());
+    final Recorder recorder = new Recorder();
+
+    final long interval = config.getInterval().toNanos();
+    final long start = System.nanoTime();
+    final long measurementStart = start + config.getWarmUp().toNanos();
+    final long end = measurementStart + config.getDuration().toNanos();
+
+    LOG.info(
+        "Offering {} transactions per second, for {} after a warm up of {}",
+        config.getTransactionsPerSecond(),
+        config.getDuration(),
+        config.getWarmUp());
+
+    try {
+      for (long sequence = 0; ; sequence++) {
+        final long due = start + sequence * interval;
+        if (due >= end) {
+          break;
+        }
+
+        parkUntil(due);
+        invariants.run();
+
+        final long transaction = sequence;
+        final boolean measured = due >= measurementStart;
+        if (measured) {
+          recorder.offered.increment();
+        }
+        workers.execute(() -> submit(transaction, due, measured, recorder));
+      }
+    } catch (final RuntimeException | AssertionError e) {
+      workers.shutdownNow();
+      throw e;
+    } finally {
+      workers.shutdown();
+    }
+
+    drain(workers);
+
+    final long measuredEnd = Math.max(end, recorder.lastCompletion.get());
+    return new LoadReport(
+        config.getTransactionsPerSecond(),
+        measuredEnd - measurementStart,
+        recorder.offered.sum(),
+        recorder.failed.sum(),
+        recorder.latencies.percentiles(),
+        recorder.hashes);
+  }
+
+  private void submit(
+      final long sequence, final long due, final boolean measured, final Recorder recorder) {
+    try {
+      final Hash hash = submitter.submit(sequence);
+      final long completed = System.nanoTime();
+
+      if (measured) {
+        recorder.latencies.record(completed - due);
+        recorder.hashes.add(hash);
+        recorder.lastCompletion.accumulateAndGet(completed, Math::max);
+      }
+    } catch (final RuntimeException e) {
+      LOG.debug("Transaction {} failed", sequence, e);
+      if (measured) {
+        recorder.failed.increment();
+      }
+    }
+  }
+
+  private void drain(final ExecutorService workers) {
+    try {
+      if (!workers.awaitTermination(config.getDrainTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+        LOG.warn(
+            "Transactions still in flight after {}, abandoning them", config.getDrainTimeout());
+        workers.shutdownNow();
+      }
+    } catch (final InterruptedException e) {
+      workers.shutdownNow();
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted awaiting transactions in flight", e);
+    }
+  }
+
+  private static void parkUntil(final long due) {
+    long remaining;
+    while ((remaining = due - System.nanoTime()) > 0) {
+      LockSupport.parkNanos(remaining);
+    }
+  }
+
+  private static class Recorder {
+    private final LongAdder offered = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final AtomicLong lastCompletion = new AtomicLong(Long.MIN_VALUE);
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private final ConcurrentLinkedQueue<Hash> hashes = new ConcurrentLinkedQueue<>();
+  }
+
+  private static class WorkerFactory implements ThreadFactory {
+    private final AtomicInteger count = new AtomicInteger();
+
+    @Override
+    public Thread newThread(final Runnable runnable) {
+      final Thread thread = new Thread(runnable, "load-generator-" + count.getAndIncrement());
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.load;
+
+import tech.pegasys.peeps.monitor.LatencyPercentiles;
+import tech.pegasys.peeps.node.model.Hash;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+/** Outcome of the measured period of a load, excluding its warm up. */
+public class LoadReport {
+
+  private static final double NANOS_PER_SECOND = 1_000_000_000d;
+
+  private final double offeredTransactionsPerSecond;
+  private final Duration elapsed;
+  private final long offered;
+  private final long failed;
+  private final LatencyPercentiles latency;
+  private final List<Hash> hashes;
+
+  public LoadReport(
+      final double offeredTransactionsPerSecond,
+      final long elapsedNanos,
+      final long offered,
+      final long failed,
+      final LatencyPercentiles latency,
+      final Collection<Hash> hashes) {
+    this.offeredTransactionsPerSecond = offeredTransactionsPerSecond;
+    this.elapsed = Duration.ofNanos(elapsedNanos);
+    this.offered = offered;
+    this.failed = failed;
+    this.latency = latency;
+    this.hashes = List.copyOf(hashes);
+  }
+
+  public double getOfferedTransactionsPerSecond() {
+    return offeredTransactionsPerSecond;
+  }
+
+  /** @return rate the transactions were accepted at, over the measured period and its drain. */
+  public double getAchievedTransactionsPerSecond() {
+    return elapsed.isZero() ? 0 : getSucceeded() * NANOS_PER_SECOND / elapsed.toNanos();
+  }
+
+  public Duration getElapsed() {
+    return elapsed;
+  }
+
+  public long getOffered() {
+    return offered;
+  }
+
+  public long getSucceeded() {
+    return latency.getCount();
+  }
+
+  public long getFailed() {
+    return failed;
+  }
+
+  /** @return transactions that neither succeeded nor failed before the drain timed out. */
+  public long getAbandoned() {
+    return offered - getSucceeded() - failed;
+  }
+
+  /** @return hashes of the transactions that succeeded, in order of completion. */
+  public List<Hash> getHashes() {
+    return hashes;
+  }
+
+  /** @return latencies of the transactions that succeeded, from when each was due. */
+  public LatencyPercentiles getLatency() {
+    return latency;
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "offered: %.1f tps, achieved: %.1f tps, transactions: %d (succeeded %d, failed %d, "
+            + "abandoned %d), latency %s",
+        offeredTransactionsPerSecond,
+        getAchievedTransactionsPerSecond(),
+        offered,
+        getSucceeded(),
+        failed,
+        getAbandoned(),
+        latency);
+  }
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.load;
+
+import tech.pegasys.peeps.node.model.Hash;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+import java.util.function.ToLongFunction;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.tuweni.eth.Address;
+
+/**
+ * Hands out the nonces of many sending accounts, locking only the account a nonce is taken from, so
+ * thousands of transactions can be in flight without querying the transaction count before each of
+ * them.
+ *
+ * <p>A nonce not taken up by the pool is handed out again, filling the gap that would otherwise
+ * hold back every later transaction of the account. Reconciling against the pending nonce of a
+ * node also recovers nonces of transactions dropped from its pool after they were accepted.
+ */
+public class NonceManager {
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  /** Rejections meaning the nonce was used by a transaction already known to the node. */
+  private static final List<String> NONCE_CONSUMED =
+      List.of(
+          "nonce too low",
+          "known transaction",
+          "already known",
+          "replacement transaction underpriced");
+
+  private final ToLongFunction<Address> pendingNonce;
+  private final Map<Address, AccountNonces> accounts = new ConcurrentHashMap<>();
+  private final AtomicLong gapsFilled = new AtomicLong();
+  private final AtomicLong resynchronizations = new AtomicLong();
+
+  /** @param pendingNonce the next nonce of an account known to a node, including its pool. */
+  public NonceManager(final ToLongFunction<Address> pendingNonce) {
+    this.pendingNonce = pendingNonce;
+  }
+
+  /**
+   * Sends a transaction with the next nonce of the account, learning from its rejection.
+   *
+   * @param send sends a transaction with the given nonce, throwing when it is rejected.
+   */
+  public Hash submit(final Address account, final LongFunction<Hash> send) {
+    final long nonce = next(account);
+    final Hash hash;
+
+    try {
+      hash = send.apply(nonce);
+    } catch (final RuntimeException e) {
+      rejected(account, nonce, e);
+      throw e;
+    }
+
+    accepted(account, nonce);
+    return hash;
+  }
+
+  /** @return the nonce for the next transaction of the account, which must be accounted for. */
+  public long next(final Address account) {
+    return nonces(account).take();
+  }
+
+  /**
+   * An accepted nonce stays tracked until the pending nonce of the node passes it, so a transaction
+   * still being gossiped is never mistaken for a gap.
+   */
+  public void accepted(final Address account, final long nonce) {
+    nonces(account).accepted(nonce);
+  }
+
+  /**
+   * A nonce already used advances the account to the pending nonce of the node, without handing
+   * out again the accepted nonces it has yet to count, as this happens under load.
+   */
+  public void rejected(final Address account, final long nonce, final Throwable cause) {
+    final AccountNonces nonces = nonces(account);
+
+    if (isNonceConsumed(cause)) {
+      LOG.debug("Nonce {} of {} already used, resynchronizing", nonce, account);
+      nonces.accepted(nonce);
+      resynchronize(account, nonces, false);
+    } else {
+      // the transaction never reached the pool, a later one must take its place
+      nonces.release(nonce);
+      gapsFilled.incrementAndGet();
+    }
+  }
+
+  /**
+   * Brings the account into line with the pending nonce of the node, advancing past nonces used
+   * elsewhere and handing out again those no longer in flight that the node has not seen.
+   *
+   * <p>Best done while the load is quiet, as a transaction still being gossiped looks dropped; the
+   * duplicate sent in its place is rejected as known and costs only a resynchronization.
+   */
+  public void reconcile(final Address account) {
+    resynchronize(account, nonces(account), true);
+  }
+
+  public void reconcile() {
+    accounts.forEach((account, nonces) -> resynchronize(account, nonces, true));
+  }
+
+  /** @return nonces handed out again after their transaction was rejected or dropped. */
+  public long getGapsFilled() {
+    return gapsFilled.get();
+  }
+
+  public long getResynchronizations() {
+    return resynchronizations.get();
+  }
+
+  private void resynchronize(
+      final Address account, final AccountNonces nonces, final boolean acceptedMayBeDropped) {
+    final long pending = pendingNonce.applyAsLong(account);
+    resynchronizations.incrementAndGet();
+    gapsFilled.addAndGet(nonces.resynchronize(pending, acceptedMayBeDropped));
+  }
+
+  private AccountNonces nonces(final Address account) {
+    final AccountNonces existing = accounts.get(account);
+    if (existing != null) {
+      return existing;
+    }
+
+    // queried outside of the map, a concurrent first use of the account keeps the earlier entry
+    final AccountNonces created = new AccountNonces(pendingNonce.applyAsLong(account));
+    final AccountNonces raced = accounts.putIfAbsent(account, created);
+    return raced == null ? created : raced;
+  }
+
+  private static boolean isNonceConsumed(final Throwable cause) {
+    for (Throwable t = cause; t != null; t = t.getCause()) {
+      final String message = t.getMessage();
+      if (message == null) {
+        continue;
+      }
+
+      final String lowerCase = message.toLowerCase(Locale.ROOT);
+      if (NONCE_CONSUMED.stream().anyMatch(lowerCase::contains)) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  /**
+   * Every nonce handed out is in flight, accepted or released until the pending nonce passes it;
+   * guarded by the account, so a resynchronization never sees a nonce taken but not yet tracked.
+   */
+  private static class AccountNonces {
+    private final NavigableSet<Long> released = new TreeSet<>();
+    private final NavigableSet<Long> inFlight = new TreeSet<>();
+    private final NavigableSet<Long> accepted = new TreeSet<>();
+    private long next;
+
+    AccountNonces(final long next) {
+      this.next = next;
+    }
+
+    synchronized long take() {
+      final Long reused = released.pollFirst();
+      final long nonce = reused == null ? next++ : reused;
+      inFlight.add(nonce);
+      return nonce;
+    }
+
+    synchronized void accepted(final long nonce) {
+      if (inFlight.remove(nonce)) {
+        accepted.add(nonce);
+      }
+    }
+
+    synchronized void release(final long nonce) {
+      inFlight.remove(nonce);
+      released.add(nonce);
+    }
+
+    /**
+     * @param acceptedMayBeDropped whether accepted nonces the node has yet to count are handed out
+     *     again, only safe while the load is quiet.
+     * @return number of nonces released to fill gaps below the nonces already handed out.
+     */
+    synchronized long resynchronize(final long pending, final boolean acceptedMayBeDropped) {
+      next = Math.max(next, pending);
+      released.headSet(pending).clear();
+      inFlight.headSet(pending).clear();
+      accepted.headSet(pending).clear();
+
+      long filled = 0;
+      for (long nonce = pending; nonce < next; nonce++) {
+        if (inFlight.contains(nonce) || (accepted.contains(nonce) && !acceptedMayBeDropped)) {
+          continue;
+        }
+        if (released.add(nonce)) {
+          accepted.remove(nonce);
+          filled++;
+        }
+      }
+
+      return filled;
+    }
+  }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.load;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+
+import tech.pegasys.peeps.node.model.Hash;
+import tech.pegasys.peeps.node.rpc.NodeRpc;
+import tech.pegasys.peeps.signer.local.LocalSigner;
+import tech.pegasys.peeps.signer.local.SignedTransaction;
+import tech.pegasys.peeps.signer.local.Transfer;
+import tech.pegasys.peeps.signer.rpc.SignerRpc;
+
+import java.util.List;
+
+import org.apache.tuweni.eth.Address;
+import org.apache.tuweni.units.ethereum.Wei;
+import org.web3j.crypto.Credentials;
+
+/** Sends a single transaction of a load, called concurrently for different transactions. */
+@FunctionalInterface
+public interface TransactionSubmitter {
+
+  /**
+   * @param sequence position of the transaction in the load, starting at zero.
+   * @return hash of the transaction sent.
+   */
+  Hash submit(long sequence);
+
+  /** Value transfers between the same accounts, spread round robin across the nodes. */
+  static TransactionSubmitter transfers(
+      final List<? extends SignerRpc> nodes,
+      final Address sender,
+      final Address receiver,
+      final Wei amount) {
+    checkArgument(!nodes.isEmpty(), "At least one node is required");
+    final List<? extends SignerRpc> targets = List.copyOf(nodes);
+
+    return sequence ->
+        targets.get((int) (sequence % targets.size())).transfer(sender, receiver, amount);
+  }
+
+  /**
+   * Value transfers from many accounts, each with its nonce from the manager rather than chosen by
+   * the node, so the accounts may keep any number of transactions in flight.
+   */
+  static TransactionSubmitter transfers(
+      final List<? extends SignerRpc> nodes,
+      final NonceManager nonces,
+      final List<Address> senders,
+      final Address receiver,
+      final Wei amount) {
+    checkArgument(!nodes.isEmpty(), "At least one node is required");
+    checkArgument(!senders.isEmpty(), "At least one sender is required");
+    final List<? extends SignerRpc> targets = List.copyOf(nodes);
+    final List<Address> accounts = List.copyOf(senders);
+
+    return sequence -> {
+      final Address sender = accounts.get((int) (sequence % accounts.size()));
+      return nonces.submit(
+          sender,
+          nonce ->
+              targets
+                  .get((int) (sequence % targets.size()))
+                  .transfer(sender, receiver, amount, nonce));
+    };
+  }
+
+  /**
+   * Value transfers signed in the JVM as they are sent, from many accounts with their nonces from
+   * the manager.
+   */
+  static TransactionSubmitter signedTransfers(
+      final List<? extends NodeRpc> nodes,
+      final LocalSigner signer,
+      final NonceManager nonces,
+      final List<Credentials> senders,
+      final Address receiver,
+      final Wei amount) {
+    checkArgument(!nodes.isEmpty(), "At least one node is required");
+    checkArgument(!senders.isEmpty(), "At least one sender is required");
+    final List<? extends NodeRpc> targets = List.copyOf(nodes);
+    final List<Credentials> accounts = List.copyOf(senders);
+
+    return sequence -> {
+      final Credentials sender = accounts.get((int) (sequence % accounts.size()));
+      return nonces.submit(
+          Address.fromHexString(sender.getAddress()),
+          nonce ->
+              targets
+                  .get((int) (sequence % targets.size()))
+                  .sendRawTransaction(
+                      signer.sign(new Transfer(sender, receiver, amount, nonce)).getEncoded()));
+    };
+  }
+
+  /**
+   * Transactions signed ahead of the load, the n-th of them sent with eth_sendRawTransaction to the
+   * nodes round robin.
+   */
+  static TransactionSubmitter rawTransactions(
+      final List<? extends NodeRpc> nodes, final List<SignedTransaction> transactions) {
+    checkArgument(!nodes.isEmpty(), "At least one node is required");
+    final List<? extends NodeRpc> targets = List.copyOf(nodes);
+    final List<SignedTransaction> signed = List.copyOf(transactions);
+
+    return sequence -> {
+      checkState(sequence < signed.size(), "Only %s signed transactions", signed.size());
+      return targets
+          .get((int) (sequence % targets.size()))
+          .sendRawTransaction(signed.get((int) sequence).getEncoded());
+    };
+  }
+}
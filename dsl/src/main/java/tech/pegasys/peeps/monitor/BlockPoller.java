@@ -0,0 +1,124 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.monitor;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import tech.pegasys.peeps.node.model.Block;
+import tech.pegasys.peeps.node.rpc.NodeRpc;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Fetches each new block of a node once, in order, handing it to every subscriber.
+ *
+ * <p>One poller serves any number of trackers and monitors, in place of each polling the node for
+ * its own receipts or heights.
+ */
+public class BlockPoller implements AutoCloseable {
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  private final NodeRpc rpc;
+  private final Duration interval;
+  private final List<Consumer<Block>> subscribers = new CopyOnWriteArrayList<>();
+
+  private ScheduledExecutorService scheduler;
+  private long nextBlock = -1;
+
+  public BlockPoller(final NodeRpc rpc, final Duration interval) {
+    this.rpc = rpc;
+    this.interval = interval;
+  }
+
+  public BlockPoller subscribe(final Consumer<Block> subscriber) {
+    subscribers.add(subscriber);
+    return this;
+  }
+
+  /** Polls in the background for the blocks after the current head. */
+  public synchronized void start() {
+    checkState(scheduler == null, "Block poller is already running");
+
+    if (nextBlock < 0) {
+      nextBlock = rpc.getBlockNumber() + 1;
+    }
+    scheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              final Thread thread = new Thread(runnable, "block-poller");
+              thread.setDaemon(true);
+              return thread;
+            });
+
+    final long period = interval.toMillis();
+    scheduler.scheduleWithFixedDelay(this::pollQuietly, period, period, TimeUnit.MILLISECONDS);
+  }
+
+  public synchronized void stop() {
+    if (scheduler != null) {
+      scheduler.shutdownNow();
+      scheduler = null;
+    }
+  }
+
+  public synchronized boolean isRunning() {
+    return scheduler != null;
+  }
+
+  @Override
+  public void close() {
+    stop();
+  }
+
+  /**
+   * Hands the blocks produced since the last poll to the subscribers, starting from the genesis
+   * when the poller has not been started.
+   *
+   * @return number of new blocks.
+   */
+  public synchronized int poll() {
+    final long head = rpc.getBlockNumber();
+    int polled = 0;
+
+    for (long number = Math.max(nextBlock, 0); number <= head; number++) {
+      final Block block = rpc.getBlockByNumber(number);
+      subscribers.forEach(subscriber -> subscriber.accept(block));
+      nextBlock = number + 1;
+      polled++;
+    }
+
+    return polled;
+  }
+
+  /**
+   * An unreachable node fails the mandatory RPC with an AssertionError, which must not escape, as
+   * the scheduler would then cancel every later poll.
+   */
+  private void pollQuietly() {
+    try {
+      poll();
+    } catch (final RuntimeException | AssertionError e) {
+      LOG.warn("Block poll failed, retrying on the next", e);
+    }
+  }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.monitor;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import tech.pegasys.peeps.node.model.Block;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Records when each node first sees each block height, for the distribution of how far each node
+ * is behind the first to see the block.
+ *
+ * <p>The production time of a block is unknown to the nodes, its timestamp being in seconds, so
+ * the first node to see a height stands in for the producer. Times are those of the {@link
+ * BlockPoller} of each node, so are only as precise as its polling interval.
+ *
+ * <p>Only the most recent heights are waited on, so a node that stops reporting, such as one that
+ * was stopped, holds back no more than the horizon of heights rather than every later height.
+ */
+public class BlockPropagationMonitor {
+
+  private static final long NOT_YET = Long.MIN_VALUE;
+
+  /* Heights not yet seen by every node, beyond which the lowest are given up on. */
+  private static final int HORIZON = 1024;
+
+  private final List<String> nodes;
+  private final List<String> nodeTypes;
+  private final LongSupplier ticker;
+  private final NavigableMap<Long, long[]> propagating = new TreeMap<>();
+  private final LatencyHistogram delays = new LatencyHistogram();
+  private final LatencyHistogram spreads = new LatencyHistogram();
+  private final Map<String, LatencyHistogram> byNode = new HashMap<>();
+  private final Map<String, LatencyHistogram> byNodeType = new HashMap<>();
+
+  private long propagated;
+  private long unobserved;
+
+  /* Highest height given up on for falling behind the horizon. */
+  private long givenUpTo = Long.MIN_VALUE;
+
+  /** @param nodeTypes type of each node followed, by its name. */
+  public BlockPropagationMonitor(final Map<String, String> nodeTypes) {
+    this(nodeTypes, System::nanoTime);
+  }
+
+  BlockPropagationMonitor(final Map<String, String> nodeTypes, final LongSupplier ticker) {
+    checkArgument(!nodeTypes.isEmpty(), "At least one node must be followed");
+    this.nodes = new ArrayList<>(new TreeMap<>(nodeTypes).keySet());
+    this.nodeTypes = new ArrayList<>(nodes.size());
+    this.ticker = ticker;
+
+    for (final String node : nodes) {
+      final String type = nodeTypes.get(node);
+      this.nodeTypes.add(type);
+      byNode.put(node, new LatencyHistogram());
+      byNodeType.computeIfAbsent(type, added -> new LatencyHistogram());
+    }
+  }
+
+  /** @return subscriber for the blocks of the named node. */
+  public Consumer<Block> subscriber(final String node) {
+    final int index = nodes.indexOf(node);
+    checkArgument(index >= 0, "Node is not followed: %s", node);
+    return block -> seen(index, block.getNumber());
+  }
+
+  public synchronized BlockPropagationReport report() {
+    final Map<String, LatencyPercentiles> nodePercentiles = new HashMap<>();
+    byNode.forEach((node, histogram) -> nodePercentiles.put(node, histogram.percentiles()));
+    final Map<String, LatencyPercentiles> typePercentiles = new HashMap<>();
+    byNodeType.forEach((type, histogram) -> typePercentiles.put(type, histogram.percentiles()));
+
+    return new BlockPropagationReport(
+        propagated,
+        propagating.size(),
+        unobserved,
+        delays.percentiles(),
+        spreads.percentiles(),
+        nodePercentiles,
+        typePercentiles);
+  }
+
+  private synchronized void seen(final int node, final long height) {
+    if (height <= givenUpTo) {
+      return;
+    }
+
+    final long now = ticker.getAsLong();
+    final long[] seenAt =
+        propagating.computeIfAbsent(
+            height,
+            added -> {
+              final long[] times = new long[nodes.size()];
+              Arrays.fill(times, NOT_YET);
+              return times;
+            });
+
+    if (seenAt[node] != NOT_YET) {
+      return;
+    }
+    seenAt[node] = now;
+
+    if (Arrays.stream(seenAt).noneMatch(time -> time == NOT_YET)) {
+      propagated(seenAt);
+      propagating.remove(height);
+      discardUnobservedBelow(height);
+    }
+
+    while (propagating.size() > HORIZON) {
+      givenUpTo = propagating.pollFirstEntry().getKey();
+      unobserved++;
+    }
+  }
+
+  private void propagated(final long[] seenAt) {
+    final long first = Arrays.stream(seenAt).min().getAsLong();
+    final long last = Arrays.stream(seenAt).max().getAsLong();
+
+    for (int node = 0; node < seenAt.length; node++) {
+      final long delay = seenAt[node] - first;
+      delays.record(delay);
+      byNode.get(nodes.get(node)).record(delay);
+      byNodeType.get(nodeTypes.get(node)).record(delay);
+    }
+    spreads.record(last - first);
+    propagated++;
+  }
+
+  /**
+   * Each node sees heights in order, so a lower height still missing a node once a higher one has
+   * reached every node was before a poller started, never to be seen by that node.
+   */
+  private void discardUnobservedBelow(final long height) {
+    final NavigableMap<Long, long[]> below = propagating.headMap(height, false);
+    unobserved += below.size();
+    below.clear();
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.monitor;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/** How long blocks took to reach every node, after the first node to see each of them. */
+public class BlockPropagationReport {
+
+  private final long propagated;
+  private final long propagating;
+  private final long unobserved;
+  private final LatencyPercentiles delay;
+  private final LatencyPercentiles spread;
+  private final Map<String, LatencyPercentiles> byNode;
+  private final Map<String, LatencyPercentiles> byNodeType;
+
+  public BlockPropagationReport(
+      final long propagated,
+      final long propagating,
+      final long unobserved,
+      final LatencyPercentiles delay,
+      final LatencyPercentiles spread,
+      final Map<String, LatencyPercentiles> byNode,
+      final Map<String, LatencyPercentiles> byNodeType) {
+    this.propagated = propagated;
+    this.propagating = propagating;
+    this.unobserved = unobserved;
+    this.delay = delay;
+    this.spread = spread;
+    this.byNode = new TreeMap<>(byNode);
+    this.byNodeType = new TreeMap<>(byNodeType);
+  }
+
+  /** @return number of blocks seen by every node. */
+  public long getPropagated() {
+    return propagated;
+  }
+
+  /** @return number of blocks seen by some nodes, but not yet all. */
+  public long getPropagating() {
+    return propagating;
+  }
+
+  /**
+   * @return number of blocks some node had before its blocks were followed, or had yet to see once
+   *     the block fell behind the horizon of heights awaited.
+   */
+  public long getUnobserved() {
+    return unobserved;
+  }
+
+  /** @return delays of every node seeing each block, after the first node to see it. */
+  public LatencyPercentiles getDelay() {
+    return delay;
+  }
+
+  /** @return time from the first to the last node seeing each block. */
+  public LatencyPercentiles getSpread() {
+    return spread;
+  }
+
+  public Map<String, LatencyPercentiles> getByNode() {
+    return byNode;
+  }
+
+  public Map<String, LatencyPercentiles> getByNodeType() {
+    return byNodeType;
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder report =
+        new StringBuilder(
+            String.format(
+                "Blocks propagated: %d, propagating: %d, unobserved: %d%ndelay: %s%nspread: %s",
+                propagated, propagating, unobserved, delay, spread));
+    byNodeType.forEach(
+        (type, latency) -> report.append(String.format("%nnode type %s: %s", type, latency)));
+    byNode.forEach((node, latency) -> report.append(String.format("%nnode %s: %s", node, latency)));
+    return report.toString();
+  }
+}
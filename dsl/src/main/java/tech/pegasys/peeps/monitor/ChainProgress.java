@@ -0,0 +1,76 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.monitor;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/** Progress of the head of one node, as seen at a point in time. */
+public class ChainProgress {
+
+  private final long head;
+  private final Instant lastBlockAt;
+  private final Duration meanInterval;
+  private final Duration jitter;
+  private final List<Stall> stalls;
+
+  public ChainProgress(
+      final long head,
+      final Instant lastBlockAt,
+      final Duration meanInterval,
+      final Duration jitter,
+      final List<Stall> stalls) {
+    this.head = head;
+    this.lastBlockAt = lastBlockAt;
+    this.meanInterval = meanInterval;
+    this.jitter = jitter;
+    this.stalls = List.copyOf(stalls);
+  }
+
+  /** @return highest block seen, negative when none has been. */
+  public long getHead() {
+    return head;
+  }
+
+  /** @return when the node was last seen with a new block, or monitoring began. */
+  public Instant getLastBlockAt() {
+    return lastBlockAt;
+  }
+
+  /** @return mean interval between the timestamps of consecutive blocks. */
+  public Duration getMeanInterval() {
+    return meanInterval;
+  }
+
+  /** @return standard deviation of the interval between consecutive blocks. */
+  public Duration getJitter() {
+    return jitter;
+  }
+
+  /** @return stalls in the order they began, the last possibly ongoing. */
+  public List<Stall> getStalls() {
+    return stalls;
+  }
+
+  public boolean isStalled() {
+    return !stalls.isEmpty() && !stalls.get(stalls.size() - 1).isRecovered();
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "head: %d, mean interval: %d ms, jitter: %d ms, stalls: %s",
+        head, meanInterval.toMillis(), jitter.toMillis(), stalls);
+  }
+}
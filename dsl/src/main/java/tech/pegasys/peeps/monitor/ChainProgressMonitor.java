@@ -0,0 +1,152 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.monitor;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import tech.pegasys.peeps.node.model.Block;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * Follows the head of each node, for the interval between its blocks and the periods in which it
+ * saw no new block.
+ *
+ * <p>A node is stalled once it has seen no new block for the stall time, counted from when
+ * monitoring began for a node yet to see one, so liveness may be asserted without sleeping.
+ */
+public class ChainProgressMonitor {
+
+  private final Duration stallAfter;
+  private final Clock clock;
+  private final Map<String, NodeProgress> nodes = new TreeMap<>();
+
+  /** @param stallAfter time without a new block after which a node is stalled. */
+  public ChainProgressMonitor(final Collection<String> nodes, final Duration stallAfter) {
+    this(nodes, stallAfter, Clock.systemUTC());
+  }
+
+  ChainProgressMonitor(
+      final Collection<String> nodes, final Duration stallAfter, final Clock clock) {
+    checkArgument(!nodes.isEmpty(), "At least one node must be followed");
+    checkArgument(!stallAfter.isNegative() && !stallAfter.isZero(), "Stall time must be positive");
+    this.stallAfter = stallAfter;
+    this.clock = clock;
+
+    final Instant now = clock.instant();
+    nodes.forEach(node -> this.nodes.put(node, new NodeProgress(now)));
+  }
+
+  /** @return time without a new block after which a node is stalled. */
+  public Duration getStallAfter() {
+    return stallAfter;
+  }
+
+  /** @return subscriber for the blocks of the named node. */
+  public Consumer<Block> subscriber(final String node) {
+    final NodeProgress progress = node(node);
+    return block -> seen(progress, block);
+  }
+
+  public boolean isStalled(final String node) {
+    return progress(node).isStalled();
+  }
+
+  public synchronized ChainProgress progress(final String node) {
+    return node(node).snapshot(clock.instant());
+  }
+
+  /** @return progress of every node, by name. */
+  public synchronized Map<String, ChainProgress> progress() {
+    final Instant now = clock.instant();
+    final Map<String, ChainProgress> progress = new TreeMap<>();
+    nodes.forEach((node, followed) -> progress.put(node, followed.snapshot(now)));
+    return progress;
+  }
+
+  private synchronized void seen(final NodeProgress progress, final Block block) {
+    progress.seen(block, clock.instant());
+  }
+
+  private NodeProgress node(final String node) {
+    final NodeProgress progress = nodes.get(node);
+    checkArgument(progress != null, "Node is not followed: %s", node);
+    return progress;
+  }
+
+  /** Interval statistics are accumulated with Welford's method, in seconds. */
+  private class NodeProgress {
+    private final List<Stall> stalls = new ArrayList<>();
+    private long head = -1;
+    private Instant lastBlockAt;
+    private long lastTimestamp = -1;
+    private long intervals;
+    private double meanInterval;
+    private double squaredDeviations;
+
+    private NodeProgress(final Instant monitoredFrom) {
+      this.lastBlockAt = monitoredFrom;
+    }
+
+    private void seen(final Block block, final Instant now) {
+      if (block.getNumber() <= head) {
+        return;
+      }
+
+      if (isStalled(now)) {
+        stalls.add(new Stall(head, lastBlockAt, now));
+      }
+      if (lastTimestamp >= 0 && block.getNumber() == head + 1) {
+        interval(block.getTimestamp() - lastTimestamp);
+      }
+
+      head = block.getNumber();
+      lastBlockAt = now;
+      lastTimestamp = block.getTimestamp();
+    }
+
+    private void interval(final long seconds) {
+      intervals++;
+      final double deviation = seconds - meanInterval;
+      meanInterval += deviation / intervals;
+      squaredDeviations += deviation * (seconds - meanInterval);
+    }
+
+    private boolean isStalled(final Instant now) {
+      return Duration.between(lastBlockAt, now).compareTo(stallAfter) > 0;
+    }
+
+    private ChainProgress snapshot(final Instant now) {
+      final List<Stall> all = new ArrayList<>(stalls);
+      if (isStalled(now)) {
+        all.add(new Stall(head, lastBlockAt, null));
+      }
+
+      final double variance = intervals == 0 ? 0 : squaredDeviations / intervals;
+      return new ChainProgress(
+          head, lastBlockAt, seconds(meanInterval), seconds(Math.sqrt(variance)), all);
+    }
+
+    private Duration seconds(final double seconds) {
+      return Duration.ofMillis(Math.round(seconds * 1000));
+    }
+  }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.monitor;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import tech.pegasys.peeps.node.model.Hash;
+import tech.pegasys.peeps.node.rpc.NodeRpc;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Finds the first height at which the chains of the nodes diverge, by binary search over their
+ * block hashes.
+ *
+ * <p>Chains that diverged stay diverged, as each block commits to its parent, so agreement of every
+ * node is monotonic in height and the search takes one probe of every node per halving, rather
+ * than a scan of every height.
+ */
+public class ForkDetector {
+
+  private final Map<String, ? extends NodeRpc> nodes;
+
+  /** @param nodes to compare, by name. */
+  public ForkDetector(final Map<String, ? extends NodeRpc> nodes) {
+    checkArgument(nodes.size() > 1, "At least two nodes are needed to find a fork");
+    this.nodes = Map.copyOf(nodes);
+  }
+
+  public ForkReport detect() {
+    final AtomicInteger requests = new AtomicInteger();
+    final Map<String, Long> heads = new ConcurrentHashMap<>();
+    nodes
+        .entrySet()
+        .parallelStream()
+        .forEach(
+            node -> {
+              heads.put(node.getKey(), node.getValue().getBlockNumber());
+              requests.incrementAndGet();
+            });
+    final long commonHeight = heads.values().stream().mapToLong(Long::longValue).min().getAsLong();
+
+    final Map<String, Hash> atCommonHeight = probe(commonHeight, requests);
+    if (agree(atCommonHeight)) {
+      return new ForkReport(heads, commonHeight, atCommonHeight, requests.get());
+    }
+
+    final Map<String, Hash> atGenesis = probe(0, requests);
+    if (!agree(atGenesis)) {
+      return new ForkReport(heads, 0, atGenesis, requests.get());
+    }
+
+    // every node agrees at the lower bound, and disagrees at the upper
+    long agreed = 0;
+    long diverged = commonHeight;
+    Map<String, Hash> divergence = atCommonHeight;
+    while (diverged - agreed > 1) {
+      final long middle = agreed + (diverged - agreed) / 2;
+      final Map<String, Hash> atMiddle = probe(middle, requests);
+      if (agree(atMiddle)) {
+        agreed = middle;
+      } else {
+        diverged = middle;
+        divergence = atMiddle;
+      }
+    }
+
+    return new ForkReport(heads, diverged, divergence, requests.get());
+  }
+
+  /** @return hash of the block at the height on each node, queried in parallel. */
+  private Map<String, Hash> probe(final long height, final AtomicInteger requests) {
+    final Map<String, Hash> hashes = new ConcurrentHashMap<>();
+    nodes
+        .entrySet()
+        .parallelStream()
+        .forEach(
+            node -> {
+              hashes.put(node.getKey(), node.getValue().getBlockByNumber(height).getHash());
+              requests.incrementAndGet();
+            });
+    return new TreeMap<>(hashes);
+  }
+
+  private static boolean agree(final Map<String, Hash> hashes) {
+    return hashes.values().stream().distinct().count() == 1;
+  }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.monitor;
+
+import tech.pegasys.peeps.node.model.Hash;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/** Where the chains of the nodes diverge, if they do, with the nodes on each branch. */
+public class ForkReport {
+
+  private final Map<String, Long> heads;
+  private final long height;
+  private final Map<Hash, Set<String>> branches =
+      new TreeMap<>(Comparator.comparing(Hash::toString));
+  private final int requests;
+
+  /**
+   * @param height first height of divergence, otherwise the highest height every node has.
+   * @param hashes of the block at the height on each node.
+   */
+  public ForkReport(
+      final Map<String, Long> heads,
+      final long height,
+      final Map<String, Hash> hashes,
+      final int requests) {
+    this.heads = new TreeMap<>(heads);
+    this.height = height;
+    this.requests = requests;
+    hashes.forEach(
+        (node, hash) -> branches.computeIfAbsent(hash, branch -> new TreeSet<>()).add(node));
+  }
+
+  public boolean isForked() {
+    return branches.size() > 1;
+  }
+
+  /** @return first height at which the nodes have different blocks, empty when none. */
+  public Optional<Long> getForkHeight() {
+    return isForked() ? Optional.of(height) : Optional.empty();
+  }
+
+  /** @return height up to which every node has the same chain. */
+  public long getAgreedHeight() {
+    return isForked() ? height - 1 : height;
+  }
+
+  /** @return names of the nodes on each branch, by the hash of the first block of the branch. */
+  public Map<Hash, Set<String>> getBranches() {
+    return branches;
+  }
+
+  /** @return head of each node when the search began. */
+  public Map<String, Long> getHeads() {
+    return heads;
+  }
+
+  /** @return number of JSON-RPC requests the search took. */
+  public int getRequests() {
+    return requests;
+  }
+
+  @Override
+  public String toString() {
+    return isForked()
+        ? String.format(
+            "Fork at block %s into branches %s, heads %s, found in %s requests",
+            height, branches, heads, requests)
+        : String.format(
+            "No fork up to block %s, heads %s, found in %s requests", height, heads, requests);
+  }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.monitor;
+
+import java.time.Instant;
+
+/** Breach of a network invariant by a node, as it was first observed. */
+public class InvariantViolation {
+
+  public enum Invariant {
+    /** The node has a different block at a height than another node. */
+    FORK,
+    /** The node has seen no new block for the stall time. */
+    STALL,
+    /** The node has fewer peers than the minimum, or failed to say how many it has. */
+    PEERS
+  }
+
+  private final Instant at;
+  private final Invariant invariant;
+  private final String node;
+  private final String description;
+
+  public InvariantViolation(
+      final Instant at, final Invariant invariant, final String node, final String description) {
+    this.at = at;
+    this.invariant = invariant;
+    this.node = node;
+    this.description = description;
+  }
+
+  public Instant getAt() {
+    return at;
+  }
+
+  public Invariant getInvariant() {
+    return invariant;
+  }
+
+  public String getNode() {
+    return node;
+  }
+
+  public String getDescription() {
+    return description;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s %s on %s: %s", at, invariant, node, description);
+  }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.monitor;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/** Percentiles of one latency over all transactions, and by each way of grouping them. */
+public class LatencyBreakdown {
+
+  private final LatencyPercentiles overall;
+  private final Map<String, LatencyPercentiles> byNodeType;
+  private final Map<String, LatencyPercentiles> byEntryNode;
+  private final Map<String, LatencyPercentiles> byKind;
+
+  public LatencyBreakdown(
+      final LatencyPercentiles overall,
+      final Map<String, LatencyPercentiles> byNodeType,
+      final Map<String, LatencyPercentiles> byEntryNode,
+      final Map<String, LatencyPercentiles> byKind) {
+    this.overall = overall;
+    this.byNodeType = new TreeMap<>(byNodeType);
+    this.byEntryNode = new TreeMap<>(byEntryNode);
+    this.byKind = new TreeMap<>(byKind);
+  }
+
+  public LatencyPercentiles getOverall() {
+    return overall;
+  }
+
+  /** @return percentiles by the type of node the transactions were sent to. */
+  public Map<String, LatencyPercentiles> getByNodeType() {
+    return byNodeType;
+  }
+
+  /** @return percentiles by the node the transactions were sent to. */
+  public Map<String, LatencyPercentiles> getByEntryNode() {
+    return byEntryNode;
+  }
+
+  public Map<String, LatencyPercentiles> getByKind() {
+    return byKind;
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder breakdown = new StringBuilder("all: ").append(overall);
+    byNodeType.forEach((type, latency) -> line(breakdown, "node type", type, latency));
+    byEntryNode.forEach((node, latency) -> line(breakdown, "entry node", node, latency));
+    byKind.forEach((kind, latency) -> line(breakdown, "kind", kind, latency));
+    return breakdown.toString();
+  }
+
+  private static void line(
+      final StringBuilder breakdown,
+      final String grouping,
+      final String group,
+      final LatencyPercentiles latency) {
+    breakdown.append(String.format("%n%s %s: %s", grouping, group, latency));
+  }
+}
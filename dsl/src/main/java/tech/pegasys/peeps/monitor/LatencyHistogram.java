@@ -0,0 +1,115 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.monitor;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Records latencies into log-linear buckets, in the manner of HdrHistogram, for percentiles to
+ * within one percent in fixed memory, however many are recorded.
+ *
+ * <p>Latencies below 256ns are counted exactly, above that each power of two is split into 128
+ * buckets. Recording is lock free and may be done concurrently.
+ */
+public class LatencyHistogram {
+
+  private static final int SUB_BUCKET_BITS = 7;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int EXACT_BUCKETS = 2 * SUB_BUCKETS;
+  private static final int BUCKETS =
+      EXACT_BUCKETS + (Long.SIZE - SUB_BUCKET_BITS - 2) * SUB_BUCKETS;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+  private final AtomicLong count = new AtomicLong();
+  private final AtomicLong max = new AtomicLong();
+
+  /** Negative latencies, from clocks read on different threads, are recorded as zero. */
+  public void record(final long nanos) {
+    final long latency = Math.max(0, nanos);
+    counts.incrementAndGet(bucket(latency));
+    count.incrementAndGet();
+    max.accumulateAndGet(latency, Math::max);
+  }
+
+  public void recordAll(final long[] nanos) {
+    for (final long latency : nanos) {
+      record(latency);
+    }
+  }
+
+  public long getCount() {
+    return count.get();
+  }
+
+  public Duration getMax() {
+    return Duration.ofNanos(max.get());
+  }
+
+  /**
+   * @param percentile between zero and one hundred.
+   * @return the highest latency in the bucket holding the percentile, no more than the maximum.
+   */
+  public Duration valueAtPercentile(final double percentile) {
+    checkArgument(percentile >= 0 && percentile <= 100, "Percentile out of range: %s", percentile);
+
+    final long total = count.get();
+    if (total == 0) {
+      return Duration.ZERO;
+    }
+
+    final long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+    long seen = 0;
+    for (int bucket = 0; bucket < BUCKETS; bucket++) {
+      seen += counts.get(bucket);
+      if (seen >= rank) {
+        return Duration.ofNanos(Math.min(highestInBucket(bucket), max.get()));
+      }
+    }
+
+    return getMax();
+  }
+
+  public LatencyPercentiles percentiles() {
+    return new LatencyPercentiles(
+        getCount(),
+        valueAtPercentile(50),
+        valueAtPercentile(90),
+        valueAtPercentile(99),
+        valueAtPercentile(99.9),
+        getMax());
+  }
+
+  private static int bucket(final long latency) {
+    if (latency < EXACT_BUCKETS) {
+      return (int) latency;
+    }
+
+    final int shift = Long.SIZE - Long.numberOfLeadingZeros(latency) - SUB_BUCKET_BITS - 1;
+    final int top = (int) (latency >>> shift);
+    return EXACT_BUCKETS + (shift - 1) * SUB_BUCKETS + top - SUB_BUCKETS;
+  }
+
+  private static long highestInBucket(final int bucket) {
+    if (bucket < EXACT_BUCKETS) {
+      return bucket;
+    }
+
+    final int shift = (bucket - EXACT_BUCKETS) / SUB_BUCKETS + 1;
+    final long top = (bucket - EXACT_BUCKETS) % SUB_BUCKETS + SUB_BUCKETS;
+    return ((top + 1) << shift) - 1;
+  }
+}
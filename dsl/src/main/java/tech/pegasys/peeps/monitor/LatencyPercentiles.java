@@ -0,0 +1,71 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.monitor;
+
+import java.time.Duration;
+
+public class LatencyPercentiles {
+
+  private final long count;
+  private final Duration p50;
+  private final Duration p90;
+  private final Duration p99;
+  private final Duration p999;
+  private final Duration max;
+
+  public LatencyPercentiles(
+      final long count,
+      final Duration p50,
+      final Duration p90,
+      final Duration p99,
+      final Duration p999,
+      final Duration max) {
+    this.count = count;
+    this.p50 = p50;
+    this.p90 = p90;
+    this.p99 = p99;
+    this.p999 = p999;
+    this.max = max;
+  }
+
+  public long getCount() {
+    return count;
+  }
+
+  public Duration getP50() {
+    return p50;
+  }
+
+  public Duration getP90() {
+    return p90;
+  }
+
+  public Duration getP99() {
+    return p99;
+  }
+
+  public Duration getP999() {
+    return p999;
+  }
+
+  public Duration getMax() {
+    return max;
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "count: %d, p50: %d ms, p90: %d ms, p99: %d ms, p99.9: %d ms, max: %d ms",
+        count, p50.toMillis(), p90.toMillis(), p99.toMillis(), p999.toMillis(), max.toMillis());
+  }
+}
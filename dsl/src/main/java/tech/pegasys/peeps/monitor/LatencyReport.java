@@ -0,0 +1,42 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.monitor;
+
+/**
+ * Latencies of a run from the submission of each transaction, until it is first seen in a block
+ * and until every node has that block.
+ */
+public class LatencyReport {
+
+  private final LatencyBreakdown inclusion;
+  private final LatencyBreakdown consensus;
+
+  public LatencyReport(final LatencyBreakdown inclusion, final LatencyBreakdown consensus) {
+    this.inclusion = inclusion;
+    this.consensus = consensus;
+  }
+
+  public LatencyBreakdown getInclusion() {
+    return inclusion;
+  }
+
+  /** @return latencies until every node has the block including the transaction. */
+  public LatencyBreakdown getConsensus() {
+    return consensus;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("Inclusion latency%n%s%nConsensus latency%n%s", inclusion, consensus);
+  }
+}
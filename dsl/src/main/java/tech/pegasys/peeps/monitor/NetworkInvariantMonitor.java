@@ -0,0 +1,274 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.monitor;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+
+import tech.pegasys.peeps.monitor.InvariantViolation.Invariant;
+import tech.pegasys.peeps.node.model.Block;
+import tech.pegasys.peeps.node.model.Hash;
+import tech.pegasys.peeps.node.rpc.NodeRpc;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Watches every node of a network while a workload runs, recording each breach of an invariant
+ * when it is first observed, so a test may fail as soon as the network misbehaves.
+ *
+ * <p>Heads and forks come from the blocks handed over by the shared block pollers, costing no
+ * requests of their own. Each check costs one request per node for its peers, with stalls judged
+ * from when each node last saw a new block.
+ */
+public class NetworkInvariantMonitor implements AutoCloseable {
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  /** Heights remembered for spotting forks, a node lagging further behind is not compared. */
+  private static final int RETAINED_HEIGHTS = 1024;
+
+  private final Map<String, ? extends NodeRpc> nodes;
+  private final Duration stallAfter;
+  private final int minimumPeers;
+  private final Clock clock;
+  private final Map<String, Long> heads = new TreeMap<>();
+  private final Map<String, Instant> lastBlockAt = new TreeMap<>();
+  private final Map<String, Integer> peers = new TreeMap<>();
+  private final NavigableMap<Long, FirstSeen> firstSeen = new TreeMap<>();
+  private final Map<Invariant, Set<String>> breached = new EnumMap<>(Invariant.class);
+  private final List<InvariantViolation> violations = new ArrayList<>();
+
+  private ScheduledExecutorService scheduler;
+
+  /**
+   * @param nodes to watch, by name.
+   * @param stallAfter time without a new block after which a node is stalled.
+   * @param minimumPeers fewest peers each node must keep.
+   */
+  public NetworkInvariantMonitor(
+      final Map<String, ? extends NodeRpc> nodes,
+      final Duration stallAfter,
+      final int minimumPeers) {
+    this(nodes, stallAfter, minimumPeers, Clock.systemUTC());
+  }
+
+  NetworkInvariantMonitor(
+      final Map<String, ? extends NodeRpc> nodes,
+      final Duration stallAfter,
+      final int minimumPeers,
+      final Clock clock) {
+    checkArgument(!nodes.isEmpty(), "At least one node must be watched");
+    checkArgument(!stallAfter.isNegative() && !stallAfter.isZero(), "Stall time must be positive");
+    checkArgument(minimumPeers >= 0, "Minimum peers cannot be negative");
+    this.nodes = Map.copyOf(nodes);
+    this.stallAfter = stallAfter;
+    this.minimumPeers = minimumPeers;
+    this.clock = clock;
+
+    final Instant now = clock.instant();
+    nodes
+        .keySet()
+        .forEach(
+            node -> {
+              heads.put(node, -1L);
+              lastBlockAt.put(node, now);
+            });
+    for (final Invariant invariant : Invariant.values()) {
+      breached.put(invariant, new HashSet<>());
+    }
+  }
+
+  /** @return subscriber for the blocks of the named node. */
+  public Consumer<Block> subscriber(final String node) {
+    checkArgument(heads.containsKey(node), "Node is not watched: %s", node);
+    return block -> seen(node, block);
+  }
+
+  /** Checks on the interval in the background, until stopped. */
+  public synchronized void start(final Duration interval) {
+    checkState(scheduler == null, "Invariant monitor is already running");
+
+    scheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              final Thread thread = new Thread(runnable, "invariant-monitor");
+              thread.setDaemon(true);
+              return thread;
+            });
+
+    final long period = interval.toMillis();
+    scheduler.scheduleWithFixedDelay(this::checkQuietly, period, period, TimeUnit.MILLISECONDS);
+  }
+
+  public synchronized void stop() {
+    if (scheduler != null) {
+      scheduler.shutdownNow();
+      scheduler = null;
+    }
+  }
+
+  @Override
+  public void close() {
+    stop();
+  }
+
+  /** Polls the peers of every node and judges whether any has stalled. */
+  public void check() {
+    final Map<String, Integer> counts = new TreeMap<>();
+    final Map<String, String> failures = new TreeMap<>();
+    nodes.forEach(
+        (node, rpc) -> {
+          try {
+            counts.put(node, rpc.getConnectedPeerIds().size());
+          } catch (final RuntimeException e) {
+            failures.put(node, String.valueOf(e.getMessage()));
+          }
+        });
+
+    synchronized (this) {
+      final Instant now = clock.instant();
+      peers.putAll(counts);
+
+      counts.forEach(
+          (node, count) -> {
+            if (count < minimumPeers) {
+              violated(
+                  Invariant.PEERS,
+                  node,
+                  String.format("%s peers, fewer than the minimum of %s", count, minimumPeers));
+            } else {
+              breached.get(Invariant.PEERS).remove(node);
+            }
+          });
+      failures.forEach(
+          (node, failure) ->
+              violated(Invariant.PEERS, node, "Failed to retrieve peers: " + failure));
+
+      lastBlockAt.forEach(
+          (node, at) -> {
+            if (Duration.between(at, now).compareTo(stallAfter) > 0) {
+              violated(
+                  Invariant.STALL,
+                  node,
+                  String.format("No new block since %s, head at %s", at, heads.get(node)));
+            }
+          });
+    }
+  }
+
+  /** @throws AssertionError with a diagnosis of the network, once any invariant is breached. */
+  public synchronized void verify() {
+    if (!violations.isEmpty()) {
+      throw new AssertionError(diagnosis());
+    }
+  }
+
+  public synchronized boolean isViolated() {
+    return !violations.isEmpty();
+  }
+
+  /** @return every breach, in the order they were observed. */
+  public synchronized List<InvariantViolation> getViolations() {
+    return List.copyOf(violations);
+  }
+
+  /** @return the breaches, alongside the head and peers of every node when last observed. */
+  public synchronized String diagnosis() {
+    final StringBuilder diagnosis =
+        new StringBuilder(
+            String.format(
+                "%s network invariant violations at %s", violations.size(), clock.instant()));
+    violations.forEach(violation -> diagnosis.append(String.format("%n  %s", violation)));
+    heads.forEach(
+        (node, head) ->
+            diagnosis.append(
+                String.format(
+                    "%n  %s: head %s, last new block at %s, peers %s",
+                    node,
+                    head,
+                    lastBlockAt.get(node),
+                    peers.containsKey(node) ? peers.get(node) : "unknown")));
+    return diagnosis.toString();
+  }
+
+  private synchronized void seen(final String node, final Block block) {
+    final long number = block.getNumber();
+    if (number > heads.get(node)) {
+      heads.put(node, number);
+      lastBlockAt.put(node, clock.instant());
+      breached.get(Invariant.STALL).remove(node);
+    }
+
+    if (firstSeen.size() == RETAINED_HEIGHTS && number < firstSeen.firstKey()) {
+      return;
+    }
+
+    final FirstSeen first = firstSeen.putIfAbsent(number, new FirstSeen(node, block.getHash()));
+    if (first == null) {
+      if (firstSeen.size() > RETAINED_HEIGHTS) {
+        firstSeen.pollFirstEntry();
+      }
+    } else if (!first.hash.equals(block.getHash())) {
+      violated(
+          Invariant.FORK,
+          node,
+          String.format(
+              "Block %s is %s, but is %s on %s", number, block.getHash(), first.hash, first.node));
+    }
+  }
+
+  /** Records a breach once, until the node is seen to recover from it. */
+  private void violated(final Invariant invariant, final String node, final String description) {
+    if (breached.get(invariant).add(node)) {
+      final InvariantViolation violation =
+          new InvariantViolation(clock.instant(), invariant, node, description);
+      LOG.error("Network invariant violated: {}", violation);
+      violations.add(violation);
+    }
+  }
+
+  private void checkQuietly() {
+    try {
+      check();
+    } catch (final RuntimeException e) {
+      LOG.warn("Invariant check failed, retrying on the next", e);
+    }
+  }
+
+  private static class FirstSeen {
+    private final String node;
+    private final Hash hash;
+
+    private FirstSeen(final String node, final Hash hash) {
+      this.node = node;
+      this.hash = hash;
+    }
+  }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.monitor;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import tech.pegasys.peeps.node.model.Hash;
+import tech.pegasys.peeps.node.rpc.NodeRpc;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Fetches the hashes of the transactions entering the pool of a node, through a pending
+ * transaction filter, handing each batch to every subscriber.
+ *
+ * <p>Filter polling is served by both Besu and GoQuorum over HTTP, in place of a {@code
+ * newPendingTransactions} subscription.
+ */
+public class PendingTransactionPoller implements AutoCloseable {
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  private final NodeRpc rpc;
+  private final Duration interval;
+  private final List<Consumer<List<Hash>>> subscribers = new CopyOnWriteArrayList<>();
+
+  private ScheduledExecutorService scheduler;
+  private String filterId;
+
+  public PendingTransactionPoller(final NodeRpc rpc, final Duration interval) {
+    this.rpc = rpc;
+    this.interval = interval;
+  }
+
+  public PendingTransactionPoller subscribe(final Consumer<List<Hash>> subscriber) {
+    subscribers.add(subscriber);
+    return this;
+  }
+
+  /** Polls in the background for the transactions pooled from now on. */
+  public synchronized void start() {
+    checkState(scheduler == null, "Pending transaction poller is already running");
+
+    if (filterId == null) {
+      filterId = rpc.newPendingTransactionFilter();
+    }
+    scheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              final Thread thread = new Thread(runnable, "pending-transaction-poller");
+              thread.setDaemon(true);
+              return thread;
+            });
+
+    final long period = interval.toMillis();
+    scheduler.scheduleWithFixedDelay(this::pollQuietly, period, period, TimeUnit.MILLISECONDS);
+  }
+
+  public synchronized void stop() {
+    if (scheduler != null) {
+      scheduler.shutdownNow();
+      scheduler = null;
+    }
+  }
+
+  public synchronized boolean isRunning() {
+    return scheduler != null;
+  }
+
+  @Override
+  public void close() {
+    stop();
+  }
+
+  /**
+   * Hands the transactions pooled since the last poll to the subscribers, creating the filter on
+   * the first poll when the poller has not been started.
+   *
+   * <p>A filter that fails to be polled is dropped, to be installed afresh by the next poll, as a
+   * restarted node no longer knows of it.
+   *
+   * @return number of newly pooled transactions.
+   */
+  public synchronized int poll() {
+    if (filterId == null) {
+      filterId = rpc.newPendingTransactionFilter();
+    }
+
+    final List<Hash> pooled;
+    try {
+      pooled = rpc.getFilterChanges(filterId);
+    } catch (final RuntimeException | AssertionError e) {
+      filterId = null;
+      throw e;
+    }
+    if (!pooled.isEmpty()) {
+      subscribers.forEach(subscriber -> subscriber.accept(pooled));
+    }
+
+    return pooled.size();
+  }
+
+  /**
+   * An unreachable node fails the mandatory RPC with an AssertionError, which must not escape, as
+   * the scheduler would then cancel every later poll.
+   */
+  private void pollQuietly() {
+    try {
+      poll();
+    } catch (final RuntimeException | AssertionError e) {
+      LOG.warn("Pending transaction poll failed, retrying on the next", e);
+    }
+  }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.monitor;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/** Period in which a node saw no new block, from its last new block until the next. */
+public class Stall {
+
+  private final long height;
+  private final Instant since;
+  private final Instant recoveredAt;
+
+  public Stall(final long height, final Instant since, final Instant recoveredAt) {
+    this.height = height;
+    this.since = since;
+    this.recoveredAt = recoveredAt;
+  }
+
+  /** @return head of the node while it was stalled. */
+  public long getHeight() {
+    return height;
+  }
+
+  /** @return when the node saw its last new block before the stall. */
+  public Instant getSince() {
+    return since;
+  }
+
+  /** @return when the node saw a new block again, empty while it remains stalled. */
+  public Optional<Instant> getRecoveredAt() {
+    return Optional.ofNullable(recoveredAt);
+  }
+
+  public boolean isRecovered() {
+    return recoveredAt != null;
+  }
+
+  /** @return length of the stall, up until the given time when it is ongoing. */
+  public Duration getDuration(final Instant now) {
+    return Duration.between(since, isRecovered() ? recoveredAt : now);
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "Stalled at block %s since %s, %s",
+        height, since, isRecovered() ? "recovered at " + recoveredAt : "ongoing");
+  }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.monitor;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/** Latencies of the tracked transactions from their submission, in nanoseconds and sorted. */
+public class TrackingReport {
+
+  private final int tracked;
+  private final long[] pendingLatencies;
+  private final long[] inclusionLatencies;
+  private final long[] finalizationLatencies;
+  private final int included;
+  private final int finalized;
+
+  public TrackingReport(
+      final int tracked,
+      final long[] pendingLatencies,
+      final long[] inclusionLatencies,
+      final long[] finalizationLatencies,
+      final int included,
+      final int finalized) {
+    this.tracked = tracked;
+    this.pendingLatencies = pendingLatencies;
+    this.inclusionLatencies = inclusionLatencies;
+    this.finalizationLatencies = finalizationLatencies;
+    this.included = included;
+    this.finalized = finalized;
+  }
+
+  public int getTracked() {
+    return tracked;
+  }
+
+  public int getIncluded() {
+    return included;
+  }
+
+  public int getFinalized() {
+    return finalized;
+  }
+
+  /** @return time for each transaction to be accepted into the pool of the node it was sent to. */
+  public long[] getPendingLatencies() {
+    return Arrays.copyOf(pendingLatencies, pendingLatencies.length);
+  }
+
+  /** @return time for each included transaction to be seen in a block. */
+  public long[] getInclusionLatencies() {
+    return Arrays.copyOf(inclusionLatencies, inclusionLatencies.length);
+  }
+
+  /** @return time for each finalized transaction to have its block become final. */
+  public long[] getFinalizationLatencies() {
+    return Arrays.copyOf(finalizationLatencies, finalizationLatencies.length);
+  }
+
+  public Duration getMeanInclusionLatency() {
+    return mean(inclusionLatencies);
+  }
+
+  public Duration getMeanFinalizationLatency() {
+    return mean(finalizationLatencies);
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "tracked: %d, included: %d (latency mean: %d ms), finalized: %d (latency mean: %d ms)",
+        tracked,
+        included,
+        getMeanInclusionLatency().toMillis(),
+        finalized,
+        getMeanFinalizationLatency().toMillis());
+  }
+
+  private static Duration mean(final long[] latencies) {
+    return Duration.ofNanos(Math.round(Arrays.stream(latencies).average().orElse(0)));
+  }
+}
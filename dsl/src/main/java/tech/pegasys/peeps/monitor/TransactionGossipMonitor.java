@@ -0,0 +1,191 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.monitor;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import tech.pegasys.peeps.load.TransactionSubmitter;
+import tech.pegasys.peeps.node.model.Hash;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+import java.util.function.LongSupplier;
+
+/**
+ * Measures how long a transaction sent to one node takes to enter the pool of each other node,
+ * for every pair of source and destination.
+ *
+ * <p>Pools are followed by a {@link PendingTransactionPoller} per node, so times are only as
+ * precise as its polling interval. The delays of each pair are recorded into a histogram, created
+ * on the first delay of the pair, so memory does not grow with the number of transactions.
+ */
+public class TransactionGossipMonitor {
+
+  private static final long NOT_YET = Long.MIN_VALUE;
+  private static final int UNKNOWN_SOURCE = -1;
+
+  /* Transactions not yet in every pool, beyond which the eldest are given up on. */
+  private static final int OUTSTANDING = 65_536;
+
+  private final List<String> nodes;
+  private final LongSupplier ticker;
+  private final LatencyHistogram[] delays;
+  private final LatencyHistogram overall = new LatencyHistogram();
+  private final Map<Hash, Sighting> outstanding =
+      new LinkedHashMap<>() {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Hash, Sighting> eldest) {
+          final boolean full = size() > OUTSTANDING;
+          if (full && eldest.getValue().source != UNKNOWN_SOURCE) {
+            abandoned++;
+          }
+          return full;
+        }
+      };
+
+  private long gossiped;
+  private long abandoned;
+
+  /** @param nodes names of the nodes whose pools are followed. */
+  public TransactionGossipMonitor(final Collection<String> nodes) {
+    this(nodes, System::nanoTime);
+  }
+
+  TransactionGossipMonitor(final Collection<String> nodes, final LongSupplier ticker) {
+    checkArgument(nodes.size() > 1, "Gossip requires at least two nodes");
+    this.nodes = new ArrayList<>(new TreeSet<>(nodes));
+    this.ticker = ticker;
+    this.delays = new LatencyHistogram[this.nodes.size() * this.nodes.size()];
+  }
+
+  /**
+   * @param entryNode name of the node the transaction of the sequence number is sent to.
+   * @return submitter that follows every transaction sent by the given one.
+   */
+  public TransactionSubmitter track(
+      final TransactionSubmitter submitter, final LongFunction<String> entryNode) {
+    return sequence -> {
+      final long submittedAt = ticker.getAsLong();
+      final Hash hash = submitter.submit(sequence);
+      submitted(hash, entryNode.apply(sequence), submittedAt);
+      return hash;
+    };
+  }
+
+  public synchronized void submitted(
+      final Hash hash, final String entryNode, final long submittedAt) {
+    final int source = index(entryNode);
+    final Sighting sighting = outstanding.computeIfAbsent(hash, added -> new Sighting());
+    checkArgument(sighting.source == UNKNOWN_SOURCE, "Transaction is already tracked: %s", hash);
+    sighting.source = source;
+    sighting.submittedAt = submittedAt;
+
+    // pools polled before the submission returned
+    for (int node = 0; node < nodes.size(); node++) {
+      if (node != source && sighting.seenAt[node] != NOT_YET) {
+        record(source, node, sighting.seenAt[node] - submittedAt);
+      }
+    }
+    completeIfGossiped(hash, sighting);
+  }
+
+  /** @return subscriber for the pooled transactions of the named node. */
+  public Consumer<List<Hash>> subscriber(final String node) {
+    final int index = index(node);
+    return pooled -> seen(index, pooled);
+  }
+
+  public synchronized TransactionGossipReport report() {
+    final Map<String, Map<String, LatencyPercentiles>> bySource = new HashMap<>();
+
+    for (int pair = 0; pair < delays.length; pair++) {
+      if (delays[pair] != null) {
+        bySource
+            .computeIfAbsent(nodes.get(pair / nodes.size()), source -> new HashMap<>())
+            .put(nodes.get(pair % nodes.size()), delays[pair].percentiles());
+      }
+    }
+
+    final long tracked =
+        outstanding.values().stream().filter(sighting -> sighting.source != UNKNOWN_SOURCE).count();
+    return new TransactionGossipReport(
+        gossiped, tracked, abandoned, overall.percentiles(), bySource);
+  }
+
+  private synchronized void seen(final int node, final List<Hash> pooled) {
+    final long now = ticker.getAsLong();
+
+    for (final Hash hash : pooled) {
+      final Sighting sighting = outstanding.computeIfAbsent(hash, added -> new Sighting());
+      if (sighting.seenAt[node] != NOT_YET) {
+        continue;
+      }
+
+      sighting.seenAt[node] = now;
+      sighting.seen++;
+      if (sighting.source != UNKNOWN_SOURCE && sighting.source != node) {
+        record(sighting.source, node, now - sighting.submittedAt);
+      }
+      completeIfGossiped(hash, sighting);
+    }
+  }
+
+  private void completeIfGossiped(final Hash hash, final Sighting sighting) {
+    if (sighting.source == UNKNOWN_SOURCE) {
+      return;
+    }
+
+    final int inSourcePool = sighting.seenAt[sighting.source] == NOT_YET ? 0 : 1;
+    if (sighting.seen - inSourcePool == nodes.size() - 1) {
+      outstanding.remove(hash);
+      gossiped++;
+    }
+  }
+
+  private void record(final int source, final int destination, final long delay) {
+    final int pair = source * nodes.size() + destination;
+    if (delays[pair] == null) {
+      delays[pair] = new LatencyHistogram();
+    }
+    delays[pair].record(delay);
+    overall.record(delay);
+  }
+
+  private int index(final String node) {
+    final int index = nodes.indexOf(node);
+    checkArgument(index >= 0, "Node is not followed: %s", node);
+    return index;
+  }
+
+  /** When a transaction was sent, and first seen in the pool of each node. */
+  private class Sighting {
+    private final long[] seenAt = new long[nodes.size()];
+    private int source = UNKNOWN_SOURCE;
+    private long submittedAt;
+    private int seen;
+
+    private Sighting() {
+      Arrays.fill(seenAt, NOT_YET);
+    }
+  }
+}
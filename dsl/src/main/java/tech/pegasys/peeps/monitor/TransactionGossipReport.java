@@ -0,0 +1,80 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.monitor;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/** How long transactions took to enter the pools of the other nodes, after being sent. */
+public class TransactionGossipReport {
+
+  private final long gossiped;
+  private final long outstanding;
+  private final long abandoned;
+  private final LatencyPercentiles overall;
+  private final Map<String, Map<String, LatencyPercentiles>> bySource;
+
+  public TransactionGossipReport(
+      final long gossiped,
+      final long outstanding,
+      final long abandoned,
+      final LatencyPercentiles overall,
+      final Map<String, Map<String, LatencyPercentiles>> bySource) {
+    this.gossiped = gossiped;
+    this.outstanding = outstanding;
+    this.abandoned = abandoned;
+    this.overall = overall;
+    this.bySource = new TreeMap<>();
+    bySource.forEach(
+        (source, destinations) -> this.bySource.put(source, new TreeMap<>(destinations)));
+  }
+
+  /** @return number of tracked transactions seen in the pool of every other node. */
+  public long getGossiped() {
+    return gossiped;
+  }
+
+  /** @return number of tracked transactions not yet seen in the pool of every other node. */
+  public long getOutstanding() {
+    return outstanding;
+  }
+
+  /** @return number of tracked transactions given up on, with too many outstanding. */
+  public long getAbandoned() {
+    return abandoned;
+  }
+
+  public LatencyPercentiles getOverall() {
+    return overall;
+  }
+
+  /** @return delays by the node a transaction was sent to, then the node whose pool it entered. */
+  public Map<String, Map<String, LatencyPercentiles>> getBySource() {
+    return bySource;
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder report =
+        new StringBuilder(
+            String.format(
+                "Transactions gossiped: %d, outstanding: %d, abandoned: %d%nall: %s",
+                gossiped, outstanding, abandoned, overall));
+    bySource.forEach(
+        (source, destinations) ->
+            destinations.forEach(
+                (destination, latency) ->
+                    report.append(String.format("%n%s -> %s: %s", source, destination, latency))));
+    return report.toString();
+  }
+}
@@ -0,0 +1,323 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.monitor;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import tech.pegasys.peeps.load.TransactionSubmitter;
+import tech.pegasys.peeps.node.model.Block;
+import tech.pegasys.peeps.node.model.Hash;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.function.LongFunction;
+import java.util.function.LongSupplier;
+import java.util.stream.IntStream;
+
+/**
+ * Follows each tracked transaction from its submission, through acceptance into the pool, to its
+ * inclusion in a block, that block becoming final and every node having it.
+ *
+ * <p>Inclusion is found by scanning the transactions of each new block once, as a subscriber of a
+ * {@link BlockPoller} per node, instead of polling a receipt per transaction. The timestamps are
+ * held in columns of primitives indexed by the order of tracking.
+ */
+public class TransactionTracker implements Consumer<Block> {
+
+  private static final long NOT_YET = Long.MIN_VALUE;
+  private static final int INITIAL_CAPACITY = 1024;
+  private static final String UNLABELLED = "";
+
+  /* Inclusions of transactions not yet tracked, in case the block is seen before the hash. */
+  private static final int RECENT_INCLUSIONS = 65_536;
+
+  private final int confirmations;
+  private final int nodes;
+  private final LongSupplier ticker;
+  private final Map<Hash, Integer> indices = new HashMap<>();
+  private final List<String> labels = new ArrayList<>();
+  private final Map<String, Integer> labelIds = new HashMap<>();
+  private final Map<Hash, long[]> recentInclusions =
+      new LinkedHashMap<>() {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Hash, long[]> eldest) {
+          return size() > RECENT_INCLUSIONS;
+        }
+      };
+
+  private long[] submitted = new long[INITIAL_CAPACITY];
+  private long[] pending = new long[INITIAL_CAPACITY];
+  private long[] included = new long[INITIAL_CAPACITY];
+  private long[] finalized = new long[INITIAL_CAPACITY];
+  private long[] consensus = new long[INITIAL_CAPACITY];
+  private long[] blockNumbers = new long[INITIAL_CAPACITY];
+  private int[] seenBy = new int[INITIAL_CAPACITY];
+  private int[] entryNodes = new int[INITIAL_CAPACITY];
+  private int[] kinds = new int[INITIAL_CAPACITY];
+  private int size;
+  private int firstUnfinalized;
+  private long head = -1;
+
+  /**
+   * @param confirmations blocks to follow the including block before a transaction is final, zero
+   *     for the immediate finality of BFT consensus.
+   */
+  public TransactionTracker(final int confirmations) {
+    this(confirmations, 1);
+  }
+
+  /** @param nodes number of nodes whose blocks are followed, each with its own subscriber. */
+  public TransactionTracker(final int confirmations, final int nodes) {
+    this(confirmations, nodes, System::nanoTime);
+  }
+
+  TransactionTracker(final int confirmations, final int nodes, final LongSupplier ticker) {
+    checkArgument(confirmations >= 0, "Confirmations must not be negative");
+    checkArgument(nodes > 0, "At least one node must be followed");
+    this.confirmations = confirmations;
+    this.nodes = nodes;
+    this.ticker = ticker;
+  }
+
+  /** @return submitter that tracks every transaction sent by the given one. */
+  public TransactionSubmitter track(final TransactionSubmitter submitter) {
+    return track(submitter, sequence -> UNLABELLED, UNLABELLED);
+  }
+
+  /**
+   * @param entryNode name of the node the transaction of the sequence number is sent to.
+   * @param kind of transactions sent, e.g. transfer or contract call.
+   * @return submitter that tracks every transaction sent by the given one.
+   */
+  public TransactionSubmitter track(
+      final TransactionSubmitter submitter,
+      final LongFunction<String> entryNode,
+      final String kind) {
+    return sequence -> {
+      final long submittedAt = ticker.getAsLong();
+      final Hash hash = submitter.submit(sequence);
+      accepted(hash, submittedAt, ticker.getAsLong(), entryNode.apply(sequence), kind);
+      return hash;
+    };
+  }
+
+  /** Tracks a transaction sent and accepted just now. */
+  public void track(final Hash hash) {
+    final long now = ticker.getAsLong();
+    accepted(hash, now, now);
+  }
+
+  public void accepted(final Hash hash, final long submittedAt, final long pendingAt) {
+    accepted(hash, submittedAt, pendingAt, UNLABELLED, UNLABELLED);
+  }
+
+  public synchronized void accepted(
+      final Hash hash,
+      final long submittedAt,
+      final long pendingAt,
+      final String entryNode,
+      final String kind) {
+    checkArgument(!indices.containsKey(hash), "Transaction is already tracked: %s", hash);
+    ensureCapacity();
+
+    final int index = size++;
+    indices.put(hash, index);
+    submitted[index] = submittedAt;
+    pending[index] = pendingAt;
+    included[index] = NOT_YET;
+    finalized[index] = NOT_YET;
+    consensus[index] = NOT_YET;
+    blockNumbers[index] = NOT_YET;
+    seenBy[index] = 0;
+    entryNodes[index] = label(entryNode);
+    kinds[index] = label(kind);
+
+    final long[] inclusion = recentInclusions.remove(hash);
+    if (inclusion != null) {
+      for (int node = 0; node < inclusion[1]; node++) {
+        seen(index, inclusion[0], pendingAt);
+      }
+    }
+  }
+
+  /** @return subscriber for the blocks of one of the nodes, there must be one for each. */
+  public Consumer<Block> subscriber() {
+    return this::seen;
+  }
+
+  /** Blocks of a tracker following a single node. */
+  @Override
+  public void accept(final Block block) {
+    seen(block);
+  }
+
+  public synchronized TrackingReport report() {
+    return new TrackingReport(
+        size,
+        latencies(pending, i -> true),
+        latencies(included, this::isIncluded),
+        latencies(finalized, this::isFinalized),
+        count(this::isIncluded),
+        count(this::isFinalized));
+  }
+
+  /**
+   * @param nodeType of each entry node, by its name.
+   * @return latency percentiles of the transactions reaching each stage.
+   */
+  public synchronized LatencyReport latencyReport(final Function<String, String> nodeType) {
+    return new LatencyReport(
+        breakdown(included, this::isIncluded, nodeType),
+        breakdown(consensus, index -> consensus[index] != NOT_YET, nodeType));
+  }
+
+  private synchronized void seen(final Block block) {
+    final long now = ticker.getAsLong();
+    head = Math.max(head, block.getNumber());
+
+    for (final Hash hash : block.getTransactions()) {
+      final Integer index = indices.get(hash);
+      if (index == null) {
+        recentInclusions.computeIfAbsent(hash, unknown -> new long[] {block.getNumber(), 0})[1]++;
+      } else {
+        seen(index, block.getNumber(), now);
+      }
+    }
+
+    finalizeUpTo(now);
+  }
+
+  private void seen(final int index, final long blockNumber, final long now) {
+    if (!isIncluded(index)) {
+      included[index] = now;
+      blockNumbers[index] = blockNumber;
+      if (blockNumber + confirmations <= head) {
+        finalized[index] = now;
+      }
+    }
+
+    if (++seenBy[index] == nodes) {
+      consensus[index] = now;
+    }
+  }
+
+  /** Only the window of transactions after the earliest one not yet final is scanned. */
+  private void finalizeUpTo(final long now) {
+    for (int index = firstUnfinalized; index < size; index++) {
+      if (isIncluded(index) && !isFinalized(index) && blockNumbers[index] + confirmations <= head) {
+        finalized[index] = now;
+      }
+    }
+
+    while (firstUnfinalized < size && isFinalized(firstUnfinalized)) {
+      firstUnfinalized++;
+    }
+  }
+
+  private LatencyBreakdown breakdown(
+      final long[] reached, final IntPredicate filter, final Function<String, String> nodeType) {
+    final LatencyHistogram overall = new LatencyHistogram();
+    final Map<String, LatencyHistogram> byNodeType = new HashMap<>();
+    final Map<String, LatencyHistogram> byEntryNode = new HashMap<>();
+    final Map<String, LatencyHistogram> byKind = new HashMap<>();
+    final int unlabelled = label(UNLABELLED);
+
+    IntStream.range(0, size)
+        .filter(filter)
+        .forEach(
+            index -> {
+              final long latency = reached[index] - submitted[index];
+              overall.record(latency);
+              if (entryNodes[index] != unlabelled) {
+                final String entryNode = labels.get(entryNodes[index]);
+                histogram(byEntryNode, entryNode).record(latency);
+                histogram(byNodeType, nodeType.apply(entryNode)).record(latency);
+              }
+              if (kinds[index] != unlabelled) {
+                histogram(byKind, labels.get(kinds[index])).record(latency);
+              }
+            });
+
+    return new LatencyBreakdown(
+        overall.percentiles(),
+        percentiles(byNodeType),
+        percentiles(byEntryNode),
+        percentiles(byKind));
+  }
+
+  private static LatencyHistogram histogram(
+      final Map<String, LatencyHistogram> histograms, final String group) {
+    return histograms.computeIfAbsent(group, name -> new LatencyHistogram());
+  }
+
+  private static Map<String, LatencyPercentiles> percentiles(
+      final Map<String, LatencyHistogram> histograms) {
+    final Map<String, LatencyPercentiles> percentiles = new HashMap<>();
+    histograms.forEach((group, histogram) -> percentiles.put(group, histogram.percentiles()));
+    return percentiles;
+  }
+
+  private int label(final String label) {
+    return labelIds.computeIfAbsent(
+        label,
+        added -> {
+          labels.add(added);
+          return labels.size() - 1;
+        });
+  }
+
+  private boolean isIncluded(final int index) {
+    return included[index] != NOT_YET;
+  }
+
+  private boolean isFinalized(final int index) {
+    return finalized[index] != NOT_YET;
+  }
+
+  private int count(final IntPredicate filter) {
+    return (int) IntStream.range(0, size).filter(filter).count();
+  }
+
+  private long[] latencies(final long[] reached, final IntPredicate filter) {
+    final long[] latencies =
+        IntStream.range(0, size).filter(filter).mapToLong(i -> reached[i] - submitted[i]).toArray();
+    Arrays.sort(latencies);
+    return latencies;
+  }
+
+  private void ensureCapacity() {
+    if (size < submitted.length) {
+      return;
+    }
+
+    final int capacity = submitted.length * 2;
+    submitted = Arrays.copyOf(submitted, capacity);
+    pending = Arrays.copyOf(pending, capacity);
+    included = Arrays.copyOf(included, capacity);
+    finalized = Arrays.copyOf(finalized, capacity);
+    consensus = Arrays.copyOf(consensus, capacity);
+    blockNumbers = Arrays.copyOf(blockNumbers, capacity);
+    seenBy = Arrays.copyOf(seenBy, capacity);
+    entryNodes = Arrays.copyOf(entryNodes, capacity);
+    kinds = Arrays.copyOf(kinds, capacity);
+  }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.network;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static org.assertj.core.api.Assertions.assertThat;
+import static tech.pegasys.peeps.util.Await.await;
+
+import tech.pegasys.peeps.node.model.EnodeHelpers;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Follows the links between every node of a network as an adjacency matrix, with a bit set of the
+ * connected peers of each node indexed by the order nodes were added.
+ *
+ * <p>A node is satisfied once linked to exactly its expected peers, as a link outside the
+ * expected ones means the topology is not being honoured. Peers outside the network are ignored.
+ *
+ * <p>Each round polls only the nodes not yet satisfied, once each, and an enode is parsed for its
+ * public key only the first time it is seen, so a round costs a request per unsatisfied node
+ * rather than a comparison of every node's peers with every other node.
+ */
+public class ConnectivityTracker {
+
+  private static final Logger LOG = LogManager.getLogger();
+  private static final int UNKNOWN = -1;
+
+  private final List<String> identities = new ArrayList<>();
+  private final List<Supplier<Set<String>>> peers = new ArrayList<>();
+  private final Map<String, Integer> publicKeys = new HashMap<>();
+  private final Map<String, Integer> enodes = new ConcurrentHashMap<>();
+  private final List<BitSet> expected = new ArrayList<>();
+  private final List<BitSet> connected = new ArrayList<>();
+
+  /**
+   * @param enode of the node, identifying it among the peers of the others.
+   * @param connectedPeers enodes of the peers the node is connected to.
+   */
+  public synchronized void add(
+      final String identity, final String enode, final Supplier<Set<String>> connectedPeers) {
+    final String publicKey = EnodeHelpers.extractPubKeyFromEnode(enode);
+    checkArgument(!publicKeys.containsKey(publicKey), "Node %s is already tracked", identity);
+
+    publicKeys.put(publicKey, identities.size());
+    identities.add(identity);
+    peers.add(connectedPeers);
+    expected.add(new BitSet());
+    connected.add(new BitSet());
+  }
+
+  /** Expects a link between the nodes, in both directions. */
+  public synchronized void expectLink(final String node, final String peer) {
+    final int from = index(node);
+    final int to = index(peer);
+    checkArgument(from != to, "Node %s cannot be linked to itself", node);
+
+    expected.get(from).set(to);
+    expected.get(to).set(from);
+  }
+
+  /** Expects the links of each node, given in the order nodes were added. */
+  public synchronized void expect(final List<BitSet> links) {
+    checkArgument(
+        links.size() == identities.size(),
+        "Expected links for %s nodes, but %s are tracked",
+        links.size(),
+        identities.size());
+
+    for (int node = 0; node < links.size(); node++) {
+      expected.get(node).or(links.get(node));
+    }
+  }
+
+  /** Expects every node to be linked to every other. */
+  public synchronized void expectFullMesh() {
+    for (int node = 0; node < identities.size(); node++) {
+      expected.get(node).set(0, identities.size());
+      expected.get(node).clear(node);
+    }
+  }
+
+  /**
+   * Polls each unsatisfied node once, in parallel, until every expected link is up and there are
+   * no others.
+   */
+  public void awaitExpectedLinks() {
+    try {
+      await(() -> assertThat(poll()).isTrue(), 60, "Nodes failed to connect in time");
+    } catch (final AssertionError e) {
+      throw new AssertionError(
+          String.format(
+              "Nodes failed to connect in time, missing links: %s, unexpected links: %s",
+              getMissingLinks(), getUnexpectedLinks()),
+          e);
+    }
+  }
+
+  /** @return whether every node is linked to exactly its expected peers, after polling. */
+  public boolean poll() {
+    final int[] unsatisfied;
+    synchronized (this) {
+      unsatisfied =
+          IntStream.range(0, identities.size()).filter(node -> !isSatisfied(node)).toArray();
+    }
+
+    final BitSet[] rows = new BitSet[unsatisfied.length];
+    IntStream.range(0, unsatisfied.length)
+        .parallel()
+        .forEach(i -> rows[i] = row(peers.get(unsatisfied[i]).get()));
+
+    synchronized (this) {
+      for (int i = 0; i < unsatisfied.length; i++) {
+        connected.set(unsatisfied[i], rows[i]);
+      }
+      LOG.info(
+          "Connectivity polled {} nodes, missing links: {}, unexpected links: {}",
+          rows.length,
+          getMissingLinks(),
+          getUnexpectedLinks());
+      return IntStream.range(0, identities.size()).allMatch(this::isSatisfied);
+    }
+  }
+
+  /** @return identities of the expected peers each node is not connected to, by node identity. */
+  public synchronized Map<String, Set<String>> getMissingLinks() {
+    final Map<String, Set<String>> missing = new TreeMap<>();
+    for (int node = 0; node < identities.size(); node++) {
+      final BitSet absent = (BitSet) expected.get(node).clone();
+      absent.andNot(connected.get(node));
+      if (!absent.isEmpty()) {
+        missing.put(identities.get(node), names(absent));
+      }
+    }
+    return missing;
+  }
+
+  /** @return identities of the connected peers each node is not expected to have, by identity. */
+  public synchronized Map<String, Set<String>> getUnexpectedLinks() {
+    final Map<String, Set<String>> unexpected = new TreeMap<>();
+    for (int node = 0; node < identities.size(); node++) {
+      final BitSet extra = (BitSet) connected.get(node).clone();
+      extra.andNot(expected.get(node));
+      if (!extra.isEmpty()) {
+        unexpected.put(identities.get(node), names(extra));
+      }
+    }
+    return unexpected;
+  }
+
+  private boolean isSatisfied(final int node) {
+    return connected.get(node).equals(expected.get(node));
+  }
+
+  private BitSet row(final Set<String> connectedPeers) {
+    final BitSet row = new BitSet(identities.size());
+    for (final String enode : connectedPeers) {
+      final int peer = enodes.computeIfAbsent(enode, this::intern);
+      if (peer != UNKNOWN) {
+        row.set(peer);
+      }
+    }
+    return row;
+  }
+
+  /** @return index of the node with the public key of the enode, a peer outside the network. */
+  private int intern(final String enode) {
+    synchronized (this) {
+      return publicKeys.getOrDefault(EnodeHelpers.extractPubKeyFromEnode(enode), UNKNOWN);
+    }
+  }
+
+  private Set<String> names(final BitSet nodes) {
+    final Set<String> names = new TreeSet<>();
+    nodes.stream().forEach(node -> names.add(identities.get(node)));
+    return names;
+  }
+
+  private int index(final String identity) {
+    final int index = identities.indexOf(identity);
+    checkArgument(index >= 0, "Node %s is not tracked", identity);
+    return index;
+  }
+}
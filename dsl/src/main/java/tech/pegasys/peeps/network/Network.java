@@ -16,17 +16,41 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
 import static org.assertj.core.api.Assertions.assertThat;
+import static tech.pegasys.peeps.util.Await.DEFAULT_TIMEOUT_IN_SECONDS;
 import static tech.pegasys.peeps.util.Await.await;
 
+import tech.pegasys.peeps.json.rpc.Cassette;
+import tech.pegasys.peeps.json.rpc.Cassette.Timing;
+import tech.pegasys.peeps.load.LoadConfiguration;
+import tech.pegasys.peeps.load.LoadGenerator;
+import tech.pegasys.peeps.load.LoadReport;
+import tech.pegasys.peeps.load.TransactionSubmitter;
+import tech.pegasys.peeps.monitor.BlockPoller;
+import tech.pegasys.peeps.monitor.BlockPropagationMonitor;
+import tech.pegasys.peeps.monitor.ChainProgressMonitor;
+import tech.pegasys.peeps.monitor.ForkDetector;
+import tech.pegasys.peeps.monitor.ForkReport;
+import tech.pegasys.peeps.monitor.LatencyReport;
+import tech.pegasys.peeps.monitor.NetworkInvariantMonitor;
+import tech.pegasys.peeps.monitor.PendingTransactionPoller;
+import tech.pegasys.peeps.monitor.TransactionGossipMonitor;
+import tech.pegasys.peeps.monitor.TransactionTracker;
 import tech.pegasys.peeps.network.subnet.Subnet;
+import tech.pegasys.peeps.network.subnet.SubnetAddress;
 import tech.pegasys.peeps.node.Account;
 import tech.pegasys.peeps.node.Besu;
+import tech.pegasys.peeps.node.FundedAccounts;
 import tech.pegasys.peeps.node.GoQuorum;
 import tech.pegasys.peeps.node.NodeVerify;
 import tech.pegasys.peeps.node.StaticNodesFile;
 import tech.pegasys.peeps.node.Web3Provider;
 import tech.pegasys.peeps.node.Web3ProviderConfigurationBuilder;
 import tech.pegasys.peeps.node.Web3ProviderType;
+import tech.pegasys.peeps.node.fake.FakeChain;
+import tech.pegasys.peeps.node.fake.FakeChainView;
+import tech.pegasys.peeps.node.fake.FakeWeb3Provider;
+import tech.pegasys.peeps.node.fake.SimulatedConsensus;
+import tech.pegasys.peeps.node.fake.SimulationConfiguration;
 import tech.pegasys.peeps.node.genesis.Genesis;
 import tech.pegasys.peeps.node.genesis.GenesisAccount;
 import tech.pegasys.peeps.node.genesis.GenesisConfig;
@@ -47,12 +71,16 @@ import tech.pegasys.peeps.node.genesis.ibft2.GenesisConfigIbft2;
 import tech.pegasys.peeps.node.genesis.ibft2.GenesisExtraDataIbft2;
 import tech.pegasys.peeps.node.genesis.qbft.GenesisConfigQbft;
 import tech.pegasys.peeps.node.genesis.qbft.GenesisExtraDataQbft;
+import tech.pegasys.peeps.node.model.Block;
 import tech.pegasys.peeps.node.model.GenesisAddress;
 import tech.pegasys.peeps.node.model.Hash;
 import tech.pegasys.peeps.node.model.PrivacyTransactionReceipt;
 import tech.pegasys.peeps.node.model.Transaction;
 import tech.pegasys.peeps.node.model.TransactionReceipt;
 import tech.pegasys.peeps.node.verification.AccountValue;
+import tech.pegasys.peeps.node.verification.NodeValueTransition;
+import tech.pegasys.peeps.node.verification.ValueConservation;
+import tech.pegasys.peeps.node.verification.ValueConservationReport;
 import tech.pegasys.peeps.privacy.Orion;
 import tech.pegasys.peeps.privacy.OrionConfigurationFile;
 import tech.pegasys.peeps.privacy.PrivacyGroupVerify;
@@ -69,28 +97,46 @@ import tech.pegasys.peeps.privacy.model.PrivacyPublicKeyResource;
 import tech.pegasys.peeps.signer.EthSigner;
 import tech.pegasys.peeps.signer.EthSignerConfigurationBuilder;
 import tech.pegasys.peeps.signer.SignerConfiguration;
+import tech.pegasys.peeps.signer.local.LocalSigner;
 import tech.pegasys.peeps.signer.model.WalletFileResources;
 import tech.pegasys.peeps.signer.rpc.SignerRpcSenderKnown;
+import tech.pegasys.peeps.util.AddressConverter;
 import tech.pegasys.peeps.util.PathGenerator;
 
 import java.io.Closeable;
 import java.nio.file.Path;
-import java.util.ArrayList;
+import java.time.Duration;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import com.google.common.annotations.VisibleForTesting;
 import io.vertx.core.Vertx;
+import org.apache.tuweni.bytes.Bytes32;
 import org.apache.tuweni.crypto.SECP256K1.KeyPair;
 import org.apache.tuweni.eth.Address;
 
 public class Network implements Closeable {
 
+  private static final SubnetAddress LOOPBACK_ADDRESS = new SubnetAddress("127.0.0.1");
+  private static final Duration POLL_INTERVAL = Duration.ofMillis(100);
+  private static final int STALL_TIMES_TO_AWAIT = 3;
+  private static final Duration INVARIANT_CHECK_INTERVAL = Duration.ofMillis(500);
+
   private final Map<PrivacyManagerIdentifier, PrivateTransactionManager> privacyManagers;
   private final Map<String, EthSigner> signers;
   private final List<Web3Provider> nodes;
@@ -103,15 +149,37 @@ public class Network implements Closeable {
   private final Vertx vertx;
 
   private final NetworkState state;
-  private final Map<Web3ProviderType, Genesis> genesisConfigurations = new HashMap<>();
+  private final Map<Web3ProviderType, Genesis> genesisConfigurations = new ConcurrentHashMap<>();
+  private final Set<NetworkMember> stoppedMembers = ConcurrentHashMap.newKeySet();
+  private final Map<GenesisAddress, GenesisAccount> allocations = new ConcurrentHashMap<>();
+  private final Map<Web3Provider, BlockPoller> blockPollers = new ConcurrentHashMap<>();
+  private final Map<Web3Provider, PendingTransactionPoller> pendingTransactionPollers =
+      new ConcurrentHashMap<>();
+  private final ExecutorService verifications =
+      Executors.newCachedThreadPool(
+          runnable -> {
+            final Thread thread = new Thread(runnable, "quorum-verification");
+            thread.setDaemon(true);
+            return thread;
+          });
+  private volatile Path localBesuExecutable;
+  private volatile FakeChain fakeChain;
+  private volatile SimulatedConsensus simulation;
+  private volatile Cassette cassette;
+  private volatile Subnet replaySubnet;
+  private volatile FundedAccounts fundedAccounts;
+  private volatile TransactionTracker transactionTracker;
+  private volatile ChainProgressMonitor chainProgressMonitor;
+  private volatile NetworkInvariantMonitor invariantMonitor;
+  private volatile Topology topology = Topology.fullMesh();
 
   public Network(final Path configurationDirectory, final Subnet subnet) {
     checkArgument(configurationDirectory != null, "Path to configuration directory is mandatory");
 
-    this.privacyManagers = new HashMap<>();
-    this.members = new ArrayList<>();
-    this.signers = new HashMap<>();
-    this.nodes = new ArrayList<>();
+    this.privacyManagers = new ConcurrentHashMap<>();
+    this.members = new CopyOnWriteArrayList<>();
+    this.signers = new ConcurrentHashMap<>();
+    this.nodes = new CopyOnWriteArrayList<>();
     this.pathGenerator = new PathGenerator(configurationDirectory);
     this.vertx = Vertx.vertx();
     this.subnet = subnet;
@@ -123,7 +191,7 @@ public class Network implements Closeable {
             new GenesisFile(pathGenerator.uniqueFile()));
 
     this.state = new NetworkState();
-    this.staticNodesFiles = new HashMap<>();
+    this.staticNodesFiles = new ConcurrentHashMap<>();
 
     set(ConsensusMechanism.ETH_HASH);
   }
@@ -131,23 +199,66 @@ public class Network implements Closeable {
   public void start() {
     state.start();
     genesisFiles.forEach((k, v) -> v.ensureExists(genesisConfigurations.get(k)));
-    staticNodesFiles.forEach((k, v) -> v.ensureExists(k, nodes));
+    final List<BitSet> links = topology.links(nodes.size());
+    staticNodesFiles.forEach((k, v) -> v.ensureExists(k, peers(links, k)));
+    if (fakeChain != null) {
+      nodes.forEach(node -> fakeChain.peerOnlyWith(node.enodeAddress(), peerEnodes(links, node)));
+    }
+    stoppedMembers.clear();
     if (members.size() != 0) {
       members.stream().parallel().forEach(NetworkMember::start);
     }
-    awaitConnectivity();
+    awaitConnectivity(links);
   }
 
   public void stop() {
     state.stop();
-    everyMember(NetworkMember::stop);
+    stopPolling();
+    everyMember(this::stopMember);
+  }
+
+  /**
+   * Restarts members of a started Network, in parallel. Each member must have been stopped with
+   * {@link #stop(NetworkMember...)}.
+   */
+  public void start(final NetworkMember... toStart) {
+    checkState(state.isStarted(), "Members can only be started while the Network is started");
+
+    Stream.of(toStart)
+        .parallel()
+        .forEach(
+            member -> {
+              checkArgument(stoppedMembers.remove(member), "Member is not stopped: %s", member);
+              member.start();
+              resumePolling(member);
+            });
+  }
+
+  /** Stops members of a started Network, in parallel, leaving the others running. */
+  public void stop(final NetworkMember... toStop) {
+    checkState(state.isStarted(), "Members can only be stopped while the Network is started");
+
+    Stream.of(toStop)
+        .parallel()
+        .forEach(
+            member -> {
+              checkArgument(members.contains(member), "Not a Network member: %s", member);
+              pausePolling(member);
+              checkArgument(stopMember(member), "Member is already stopped: %s", member);
+            });
   }
 
   @Override
   public void close() {
+    stopPolling();
     if (state.isStarted()) {
-      everyMember(NetworkMember::stop);
+      everyMember(this::stopMember);
+    }
+    members.forEach(NetworkMember::close);
+    if (cassette != null) {
+      cassette.close();
     }
+    verifications.shutdownNow();
     vertx.close();
     subnet.close();
   }
@@ -164,9 +275,87 @@ public class Network implements Closeable {
         "Cannot set consensus mechanism while the Network is already started");
     checkState(signers.isEmpty(), "Cannot change consensus mechanism after creating signers");
 
-    this.genesisConfigurations.putAll(
-        createGenesis(
-            consensus, Account.of(Account.ALPHA, Account.BETA, Account.GAMMA), validators));
+    this.genesisConfigurations.putAll(createGenesis(consensus, genesisAccounts(), validators));
+  }
+
+  /**
+   * Peers the nodes as the topology, both in their static nodes files and in the connectivity
+   * awaited on start, instead of as a full mesh. Must be chosen before any node is added, as
+   * discovery is disabled on the nodes of any other topology.
+   */
+  public void set(final Topology topology) {
+    checkState(state.isUninitialized(), "Cannot set topology while the Network is already started");
+    checkState(nodes.isEmpty(), "Cannot set topology after adding nodes");
+
+    this.topology = topology;
+  }
+
+  /**
+   * Funds accounts derived from the seed in the genesis, alongside the fixed accounts. Must be
+   * chosen before any node is added.
+   */
+  public synchronized FundedAccounts fundAccounts(final long seed, final int count) {
+    checkState(state.isUninitialized(), "Cannot fund accounts once the Network is started");
+    checkState(nodes.isEmpty(), "Cannot fund accounts after adding nodes");
+
+    this.fundedAccounts = new FundedAccounts(seed, count);
+    updateGenesisAccounts();
+
+    return fundedAccounts;
+  }
+
+  /**
+   * Adds an account to every genesis, such as a contract with its storage already populated. Must
+   * be chosen before any node is added.
+   */
+  public synchronized void allocate(final Address address, final GenesisAccount account) {
+    checkState(state.isUninitialized(), "Cannot allocate accounts once the Network is started");
+    checkState(nodes.isEmpty(), "Cannot allocate accounts after adding nodes");
+
+    allocations.put(new GenesisAddress(address.toHexString().substring(2)), account);
+    updateGenesisAccounts();
+  }
+
+  public FundedAccounts fundedAccounts() {
+    checkState(fundedAccounts != null, "No accounts have been funded");
+    return fundedAccounts;
+  }
+
+  /**
+   * Besu nodes run as local processes of the given Besu distribution, instead of Docker
+   * containers. Must be chosen before any node is added.
+   */
+  public synchronized void useLocalBesu(final Path besuExecutable) {
+    checkState(state.isUninitialized(), "Cannot change runtime once the Network is started");
+    checkState(nodes.isEmpty(), "Cannot change runtime after adding nodes");
+    this.localBesuExecutable = besuExecutable;
+  }
+
+  /**
+   * Every RPC exchange of the nodes and privacy managers is recorded to the cassette file. Must be
+   * chosen before any member is added.
+   */
+  public void record(final Path cassetteFile) {
+    useCassette(Cassette.record(cassetteFile));
+  }
+
+  /**
+   * The nodes and privacy managers are never started, with their RPC responses replayed from a
+   * cassette file recorded by an earlier run of the same test. No Docker network is created for
+   * them, so a replay runs without Docker. Must be chosen before any member is added.
+   */
+  public void replay(final Path cassetteFile, final Timing timing) {
+    useCassette(Cassette.replay(cassetteFile, timing));
+  }
+
+  private synchronized void useCassette(final Cassette cassette) {
+    checkState(state.isUninitialized(), "Cannot use a cassette once the Network is started");
+    checkState(members.isEmpty(), "Cannot use a cassette after adding members");
+    checkState(this.cassette == null, "Network is already using a cassette");
+    this.cassette = cassette;
+    if (cassette.isReplaying()) {
+      this.replaySubnet = Subnet.detached();
+    }
   }
 
   public Web3Provider addNode(final String nodeIdentifier, final KeyPair nodeKeys) {
@@ -220,13 +409,15 @@ public class Network implements Closeable {
     final StaticNodesFile staticNodesFile = new StaticNodesFile(pathGenerator.uniqueFile());
     config
         .withVertx(vertx)
-        .withContainerNetwork(subnet.network())
-        .withIpAddress(subnet.getAddressAndIncrement())
+        .withContainerNetwork(subnet().network())
+        .withIpAddress(subnet().getAddressAndIncrement())
         .withGenesisFile(genesisFiles.get(providerType))
         .withStaticNodesFile(staticNodesFile)
-        .withBootnodeEnodeAddress(bootnodeEnodeAddresses());
+        .withBootnodeEnodeAddress(bootnodeEnodeAddresses())
+        .withCassette(cassette)
+        .withDiscoveryEnabled(topology.isFullMesh());
     if (providerType.equals(Web3ProviderType.BESU)) {
-      web3Provider = new Besu(config.build());
+      web3Provider = new Besu(config.withLocalExecutable(localBesuExecutable).build());
     } else {
       web3Provider = new GoQuorum(config.build());
     }
@@ -235,6 +426,57 @@ public class Network implements Closeable {
     return addNode(web3Provider);
   }
 
+  /**
+   * Fake nodes produce blocks on a schedule, importing them after a propagation delay, instead of
+   * sealing a block per transaction. Must be chosen before any node is added.
+   */
+  public synchronized SimulatedConsensus simulateConsensus(final SimulationConfiguration config) {
+    checkState(state.isUninitialized(), "Cannot simulate consensus once the Network is started");
+    checkState(nodes.isEmpty(), "Cannot simulate consensus after adding nodes");
+    checkState(simulation == null, "Consensus is already being simulated");
+
+    simulation = new SimulatedConsensus(fakeChain(), config);
+    members.add(simulation);
+    return simulation;
+  }
+
+  public Web3Provider addFakeNode(final String nodeIdentifier, final KeyPair nodeKeys) {
+    return addFakeNode(nodeIdentifier, nodeKeys, Duration.ZERO);
+  }
+
+  /**
+   * Adds a node that runs inside the JVM, with every fake node sharing the same chain and all of
+   * them being validators.
+   *
+   * @param latency delay the fake node adds before answering each JSON-RPC request.
+   */
+  public Web3Provider addFakeNode(
+      final String nodeIdentifier, final KeyPair nodeKeys, final Duration latency) {
+    final StaticNodesFile staticNodesFile = new StaticNodesFile(pathGenerator.uniqueFile());
+    final FakeChainView view =
+        simulation == null
+            ? FakeChainView.following(fakeChain())
+            : simulation.join(AddressConverter.fromPublicKey(nodeKeys.publicKey().toHexString()));
+    final Web3Provider web3Provider =
+        new FakeWeb3Provider(
+            new Web3ProviderConfigurationBuilder()
+                .withIdentity(nodeIdentifier)
+                .withNodeKey(nodeKeys)
+                .withVertx(vertx)
+                .withContainerNetwork(subnet().network())
+                .withIpAddress(LOOPBACK_ADDRESS)
+                .withGenesisFile(genesisFiles.get(Web3ProviderType.BESU))
+                .withStaticNodesFile(staticNodesFile)
+                .withCassette(cassette)
+                .build(),
+            view,
+            latency);
+
+    fakeChain().addValidator(web3Provider.address());
+    staticNodesFiles.put(web3Provider, staticNodesFile);
+    return addNode(web3Provider);
+  }
+
   public PrivateTransactionManager addPrivacyManager(
       final PrivacyManagerIdentifier identity,
       final List<PrivacyKeyPair> keys,
@@ -243,11 +485,12 @@ public class Network implements Closeable {
     final PrivateTransactionManagerConfiguration configuration =
         new PrivateTransactionManagerConfigurationBuilder()
             .withVertx(vertx)
-            .withContainerNetwork(subnet.network())
-            .withIpAddress(subnet.getAddressAndIncrement())
+            .withContainerNetwork(subnet().network())
+            .withIpAddress(subnet().getAddressAndIncrement())
             .withFileSystemConfigurationFile(pathGenerator.uniqueFile())
             .withBootnodeUrls(privacyManagerBootnodeUrls())
             .withKeyPairs(keys)
+            .withCassette(cassette)
             .build();
     if (privateTransactionManagerType.equals(PrivateTransactionManagerType.ORION)) {
       OrionConfigurationFile.write(configuration);
@@ -269,8 +512,8 @@ public class Network implements Closeable {
         new EthSigner(
             new EthSignerConfigurationBuilder()
                 .withVertx(vertx)
-                .withContainerNetwork(subnet.network())
-                .withIpAddress(subnet.getAddressAndIncrement())
+                .withContainerNetwork(subnet().network())
+                .withIpAddress(subnet().getAddressAndIncrement())
                 .withDownstream(downstream)
                 .withChainId(
                     genesisConfigurations
@@ -304,18 +547,40 @@ public class Network implements Closeable {
                   .collect(Collectors.toList());
 
           assertThat(receipts.size()).isEqualTo(nodes.size());
-          final TransactionReceipt firstReceipt = receipts.get(0);
-
           for (final TransactionReceipt receipt : receipts) {
             assertThat(receipt).isNotNull();
             assertThat(receipt.isSuccess()).isTrue();
-            assertThat(receipt).usingRecursiveComparison().isEqualTo(firstReceipt);
           }
+          assertSameContent(receipts, TransactionReceipt::fingerprint);
         },
         "Consensus was not reached in time for Transaction Receipt with hash: %s",
         transaction);
   }
 
+  /**
+   * Waits until a quorum of the nodes have the same successful Transaction Receipt, leaving the
+   * remaining nodes to be awaited through the returned verification.
+   *
+   * @param transaction the hash of the transaction who's receipt is being checked.
+   * @param quorum number of nodes that must agree, {@link #bftQuorum()} for a BFT network.
+   */
+  public QuorumVerification<TransactionReceipt> awaitQuorumOnTransactionReceipt(
+      final Hash transaction, final int quorum) {
+    final QuorumVerification<TransactionReceipt> verification =
+        verifyQuorum(
+            quorum,
+            node ->
+                () -> {
+                  final TransactionReceipt receipt = node.rpc().getTransactionReceipt(transaction);
+                  assertThat(receipt.isSuccess()).isTrue();
+                  return receipt;
+                });
+
+    assertSameContent(
+        List.copyOf(verification.getAgreed().values()), TransactionReceipt::fingerprint);
+    return verification;
+  }
+
   public void verifyConsensusOnValue(final Address... accounts) {
     checkState(
         nodes.size() > 1, "There must be two or more nodes to be able to verify on consensus");
@@ -330,43 +595,122 @@ public class Network implements Closeable {
     nodes.parallelStream().forEach(node -> node.verifyValue(values));
   }
 
+  /**
+   * Verifies the transitions on every node in parallel, with one batch of requests per node rather
+   * than requests for each transition.
+   */
+  public void verifyTransition(final Collection<? extends NodeValueTransition> changes) {
+    nodes.parallelStream().forEach(node -> node.verifyTransition(changes));
+  }
+
+  /**
+   * Verifies on every node that transfers among the funded accounts and the others given neither
+   * created nor destroyed value, from the state of the block up to the lowest head of the nodes.
+   *
+   * @return report of each node, by identity.
+   */
+  public Map<String, ValueConservationReport> verifyValueConservation(
+      final long fromBlock, final Address... others) {
+    final FundedAccounts funded = fundedAccounts();
+    final Set<Address> accounts = new HashSet<>(List.of(others));
+    for (int i = 0; i < funded.size(); i++) {
+      accounts.add(funded.address(i));
+    }
+
+    final long toBlock =
+        nodes.parallelStream().mapToLong(node -> node.rpc().getBlockNumber()).min().orElseThrow();
+    final ValueConservation conservation = new ValueConservation(accounts);
+
+    return nodes
+        .parallelStream()
+        .collect(
+            Collectors.toMap(
+                Web3Provider::identity,
+                node -> conservation.verify(node.rpc(), fromBlock, toBlock)));
+  }
+
+  /**
+   * Verifies every node has the same block, so the same state, at the highest height they all
+   * have. The state root covers every account in one call per node, leaving {@link
+   * #verifyConsensusOnValue(Address...)} for diagnosing which accounts differ.
+   */
+  public void verifyConsensusOnState() {
+    checkState(
+        nodes.size() > 1, "There must be two or more nodes to be able to verify on consensus");
+
+    await(
+        () -> {
+          final long height =
+              nodes.parallelStream().mapToLong(node -> node.rpc().getBlockNumber()).min().orElse(0);
+          final Map<String, Block> blocks =
+              nodes
+                  .parallelStream()
+                  .collect(
+                      Collectors.toMap(
+                          Web3Provider::identity, node -> node.rpc().getBlockByNumber(height)));
+
+          assertThat(
+                  blocks
+                      .values()
+                      .stream()
+                      .map(block -> List.of(block.getHash(), block.getStateRoot()))
+                      .distinct())
+              .withFailMessage("Nodes disagree on block %s: %s", height, blocks)
+              .hasSize(1);
+        },
+        "Failed to achieve consensus on the state");
+  }
+
+  /**
+   * Searches for the first height at which the chains of the nodes diverge, in a number of probes
+   * logarithmic in the height, e.g. after healing a partition or a mixed client consensus run.
+   */
+  public ForkReport detectFork() {
+    checkState(nodes.size() > 1, "There must be two or more nodes to be able to detect a fork");
+
+    return new ForkDetector(
+            nodes.stream().collect(Collectors.toMap(Web3Provider::identity, Web3Provider::rpc)))
+        .detect();
+  }
+
+  public void verifyNoFork() {
+    final ForkReport report = detectFork();
+    assertThat(report.isForked()).withFailMessage("Nodes have forked: %s", report).isFalse();
+  }
+
   public void verifyConsensusOnTransaction(final Hash transaction) {
     checkState(
         nodes.size() > 1, "There must be two or more nodes to be able to verify on consensus");
 
-    final Set<Transaction> transactions =
+    final List<Transaction> transactions =
         nodes
             .parallelStream()
             .map(node -> node.rpc().getTransactionByHash(transaction))
-            .collect(Collectors.toSet());
+            .collect(Collectors.toList());
 
     assertThat(transactions).isNotEmpty();
-    final Transaction firstTx = transactions.iterator().next();
-
     for (final Transaction tx : transactions) {
       assertThat(tx).isNotNull();
       assertThat(tx.isProcessed()).isTrue();
-      assertThat(tx).usingRecursiveComparison().isEqualTo(firstTx);
     }
+    assertSameContent(transactions, Transaction::fingerprint);
   }
 
   public void verifyConsensusOnPrivacyTransactionReceipt(final Hash transaction) {
     checkState(
         nodes.size() > 1, "There must be two or more nodes to be able to verify on consensus");
 
-    final Set<PrivacyTransactionReceipt> transactions =
+    final List<PrivacyTransactionReceipt> transactions =
         nodes
             .parallelStream()
             .map(node -> node.rpc().getPrivacyTransactionReceipt(transaction))
-            .collect(Collectors.toSet());
+            .collect(Collectors.toList());
 
     assertThat(transactions).isNotEmpty();
-    final PrivacyTransactionReceipt firstTx = transactions.iterator().next();
-
     for (final PrivacyTransactionReceipt tx : transactions) {
       assertThat(tx).isNotNull();
-      assertThat(tx).usingRecursiveComparison().isEqualTo(firstTx);
     }
+    assertSameContent(transactions, PrivacyTransactionReceipt::fingerprint);
   }
 
   public void verifyConsensusOnBlockNumberIsAtLeast(final long blockNumber) {
@@ -386,6 +730,76 @@ public class Network implements Closeable {
         blockNumber);
   }
 
+  /**
+   * Waits until a quorum of the nodes reach the block number, leaving the remaining nodes to be
+   * awaited through the returned verification.
+   *
+   * @param quorum number of nodes that must agree, {@link #bftQuorum()} for a BFT network.
+   */
+  public QuorumVerification<Long> verifyQuorumOnBlockNumberIsAtLeast(
+      final long blockNumber, final int quorum) {
+    return verifyQuorum(
+        quorum,
+        node ->
+            () -> {
+              await(
+                  () -> assertThat(node.rpc().getBlockNumber()).isGreaterThanOrEqualTo(blockNumber),
+                  60,
+                  "Node %s failed to reach block number %s",
+                  node.identity(),
+                  blockNumber);
+              return node.rpc().getBlockNumber();
+            });
+  }
+
+  /**
+   * @return at least two thirds of the nodes, ceil(2n/3), the quorum QBFT requires of n
+   *     validators.
+   */
+  public int bftQuorum() {
+    return (2 * nodes.size() + 2) / 3;
+  }
+
+  /** Awaits each node having seen no new block for the stall time of the progress monitor. */
+  public void verifyChainStalled(final Web3Provider... nodes) {
+    final ChainProgressMonitor monitor = chainProgressMonitor();
+
+    await(
+        () -> {
+          for (final Web3Provider node : nodes) {
+            assertThat(monitor.isStalled(node.identity())).isTrue();
+          }
+        },
+        awaitTimeoutInSeconds(monitor),
+        "Chain failed to stall on every node");
+  }
+
+  /** Awaits each node seeing a block beyond its head at the time of the call. */
+  public void verifyChainProgressing(final Web3Provider... nodes) {
+    final ChainProgressMonitor monitor = chainProgressMonitor();
+    final Map<Web3Provider, Long> heads = new HashMap<>();
+    for (final Web3Provider node : nodes) {
+      heads.put(node, monitor.progress(node.identity()).getHead());
+    }
+
+    await(
+        () ->
+            heads.forEach(
+                (node, head) ->
+                    assertThat(monitor.progress(node.identity()).getHead()).isGreaterThan(head)),
+        awaitTimeoutInSeconds(monitor),
+        "Chain failed to progress on every node");
+  }
+
+  /**
+   * A running chain produces a block within the stall time, which also bounds how long a halted one
+   * takes to be seen as stalled; a few stall times leave room for round changes.
+   */
+  private static int awaitTimeoutInSeconds(final ChainProgressMonitor monitor) {
+    final long stallTimes = monitor.getStallAfter().multipliedBy(STALL_TIMES_TO_AWAIT).toSeconds();
+    return (int) Math.max(DEFAULT_TIMEOUT_IN_SECONDS, stallTimes);
+  }
+
   public void verifyConsensusOnValidators(final List<Address> expectedValidators) {
     checkState(
         nodes.size() > 1, "There must be two or more nodes to be able to verify on consensus");
@@ -403,6 +817,24 @@ public class Network implements Closeable {
   }
 
   // TODO these Mediator method could be refactored elsewhere?
+  /**
+   * Offers transactions at the configured rate, returning once the load has drained. When
+   * invariants are being monitored, the load ends as soon as one is breached.
+   */
+  public LoadReport generateLoad(
+      final LoadConfiguration config, final TransactionSubmitter submitter) {
+    checkState(state.isStarted(), "Load can only be generated on a started Network");
+
+    final NetworkInvariantMonitor monitor = invariantMonitor;
+    if (monitor == null) {
+      return new LoadGenerator(config, submitter).run();
+    }
+
+    final LoadReport report = new LoadGenerator(config, submitter, monitor::verify).run();
+    monitor.verify();
+    return report;
+  }
+
   public NodeVerify verify(final Web3Provider node) {
     return new NodeVerify(node);
   }
@@ -418,6 +850,112 @@ public class Network implements Closeable {
     return new SignerRpcSenderKnown(signers.get(signerName).rpc(), sender);
   }
 
+  /**
+   * Tracks the lifecycle of transactions by following the blocks of every node, for comparing the
+   * latencies of consensus mechanisms and topologies under the same workload.
+   */
+  public synchronized TransactionTracker trackTransactions() {
+    checkState(state.isStarted(), "Transactions can only be tracked on a started Network");
+    checkState(transactionTracker == null, "Transactions are already being tracked");
+
+    final TransactionTracker tracker = new TransactionTracker(0, nodes.size());
+    nodes.forEach(node -> blockPoller(node).subscribe(tracker.subscriber()));
+    transactionTracker = tracker;
+
+    return tracker;
+  }
+
+  /** @return latencies of the tracked transactions, with entry nodes labelled by identity. */
+  public LatencyReport latencyReport() {
+    checkState(transactionTracker != null, "Transactions are not being tracked");
+    final Map<String, String> nodeTypes = nodeTypes();
+
+    return transactionTracker.latencyReport(node -> nodeTypes.getOrDefault(node, node));
+  }
+
+  /**
+   * Records when every node first sees each new block, for comparing how topologies, node counts
+   * and mixes of clients disseminate blocks.
+   */
+  public synchronized BlockPropagationMonitor monitorBlockPropagation() {
+    checkState(state.isStarted(), "Block propagation can only be monitored on a started Network");
+
+    final BlockPropagationMonitor monitor = new BlockPropagationMonitor(nodeTypes());
+    nodes.forEach(node -> blockPoller(node).subscribe(monitor.subscriber(node.identity())));
+
+    return monitor;
+  }
+
+  /**
+   * Follows the pool of every node, for how long transactions sent through {@link
+   * TransactionGossipMonitor#track} take to reach the other nodes, named by their identity.
+   */
+  public synchronized TransactionGossipMonitor monitorTransactionGossip() {
+    checkState(state.isStarted(), "Transaction gossip can only be monitored on a started Network");
+
+    final TransactionGossipMonitor monitor =
+        new TransactionGossipMonitor(
+            nodes.stream().map(Web3Provider::identity).collect(Collectors.toList()));
+    nodes.forEach(
+        node -> pendingTransactionPoller(node).subscribe(monitor.subscriber(node.identity())));
+
+    return monitor;
+  }
+
+  /**
+   * Follows the head of every node, for verifying liveness without sleeping.
+   *
+   * @param stallAfter time without a new block after which a node is stalled.
+   */
+  public synchronized ChainProgressMonitor monitorChainProgress(final Duration stallAfter) {
+    checkState(state.isStarted(), "Chain progress can only be monitored on a started Network");
+    checkState(chainProgressMonitor == null, "Chain progress is already being monitored");
+
+    final ChainProgressMonitor monitor =
+        new ChainProgressMonitor(
+            nodes.stream().map(Web3Provider::identity).collect(Collectors.toList()), stallAfter);
+    nodes.forEach(node -> blockPoller(node).subscribe(monitor.subscriber(node.identity())));
+    chainProgressMonitor = monitor;
+
+    return monitor;
+  }
+
+  /**
+   * Watches every node for forks, stalls and lost peers in the background, failing any load
+   * generated from then on as soon as one is observed.
+   *
+   * @param stallAfter time without a new block after which a node is stalled.
+   * @param minimumPeers fewest peers each node must keep.
+   */
+  public synchronized NetworkInvariantMonitor monitorInvariants(
+      final Duration stallAfter, final int minimumPeers) {
+    checkState(state.isStarted(), "Invariants can only be monitored on a started Network");
+    checkState(invariantMonitor == null, "Invariants are already being monitored");
+
+    final NetworkInvariantMonitor monitor =
+        new NetworkInvariantMonitor(
+            nodes.stream().collect(Collectors.toMap(Web3Provider::identity, Web3Provider::rpc)),
+            stallAfter,
+            minimumPeers);
+    nodes.forEach(node -> blockPoller(node).subscribe(monitor.subscriber(node.identity())));
+    monitor.start(INVARIANT_CHECK_INTERVAL);
+    invariantMonitor = monitor;
+
+    return monitor;
+  }
+
+  public void verifyInvariants() {
+    final NetworkInvariantMonitor monitor = invariantMonitor;
+    checkState(monitor != null, "Invariants are not being monitored");
+    monitor.verify();
+  }
+
+  /** @return signer for transactions on the chain of the Besu genesis. */
+  public LocalSigner localSigner() {
+    return new LocalSigner(
+        genesisConfigurations.get(Web3ProviderType.BESU).getConfig().getChainId());
+  }
+
   public PrivacyGroupVerify privacyGroup(final PrivacyGroup group) {
     return new PrivacyGroupVerify(
         group.parallelStream().map(privacyManagers::get).collect(Collectors.toSet()));
@@ -431,14 +969,156 @@ public class Network implements Closeable {
     return web3Provider;
   }
 
+  /** One poller per node, shared by everything following its blocks. */
+  private synchronized BlockPoller blockPoller(final Web3Provider node) {
+    return blockPollers.computeIfAbsent(
+        node,
+        polled -> {
+          final BlockPoller poller = new BlockPoller(polled.rpc(), POLL_INTERVAL);
+          poller.start();
+          return poller;
+        });
+  }
+
+  /** @return client of each node, by its identity. */
+  private Map<String, String> nodeTypes() {
+    return nodes
+        .stream()
+        .collect(Collectors.toMap(Web3Provider::identity, node -> node.getClass().getSimpleName()));
+  }
+
+  private synchronized PendingTransactionPoller pendingTransactionPoller(final Web3Provider node) {
+    return pendingTransactionPollers.computeIfAbsent(
+        node,
+        polled -> {
+          final PendingTransactionPoller poller =
+              new PendingTransactionPoller(polled.rpc(), POLL_INTERVAL);
+          poller.start();
+          return poller;
+        });
+  }
+
+  /** A stopped node is not polled, rather than each poll waiting out its unreachable RPC. */
+  private synchronized void pausePolling(final NetworkMember member) {
+    final BlockPoller blocks = blockPollers.get(member);
+    if (blocks != null) {
+      blocks.stop();
+    }
+    final PendingTransactionPoller pending = pendingTransactionPollers.get(member);
+    if (pending != null) {
+      pending.stop();
+    }
+  }
+
+  /**
+   * Polling carries on from the last block seen before the node was stopped, and with a filter
+   * installed afresh once the one the node forgot fails to be polled.
+   */
+  private synchronized void resumePolling(final NetworkMember member) {
+    final BlockPoller blocks = blockPollers.get(member);
+    if (blocks != null && !blocks.isRunning()) {
+      blocks.start();
+    }
+    final PendingTransactionPoller pending = pendingTransactionPollers.get(member);
+    if (pending != null && !pending.isRunning()) {
+      pending.start();
+    }
+  }
+
+  private synchronized void stopPolling() {
+    blockPollers.values().forEach(BlockPoller::stop);
+    blockPollers.clear();
+    pendingTransactionPollers.values().forEach(PendingTransactionPoller::stop);
+    pendingTransactionPollers.clear();
+    transactionTracker = null;
+    chainProgressMonitor = null;
+    if (invariantMonitor != null) {
+      invariantMonitor.stop();
+      invariantMonitor = null;
+    }
+  }
+
+  /**
+   * Compares the fingerprints of the values, only comparing field by field to describe a mismatch.
+   */
+  private static <T> void assertSameContent(
+      final List<T> values, final Function<T, Bytes32> fingerprint) {
+    final T first = values.get(0);
+    final Bytes32 expected = fingerprint.apply(first);
+
+    for (final T value : values) {
+      if (!fingerprint.apply(value).equals(expected)) {
+        assertThat(value).usingRecursiveComparison().isEqualTo(first);
+      }
+    }
+  }
+
+  /** Starts a check per node in the background, returning once the quorum of them pass. */
+  private <T> QuorumVerification<T> verifyQuorum(
+      final int quorum, final Function<Web3Provider, Supplier<T>> check) {
+    checkState(
+        nodes.size() > 1, "There must be two or more nodes to be able to verify on consensus");
+
+    final Map<String, Supplier<T>> checks = new HashMap<>();
+    nodes.forEach(node -> checks.put(node.identity(), check.apply(node)));
+
+    return new QuorumVerification<>(quorum, checks, verifications).awaitQuorum();
+  }
+
+  private ChainProgressMonitor chainProgressMonitor() {
+    final ChainProgressMonitor monitor = chainProgressMonitor;
+    checkState(monitor != null, "Chain progress is not being monitored");
+    return monitor;
+  }
+
+  /** Replayed members never start a container, so never need the Docker network created. */
+  private Subnet subnet() {
+    return replaySubnet == null ? subnet : replaySubnet;
+  }
+
+  private synchronized FakeChain fakeChain() {
+    if (fakeChain == null) {
+      final Genesis genesis = genesisConfigurations.get(Web3ProviderType.BESU);
+      fakeChain = new FakeChain(genesis.getConfig().getChainId(), genesis.getAccounts());
+    }
+    return fakeChain;
+  }
+
   private String bootnodeEnodeAddresses() {
     return nodes.parallelStream().map(Web3Provider::enodeAddress).collect(Collectors.joining(","));
   }
 
+  /** @return whether the member was running, only the caller that stops it gets true. */
+  private boolean stopMember(final NetworkMember member) {
+    if (!stoppedMembers.add(member)) {
+      return false;
+    }
+
+    member.stop();
+    return true;
+  }
+
   private void everyMember(final Consumer<NetworkMember> action) {
     members.parallelStream().forEach(action);
   }
 
+  private Map<GenesisAddress, GenesisAccount> genesisAccounts() {
+    final Map<GenesisAddress, GenesisAccount> accounts =
+        new HashMap<>(Account.of(Account.ALPHA, Account.BETA, Account.GAMMA));
+    if (fundedAccounts != null) {
+      accounts.putAll(fundedAccounts.alloc());
+    }
+    accounts.putAll(allocations);
+
+    return Collections.unmodifiableMap(accounts);
+  }
+
+  private void updateGenesisAccounts() {
+    final Map<GenesisAddress, GenesisAccount> alloc = genesisAccounts();
+    genesisConfigurations.replaceAll(
+        (type, genesis) -> new Genesis(genesis.getConfig(), alloc, genesis.getExtraData()));
+  }
+
   private Map<Web3ProviderType, Genesis> createGenesis(
       final ConsensusMechanism consensus,
       final Map<GenesisAddress, GenesisAccount> genesisAccounts,
@@ -492,8 +1172,10 @@ public class Network implements Closeable {
     return result;
   }
 
-  private void awaitConnectivity() {
-    nodes.parallelStream().forEach(node -> node.awaitConnectivity(nodes));
+  private void awaitConnectivity(final List<BitSet> links) {
+    if (nodes.size() > 1) {
+      connectivity(links).awaitExpectedLinks();
+    }
 
     privacyManagers
         .values()
@@ -504,6 +1186,27 @@ public class Network implements Closeable {
     signers.values().parallelStream().forEach(EthSigner::awaitConnectivityToDownstream);
   }
 
+  private ConnectivityTracker connectivity(final List<BitSet> links) {
+    final ConnectivityTracker tracker = new ConnectivityTracker();
+    nodes.forEach(
+        node ->
+            tracker.add(node.identity(), node.getEnodeId(), node.rpc()::getConnectedPeerIds));
+    tracker.expect(links);
+    return tracker;
+  }
+
+  private Set<String> peerEnodes(final List<BitSet> links, final Web3Provider node) {
+    return peers(links, node).stream().map(Web3Provider::enodeAddress).collect(Collectors.toSet());
+  }
+
+  private List<Web3Provider> peers(final List<BitSet> links, final Web3Provider node) {
+    return links
+        .get(nodes.indexOf(node))
+        .stream()
+        .mapToObj(nodes::get)
+        .collect(Collectors.toList());
+  }
+
   private List<String> privacyManagerBootnodeUrls() {
     return privacyManagers
         .values()
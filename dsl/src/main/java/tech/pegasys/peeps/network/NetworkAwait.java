@@ -13,6 +13,7 @@
 package tech.pegasys.peeps.network;
 
 import tech.pegasys.peeps.node.model.Hash;
+import tech.pegasys.peeps.node.model.TransactionReceipt;
 
 public class NetworkAwait {
 
@@ -25,4 +26,9 @@ public class NetworkAwait {
   public void consensusOnTransactionReceipt(final Hash receipt) {
     network.awaitConsensusOnTransactionReceipt(receipt);
   }
+
+  /** Returns once a BFT quorum of the nodes have the transaction receipt. */
+  public QuorumVerification<TransactionReceipt> quorumOnTransactionReceipt(final Hash receipt) {
+    return network.awaitQuorumOnTransactionReceipt(receipt, network.bftQuorum());
+  }
 }
@@ -18,4 +18,7 @@ public interface NetworkMember {
   void start();
 
   void stop();
+
+  /** Releases what the member keeps between runs, once it will not be started again. */
+  default void close() {}
 }
@@ -14,6 +14,11 @@ package tech.pegasys.peeps.network;
 
 import static com.google.common.base.Preconditions.checkState;
 
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+/** Lifecycle of a Network, with each transition applied atomically. */
 public class NetworkState {
 
   /**
@@ -27,48 +32,54 @@ public class NetworkState {
     CLOSED
   }
 
-  private State current = State.UNINITIALIZED;
+  private static final Set<State> STARTABLE = EnumSet.of(State.UNINITIALIZED, State.STOPPED);
+  private static final Set<State> STOPPABLE = EnumSet.of(State.STARTED);
+  private static final Set<State> CLOSABLE = EnumSet.of(State.STOPPED);
+
+  private final AtomicReference<State> current = new AtomicReference<>(State.UNINITIALIZED);
 
   public void start() {
+    final State previous = transition(STARTABLE, State.STARTED);
     checkState(
-        current == State.UNINITIALIZED || current == State.STOPPED,
+        STARTABLE.contains(previous),
         "Only a Network in an uninitialized or stopped state can be started. Current state: %s",
-        current);
-
-    current = State.STARTED;
+        previous);
   }
 
   public void stop() {
+    final State previous = transition(STOPPABLE, State.STOPPED);
     checkState(
-        current == State.STARTED,
+        STOPPABLE.contains(previous),
         "Only a Network in a started state can be stopped. Current state: %s",
-        current);
-
-    current = State.STOPPED;
+        previous);
   }
 
   public void close() {
+    final State previous = transition(CLOSABLE, State.CLOSED);
     checkState(
-        current == State.STOPPED,
+        CLOSABLE.contains(previous),
         "Only a Network in a stopped state can be closed. Current state: %s",
-        current);
-
-    current = State.CLOSED;
+        previous);
   }
 
   public boolean isUninitialized() {
-    return current == State.UNINITIALIZED;
+    return current.get() == State.UNINITIALIZED;
   }
 
   public boolean isStarted() {
-    return current == State.STARTED;
+    return current.get() == State.STARTED;
   }
 
   public boolean isStopped() {
-    return current == State.STOPPED;
+    return current.get() == State.STOPPED;
   }
 
   public boolean isClosed() {
-    return current == State.CLOSED;
+    return current.get() == State.CLOSED;
+  }
+
+  /** @return the state before the transition, unchanged when the transition was not allowed. */
+  private State transition(final Set<State> from, final State to) {
+    return current.getAndUpdate(state -> from.contains(state) ? to : state);
   }
 }
@@ -12,10 +12,14 @@
  */
 package tech.pegasys.peeps.network;
 
+import tech.pegasys.peeps.monitor.LatencyReport;
+import tech.pegasys.peeps.node.Web3Provider;
 import tech.pegasys.peeps.node.model.Hash;
+import tech.pegasys.peeps.node.verification.NodeValueTransition;
 import tech.pegasys.peeps.privacy.PrivacyGroupVerify;
 import tech.pegasys.peeps.privacy.model.PrivacyGroup;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.apache.tuweni.eth.Address;
@@ -31,6 +35,16 @@ public class NetworkVerify {
     network.verifyConsensusOnValue(accounts);
   }
 
+  /** Agreement on the state root at a common height, rather than on each account. */
+  public void consensusOnState() {
+    network.verifyConsensusOnState();
+  }
+
+  /** On failure, reports the height the chains diverge at and the nodes on each branch. */
+  public void noFork() {
+    network.verifyNoFork();
+  }
+
   public void consensusOnTransaction(final Hash transaction) {
     network.verifyConsensusOnTransaction(transaction);
   }
@@ -39,6 +53,24 @@ public class NetworkVerify {
     network.verifyConsensusOnBlockNumberIsAtLeast(blockNumber);
   }
 
+  public void transition(final Collection<? extends NodeValueTransition> changes) {
+    network.verifyTransition(changes);
+  }
+
+  /** Value conservation of the funded accounts and the others, since the block. */
+  public void valueConservation(final long fromBlock, final Address... others) {
+    network.verifyValueConservation(fromBlock, others);
+  }
+
+  public void invariants() {
+    network.verifyInvariants();
+  }
+
+  /** Returns once a BFT quorum of the nodes reach the block number. */
+  public QuorumVerification<Long> quorumOnBlockNumberIsAtLeast(final long blockNumber) {
+    return network.verifyQuorumOnBlockNumberIsAtLeast(blockNumber, network.bftQuorum());
+  }
+
   // TODO perhaps a separate specialisation - privacy?
   public void consensusOnPrivacyTransactionReceipt(final Hash transaction) {
     network.verifyConsensusOnPrivacyTransactionReceipt(transaction);
@@ -51,4 +83,18 @@ public class NetworkVerify {
   public void consensusOnValidators(final List<Address> validators) {
     network.verifyConsensusOnValidators(validators);
   }
+
+  /** Requires {@link Network#monitorChainProgress}, for the time after which a node is stalled. */
+  public void chainStalled(final Web3Provider... nodes) {
+    network.verifyChainStalled(nodes);
+  }
+
+  public void chainProgressing(final Web3Provider... nodes) {
+    network.verifyChainProgressing(nodes);
+  }
+
+  /** @return latencies of the transactions tracked since {@link Network#trackTransactions()}. */
+  public LatencyReport latencyReport() {
+    return network.latencyReport();
+  }
 }
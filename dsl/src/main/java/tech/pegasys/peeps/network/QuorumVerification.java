@@ -0,0 +1,172 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.network;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Checks every node in the background, completing as soon as a quorum of them agree.
+ *
+ * <p>Nodes yet to agree, the laggards, keep being checked until they agree or their check times
+ * out, so they can still be awaited once the quorum has been verified.
+ */
+public class QuorumVerification<T> {
+
+  private final int quorum;
+  private final Map<String, CompletableFuture<T>> checks = new LinkedHashMap<>();
+  private final Map<String, Duration> latencies = new ConcurrentHashMap<>();
+  private final CompletableFuture<Void> quorumReached = new CompletableFuture<>();
+  private final AtomicInteger agreed = new AtomicInteger();
+  private final AtomicInteger failed = new AtomicInteger();
+
+  /**
+   * @param checks by node identity, each returning the value the node agreed on, or throwing an
+   *     AssertionError once it is given up on.
+   */
+  QuorumVerification(
+      final int quorum, final Map<String, Supplier<T>> checks, final Executor executor) {
+    checkArgument(
+        quorum > 0 && quorum <= checks.size(),
+        "Quorum must be between 1 and %s, but was %s",
+        checks.size(),
+        quorum);
+    this.quorum = quorum;
+
+    final long startedAt = System.nanoTime();
+    checks.forEach(
+        (node, check) ->
+            this.checks.put(
+                node,
+                CompletableFuture.supplyAsync(
+                    () -> {
+                      try {
+                        final T value = check.get();
+                        latencies.put(node, Duration.ofNanos(System.nanoTime() - startedAt));
+                        if (agreed.incrementAndGet() == quorum) {
+                          quorumReached.complete(null);
+                        }
+                        return value;
+                      } catch (final RuntimeException | AssertionError e) {
+                        if (failed.incrementAndGet() == checks.size() - quorum + 1) {
+                          quorumReached.completeExceptionally(
+                              new AssertionError(
+                                  String.format(
+                                      "Quorum of %s is unreachable, %s of %s nodes failed: %s",
+                                      quorum, failed.get(), checks.size(), e.getMessage()),
+                                  e));
+                        }
+                        throw e;
+                      }
+                    },
+                    executor)));
+  }
+
+  /** Blocks until the quorum agree, or enough nodes have failed that they never can. */
+  QuorumVerification<T> awaitQuorum() {
+    join(quorumReached);
+    return this;
+  }
+
+  /**
+   * Blocks until every laggard has either agreed or failed.
+   *
+   * @return value of every node, by identity.
+   */
+  public Map<String, T> awaitAll() {
+    checks.values().forEach(check -> check.handle((value, failure) -> value).join());
+
+    final Set<String> failures = getFailed();
+    if (!failures.isEmpty()) {
+      throw new AssertionError(
+          String.format("Nodes failed to agree: %s, agreed: %s", failures, getAgreed().keySet()));
+    }
+
+    return getAgreed();
+  }
+
+  public int getQuorum() {
+    return quorum;
+  }
+
+  /** @return value of each node agreed so far, by identity. */
+  public Map<String, T> getAgreed() {
+    final Map<String, T> values = new TreeMap<>();
+    checks.forEach(
+        (node, check) -> {
+          if (check.isDone() && !check.isCompletedExceptionally()) {
+            values.put(node, check.join());
+          }
+        });
+    return Collections.unmodifiableMap(values);
+  }
+
+  /** @return identities of the nodes still being checked. */
+  public Set<String> getLaggards() {
+    final Set<String> laggards = new TreeSet<>();
+    checks.forEach(
+        (node, check) -> {
+          if (!check.isDone()) {
+            laggards.add(node);
+          }
+        });
+    return Collections.unmodifiableSet(laggards);
+  }
+
+  /** @return identities of the nodes whose check failed. */
+  public Set<String> getFailed() {
+    final Set<String> failures = new TreeSet<>();
+    checks.forEach(
+        (node, check) -> {
+          if (check.isCompletedExceptionally()) {
+            failures.add(node);
+          }
+        });
+    return Collections.unmodifiableSet(failures);
+  }
+
+  /** @return time from the start of the verification until each node agreed, by identity. */
+  public Map<String, Duration> getLatencies() {
+    return Collections.unmodifiableMap(new TreeMap<>(latencies));
+  }
+
+  /** @return time until the quorum agreed, the latency a client waiting on a quorum observes. */
+  public Duration getQuorumLatency() {
+    join(quorumReached);
+    return latencies.values().stream().sorted().skip(quorum - 1).findFirst().orElseThrow();
+  }
+
+  private static <V> V join(final CompletableFuture<V> future) {
+    try {
+      return future.join();
+    } catch (final CompletionException e) {
+      if (e.getCause() instanceof AssertionError) {
+        throw (AssertionError) e.getCause();
+      }
+      throw e;
+    }
+  }
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.network;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.function.BiConsumer;
+
+/**
+ * Which nodes of a network peer with each other, with nodes numbered in the order they were added.
+ *
+ * <p>Every link is present in both directions, so the links of a node are also the static nodes it
+ * is given and the peers it is expected to connect to.
+ */
+public final class Topology {
+
+  private static final Topology FULL_MESH =
+      new Topology(
+          "full mesh",
+          (nodes, links) -> {
+            for (int node = 0; node < nodes; node++) {
+              for (int peer = node + 1; peer < nodes; peer++) {
+                link(links, node, peer);
+              }
+            }
+          });
+
+  private final String name;
+  private final BiConsumer<Integer, List<BitSet>> generator;
+
+  private Topology(final String name, final BiConsumer<Integer, List<BitSet>> generator) {
+    this.name = name;
+    this.generator = generator;
+  }
+
+  /** Every node peers with every other. */
+  public static Topology fullMesh() {
+    return FULL_MESH;
+  }
+
+  /** Each node peers with the nodes either side of it, the last with the first. */
+  public static Topology ring() {
+    return new Topology(
+        "ring",
+        (nodes, links) -> {
+          for (int node = 0; node < nodes && nodes > 1; node++) {
+            link(links, node, (node + 1) % nodes);
+          }
+        });
+  }
+
+  /** The first node peers with every other, which peer with no one else. */
+  public static Topology star() {
+    return hubAndSpoke(1);
+  }
+
+  /**
+   * The first nodes are hubs that peer with each other, every other node is a spoke peering only
+   * with one of the hubs, with spokes spread evenly across the hubs.
+   */
+  public static Topology hubAndSpoke(final int hubs) {
+    checkArgument(hubs > 0, "At least one hub is required");
+
+    return new Topology(
+        String.format("hub and spoke with %s hubs", hubs),
+        (nodes, links) -> {
+          final int hubCount = Math.min(hubs, nodes);
+          for (int hub = 0; hub < hubCount; hub++) {
+            for (int other = hub + 1; other < hubCount; other++) {
+              link(links, hub, other);
+            }
+          }
+          for (int spoke = hubCount; spoke < nodes; spoke++) {
+            link(links, spoke, (spoke - hubCount) % hubCount);
+          }
+        });
+  }
+
+  /**
+   * Nodes are split into clusters of consecutive nodes, each a full mesh, with the first node of
+   * each cluster acting as a gateway peering with the gateway of every other cluster.
+   */
+  public static Topology clusters(final int clusters) {
+    checkArgument(clusters > 0, "At least one cluster is required");
+
+    return new Topology(
+        String.format("%s clusters", clusters),
+        (nodes, links) -> {
+          final int clusterCount = Math.min(clusters, Math.max(nodes, 1));
+          final List<Integer> gateways = new ArrayList<>();
+          for (int cluster = 0; cluster < clusterCount; cluster++) {
+            final int first = cluster * nodes / clusterCount;
+            final int last = (cluster + 1) * nodes / clusterCount;
+            gateways.add(first);
+            for (int node = first; node < last; node++) {
+              for (int peer = node + 1; peer < last; peer++) {
+                link(links, node, peer);
+              }
+            }
+          }
+          for (int i = 0; i < gateways.size(); i++) {
+            for (int j = i + 1; j < gateways.size(); j++) {
+              link(links, gateways.get(i), gateways.get(j));
+            }
+          }
+        });
+  }
+
+  /**
+   * Every node peers with the same number of others, chosen at random.
+   *
+   * <p>Starts from a ring lattice of the degree, then rewires it with random swaps of the ends of
+   * two links, which keep the degree of every node, so generation always succeeds.
+   *
+   * @param seed same seed gives the same peers, for repeatable runs.
+   */
+  public static Topology randomRegular(final int degree, final long seed) {
+    checkArgument(degree > 0, "Degree must be positive, but was %s", degree);
+
+    return new Topology(
+        String.format("random %s-regular (seed %s)", degree, seed),
+        (nodes, links) -> {
+          checkArgument(
+              degree < nodes,
+              "Degree %s requires more than %s nodes, but there are %s",
+              degree,
+              degree,
+              nodes);
+          checkArgument(
+              (degree * nodes) % 2 == 0,
+              "Degree %s requires an even number of nodes, but there are %s",
+              degree,
+              nodes);
+
+          final List<int[]> edges = new ArrayList<>();
+          for (int node = 0; node < nodes; node++) {
+            for (int offset = 1; offset <= degree / 2; offset++) {
+              edges.add(new int[] {node, (node + offset) % nodes});
+            }
+            if (degree % 2 == 1 && node < nodes / 2) {
+              edges.add(new int[] {node, node + nodes / 2});
+            }
+          }
+          edges.forEach(edge -> link(links, edge[0], edge[1]));
+
+          final Random random = new Random(seed);
+          for (int swap = 0; swap < edges.size() * 10; swap++) {
+            final int[] first = edges.get(random.nextInt(edges.size()));
+            final int[] second = edges.get(random.nextInt(edges.size()));
+            final int a = first[0];
+            final int b = first[1];
+            final int c = second[0];
+            final int d = second[1];
+
+            if (a == c || a == d || b == c || b == d) {
+              continue;
+            }
+            if (links.get(a).get(d) || links.get(c).get(b)) {
+              continue;
+            }
+
+            unlink(links, a, b);
+            unlink(links, c, d);
+            link(links, a, d);
+            link(links, c, b);
+            first[1] = d;
+            second[1] = b;
+          }
+        });
+  }
+
+  /** @return peers of each node by the order nodes were added, the same number of bit sets. */
+  public List<BitSet> links(final int nodes) {
+    checkArgument(nodes >= 0, "Number of nodes cannot be negative, but was %s", nodes);
+
+    final List<BitSet> links = new ArrayList<>(nodes);
+    for (int node = 0; node < nodes; node++) {
+      links.add(new BitSet(nodes));
+    }
+    generator.accept(nodes, links);
+    return links;
+  }
+
+  /** @return whether every node peers with every other, leaving no peer for discovery to add. */
+  public boolean isFullMesh() {
+    return this == FULL_MESH;
+  }
+
+  @Override
+  public String toString() {
+    return name;
+  }
+
+  private static void link(final List<BitSet> links, final int node, final int peer) {
+    links.get(node).set(peer);
+    links.get(peer).set(node);
+  }
+
+  private static void unlink(final List<BitSet> links, final int node, final int peer) {
+    links.get(node).clear(peer);
+    links.get(peer).clear(node);
+  }
+}
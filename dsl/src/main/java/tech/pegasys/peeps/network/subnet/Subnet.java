@@ -33,10 +33,49 @@ public class Subnet implements Closeable {
   private static final String SUBNET_FORMAT = "172.20.%d.0/24";
   private static final AtomicInteger THIRD_OCTET = new AtomicInteger(0);
 
-  private final SubnetAddresses addresses;
-  private final Network network;
+  private SubnetAddresses addresses;
+  private Network network;
 
-  public Subnet() {
+  /**
+   * The Docker network is only created when first needed, so a Network whose members never start
+   * a container, such as one replayed from a cassette, does not need Docker.
+   */
+  public Subnet() {}
+
+  private Subnet(final String subnet, final Network network) {
+    this.addresses = new SubnetAddresses(subnetAddressFormat(subnet));
+    this.network = network;
+  }
+
+  /**
+   * Stands in for the subnet of members that never start a container, handing out addresses on a
+   * Docker network that is never created.
+   */
+  public static Subnet detached() {
+    return new Subnet(String.format(SUBNET_FORMAT, 0), Network.builder().build());
+  }
+
+  public synchronized SubnetAddress getAddressAndIncrement() {
+    ensureCreated();
+    return addresses.getAddressAndIncrement();
+  }
+
+  public synchronized Network network() {
+    ensureCreated();
+    return network;
+  }
+
+  @Override
+  public synchronized void close() {
+    if (network != null) {
+      network.close();
+    }
+  }
+
+  private void ensureCreated() {
+    if (network != null) {
+      return;
+    }
 
     int attempt = 0;
     String subnet = null;
@@ -65,19 +104,6 @@ public class Subnet implements Closeable {
     this.addresses = new SubnetAddresses(subnetAddressFormat(subnet));
   }
 
-  public SubnetAddress getAddressAndIncrement() {
-    return addresses.getAddressAndIncrement();
-  }
-
-  public Network network() {
-    return network;
-  }
-
-  @Override
-  public void close() {
-    network.close();
-  }
-
   private String getNextSubnetAndIncrement() {
     return String.format(SUBNET_FORMAT, consumeNextThirdOctet());
   }
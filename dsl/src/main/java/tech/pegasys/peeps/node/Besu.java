@@ -16,6 +16,9 @@ import static com.google.common.base.Preconditions.checkArgument;
 
 import tech.pegasys.peeps.node.rpc.BesuQbftRpcClient;
 import tech.pegasys.peeps.node.rpc.QbftRpc;
+import tech.pegasys.peeps.runtime.DockerRuntime;
+import tech.pegasys.peeps.runtime.LocalProcessRuntime;
+import tech.pegasys.peeps.runtime.NodeRuntime;
 import tech.pegasys.peeps.util.DockerLogs;
 
 import java.nio.charset.StandardCharsets;
@@ -27,12 +30,10 @@ import com.google.common.collect.Lists;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.tuweni.bytes.Bytes;
-import org.testcontainers.containers.BindMode;
 import org.testcontainers.containers.GenericContainer;
 import org.testcontainers.containers.wait.strategy.HttpWaitStrategy;
 import org.testcontainers.containers.wait.strategy.Wait;
 import org.testcontainers.images.PullPolicy;
-import org.testcontainers.utility.MountableFile;
 
 public class Besu extends Web3Provider {
 
@@ -42,6 +43,7 @@ public class Besu extends Web3Provider {
   private static final int ALIVE_STATUS_CODE = 200;
 
   private static final String BESU_IMAGE = "hyperledger/besu:develop";
+  private static final String CONTAINER_DATA_PATH = "/opt/besu";
   private static final String CONTAINER_GENESIS_FILE = "/etc/besu/genesis.json";
   private static final String CONTAINER_STATIC_NODES_FILE = "/opt/besu/static-nodes.json";
   private static final String CONTAINER_PRIVACY_PUBLIC_KEY_FILE =
@@ -51,27 +53,25 @@ public class Besu extends Web3Provider {
       "/etc/besu/keys/pmt_signing.priv";
 
   public Besu(final Web3ProviderConfiguration config) {
-    super(
-        config,
-        new GenericContainer<>(BESU_IMAGE)
-            .withImagePullPolicy(PullPolicy.ageBased(Duration.ofHours(1))));
+    super(config, runtime(config));
     final List<String> commandLineOptions = standardCommandLineOptions();
 
-    addPeerToPeerHost(config, commandLineOptions);
+    addDataPath(commandLineOptions);
+    addPorts(commandLineOptions);
+    addPeerToPeerHost(commandLineOptions);
     addCorsOrigins(config, commandLineOptions);
-    addContainerNetwork(config, container);
-    addContainerIpAddress(config.getIpAddress(), container);
-    addNodePrivateKey(config, commandLineOptions, container);
-    addGenesisFile(config, commandLineOptions, container);
-    addStaticNodesFile(config, container);
+    addNodePrivateKey(config, commandLineOptions);
+    addGenesisFile(config, commandLineOptions);
+    addStaticNodesFile(config);
+    addDiscovery(config, commandLineOptions);
     commandLineOptions.addAll(List.of("--network-id", "15"));
 
     if (config.isPrivacyEnabled()) {
-      addPrivacy(config, commandLineOptions, container);
+      addPrivacy(config, commandLineOptions);
     }
 
     LOG.info("Besu command line: {}", commandLineOptions);
-    container.withCommand(commandLineOptions.toArray(new String[0])).waitingFor(liveliness());
+    runtime.withCommand(commandLineOptions);
   }
 
   @Override
@@ -81,10 +81,30 @@ public class Besu extends Web3Provider {
 
   @Override
   public String getLogs() {
-    return DockerLogs.format("Besu", container);
+    return DockerLogs.format("Besu", runtime);
   }
 
-  private HttpWaitStrategy liveliness() {
+  private static NodeRuntime runtime(final Web3ProviderConfiguration config) {
+    return config
+        .getLocalExecutable()
+        .<NodeRuntime>map(
+            executable ->
+                new LocalProcessRuntime(config.getIdentity(), executable, CONTAINER_HTTP_RPC_PORT))
+        .orElseGet(() -> dockerRuntime(config));
+  }
+
+  private static NodeRuntime dockerRuntime(final Web3ProviderConfiguration config) {
+    final DockerRuntime docker =
+        new DockerRuntime(
+            new GenericContainer<>(BESU_IMAGE)
+                .withImagePullPolicy(PullPolicy.ageBased(Duration.ofHours(1))),
+            config.getContainerNetwork(),
+            config.getIpAddress());
+    docker.container().waitingFor(liveliness());
+    return docker;
+  }
+
+  private static HttpWaitStrategy liveliness() {
     return Wait.forHttp(AM_I_ALIVE_ENDPOINT)
         .forStatusCode(ALIVE_STATUS_CODE)
         .forPort(CONTAINER_HTTP_RPC_PORT);
@@ -109,15 +129,23 @@ public class Besu extends Web3Provider {
         "ADMIN,ETH,NET,WEB3,EEA,PRIV,QBFT");
   }
 
-  private void addPeerToPeerHost(
-      final Web3ProviderConfiguration config, final List<String> commandLineOptions) {
-    commandLineOptions.add("--p2p-host");
-    commandLineOptions.add(config.getIpAddress().get());
+  private void addDataPath(final List<String> commandLineOptions) {
+    commandLineOptions.add("--data-path");
+    commandLineOptions.add(runtime.resolveDirectory(CONTAINER_DATA_PATH));
+  }
+
+  private void addPorts(final List<String> commandLineOptions) {
+    commandLineOptions.add("--rpc-http-port");
+    commandLineOptions.add(String.valueOf(runtime.networkPort(CONTAINER_HTTP_RPC_PORT)));
+    commandLineOptions.add("--rpc-ws-port");
+    commandLineOptions.add(String.valueOf(runtime.networkPort(CONTAINER_WS_RPC_PORT)));
+    commandLineOptions.add("--p2p-port");
+    commandLineOptions.add(String.valueOf(runtime.networkPort(CONTAINER_P2P_PORT)));
   }
 
-  private void addContainerNetwork(
-      final Web3ProviderConfiguration config, final GenericContainer<?> container) {
-    container.withNetwork(config.getContainerNetwork());
+  private void addPeerToPeerHost(final List<String> commandLineOptions) {
+    commandLineOptions.add("--p2p-host");
+    commandLineOptions.add(runtime.networkAddress());
   }
 
   private void addCorsOrigins(
@@ -130,9 +158,7 @@ public class Besu extends Web3Provider {
   }
 
   private void addNodePrivateKey(
-      final Web3ProviderConfiguration config,
-      final List<String> commandLineOptions,
-      final GenericContainer<?> container) {
+      final Web3ProviderConfiguration config, final List<String> commandLineOptions) {
 
     final Path keyFile =
         createMountableTempFile(
@@ -144,36 +170,34 @@ public class Besu extends Web3Provider {
                     .toUnprefixedHexString()
                     .getBytes(StandardCharsets.UTF_8)));
 
-    container.withCopyFileToContainer(
-        MountableFile.forHostPath(keyFile), CONTAINER_NODE_PRIVATE_KEY_FILE);
     commandLineOptions.addAll(
-        Lists.newArrayList("--node-private-key-file", CONTAINER_NODE_PRIVATE_KEY_FILE));
+        Lists.newArrayList(
+            "--node-private-key-file",
+            runtime.provisionFile(keyFile, CONTAINER_NODE_PRIVATE_KEY_FILE)));
   }
 
   private void addGenesisFile(
-      final Web3ProviderConfiguration config,
-      final List<String> commandLineOptions,
-      final GenericContainer<?> container) {
+      final Web3ProviderConfiguration config, final List<String> commandLineOptions) {
     commandLineOptions.add("--genesis-file");
-    commandLineOptions.add(CONTAINER_GENESIS_FILE);
-    container.withCopyFileToContainer(
-        MountableFile.forHostPath(config.getGenesisFile()), CONTAINER_GENESIS_FILE);
+    commandLineOptions.add(runtime.provisionFile(config.getGenesisFile(), CONTAINER_GENESIS_FILE));
+  }
+
+  private void addStaticNodesFile(final Web3ProviderConfiguration config) {
+    runtime.provisionFile(config.getStaticNodesFile(), CONTAINER_STATIC_NODES_FILE);
   }
 
-  private void addStaticNodesFile(
-      final Web3ProviderConfiguration config, final GenericContainer<?> container) {
-    container.withCopyFileToContainer(
-        MountableFile.forHostPath(config.getStaticNodesFile()), CONTAINER_STATIC_NODES_FILE);
+  private void addDiscovery(
+      final Web3ProviderConfiguration config, final List<String> commandLineOptions) {
+    if (!config.isDiscoveryEnabled()) {
+      commandLineOptions.add("--discovery-enabled=false");
+    }
   }
 
   private void addPrivacy(
-      final Web3ProviderConfiguration config,
-      final List<String> commandLineOptions,
-      final GenericContainer<?> container) {
+      final Web3ProviderConfiguration config, final List<String> commandLineOptions) {
 
     checkArgument(
-        config.getPrivacyUrl() != null && config.getPrivacyUrl().isPresent(),
-        "Privacy URL is mandatory when using Privacy");
+        config.getPrivacyManager().isPresent(), "Privacy manager is mandatory when using Privacy");
     checkArgument(
         config.getPrivacyMarkerSigningPrivateKeyFile() != null
             && config.getPrivacyMarkerSigningPrivateKeyFile().isPresent(),
@@ -181,19 +205,15 @@ public class Besu extends Web3Provider {
 
     commandLineOptions.add("--privacy-enabled");
     commandLineOptions.add("--privacy-url");
-    commandLineOptions.add(config.getPrivacyUrl().get());
+    commandLineOptions.add(config.getPrivacyManager().get().getNetworkRpcAddressFrom(runtime));
     commandLineOptions.add("--privacy-public-key-file");
-    commandLineOptions.add(CONTAINER_PRIVACY_PUBLIC_KEY_FILE);
-    container.withClasspathResourceMapping(
-        config.getPrivacyPublicKeyResource(),
-        CONTAINER_PRIVACY_PUBLIC_KEY_FILE,
-        BindMode.READ_ONLY);
+    commandLineOptions.add(
+        runtime.provisionClasspathResource(
+            config.getPrivacyPublicKeyResource(), CONTAINER_PRIVACY_PUBLIC_KEY_FILE));
     commandLineOptions.add("--privacy-marker-transaction-signing-key-file");
-    commandLineOptions.add(CONTAINER_PRIVACY_SIGNING_PRIVATE_KEY_FILE);
-
-    container.withClasspathResourceMapping(
-        config.getPrivacyMarkerSigningPrivateKeyFile().get(),
-        CONTAINER_PRIVACY_SIGNING_PRIVATE_KEY_FILE,
-        BindMode.READ_ONLY);
+    commandLineOptions.add(
+        runtime.provisionClasspathResource(
+            config.getPrivacyMarkerSigningPrivateKeyFile().get(),
+            CONTAINER_PRIVACY_SIGNING_PRIVATE_KEY_FILE));
   }
 }
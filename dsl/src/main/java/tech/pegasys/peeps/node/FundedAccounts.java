@@ -0,0 +1,116 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.node;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkElementIndex;
+
+import tech.pegasys.peeps.node.genesis.GenesisAccount;
+import tech.pegasys.peeps.node.model.GenesisAddress;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.apache.tuweni.eth.Address;
+import org.web3j.crypto.Credentials;
+import org.web3j.crypto.ECKeyPair;
+import org.web3j.crypto.Hash;
+import org.web3j.crypto.Sign;
+import org.web3j.utils.Numeric;
+
+/**
+ * Accounts funded in the genesis, with keys derived from a seed rather than read from key files.
+ *
+ * <p>Many senders let a load run in parallel instead of serializing on the nonce of one account,
+ * while the same seed reproduces the same accounts run after run. The key of each account is
+ * derived on first use, then cached.
+ */
+public class FundedAccounts {
+
+  private static final String DEFAULT_BALANCE = "0xad78ebc5ac6200000";
+  private static final BigInteger CURVE_ORDER = Sign.CURVE_PARAMS.getN();
+
+  private final long seed;
+  private final AtomicReferenceArray<Credentials> credentials;
+
+  public FundedAccounts(final long seed, final int size) {
+    checkArgument(size > 0, "At least one funded account is required");
+    this.seed = seed;
+    this.credentials = new AtomicReferenceArray<>(size);
+  }
+
+  public long getSeed() {
+    return seed;
+  }
+
+  public int size() {
+    return credentials.length();
+  }
+
+  /** @return keys of the account at the index, for signing its transactions inside the JVM. */
+  public Credentials credentials(final int index) {
+    checkElementIndex(index, size(), "Funded account");
+
+    final Credentials cached = credentials.get(index);
+    if (cached != null) {
+      return cached;
+    }
+
+    // deriving twice on a race is harmless, both derive the same key
+    final Credentials derived = Credentials.create(ECKeyPair.create(privateKey(index)));
+    return credentials.compareAndSet(index, null, derived) ? derived : credentials.get(index);
+  }
+
+  public Address address(final int index) {
+    return Address.fromHexString(credentials(index).getAddress());
+  }
+
+  /** @return keys of every account, derived in parallel on first use. */
+  public List<Credentials> credentials() {
+    return IntStream.range(0, size())
+        .parallel()
+        .mapToObj(this::credentials)
+        .collect(Collectors.toList());
+  }
+
+  /** @return the genesis alloc entries funding every account. */
+  public Map<GenesisAddress, GenesisAccount> alloc() {
+    return Collections.unmodifiableMap(
+        credentials()
+            .parallelStream()
+            .collect(
+                Collectors.toConcurrentMap(
+                    account -> new GenesisAddress(Numeric.cleanHexPrefix(account.getAddress())),
+                    account -> new GenesisAccount(DEFAULT_BALANCE))));
+  }
+
+  /** Keccak of the seed and index, hashed again in the unlikely case it is not a valid key. */
+  private BigInteger privateKey(final int index) {
+    byte[] digest =
+        Hash.sha3(ByteBuffer.allocate(Long.BYTES * 2).putLong(seed).putLong(index).array());
+    BigInteger key = new BigInteger(1, digest);
+
+    while (key.signum() == 0 || key.compareTo(CURVE_ORDER) >= 0) {
+      digest = Hash.sha3(digest);
+      key = new BigInteger(1, digest);
+    }
+
+    return key;
+  }
+}
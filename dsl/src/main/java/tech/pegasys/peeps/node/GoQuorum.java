@@ -15,6 +15,7 @@ package tech.pegasys.peeps.node;
 import tech.pegasys.peeps.node.genesis.bft.BftConfig;
 import tech.pegasys.peeps.node.rpc.QbftRpc;
 import tech.pegasys.peeps.node.rpc.QuorumQbftRpcClient;
+import tech.pegasys.peeps.runtime.DockerRuntime;
 import tech.pegasys.peeps.util.DockerLogs;
 
 import java.nio.charset.StandardCharsets;
@@ -26,12 +27,10 @@ import com.google.common.collect.Lists;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.tuweni.bytes.Bytes;
-import org.testcontainers.containers.BindMode;
 import org.testcontainers.containers.GenericContainer;
 import org.testcontainers.containers.wait.strategy.AbstractWaitStrategy;
 import org.testcontainers.containers.wait.strategy.Wait;
 import org.testcontainers.images.PullPolicy;
-import org.testcontainers.utility.MountableFile;
 
 public class GoQuorum extends Web3Provider {
 
@@ -54,26 +53,28 @@ public class GoQuorum extends Web3Provider {
       final Web3ProviderConfiguration config,
       final int blockPeriodSeconds,
       final int requestTimeoutSeconds) {
-    super(
-        config,
-        new GenericContainer<>(IMAGE_NAME)
-            .withImagePullPolicy(PullPolicy.ageBased(Duration.ofHours(1))));
+    this(config, blockPeriodSeconds, requestTimeoutSeconds, dockerRuntime(config));
+  }
+
+  private GoQuorum(
+      final Web3ProviderConfiguration config,
+      final int blockPeriodSeconds,
+      final int requestTimeoutSeconds,
+      final DockerRuntime docker) {
+    super(config, docker);
 
     final List<String> commandLineOptions =
         standardCommandLineOptions(blockPeriodSeconds, requestTimeoutSeconds);
     addCorsOrigins(config, commandLineOptions);
-    addContainerNetwork(config, container);
-    addContainerIpAddress(ipAddress(), container);
-    addWallets(config, commandLineOptions, container);
-    addStaticNodesFile(config, container);
+    addWallets(config, commandLineOptions);
+    addStaticNodesFile(config);
     commandLineOptions.addAll(List.of("--datadir", "\"" + DATA_DIR + "\""));
     commandLineOptions.addAll(List.of("--networkid", "15"));
     commandLineOptions.addAll(List.of("--identity", config.getIdentity()));
 
     // Note: this copy occurs on container start (not now, as the genesis file is empty at this
     // stage)
-    container.withCopyFileToContainer(
-        MountableFile.forHostPath(config.getGenesisFile()), CONTAINER_GENESIS_FILE);
+    runtime.provisionFile(config.getGenesisFile(), CONTAINER_GENESIS_FILE);
     final List<String> entryPoint = Lists.newArrayList("/bin/sh", "-c");
     final String initCmd =
         "mkdir -p '"
@@ -89,7 +90,7 @@ public class GoQuorum extends Web3Provider {
             + " && "
             + " echo '##### GoQuorum INITIALISED #####' && ";
 
-    addNodePrivateKey(config, commandLineOptions, container);
+    addNodePrivateKey(config, commandLineOptions);
     //    if (config.isPrivacyEnabled()) {
     //      addPrivacy(config, commandLineOptions, dockerContainer);
     //    }
@@ -99,14 +100,15 @@ public class GoQuorum extends Web3Provider {
 
     entryPoint.add(goCommandLine);
 
-    container
+    docker
+        .container()
         .withCreateContainerCmdModifier(cmd -> cmd.withEntrypoint(entryPoint))
         .waitingFor(liveliness());
   }
 
   @Override
   public String getLogs() {
-    return DockerLogs.format("GoQuorum", container);
+    return DockerLogs.format("GoQuorum", runtime);
   }
 
   @Override
@@ -114,6 +116,14 @@ public class GoQuorum extends Web3Provider {
     return new QuorumQbftRpcClient(jsonRpcClient);
   }
 
+  private static DockerRuntime dockerRuntime(final Web3ProviderConfiguration config) {
+    return new DockerRuntime(
+        new GenericContainer<>(IMAGE_NAME)
+            .withImagePullPolicy(PullPolicy.ageBased(Duration.ofHours(1))),
+        config.getContainerNetwork(),
+        config.getIpAddress());
+  }
+
   private AbstractWaitStrategy liveliness() {
     return Wait.forLogMessage(".*endpoint=0.0.0.0:8545.*", 1);
   }
@@ -147,11 +157,6 @@ public class GoQuorum extends Web3Provider {
         Integer.toString(requestTimeMilliseconds));
   }
 
-  private void addContainerNetwork(
-      final Web3ProviderConfiguration config, final GenericContainer<?> container) {
-    container.withNetwork(config.getContainerNetwork());
-  }
-
   private void addCorsOrigins(
       final Web3ProviderConfiguration config, final List<String> commandLineOptions) {
     config
@@ -161,9 +166,7 @@ public class GoQuorum extends Web3Provider {
   }
 
   private void addNodePrivateKey(
-      final Web3ProviderConfiguration config,
-      final List<String> commandLineOptions,
-      final GenericContainer<?> container) {
+      final Web3ProviderConfiguration config, final List<String> commandLineOptions) {
     final Path keyFile =
         createMountableTempFile(
             Bytes.wrap(
@@ -174,25 +177,20 @@ public class GoQuorum extends Web3Provider {
                     .toUnprefixedHexString()
                     .getBytes(StandardCharsets.UTF_8)));
 
-    container.withCopyFileToContainer(
-        MountableFile.forHostPath(keyFile), CONTAINER_NODE_PRIVATE_KEY_FILE);
-    commandLineOptions.addAll(Lists.newArrayList("--nodekey", CONTAINER_NODE_PRIVATE_KEY_FILE));
+    commandLineOptions.addAll(
+        Lists.newArrayList(
+            "--nodekey", runtime.provisionFile(keyFile, CONTAINER_NODE_PRIVATE_KEY_FILE)));
   }
 
   private void addWallets(
-      final Web3ProviderConfiguration config,
-      final List<String> commandLineOptions,
-      final GenericContainer<?> container) {
+      final Web3ProviderConfiguration config, final List<String> commandLineOptions) {
     config
         .getWallet()
         .ifPresent(
             wallet -> {
-              container.withClasspathResourceMapping(
-                  wallet.resources().getKey().get(), KEYSTORE_DIR, BindMode.READ_ONLY);
-              container.withClasspathResourceMapping(
-                  wallet.resources().getPassword().get(),
-                  CONTAINER_PASSWORD_FILE,
-                  BindMode.READ_ONLY);
+              runtime.provisionClasspathResource(wallet.resources().getKey().get(), KEYSTORE_DIR);
+              runtime.provisionClasspathResource(
+                  wallet.resources().getPassword().get(), CONTAINER_PASSWORD_FILE);
               commandLineOptions.addAll(
                   List.of(
                       "--unlock",
@@ -204,10 +202,8 @@ public class GoQuorum extends Web3Provider {
             });
   }
 
-  private void addStaticNodesFile(
-      final Web3ProviderConfiguration config, final GenericContainer<?> container) {
-    container.withCopyFileToContainer(
-        MountableFile.forHostPath(config.getStaticNodesFile()), CONTAINER_STATIC_NODES_FILE);
+  private void addStaticNodesFile(final Web3ProviderConfiguration config) {
+    runtime.provisionFile(config.getStaticNodesFile(), CONTAINER_STATIC_NODES_FILE);
   }
 
   //  private void addPrivacy(
@@ -15,6 +15,8 @@ package tech.pegasys.peeps.node;
 import tech.pegasys.peeps.node.model.Hash;
 import tech.pegasys.peeps.node.verification.NodeValueTransition;
 
+import java.util.Collection;
+
 public class NodeVerify {
   private final Web3Provider node;
 
@@ -26,6 +28,10 @@ public class NodeVerify {
     node.verifyTransition(changes);
   }
 
+  public void transition(final Collection<? extends NodeValueTransition> changes) {
+    node.verifyTransition(changes);
+  }
+
   public void successfulTransactionReceipt(final Hash transaction) {
     node.verifySuccessfulTransactionReceipt(transaction);
   }
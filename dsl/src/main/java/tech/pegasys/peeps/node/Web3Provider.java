@@ -22,11 +22,14 @@ import tech.pegasys.peeps.network.NetworkMember;
 import tech.pegasys.peeps.network.subnet.SubnetAddress;
 import tech.pegasys.peeps.node.model.EnodeHelpers;
 import tech.pegasys.peeps.node.model.Hash;
+import tech.pegasys.peeps.node.model.NodeSnapshot;
 import tech.pegasys.peeps.node.model.TransactionReceipt;
 import tech.pegasys.peeps.node.rpc.QbftRpc;
 import tech.pegasys.peeps.node.rpc.admin.NodeInfo;
 import tech.pegasys.peeps.node.verification.AccountValue;
 import tech.pegasys.peeps.node.verification.NodeValueTransition;
+import tech.pegasys.peeps.runtime.NodeRuntime;
+import tech.pegasys.peeps.runtime.ReplayRuntime;
 import tech.pegasys.peeps.signer.rpc.SignerRpcClient;
 import tech.pegasys.peeps.signer.rpc.SignerRpcMandatoryResponse;
 import tech.pegasys.peeps.util.AddressConverter;
@@ -37,16 +40,16 @@ import java.nio.file.Path;
 import java.nio.file.attribute.PosixFilePermissions;
 import java.time.Duration;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.eth.Address;
-import org.testcontainers.containers.GenericContainer;
 
 public abstract class Web3Provider implements NetworkMember {
 
@@ -59,7 +62,7 @@ public abstract class Web3Provider implements NetworkMember {
   protected final SignerRpcMandatoryResponse signerRpcResponse;
   protected final JsonRpcClient jsonRpcClient;
 
-  protected GenericContainer<?> container;
+  protected final NodeRuntime runtime;
   private final SubnetAddress ipAddress;
   private final String identity;
   private final String enodeAddress;
@@ -68,17 +71,18 @@ public abstract class Web3Provider implements NetworkMember {
   private String nodeId;
   private String enodeId;
 
-  public Web3Provider(final Web3ProviderConfiguration config, final GenericContainer<?> container) {
-    this.container = container;
+  public Web3Provider(final Web3ProviderConfiguration config, final NodeRuntime runtime) {
+    this.runtime = ReplayRuntime.replayingOr(config.getCassette(), runtime);
     this.jsonRpcClient =
         new JsonRpcClient(config.getVertx(), Duration.ofSeconds(10), LOG, dockerLogs());
+    config.getCassette().ifPresent(cassette -> jsonRpcClient.use(cassette, config.getIdentity()));
     final SignerRpcClient signerRpcClient = new SignerRpcClient(jsonRpcClient, qbftRpc(config));
     this.signerRpcResponse = new SignerRpcMandatoryResponse(signerRpcClient);
     this.ipAddress = config.getIpAddress();
 
     this.identity = config.getIdentity();
     this.pubKey = removeAnyHexPrefix(config.getNodeKeys().publicKey().toHexString());
-    this.enodeAddress = enodeAddress(config);
+    this.enodeAddress = enodeAddress(runtime);
   }
 
   protected abstract QbftRpc qbftRpc(final Web3ProviderConfiguration config);
@@ -86,20 +90,11 @@ public abstract class Web3Provider implements NetworkMember {
   @Override
   public void start() {
     try {
-      container.start();
-
-      LOG.info(
-          "Started container {} with imageId {}",
-          container.getDockerImageName(),
-          container.getContainerInfo().getImageId());
-
-      container.followOutput(
-          outputFrame -> LOG.info("{}: {}", identity, outputFrame.getUtf8String().stripTrailing()));
+      runtime.start();
+      runtime.followOutput(line -> LOG.info("{}: {}", identity, line));
 
       jsonRpcClient.bind(
-          container.getContainerId(),
-          container.getContainerIpAddress(),
-          container.getMappedPort(CONTAINER_HTTP_RPC_PORT));
+          runtime.id(), runtime.hostAddress(), runtime.hostPort(CONTAINER_HTTP_RPC_PORT));
 
       final NodeInfo info = signerRpcResponse.nodeInfo();
       nodeId = info.getId();
@@ -113,27 +108,35 @@ public abstract class Web3Provider implements NetworkMember {
       // protocol(s), ports, listen address
 
       logPortMappings();
-      logContainerNetworkDetails();
     } catch (final Throwable e) {
-      LOG.error(container.getLogs());
+      LOG.error(runtime.getLogs());
       throw e;
     }
   }
 
   @Override
   public void stop() {
-    if (container != null) {
-      container.stop();
+    if (runtime != null) {
+      runtime.stop();
     }
     if (jsonRpcClient != null) {
       jsonRpcClient.close();
     }
   }
 
+  @Override
+  public void close() {
+    runtime.close();
+  }
+
   public SubnetAddress ipAddress() {
     return ipAddress;
   }
 
+  public String networkAddress() {
+    return runtime.networkAddress();
+  }
+
   // TODO these may not have a value, i.e. node not started :. optional
   public String getEnodeId() {
     return enodeId;
@@ -153,11 +156,21 @@ public abstract class Web3Provider implements NetworkMember {
   }
 
   public int httpRpcPort() {
-    return CONTAINER_HTTP_RPC_PORT;
+    return runtime.networkPort(CONTAINER_HTTP_RPC_PORT);
+  }
+
+  /** @return address the member running in the client runtime uses to reach the node. */
+  public String networkAddressFrom(final NodeRuntime client) {
+    return runtime.networkAddressFrom(client);
+  }
+
+  /** @return HTTP RPC port the member running in the client runtime uses to reach the node. */
+  public int httpRpcPortFrom(final NodeRuntime client) {
+    return runtime.networkPortFrom(client, CONTAINER_HTTP_RPC_PORT);
   }
 
   public int p2pPort() {
-    return CONTAINER_P2P_PORT;
+    return runtime.networkPort(CONTAINER_P2P_PORT);
   }
 
   public Address address() {
@@ -216,7 +229,23 @@ public abstract class Web3Provider implements NetworkMember {
   }
 
   public void verifyTransition(final NodeValueTransition... changes) {
-    Stream.of(changes).parallel().forEach(change -> change.verify(signerRpcResponse));
+    verifyTransition(List.of(changes));
+  }
+
+  /**
+   * Fetches the data every transition needs in a single batch, then verifies each of them locally.
+   */
+  public void verifyTransition(final Collection<? extends NodeValueTransition> changes) {
+    final Set<Address> accounts = new HashSet<>();
+    final Set<Hash> transactions = new HashSet<>();
+    changes.forEach(
+        change -> {
+          accounts.addAll(change.accounts());
+          transactions.addAll(change.transactions());
+        });
+
+    final NodeSnapshot snapshot = signerRpcResponse.getSnapshot(accounts, transactions);
+    changes.forEach(change -> change.verify(snapshot));
   }
 
   public void verifySuccessfulTransactionReceipt(final Hash transaction) {
@@ -226,38 +255,22 @@ public abstract class Web3Provider implements NetworkMember {
     assertThat(receipt.isSuccess()).isTrue();
   }
 
-  private String enodeAddress(final Web3ProviderConfiguration config) {
+  private String enodeAddress(final NodeRuntime runtime) {
     return String.format(
-        "enode://%s@%s:%d", pubKey, config.getIpAddress().get(), CONTAINER_P2P_PORT);
+        "enode://%s@%s:%d",
+        pubKey, runtime.networkAddress(), runtime.networkPort(CONTAINER_P2P_PORT));
   }
 
   private void logPortMappings() {
     LOG.info(
-        "Web3Provider Container: {}, HTTP RPC port mapping: {} -> {}, WS RPC port mapping: {} -> {}, p2p port mapping: {} -> {}",
-        container.getContainerId(),
+        "Web3Provider: {}, HTTP RPC port mapping: {} -> {}, WS RPC port mapping: {} -> {}, p2p port mapping: {} -> {}",
+        runtime.id(),
         CONTAINER_HTTP_RPC_PORT,
-        container.getMappedPort(CONTAINER_HTTP_RPC_PORT),
+        runtime.hostPort(CONTAINER_HTTP_RPC_PORT),
         CONTAINER_WS_RPC_PORT,
-        container.getMappedPort(CONTAINER_WS_RPC_PORT),
+        runtime.hostPort(CONTAINER_WS_RPC_PORT),
         CONTAINER_P2P_PORT,
-        container.getMappedPort(CONTAINER_P2P_PORT));
-  }
-
-  private void logContainerNetworkDetails() {
-    if (container.getNetwork() == null) {
-      LOG.info("Web3Provider Container: {}, has no network", container.getContainerId());
-    } else {
-      LOG.info(
-          "Web3Provider Container: {}, IP address: {}, Network: {}",
-          container.getContainerId(),
-          container.getContainerIpAddress(),
-          container.getNetwork().getId());
-    }
-  }
-
-  protected void addContainerIpAddress(
-      final SubnetAddress ipAddress, final GenericContainer<?> container) {
-    container.withCreateContainerCmdModifier(modifier -> modifier.withIpv4Address(ipAddress.get()));
+        runtime.hostPort(CONTAINER_P2P_PORT));
   }
 
   protected Path createMountableTempFile(final Bytes content) {
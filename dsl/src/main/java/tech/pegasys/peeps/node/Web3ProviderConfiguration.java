@@ -12,7 +12,9 @@
  */
 package tech.pegasys.peeps.node;
 
+import tech.pegasys.peeps.json.rpc.Cassette;
 import tech.pegasys.peeps.network.subnet.SubnetAddress;
+import tech.pegasys.peeps.privacy.PrivateTransactionManager;
 import tech.pegasys.peeps.signer.SignerConfiguration;
 
 import java.nio.file.Path;
@@ -30,10 +32,13 @@ public class Web3ProviderConfiguration {
   private final String identity;
   private final String bootnodeEnodeAddress;
   private final Optional<SignerConfiguration> wallet;
-  private final String privacyUrl;
+  private final PrivateTransactionManager privacyManager;
   private final String privacyMarkerSigningPrivateKeyFile;
   private final KeyPair nodeKeys;
   private final Path staticNodesFile;
+  private final Optional<Path> localExecutable;
+  private final Optional<Cassette> cassette;
+  private final boolean discoveryEnabled;
 
   // TODO move these out, they are not related to the node, but test container setups
   private final Network containerNetwork;
@@ -43,7 +48,7 @@ public class Web3ProviderConfiguration {
   public Web3ProviderConfiguration(
       final Path genesisFile,
       final String privacyManagerPublicKeyResource,
-      final String privacyUrl,
+      final PrivateTransactionManager privacyManager,
       final String privacyMarkerSigningPrivateKeyFile,
       final String cors,
       final Network containerNetwork,
@@ -53,11 +58,14 @@ public class Web3ProviderConfiguration {
       final KeyPair nodeKeys,
       final String bootnodeEnodeAddress,
       final SignerConfiguration wallet,
-      final Path staticNodesFile) {
+      final Path staticNodesFile,
+      final Path localExecutable,
+      final Cassette cassette,
+      final boolean discoveryEnabled) {
     this.genesisFile = genesisFile;
     this.enclavePublicKeyResource = privacyManagerPublicKeyResource;
     this.privacyMarkerSigningPrivateKeyFile = privacyMarkerSigningPrivateKeyFile;
-    this.privacyUrl = privacyUrl;
+    this.privacyManager = privacyManager;
     this.cors = cors;
     this.containerNetwork = containerNetwork;
     this.vertx = vertx;
@@ -67,6 +75,9 @@ public class Web3ProviderConfiguration {
     this.bootnodeEnodeAddress = bootnodeEnodeAddress;
     this.wallet = Optional.ofNullable(wallet);
     this.staticNodesFile = staticNodesFile;
+    this.localExecutable = Optional.ofNullable(localExecutable);
+    this.cassette = Optional.ofNullable(cassette);
+    this.discoveryEnabled = discoveryEnabled;
   }
 
   public Path getGenesisFile() {
@@ -107,11 +118,12 @@ public class Web3ProviderConfiguration {
 
   // TODO maybe split out privacy
   public boolean isPrivacyEnabled() {
-    return privacyUrl != null;
+    return privacyManager != null;
   }
 
-  public Optional<String> getPrivacyUrl() {
-    return Optional.ofNullable(privacyUrl);
+  /** The node reaches the manager at an address resolved through the runtimes of both. */
+  public Optional<PrivateTransactionManager> getPrivacyManager() {
+    return Optional.ofNullable(privacyManager);
   }
 
   public Optional<String> getPrivacyMarkerSigningPrivateKeyFile() {
@@ -125,4 +137,19 @@ public class Web3ProviderConfiguration {
   public Path getStaticNodesFile() {
     return staticNodesFile;
   }
+
+  /** When present the node runs as a local process, rather than in a container. */
+  public Optional<Path> getLocalExecutable() {
+    return localExecutable;
+  }
+
+  /** When present the RPC exchanges are recorded to, or replayed from, the cassette. */
+  public Optional<Cassette> getCassette() {
+    return cassette;
+  }
+
+  /** When disabled the node peers only with its static nodes. */
+  public boolean isDiscoveryEnabled() {
+    return discoveryEnabled;
+  }
 }
@@ -14,11 +14,14 @@ package tech.pegasys.peeps.node;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import tech.pegasys.peeps.json.rpc.Cassette;
 import tech.pegasys.peeps.network.subnet.SubnetAddress;
 import tech.pegasys.peeps.node.genesis.GenesisFile;
 import tech.pegasys.peeps.privacy.PrivateTransactionManager;
 import tech.pegasys.peeps.signer.SignerConfiguration;
 
+import java.nio.file.Path;
+
 import io.vertx.core.Vertx;
 import org.apache.tuweni.crypto.SECP256K1.KeyPair;
 import org.testcontainers.containers.Network;
@@ -34,13 +37,16 @@ public class Web3ProviderConfigurationBuilder {
 
   // TODO better typing then String
   private String privacyManagerPublicKeyFile;
-  private String privacyTransactionManagerUrl;
+  private PrivateTransactionManager privacyTransactionManager;
   private String cors;
   private String bootnodeEnodeAddress;
   private KeyPair nodeKeys;
   private SignerConfiguration wallet;
   private final String privacyMarkerSigningPrivateKeyFile;
   private StaticNodesFile staticNodesFile;
+  private Path localExecutable;
+  private Cassette cassette;
+  private boolean discoveryEnabled = true;
 
   // TODO these into their own builder, not node related but test container related
   private Network containerNetwork;
@@ -89,7 +95,7 @@ public class Web3ProviderConfigurationBuilder {
 
   public Web3ProviderConfigurationBuilder withPrivacyUrl(
       final PrivateTransactionManager privacyTransactionManager) {
-    this.privacyTransactionManagerUrl = privacyTransactionManager.getNetworkRpcAddress();
+    this.privacyTransactionManager = privacyTransactionManager;
     return this;
   }
 
@@ -115,6 +121,21 @@ public class Web3ProviderConfigurationBuilder {
     return this;
   }
 
+  public Web3ProviderConfigurationBuilder withLocalExecutable(final Path localExecutable) {
+    this.localExecutable = localExecutable;
+    return this;
+  }
+
+  public Web3ProviderConfigurationBuilder withCassette(final Cassette cassette) {
+    this.cassette = cassette;
+    return this;
+  }
+
+  public Web3ProviderConfigurationBuilder withDiscoveryEnabled(final boolean discoveryEnabled) {
+    this.discoveryEnabled = discoveryEnabled;
+    return this;
+  }
+
   public Web3ProviderConfiguration build() {
     checkNotNull(genesisFile, "A genesis file path is mandatory");
     checkNotNull(identity, "An identity is mandatory");
@@ -127,7 +148,7 @@ public class Web3ProviderConfigurationBuilder {
     return new Web3ProviderConfiguration(
         genesisFile.getGenesisFile(),
         privacyManagerPublicKeyFile,
-        privacyTransactionManagerUrl,
+        privacyTransactionManager,
         privacyMarkerSigningPrivateKeyFile,
         cors,
         containerNetwork,
@@ -137,6 +158,9 @@ public class Web3ProviderConfigurationBuilder {
         nodeKeys,
         bootnodeEnodeAddress,
         wallet,
-        staticNodesFile.getStaticNodesFile());
+        staticNodesFile.getStaticNodesFile(),
+        localExecutable,
+        cassette,
+        discoveryEnabled);
   }
 }
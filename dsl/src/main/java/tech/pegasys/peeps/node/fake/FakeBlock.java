@@ -0,0 +1,95 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.node.fake;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.crypto.Hash;
+import org.apache.tuweni.eth.Address;
+
+/** Sealed block of the fake chain, with the outcome of each of its transactions. */
+public class FakeBlock {
+
+  private final long number;
+  private final Bytes32 hash;
+  private final Bytes32 parentHash;
+  private final Bytes32 stateRoot;
+  private final Instant timestamp;
+  private final List<FakeTransaction> transactions;
+  private final List<Boolean> outcomes;
+  private final List<Address> validators;
+
+  public FakeBlock(
+      final long number,
+      final Bytes32 parentHash,
+      final Bytes32 stateRoot,
+      final Instant timestamp,
+      final List<FakeTransaction> transactions,
+      final List<Boolean> outcomes,
+      final List<Address> validators) {
+    this.number = number;
+    this.parentHash = parentHash;
+    this.stateRoot = stateRoot;
+    this.timestamp = timestamp;
+    this.transactions = List.copyOf(transactions);
+    this.outcomes = List.copyOf(outcomes);
+    this.validators = List.copyOf(validators);
+    this.hash =
+        Hash.keccak256(
+            Bytes.concatenate(
+                parentHash,
+                stateRoot,
+                Bytes.ofUnsignedLong(number),
+                Bytes.concatenate(
+                    transactions.stream().map(FakeTransaction::getHash).toArray(Bytes[]::new))));
+  }
+
+  public long getNumber() {
+    return number;
+  }
+
+  public Bytes32 getHash() {
+    return hash;
+  }
+
+  public Bytes32 getParentHash() {
+    return parentHash;
+  }
+
+  public Bytes32 getStateRoot() {
+    return stateRoot;
+  }
+
+  public Instant getTimestamp() {
+    return timestamp;
+  }
+
+  public List<FakeTransaction> getTransactions() {
+    return transactions;
+  }
+
+  public int indexOf(final FakeTransaction transaction) {
+    return transactions.indexOf(transaction);
+  }
+
+  public boolean isSuccess(final int transactionIndex) {
+    return outcomes.get(transactionIndex);
+  }
+
+  public List<Address> getValidators() {
+    return validators;
+  }
+}
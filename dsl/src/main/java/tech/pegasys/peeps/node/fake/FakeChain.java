@@ -0,0 +1,386 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.node.fake;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+
+import tech.pegasys.peeps.node.genesis.GenesisAccount;
+import tech.pegasys.peeps.node.model.GenesisAddress;
+import tech.pegasys.peeps.util.HexFormatter;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.crypto.Hash;
+import org.apache.tuweni.eth.Address;
+import org.apache.tuweni.units.bigints.UInt256;
+import org.apache.tuweni.units.ethereum.Gas;
+import org.apache.tuweni.units.ethereum.Wei;
+
+/**
+ * Chain state shared by the in-process fake nodes of a Network.
+ *
+ * <p>By default every transaction is sealed into its own block as soon as it is received, otherwise
+ * blocks are only sealed on request.
+ */
+public class FakeChain {
+
+  public static final Gas TRANSFER_GAS = Gas.valueOf(21000);
+
+  private final long chainId;
+  private final Clock clock;
+  private final Map<Address, Wei> balances = new HashMap<>();
+  private final Map<Address, Long> nonces = new HashMap<>();
+  private final List<FakeBlock> blocks = new ArrayList<>();
+  private final Map<Address, NavigableMap<Long, Wei>> balanceHistory = new HashMap<>();
+  private final Map<Bytes32, FakeTransaction> transactions = new HashMap<>();
+  private final Map<Bytes32, FakeBlock> inclusions = new HashMap<>();
+  private final List<FakeTransaction> pending = new ArrayList<>();
+  private final Map<Address, NavigableMap<Long, FakeTransaction>> queued = new HashMap<>();
+  private final Set<Address> validators = new LinkedHashSet<>();
+  private final Map<Address, Map<Address, Boolean>> votes = new HashMap<>();
+  private final Map<String, FakeChainView> members = new LinkedHashMap<>();
+  private final Map<String, Set<String>> staticPeers = new HashMap<>();
+  private final List<Consumer<Bytes32>> poolListeners = new CopyOnWriteArrayList<>();
+
+  private boolean sealOnTransaction = true;
+  private UInt256 stateDigest = UInt256.ZERO;
+
+  public FakeChain(final long chainId, final Map<GenesisAddress, GenesisAccount> accounts) {
+    this(chainId, accounts, Clock.systemUTC());
+  }
+
+  public FakeChain(
+      final long chainId, final Map<GenesisAddress, GenesisAccount> accounts, final Clock clock) {
+    this.chainId = chainId;
+    this.clock = clock;
+
+    accounts.forEach(
+        (genesisAddress, account) -> {
+          final Address address =
+              Address.fromHexString(HexFormatter.ensureHexPrefix(genesisAddress.getAddress()));
+          setBalance(address, Wei.valueOf(UInt256.fromHexString(account.getBalance())));
+          if (account.getNonce() != null) {
+            nonces.put(address, Long.decode(account.getNonce()));
+          }
+        });
+
+    blocks.add(genesis());
+  }
+
+  public long getChainId() {
+    return chainId;
+  }
+
+  /** Stops sealing a block per transaction, leaving block production to {@link #sealBlock()}. */
+  public synchronized void sealOnRequestOnly() {
+    sealOnTransaction = false;
+  }
+
+  /** Validators may only be added to the genesis block, later changes require votes. */
+  public synchronized void addValidator(final Address validator) {
+    checkState(blocks.size() == 1, "Validators can only be added before any block is sealed");
+    validators.add(validator);
+    blocks.set(0, genesis());
+  }
+
+  /**
+   * The pool is shared by every fake node, so each listener hears of a transaction as soon as any
+   * node accepts it, as though gossip were instant.
+   */
+  public void onPooled(final Consumer<Bytes32> listener) {
+    poolListeners.add(listener);
+  }
+
+  public synchronized void join(final String enode, final FakeChainView view) {
+    members.put(enode, view);
+  }
+
+  public synchronized void leave(final String enode) {
+    members.remove(enode);
+  }
+
+  /** Limits the members the enode peers with, otherwise it peers with every other member. */
+  public synchronized void peerOnlyWith(final String enode, final Set<String> peers) {
+    staticPeers.put(enode, Set.copyOf(peers));
+  }
+
+  /** @return enodes of the other connected members, none when the view itself is not connected. */
+  public synchronized Set<String> peersOf(final FakeChainView view) {
+    if (!view.isConnected()) {
+      return Set.of();
+    }
+
+    final Optional<Set<String>> allowed =
+        members
+            .entrySet()
+            .stream()
+            .filter(member -> member.getValue() == view)
+            .findFirst()
+            .map(member -> staticPeers.get(member.getKey()));
+
+    return members
+        .entrySet()
+        .stream()
+        .filter(member -> member.getValue() != view && member.getValue().isConnected())
+        .map(Map.Entry::getKey)
+        .filter(enode -> allowed.map(peers -> peers.contains(enode)).orElse(true))
+        .collect(Collectors.toSet());
+  }
+
+  public synchronized Bytes32 sendTransaction(
+      final Address sender,
+      final Address recipient,
+      final Wei value,
+      final Gas gas,
+      final Wei gasPrice,
+      final Bytes input) {
+    checkArgument(
+        gas.compareTo(TRANSFER_GAS) >= 0, "Intrinsic gas exceeds gas limit: %s", gas.toLong());
+    checkArgument(
+        upfrontCost(value, gasPrice).compareTo(balance(sender)) <= 0,
+        "Upfront cost exceeds account balance");
+
+    final long nonce = nonces.merge(sender, 1L, Long::sum) - 1;
+    final FakeTransaction transaction =
+        new FakeTransaction(sender, recipient, value, gas, gasPrice, nonce, input);
+
+    transactions.put(transaction.getHash(), transaction);
+    pool(transaction);
+
+    if (sealOnTransaction) {
+      sealBlock();
+    }
+
+    return transaction.getHash();
+  }
+
+  /**
+   * Accepts a transaction signed by the sender, with the sender's nonce. A transaction whose nonce
+   * is ahead of the sender's is held back until the gap is filled.
+   */
+  public synchronized Bytes32 sendSignedTransaction(final FakeTransaction transaction) {
+    final Address sender = transaction.getSender();
+    final long expected = nonce(sender);
+    checkArgument(
+        transaction.getNonce() >= expected,
+        "Nonce too low, expected at least %s but was %s",
+        expected,
+        transaction.getNonce());
+    checkArgument(
+        transaction.getGas().compareTo(TRANSFER_GAS) >= 0,
+        "Intrinsic gas exceeds gas limit: %s",
+        transaction.getGas().toLong());
+
+    transactions.put(transaction.getHash(), transaction);
+    final NavigableMap<Long, FakeTransaction> senderQueue =
+        queued.computeIfAbsent(sender, account -> new TreeMap<>());
+    senderQueue.put(transaction.getNonce(), transaction);
+
+    while (!senderQueue.isEmpty() && senderQueue.firstKey() == nonce(sender)) {
+      pool(senderQueue.pollFirstEntry().getValue());
+      nonces.merge(sender, 1L, Long::sum);
+    }
+    if (senderQueue.isEmpty()) {
+      queued.remove(sender);
+    }
+
+    if (sealOnTransaction) {
+      sealBlock();
+    }
+
+    return transaction.getHash();
+  }
+
+  private void pool(final FakeTransaction transaction) {
+    pending.add(transaction);
+    poolListeners.forEach(listener -> listener.accept(transaction.getHash()));
+  }
+
+  /** @return nonce of the next transaction the account may send, counting pending ones. */
+  public synchronized long nonce(final Address account) {
+    return nonces.getOrDefault(account, 0L);
+  }
+
+  /**
+   * Executes the pending transactions in a new block, then applies any validator change voted for
+   * by a majority of the current validators.
+   */
+  public synchronized FakeBlock sealBlock() {
+    final FakeBlock parent = head();
+    final List<FakeTransaction> included = List.copyOf(pending);
+    final List<Boolean> outcomes = new ArrayList<>(included.size());
+    pending.clear();
+
+    for (final FakeTransaction transaction : included) {
+      outcomes.add(execute(transaction));
+    }
+
+    tallyVotes();
+
+    final FakeBlock block =
+        new FakeBlock(
+            parent.getNumber() + 1,
+            parent.getHash(),
+            stateRoot(),
+            clock.instant(),
+            included,
+            outcomes,
+            List.copyOf(validators));
+
+    blocks.add(block);
+    included.forEach(transaction -> inclusions.put(transaction.getHash(), block));
+
+    return block;
+  }
+
+  public synchronized void proposeValidatorVote(
+      final Address proposer, final Address validator, final boolean add) {
+    votes.computeIfAbsent(validator, candidate -> new HashMap<>()).put(proposer, add);
+  }
+
+  public synchronized FakeBlock head() {
+    return blocks.get(blocks.size() - 1);
+  }
+
+  public synchronized Optional<FakeBlock> block(final long number) {
+    return number < 0 || number >= blocks.size()
+        ? Optional.empty()
+        : Optional.of(blocks.get((int) number));
+  }
+
+  public synchronized Wei balance(final Address account) {
+    return balances.getOrDefault(account, Wei.valueOf(0));
+  }
+
+  /** @return balance of the account in the state after sealing the given block. */
+  public synchronized Wei balance(final Address account, final long blockNumber) {
+    checkArgument(blockNumber >= 0 && blockNumber < blocks.size(), "Unknown block %s", blockNumber);
+
+    final NavigableMap<Long, Wei> history = balanceHistory.get(account);
+    final Map.Entry<Long, Wei> latest = history == null ? null : history.floorEntry(blockNumber);
+    return latest == null ? Wei.valueOf(0) : latest.getValue();
+  }
+
+  public synchronized Optional<FakeTransaction> transaction(final Bytes32 hash) {
+    return Optional.ofNullable(transactions.get(hash));
+  }
+
+  /** @return block the transaction was sealed in, empty while it is pending or unknown. */
+  public synchronized Optional<FakeBlock> inclusion(final Bytes32 hash) {
+    return Optional.ofNullable(inclusions.get(hash));
+  }
+
+  private FakeBlock genesis() {
+    return new FakeBlock(
+        0,
+        Bytes32.ZERO,
+        stateRoot(),
+        clock.instant(),
+        List.of(),
+        List.of(),
+        List.copyOf(validators));
+  }
+
+  private boolean execute(final FakeTransaction transaction) {
+    final Wei cost = upfrontCost(transaction.getValue(), transaction.getGasPrice());
+    final Wei senderBalance = balance(transaction.getSender());
+
+    if (cost.compareTo(senderBalance) > 0) {
+      return false;
+    }
+
+    setBalance(transaction.getSender(), senderBalance.subtract(cost));
+    transaction
+        .getRecipient()
+        .ifPresent(
+            recipient -> setBalance(recipient, balance(recipient).add(transaction.getValue())));
+
+    return true;
+  }
+
+  /**
+   * The state digest is the sum of a hash of each account and its balance, so is kept up to date
+   * in constant time per change, however many accounts there are. Likewise only the changed
+   * balance is recorded against the block being sealed, rather than a copy of every balance.
+   */
+  private void setBalance(final Address account, final Wei balance) {
+    balanceHistory
+        .computeIfAbsent(account, changed -> new TreeMap<>())
+        .put((long) blocks.size(), balance);
+
+    final Wei previous = balances.put(account, balance);
+    if (previous != null) {
+      stateDigest = stateDigest.subtract(accountDigest(account, previous));
+    }
+    stateDigest = stateDigest.add(accountDigest(account, balance));
+  }
+
+  private Bytes32 stateRoot() {
+    return Hash.keccak256(stateDigest.toBytes());
+  }
+
+  private static UInt256 accountDigest(final Address account, final Wei balance) {
+    return UInt256.fromBytes(
+        Hash.keccak256(Bytes.concatenate(account.toBytes(), balance.toBytes())));
+  }
+
+  private void tallyVotes() {
+    final Map<Address, Boolean> decided = new HashMap<>();
+
+    votes.forEach(
+        (candidate, ballots) -> {
+          for (final boolean add : List.of(true, false)) {
+            final long inFavour =
+                ballots
+                    .entrySet()
+                    .stream()
+                    .filter(ballot -> validators.contains(ballot.getKey()))
+                    .filter(ballot -> ballot.getValue() == add)
+                    .count();
+            if (inFavour > validators.size() / 2) {
+              decided.put(candidate, add);
+            }
+          }
+        });
+
+    decided.forEach(
+        (candidate, add) -> {
+          if (add) {
+            validators.add(candidate);
+          } else {
+            validators.remove(candidate);
+          }
+          votes.remove(candidate);
+        });
+  }
+
+  private static Wei upfrontCost(final Wei value, final Wei gasPrice) {
+    return value.add(gasPrice.multiply(TRANSFER_GAS.toLong()));
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.node.fake;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.eth.Address;
+import org.apache.tuweni.units.ethereum.Wei;
+
+/**
+ * What a single fake node knows of the shared {@link FakeChain}: the blocks it has imported so far.
+ */
+public class FakeChainView {
+
+  private final FakeChain chain;
+  private final boolean followsHead;
+  private final AtomicLong height = new AtomicLong();
+
+  private volatile Fault fault = Fault.NONE;
+
+  private FakeChainView(final FakeChain chain, final boolean followsHead) {
+    this.chain = chain;
+    this.followsHead = followsHead;
+  }
+
+  /** View that sees every block as soon as it is sealed. */
+  public static FakeChainView following(final FakeChain chain) {
+    return new FakeChainView(chain, true);
+  }
+
+  /** View that only sees the blocks it has been told to import. */
+  public static FakeChainView importing(final FakeChain chain) {
+    return new FakeChainView(chain, false);
+  }
+
+  public FakeChain chain() {
+    return chain;
+  }
+
+  public void importUpTo(final long blockNumber) {
+    final long available = Math.min(blockNumber, chain.head().getNumber());
+    height.accumulateAndGet(available, Math::max);
+  }
+
+  public long height() {
+    return followsHead ? chain.head().getNumber() : height.get();
+  }
+
+  public FakeBlock head() {
+    return chain.block(height()).orElseThrow();
+  }
+
+  public Optional<FakeBlock> block(final long number) {
+    return number > height() ? Optional.empty() : chain.block(number);
+  }
+
+  public Wei balance(final Address account) {
+    return chain.balance(account, height());
+  }
+
+  /** @return balance of the account in the state after an imported block. */
+  public Wei balance(final Address account, final long blockNumber) {
+    checkArgument(blockNumber <= height(), "Unknown block %s", blockNumber);
+    return chain.balance(account, blockNumber);
+  }
+
+  public Optional<FakeTransaction> transaction(final Bytes32 hash) {
+    return inclusion(hash).flatMap(block -> chain.transaction(hash));
+  }
+
+  public Optional<FakeBlock> inclusion(final Bytes32 hash) {
+    final long imported = height();
+    return chain.inclusion(hash).filter(block -> block.getNumber() <= imported);
+  }
+
+  public Fault fault() {
+    return fault;
+  }
+
+  public void fault(final Fault fault) {
+    this.fault = fault;
+  }
+
+  public boolean isConnected() {
+    return fault.isConnected();
+  }
+
+  public boolean isAvailable() {
+    return fault.isAvailable();
+  }
+}
@@ -0,0 +1,368 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.node.fake;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import tech.pegasys.peeps.util.HexFormatter;
+
+import java.math.BigInteger;
+import java.security.SignatureException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.crypto.Hash;
+import org.apache.tuweni.eth.Address;
+import org.apache.tuweni.units.bigints.UInt256;
+import org.apache.tuweni.units.ethereum.Gas;
+import org.apache.tuweni.units.ethereum.Wei;
+import org.web3j.crypto.Keys;
+import org.web3j.crypto.RawTransaction;
+import org.web3j.crypto.Sign;
+import org.web3j.crypto.SignedRawTransaction;
+import org.web3j.crypto.TransactionDecoder;
+import org.web3j.crypto.TransactionEncoder;
+import org.web3j.utils.Numeric;
+
+/** Answers the JSON-RPC calls the DSL makes of a node, from its view of the fake chain. */
+class FakeJsonRpc {
+
+  private static final int INVALID_REQUEST = -32600;
+  private static final int METHOD_NOT_FOUND = -32601;
+  private static final int SERVER_ERROR = -32000;
+  private static final String DEFAULT_GAS = "0x2DC6C0";
+  private static final String ZERO = "0x0";
+  private static final String EMPTY_LOGS_BLOOM = Bytes.wrap(new byte[256]).toHexString();
+  private static final BigInteger EIP_155_OFFSET = BigInteger.valueOf(35);
+  private static final int LOWEST_V = 27;
+
+  private final FakeChain chain;
+  private final FakeChainView view;
+  private final Address address;
+  private final String nodeId;
+  private final String enode;
+  private final Map<String, Queue<Bytes32>> pendingTransactionFilters = new ConcurrentHashMap<>();
+  private final AtomicLong filterIds = new AtomicLong();
+
+  FakeJsonRpc(
+      final FakeChainView view, final Address address, final String nodeId, final String enode) {
+    this.chain = view.chain();
+    this.view = view;
+    this.address = address;
+    this.nodeId = nodeId;
+    this.enode = enode;
+    chain.onPooled(this::pooled);
+  }
+
+  /** Filters live in the memory of a client, so are lost when it stops. */
+  void uninstallFilters() {
+    pendingTransactionFilters.clear();
+  }
+
+  /** @return response to the request, or a response to each request of a batch. */
+  String handle(final String body) {
+    if (!body.trim().startsWith("[")) {
+      return handle(new JsonObject(body)).encode();
+    }
+
+    final JsonArray requests = new JsonArray(body);
+    if (requests.isEmpty()) {
+      return new JsonObject()
+          .put("jsonrpc", "2.0")
+          .putNull("id")
+          .put("error", error(INVALID_REQUEST, "Empty batch"))
+          .encode();
+    }
+
+    final JsonArray responses = new JsonArray();
+    for (int i = 0; i < requests.size(); i++) {
+      responses.add(handle(requests.getJsonObject(i)));
+    }
+    return responses.encode();
+  }
+
+  JsonObject handle(final JsonObject request) {
+    final JsonObject response =
+        new JsonObject().put("jsonrpc", "2.0").put("id", request.getValue("id"));
+    final JsonArray params =
+        Optional.ofNullable(request.getJsonArray("params")).orElseGet(JsonArray::new);
+
+    try {
+      final Object result = dispatch(request.getString("method"), params);
+      return result == null ? response.putNull("result") : response.put("result", result);
+    } catch (final UnsupportedOperationException e) {
+      return response.put("error", error(METHOD_NOT_FOUND, "Method not found"));
+    } catch (final RuntimeException e) {
+      return response.put("error", error(SERVER_ERROR, e.getMessage()));
+    }
+  }
+
+  private Object dispatch(final String method, final JsonArray params) {
+    switch (method) {
+      case "admin_nodeInfo":
+        return new JsonObject().put("enode", enode).put("id", nodeId);
+      case "admin_peers":
+        return peers();
+      case "net_enode":
+        return enode;
+      case "eth_chainId":
+        return hex(chain.getChainId());
+      case "eth_blockNumber":
+        return hex(view.height());
+      case "eth_getBalance":
+        return balance(
+            Address.fromHexString(params.getString(0)),
+            params.size() > 1 ? params.getString(1) : "latest");
+      case "eth_sendTransaction":
+        return sendTransaction(params.getJsonObject(0));
+      case "eth_sendRawTransaction":
+        return sendRawTransaction(params.getString(0));
+      case "eth_getTransactionCount":
+        // the fake chain only knows the pending nonce, whatever the block asked for
+        return hex(chain.nonce(Address.fromHexString(params.getString(0))));
+      case "eth_getBlockByNumber":
+        return block(params.getString(0));
+      case "eth_newPendingTransactionFilter":
+        return newPendingTransactionFilter();
+      case "eth_getFilterChanges":
+        return filterChanges(params.getString(0));
+      case "eth_uninstallFilter":
+        return pendingTransactionFilters.remove(params.getString(0)) != null;
+      case "eth_getTransactionByHash":
+        return transaction(Bytes32.fromHexString(params.getString(0)));
+      case "eth_getTransactionReceipt":
+        return receipt(Bytes32.fromHexString(params.getString(0)));
+      case "priv_getTransactionReceipt":
+        return null;
+      case "qbft_getValidatorsByBlockNumber":
+        return validators(params.getString(0));
+      case "qbft_proposeValidatorVote":
+        chain.proposeValidatorVote(
+            address, Address.fromHexString(params.getString(0)), params.getBoolean(1));
+        return true;
+      default:
+        throw new UnsupportedOperationException(method);
+    }
+  }
+
+  private String newPendingTransactionFilter() {
+    final String filterId = hex(filterIds.incrementAndGet());
+    pendingTransactionFilters.put(filterId, new ConcurrentLinkedQueue<>());
+    return filterId;
+  }
+
+  private JsonArray filterChanges(final String filterId) {
+    final Queue<Bytes32> pooled = pendingTransactionFilters.get(filterId);
+    checkArgument(pooled != null, "Filter not found");
+
+    final JsonArray changes = new JsonArray();
+    for (Bytes32 hash = pooled.poll(); hash != null; hash = pooled.poll()) {
+      changes.add(hash.toHexString());
+    }
+    return changes;
+  }
+
+  private void pooled(final Bytes32 hash) {
+    pendingTransactionFilters.values().forEach(filter -> filter.add(hash));
+  }
+
+  private JsonArray peers() {
+    final JsonArray peers = new JsonArray();
+    chain.peersOf(view).forEach(peer -> peers.add(new JsonObject().put("enode", peer)));
+    return peers;
+  }
+
+  private String sendTransaction(final JsonObject transaction) {
+    final String recipient = transaction.getString("to");
+    final Address sender = Address.fromHexString(transaction.getString("from"));
+    final Address to = recipient == null ? null : Address.fromHexString(recipient);
+    final Wei value = Wei.valueOf(UInt256.fromHexString(transaction.getString("value", ZERO)));
+    final Gas gas = Gas.valueOf(UInt256.fromHexString(transaction.getString("gas", DEFAULT_GAS)));
+    final Wei gasPrice =
+        Wei.valueOf(UInt256.fromHexString(transaction.getString("gasPrice", ZERO)));
+    final Bytes input = Bytes.fromHexString(transaction.getString("data", "0x"));
+    final String nonce = transaction.getString("nonce");
+
+    if (nonce == null) {
+      return chain.sendTransaction(sender, to, value, gas, gasPrice, input).toHexString();
+    }
+
+    // an explicit nonce is queued like that of a signed transaction
+    return chain
+        .sendSignedTransaction(
+            new FakeTransaction(sender, to, value, gas, gasPrice, Long.decode(nonce), input))
+        .toHexString();
+  }
+
+  private String sendRawTransaction(final String encoded) {
+    final RawTransaction decoded = TransactionDecoder.decode(encoded);
+    checkArgument(decoded instanceof SignedRawTransaction, "Transaction is not signed");
+
+    final SignedRawTransaction signed = (SignedRawTransaction) decoded;
+    final Address sender = sender(signed);
+    final String recipient = signed.getTo();
+    return chain
+        .sendSignedTransaction(
+            new FakeTransaction(
+                Hash.keccak256(Bytes.fromHexString(encoded)),
+                sender,
+                recipient == null || Numeric.cleanHexPrefix(recipient).isEmpty()
+                    ? null
+                    : Address.fromHexString(recipient),
+                Wei.valueOf(signed.getValue()),
+                Gas.valueOf(UInt256.valueOf(signed.getGasLimit())),
+                Wei.valueOf(signed.getGasPrice()),
+                signed.getNonce().longValueExact(),
+                Bytes.wrap(Numeric.hexStringToByteArray(signed.getData()))))
+        .toHexString();
+  }
+
+  /**
+   * Recovers the sender of an EIP-155 transaction for this chain. The chain ID is not taken from
+   * the signature, as web3j truncates chain IDs beyond a long.
+   */
+  private Address sender(final SignedRawTransaction signed) {
+    final Sign.SignatureData signature = signed.getSignatureData();
+    final BigInteger recoveryId =
+        Numeric.toBigInt(signature.getV())
+            .subtract(EIP_155_OFFSET)
+            .subtract(BigInteger.valueOf(chain.getChainId()).shiftLeft(1));
+    checkArgument(
+        recoveryId.signum() >= 0 && recoveryId.compareTo(BigInteger.ONE) <= 0,
+        "Transaction is not signed for chain: %s",
+        chain.getChainId());
+
+    try {
+      final BigInteger publicKey =
+          Sign.signedMessageToKey(
+              TransactionEncoder.encode(signed, chain.getChainId()),
+              new Sign.SignatureData(
+                  (byte) (LOWEST_V + recoveryId.intValue()), signature.getR(), signature.getS()));
+      return Address.fromHexString(Numeric.prependHexPrefix(Keys.getAddress(publicKey)));
+    } catch (final SignatureException e) {
+      throw new IllegalArgumentException("Invalid transaction signature", e);
+    }
+  }
+
+  private JsonObject transaction(final Bytes32 hash) {
+    final Optional<FakeTransaction> transaction = view.transaction(hash);
+    final Optional<FakeBlock> block = view.inclusion(hash);
+
+    if (transaction.isEmpty() || block.isEmpty()) {
+      return null;
+    }
+
+    final FakeTransaction tx = transaction.get();
+    return new JsonObject()
+        .put("from", tx.getSender().toHexString())
+        .put("to", tx.getRecipient().map(Address::toHexString).orElse(null))
+        .put("blockHash", block.get().getHash().toHexString())
+        .put("blockNumber", hex(block.get().getNumber()))
+        .put("gas", hex(tx.getGas().toLong()))
+        .put("gasPrice", tx.getGasPrice().toShortHexString())
+        .put("hash", tx.getHash().toHexString())
+        .put("input", tx.getInput().toHexString())
+        .put("nonce", hex(tx.getNonce()))
+        .put("value", tx.getValue().toShortHexString())
+        .put("transactionIndex", hex(block.get().indexOf(tx)))
+        .put("v", "0x1c")
+        .put("r", ZERO)
+        .put("s", ZERO);
+  }
+
+  private JsonObject receipt(final Bytes32 hash) {
+    final Optional<FakeTransaction> transaction = view.transaction(hash);
+    final Optional<FakeBlock> block = view.inclusion(hash);
+
+    if (transaction.isEmpty() || block.isEmpty()) {
+      return null;
+    }
+
+    final FakeTransaction tx = transaction.get();
+    final int index = block.get().indexOf(tx);
+    final String gasUsed = hex(FakeChain.TRANSFER_GAS.toLong());
+
+    return new JsonObject()
+        .put("blockHash", block.get().getHash().toHexString())
+        .put("blockNumber", hex(block.get().getNumber()))
+        .put("from", tx.getSender().toHexString())
+        .put("to", tx.getRecipient().map(Address::toHexString).orElse(null))
+        .putNull("contractAddress")
+        .put("transactionHash", tx.getHash().toHexString())
+        .put("transactionIndex", hex(index))
+        .put("status", block.get().isSuccess(index) ? "0x1" : ZERO)
+        .put("cumulativeGasUsed", hex(FakeChain.TRANSFER_GAS.toLong() * (index + 1)))
+        .put("gasUsed", gasUsed)
+        .put("logsBloom", EMPTY_LOGS_BLOOM);
+  }
+
+  private String balance(final Address account, final String blockNumber) {
+    final Wei balance =
+        "latest".equals(blockNumber)
+            ? view.balance(account)
+            : view.balance(account, Long.decode(blockNumber));
+    return balance.toShortHexString();
+  }
+
+  private JsonObject block(final String blockNumber) {
+    final Optional<FakeBlock> found =
+        "latest".equals(blockNumber)
+            ? Optional.of(view.head())
+            : view.block(Long.decode(blockNumber));
+
+    if (found.isEmpty()) {
+      return null;
+    }
+
+    final FakeBlock block = found.get();
+    final JsonArray transactions = new JsonArray();
+    block.getTransactions().forEach(tx -> transactions.add(tx.getHash().toHexString()));
+
+    return new JsonObject()
+        .put("number", hex(block.getNumber()))
+        .put("hash", block.getHash().toHexString())
+        .put("parentHash", block.getParentHash().toHexString())
+        .put("stateRoot", block.getStateRoot().toHexString())
+        .put("timestamp", hex(block.getTimestamp().getEpochSecond()))
+        .put("transactions", transactions);
+  }
+
+  private JsonArray validators(final String blockNumber) {
+    final FakeBlock block =
+        "latest".equals(blockNumber)
+            ? view.head()
+            : view
+                .block(Long.decode(blockNumber))
+                .orElseThrow(() -> new IllegalArgumentException("Unknown block " + blockNumber));
+
+    final JsonArray validators = new JsonArray();
+    block.getValidators().forEach(validator -> validators.add(validator.toHexString()));
+    return validators;
+  }
+
+  private static JsonObject error(final int code, final String message) {
+    return new JsonObject().put("code", code).put("message", message);
+  }
+
+  private static String hex(final long value) {
+    return HexFormatter.ensureHexPrefix(Long.toHexString(value));
+  }
+}
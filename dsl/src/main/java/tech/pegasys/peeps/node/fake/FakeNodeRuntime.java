@@ -0,0 +1,224 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.node.fake;
+
+import static com.google.common.base.Preconditions.checkState;
+import static io.vertx.core.http.HttpHeaders.CONTENT_TYPE;
+import static tech.pegasys.peeps.util.HexFormatter.removeAnyHexPrefix;
+
+import tech.pegasys.peeps.node.Web3Provider;
+import tech.pegasys.peeps.runtime.NodeRuntime;
+import tech.pegasys.peeps.util.AddressConverter;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.HttpServerRequest;
+import org.apache.tuweni.crypto.SECP256K1.KeyPair;
+
+/**
+ * Serves the node JSON-RPC API from an embedded Vert.x HTTP server, answering from a {@link
+ * FakeChainView} rather than a client.
+ *
+ * <p>There is no peer to peer layer, every port maps onto the single JSON-RPC port.
+ */
+public class FakeNodeRuntime implements NodeRuntime {
+
+  private static final String LOOPBACK_ADDRESS = "127.0.0.1";
+  private static final String APPLICATION_JSON = "application/json";
+  private static final int TIMEOUT_SECONDS = 10;
+  private static final int RETAINED_LOG_LINES = 1000;
+  private static final int SERVICE_UNAVAILABLE = 503;
+
+  private final Vertx vertx;
+  private final String identity;
+  private final FakeChainView view;
+  private final Duration latency;
+  private final String enode;
+  private final FakeJsonRpc rpc;
+  private final List<Consumer<String>> outputFollowers = new CopyOnWriteArrayList<>();
+  private final Deque<String> logs = new ArrayDeque<>();
+
+  private HttpServer server;
+
+  /** @param latency delay added before answering each request, to imitate a remote node. */
+  public FakeNodeRuntime(
+      final Vertx vertx,
+      final String identity,
+      final KeyPair nodeKeys,
+      final FakeChainView view,
+      final Duration latency) {
+    this.vertx = vertx;
+    this.identity = identity;
+    this.view = view;
+    this.latency = latency;
+
+    final String pubKey = removeAnyHexPrefix(nodeKeys.publicKey().toHexString());
+    this.enode =
+        String.format(
+            "enode://%s@%s:%d", pubKey, LOOPBACK_ADDRESS, Web3Provider.CONTAINER_P2P_PORT);
+    this.rpc = new FakeJsonRpc(view, AddressConverter.fromPublicKey(pubKey), pubKey, enode);
+  }
+
+  @Override
+  public synchronized void start() {
+    checkState(server == null, "Fake node %s is already running", identity);
+
+    final CompletableFuture<HttpServer> listening = new CompletableFuture<>();
+    vertx
+        .createHttpServer()
+        .requestHandler(this::handle)
+        .listen(
+            0,
+            LOOPBACK_ADDRESS,
+            result -> {
+              if (result.succeeded()) {
+                listening.complete(result.result());
+              } else {
+                listening.completeExceptionally(result.cause());
+              }
+            });
+
+    server = waitFor(listening);
+    view.chain().join(enode, view);
+    log(String.format("Fake node %s listening on port %d", identity, server.actualPort()));
+  }
+
+  @Override
+  public synchronized void stop() {
+    if (server == null) {
+      return;
+    }
+
+    view.chain().leave(enode);
+    rpc.uninstallFilters();
+
+    final CompletableFuture<Void> closed = new CompletableFuture<>();
+    server.close(result -> closed.complete(null));
+    waitFor(closed);
+    server = null;
+    outputFollowers.clear();
+  }
+
+  @Override
+  public void withCommand(final List<String> arguments) {
+    // there is no process to configure
+  }
+
+  @Override
+  public String provisionFile(final Path hostFile, final String runtimeLocation) {
+    return runtimeLocation;
+  }
+
+  @Override
+  public String provisionClasspathResource(final String resource, final String runtimeLocation) {
+    return runtimeLocation;
+  }
+
+  @Override
+  public String resolveDirectory(final String runtimeLocation) {
+    return runtimeLocation;
+  }
+
+  @Override
+  public String networkAddress() {
+    return LOOPBACK_ADDRESS;
+  }
+
+  @Override
+  public int networkPort(final int defaultPort) {
+    return defaultPort;
+  }
+
+  @Override
+  public String hostAddress() {
+    return LOOPBACK_ADDRESS;
+  }
+
+  @Override
+  public synchronized int hostPort(final int defaultPort) {
+    checkState(server != null, "Fake node %s has not been started", identity);
+    return server.actualPort();
+  }
+
+  @Override
+  public String id() {
+    return identity;
+  }
+
+  @Override
+  public String getLogs() {
+    synchronized (logs) {
+      return String.join("\n", logs);
+    }
+  }
+
+  @Override
+  public void followOutput(final Consumer<String> line) {
+    outputFollowers.add(line);
+  }
+
+  private void handle(final HttpServerRequest request) {
+    request.bodyHandler(
+        body -> {
+          if (latency.isZero()) {
+            respond(request, body);
+          } else {
+            vertx.setTimer(latency.toMillis(), timer -> respond(request, body));
+          }
+        });
+  }
+
+  private void respond(final HttpServerRequest request, final Buffer body) {
+    if (!view.isAvailable()) {
+      log(String.format("request: %s, unavailable: %s", body, view.fault()));
+      request.response().setStatusCode(SERVICE_UNAVAILABLE).end();
+      return;
+    }
+
+    final String response = rpc.handle(body.toString(StandardCharsets.UTF_8));
+    log(String.format("request: %s, response: %s", body, response));
+    request.response().putHeader(CONTENT_TYPE, APPLICATION_JSON).end(response);
+  }
+
+  private void log(final String line) {
+    synchronized (logs) {
+      if (logs.size() == RETAINED_LOG_LINES) {
+        logs.removeFirst();
+      }
+      logs.addLast(line);
+    }
+    outputFollowers.forEach(follower -> follower.accept(line));
+  }
+
+  private <T> T waitFor(final CompletableFuture<T> future) {
+    try {
+      return future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    } catch (final InterruptedException | ExecutionException | TimeoutException e) {
+      throw new IllegalStateException("Fake node " + identity + " failed to change state", e);
+    }
+  }
+}
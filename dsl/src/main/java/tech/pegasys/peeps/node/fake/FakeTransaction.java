@@ -0,0 +1,112 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.node.fake;
+
+import java.util.Optional;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.crypto.Hash;
+import org.apache.tuweni.eth.Address;
+import org.apache.tuweni.units.ethereum.Gas;
+import org.apache.tuweni.units.ethereum.Wei;
+
+/** Value transfer accepted by a fake node, identified by a hash of its content. */
+public class FakeTransaction {
+
+  private final Bytes32 hash;
+  private final Address sender;
+  private final Address recipient;
+  private final Wei value;
+  private final Gas gas;
+  private final Wei gasPrice;
+  private final long nonce;
+  private final Bytes input;
+
+  public FakeTransaction(
+      final Address sender,
+      final Address recipient,
+      final Wei value,
+      final Gas gas,
+      final Wei gasPrice,
+      final long nonce,
+      final Bytes input) {
+    this(
+        Hash.keccak256(
+            Bytes.concatenate(
+                sender.toBytes(),
+                recipient == null ? Bytes.EMPTY : recipient.toBytes(),
+                value.toBytes(),
+                Bytes.ofUnsignedLong(nonce),
+                input)),
+        sender,
+        recipient,
+        value,
+        gas,
+        gasPrice,
+        nonce,
+        input);
+  }
+
+  /** Transaction received signed, identified by the hash of its encoding. */
+  public FakeTransaction(
+      final Bytes32 hash,
+      final Address sender,
+      final Address recipient,
+      final Wei value,
+      final Gas gas,
+      final Wei gasPrice,
+      final long nonce,
+      final Bytes input) {
+    this.hash = hash;
+    this.sender = sender;
+    this.recipient = recipient;
+    this.value = value;
+    this.gas = gas;
+    this.gasPrice = gasPrice;
+    this.nonce = nonce;
+    this.input = input;
+  }
+
+  public Bytes32 getHash() {
+    return hash;
+  }
+
+  public Address getSender() {
+    return sender;
+  }
+
+  public Optional<Address> getRecipient() {
+    return Optional.ofNullable(recipient);
+  }
+
+  public Wei getValue() {
+    return value;
+  }
+
+  public Gas getGas() {
+    return gas;
+  }
+
+  public Wei getGasPrice() {
+    return gasPrice;
+  }
+
+  public long getNonce() {
+    return nonce;
+  }
+
+  public Bytes getInput() {
+    return input;
+  }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.node.fake;
+
+import tech.pegasys.peeps.node.Web3Provider;
+import tech.pegasys.peeps.node.Web3ProviderConfiguration;
+import tech.pegasys.peeps.node.rpc.BesuQbftRpcClient;
+import tech.pegasys.peeps.node.rpc.QbftRpc;
+import tech.pegasys.peeps.util.DockerLogs;
+
+import java.time.Duration;
+
+/**
+ * Node that runs inside the JVM, serving the JSON-RPC API of a Besu node from its view of a {@link
+ * FakeChain}.
+ *
+ * <p>Exercises the DSL without any Docker containers, in milliseconds rather than minutes.
+ */
+public class FakeWeb3Provider extends Web3Provider {
+
+  public FakeWeb3Provider(
+      final Web3ProviderConfiguration config, final FakeChainView view, final Duration latency) {
+    super(
+        config,
+        new FakeNodeRuntime(
+            config.getVertx(), config.getIdentity(), config.getNodeKeys(), view, latency));
+  }
+
+  @Override
+  protected QbftRpc qbftRpc(final Web3ProviderConfiguration config) {
+    return new BesuQbftRpcClient(jsonRpcClient);
+  }
+
+  @Override
+  public String getLogs() {
+    return DockerLogs.format("Fake", runtime);
+  }
+}
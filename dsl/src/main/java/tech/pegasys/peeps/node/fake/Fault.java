@@ -0,0 +1,33 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.node.fake;
+
+/** Failure injected into a fake node of a simulated Network. */
+public enum Fault {
+  /** Healthy, imports blocks after the propagation latency. */
+  NONE,
+  /** Imports blocks after an additional delay. */
+  SLOW,
+  /** Answers JSON-RPC, but has no peers, no say in consensus and imports no blocks. */
+  PARTITIONED,
+  /** Answers no JSON-RPC requests, has no peers, no say in consensus and imports no blocks. */
+  CRASHED;
+
+  public boolean isConnected() {
+    return this == NONE || this == SLOW;
+  }
+
+  public boolean isAvailable() {
+    return this != CRASHED;
+  }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.node.fake;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+
+import tech.pegasys.peeps.network.NetworkMember;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.tuweni.eth.Address;
+
+/**
+ * Produces the blocks of a {@link FakeChain} on a fixed period, as a BFT network of fake nodes
+ * would, then has each node import them after a propagation delay.
+ *
+ * <p>A block is only sealed while a quorum (two thirds) of the validators are connected, so
+ * partitioning or crashing too many nodes halts the chain.
+ */
+public class SimulatedConsensus implements NetworkMember {
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  private final FakeChain chain;
+  private final SimulationConfiguration config;
+  private final Map<Address, FakeChainView> views = new ConcurrentHashMap<>();
+  private final Random random;
+
+  private ScheduledExecutorService scheduler;
+
+  public SimulatedConsensus(final FakeChain chain, final SimulationConfiguration config) {
+    this.chain = chain;
+    this.config = config;
+    this.random = new Random(config.getSeed());
+  }
+
+  /** @return the view the validator's fake node must answer from. */
+  public FakeChainView join(final Address validator) {
+    final FakeChainView view = FakeChainView.importing(chain);
+    views.put(validator, view);
+    return view;
+  }
+
+  public void fault(final Address node, final Fault fault) {
+    final FakeChainView view = views.get(node);
+    checkArgument(view != null, "Node %s is not part of the simulation", node);
+
+    LOG.info("Node {} fault: {} -> {}", node, view.fault(), fault);
+    view.fault(fault);
+
+    if (fault.isConnected()) {
+      // a reconnecting node synchronizes with its peers
+      view.importUpTo(chain.head().getNumber());
+    }
+  }
+
+  @Override
+  public synchronized void start() {
+    checkState(scheduler == null, "Simulation is already running");
+
+    chain.sealOnRequestOnly();
+    scheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              final Thread thread = new Thread(runnable, "simulated-consensus");
+              thread.setDaemon(true);
+              return thread;
+            });
+
+    final long period = config.getBlockPeriod().toMillis();
+    scheduler.scheduleAtFixedRate(this::round, period, period, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public synchronized void stop() {
+    if (scheduler != null) {
+      scheduler.shutdownNow();
+      scheduler = null;
+    }
+  }
+
+  private void round() {
+    try {
+      if (!hasQuorum()) {
+        LOG.debug("No quorum of connected validators, no block sealed");
+        return;
+      }
+
+      final long blockNumber = chain.sealBlock().getNumber();
+      views
+          .values()
+          .stream()
+          .filter(FakeChainView::isConnected)
+          .forEach(view -> propagate(view, blockNumber));
+    } catch (final RuntimeException e) {
+      LOG.error("Simulated consensus round failed", e);
+    }
+  }
+
+  private void propagate(final FakeChainView view, final long blockNumber) {
+    scheduler.schedule(
+        () -> {
+          if (view.isConnected()) {
+            view.importUpTo(blockNumber);
+          }
+        },
+        propagationDelay(view),
+        TimeUnit.MILLISECONDS);
+  }
+
+  private long propagationDelay(final FakeChainView view) {
+    final long minimum = config.getMinimumPropagation().toMillis();
+    final long spread = config.getMaximumPropagation().toMillis() - minimum;
+    final long delay = minimum + (spread == 0 ? 0 : (long) (random.nextDouble() * (spread + 1)));
+
+    return view.fault() == Fault.SLOW ? delay + config.getSlowNodeDelay().toMillis() : delay;
+  }
+
+  private boolean hasQuorum() {
+    final List<Address> validators = chain.head().getValidators();
+    final long connected = validators.stream().filter(this::isConnected).count();
+
+    return connected >= quorum(validators.size());
+  }
+
+  private boolean isConnected(final Address validator) {
+    final FakeChainView view = views.get(validator);
+    return view == null || view.isConnected();
+  }
+
+  private static long quorum(final int validators) {
+    return (2L * validators + 2) / 3;
+  }
+}
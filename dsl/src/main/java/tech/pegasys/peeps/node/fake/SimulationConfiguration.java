@@ -0,0 +1,57 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.node.fake;
+
+import java.time.Duration;
+
+public class SimulationConfiguration {
+
+  private final Duration blockPeriod;
+  private final Duration minimumPropagation;
+  private final Duration maximumPropagation;
+  private final Duration slowNodeDelay;
+  private final long seed;
+
+  public SimulationConfiguration(
+      final Duration blockPeriod,
+      final Duration minimumPropagation,
+      final Duration maximumPropagation,
+      final Duration slowNodeDelay,
+      final long seed) {
+    this.blockPeriod = blockPeriod;
+    this.minimumPropagation = minimumPropagation;
+    this.maximumPropagation = maximumPropagation;
+    this.slowNodeDelay = slowNodeDelay;
+    this.seed = seed;
+  }
+
+  public Duration getBlockPeriod() {
+    return blockPeriod;
+  }
+
+  public Duration getMinimumPropagation() {
+    return minimumPropagation;
+  }
+
+  public Duration getMaximumPropagation() {
+    return maximumPropagation;
+  }
+
+  public Duration getSlowNodeDelay() {
+    return slowNodeDelay;
+  }
+
+  public long getSeed() {
+    return seed;
+  }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.node.fake;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.time.Duration;
+
+public class SimulationConfigurationBuilder {
+
+  private static final Duration DEFAULT_BLOCK_PERIOD = Duration.ofSeconds(1);
+  private static final Duration DEFAULT_SLOW_NODE_DELAY = Duration.ofSeconds(2);
+
+  private Duration blockPeriod = DEFAULT_BLOCK_PERIOD;
+  private Duration minimumPropagation = Duration.ZERO;
+  private Duration maximumPropagation = Duration.ZERO;
+  private Duration slowNodeDelay = DEFAULT_SLOW_NODE_DELAY;
+  private long seed = System.nanoTime();
+
+  public SimulationConfigurationBuilder withBlockPeriod(final Duration blockPeriod) {
+    this.blockPeriod = blockPeriod;
+    return this;
+  }
+
+  /** Each node imports a new block after a delay drawn uniformly from the given range. */
+  public SimulationConfigurationBuilder withPropagation(
+      final Duration minimumPropagation, final Duration maximumPropagation) {
+    this.minimumPropagation = minimumPropagation;
+    this.maximumPropagation = maximumPropagation;
+    return this;
+  }
+
+  public SimulationConfigurationBuilder withSlowNodeDelay(final Duration slowNodeDelay) {
+    this.slowNodeDelay = slowNodeDelay;
+    return this;
+  }
+
+  /** Fixing the seed makes the propagation delays repeatable. */
+  public SimulationConfigurationBuilder withSeed(final long seed) {
+    this.seed = seed;
+    return this;
+  }
+
+  public SimulationConfiguration build() {
+    checkNotNull(blockPeriod, "A block period is mandatory");
+    checkNotNull(minimumPropagation, "A minimum propagation delay is mandatory");
+    checkNotNull(maximumPropagation, "A maximum propagation delay is mandatory");
+    checkNotNull(slowNodeDelay, "A slow node delay is mandatory");
+    checkArgument(
+        !blockPeriod.isNegative() && !blockPeriod.isZero(), "Block period must be positive");
+    checkArgument(
+        minimumPropagation.compareTo(maximumPropagation) <= 0,
+        "Minimum propagation delay must not exceed the maximum");
+
+    return new SimulationConfiguration(
+        blockPeriod, minimumPropagation, maximumPropagation, slowNodeDelay, seed);
+  }
+}
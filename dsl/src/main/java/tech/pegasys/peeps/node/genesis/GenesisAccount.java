@@ -14,18 +14,62 @@ package tech.pegasys.peeps.node.genesis;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonGetter;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
 
+@JsonInclude(Include.NON_NULL)
 public class GenesisAccount {
 
+  private static final String NO_BALANCE = "0x0";
+
+  /* Contracts start with a nonce of one, as after their creation (EIP-161). */
+  private static final long CONTRACT_NONCE = 1;
+
   private final String balance;
+  private final String code;
+  private final GenesisStorage storage;
+  private final Long nonce;
 
   @JsonCreator
   public GenesisAccount(final String balance) {
+    this(balance, null, null, null);
+  }
+
+  /**
+   * @param code runtime bytecode of a contract, or null for an externally owned account.
+   * @param storage of the contract, or null for none.
+   * @param nonce of the account, or null for zero.
+   */
+  public GenesisAccount(
+      final String balance, final String code, final GenesisStorage storage, final Long nonce) {
     this.balance = balance;
+    this.code = code;
+    this.storage = storage;
+    this.nonce = nonce;
+  }
+
+  /** A contract deployed with the genesis, its storage already populated. */
+  public static GenesisAccount contract(final String code, final GenesisStorage storage) {
+    return new GenesisAccount(NO_BALANCE, code, storage, CONTRACT_NONCE);
   }
 
   @JsonGetter("balance")
   public String getBalance() {
     return balance;
   }
+
+  @JsonGetter("code")
+  public String getCode() {
+    return code;
+  }
+
+  @JsonGetter("storage")
+  public GenesisStorage getStorage() {
+    return storage;
+  }
+
+  @JsonGetter("nonce")
+  public String getNonce() {
+    return nonce == null ? null : "0x" + Long.toHexString(nonce);
+  }
 }
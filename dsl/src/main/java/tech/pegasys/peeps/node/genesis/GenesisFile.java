@@ -14,26 +14,32 @@ package tech.pegasys.peeps.node.genesis;
 
 import static com.google.common.base.Preconditions.checkArgument;
 
-import tech.pegasys.peeps.json.Json;
-
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
-import io.vertx.core.json.DecodeException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.testcontainers.shaded.org.bouncycastle.util.Arrays;
 
 public class GenesisFile {
 
   private static final Logger LOG = LogManager.getLogger();
+  private static final String DIGEST_ALGORITHM = "SHA-256";
+  private static final int BUFFER_SIZE = 64 * 1024;
 
   private final Path genesisFile;
   private static final ObjectMapper objectMapper =
@@ -60,13 +66,13 @@ public class GenesisFile {
 
   private void assertExistingGenesisMatches(final Genesis latest) {
     final byte[] existingGenesis;
-    try {
-      existingGenesis = Files.readAllBytes(genesisFile);
-    } catch (DecodeException e) {
-      throw new IllegalStateException(
-          String.format(
-              "Problem decoding an existing config file from the file system: %s, %s",
-              genesisFile, e.getLocalizedMessage()));
+    try (final InputStream in = Files.newInputStream(genesisFile)) {
+      final MessageDigest digest = digest();
+      final byte[] buffer = new byte[BUFFER_SIZE];
+      for (int read = in.read(buffer); read != -1; read = in.read(buffer)) {
+        digest.update(buffer, 0, read);
+      }
+      existingGenesis = digest.digest();
     } catch (final IOException e) {
       throw new IllegalStateException(
           String.format(
@@ -74,26 +80,32 @@ public class GenesisFile {
               genesisFile, e.getLocalizedMessage()));
     }
 
-    final byte[] latestGenesis = Json.encode(latest).getBytes(StandardCharsets.UTF_8);
+    final MessageDigest latestGenesis = digest();
+    try (final OutputStream out =
+        new DigestOutputStream(OutputStream.nullOutputStream(), latestGenesis)) {
+      encode(latest, out);
+    } catch (final IOException e) {
+      throw new RuntimeException("Failed to encode genesis data", e);
+    }
+
     checkArgument(
-        Arrays.areEqual(latestGenesis, existingGenesis),
+        MessageDigest.isEqual(latestGenesis.digest(), existingGenesis),
         "The latest genesis does not match the genesis file created");
   }
 
+  /** Streams the encoding to the file, never holding it all in memory however large the alloc. */
   private void write(final Genesis genesis) {
-    final String encodedGenesis;
-    try {
-      encodedGenesis = objectMapper.writeValueAsString(genesis);
+    LOG.info(
+        "Creating genesis file\n\tLocation: {} \n\tAccounts: {}",
+        genesisFile,
+        genesis.getAccounts().size());
+
+    try (final FileChannel channel =
+            FileChannel.open(genesisFile, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        final OutputStream out = Channels.newOutputStream(channel)) {
+      encode(genesis, out);
     } catch (final JsonProcessingException e) {
       throw new RuntimeException("Failed to encode genesis data", e);
-    }
-    LOG.info("Creating genesis file\n\tLocation: {} \n\tContents: {}", genesisFile, encodedGenesis);
-
-    try {
-      Files.write(
-          genesisFile,
-          encodedGenesis.getBytes(StandardCharsets.UTF_8),
-          StandardOpenOption.CREATE_NEW);
     } catch (final IOException e) {
       throw new IllegalStateException(
           String.format(
@@ -101,4 +113,19 @@ public class GenesisFile {
               genesisFile, e.getLocalizedMessage()));
     }
   }
+
+  private static void encode(final Genesis genesis, final OutputStream out) throws IOException {
+    try (final JsonGenerator generator =
+        objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+      objectMapper.writeValue(generator, genesis);
+    }
+  }
+
+  private static MessageDigest digest() {
+    try {
+      return MessageDigest.getInstance(DIGEST_ALGORITHM);
+    } catch (final NoSuchAlgorithmException e) {
+      throw new IllegalStateException("Genesis digest algorithm unavailable", e);
+    }
+  }
 }
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.node.genesis;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongFunction;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.crypto.Hash;
+import org.apache.tuweni.units.bigints.UInt256;
+
+/**
+ * Storage of a contract in the genesis, laid out as Solidity lays out its state variables.
+ *
+ * <p>Slots are synthesized as the genesis is encoded rather than held in memory, so a contract may
+ * start with millions of them.
+ */
+public class GenesisStorage extends JsonSerializable.Base {
+
+  private final List<Layout> layouts = new ArrayList<>();
+  private long size;
+
+  /** A value type state variable, occupying the slot on its own. */
+  public GenesisStorage slot(final long slot, final UInt256 value) {
+    return add(1, consumer -> consumer.accept(UInt256.valueOf(slot), value));
+  }
+
+  /**
+   * A dynamic array, e.g. <code>uint256[]</code>, with its length held in the slot and its
+   * elements in consecutive slots from the keccak of the slot.
+   *
+   * @param values of the elements, by index.
+   */
+  public GenesisStorage array(
+      final long slot, final int length, final LongFunction<UInt256> values) {
+    checkArgument(length >= 0, "Array length must not be negative");
+    final UInt256 first = UInt256.fromBytes(Hash.keccak256(UInt256.valueOf(slot).toBytes()));
+
+    return add(
+        length + 1L,
+        consumer -> {
+          consumer.accept(UInt256.valueOf(slot), UInt256.valueOf(length));
+          for (long index = 0; index < length; index++) {
+            consumer.accept(first.add(index), values.apply(index));
+          }
+        });
+  }
+
+  /**
+   * A mapping, e.g. <code>mapping(uint256 =&gt; uint256)</code>, with entries for the keys zero to
+   * one less than the number of entries. The value for a key is held in the slot at the keccak of
+   * the key and the slot of the mapping.
+   *
+   * @param values of the entries, by key.
+   */
+  public GenesisStorage mapping(
+      final long slot, final int entries, final LongFunction<UInt256> values) {
+    checkArgument(entries >= 0, "Number of mapping entries must not be negative");
+    final Bytes32 position = UInt256.valueOf(slot).toBytes();
+
+    return add(
+        entries,
+        consumer -> {
+          for (long key = 0; key < entries; key++) {
+            consumer.accept(
+                UInt256.fromBytes(
+                    Hash.keccak256(Bytes.concatenate(UInt256.valueOf(key).toBytes(), position))),
+                values.apply(key));
+          }
+        });
+  }
+
+  /** @return number of slots the storage occupies. */
+  public long size() {
+    return size;
+  }
+
+  public void forEachSlot(final SlotConsumer consumer) throws IOException {
+    for (final Layout layout : layouts) {
+      layout.forEachSlot(consumer);
+    }
+  }
+
+  @Override
+  public void serialize(final JsonGenerator generator, final SerializerProvider serializers)
+      throws IOException {
+    generator.writeStartObject();
+    forEachSlot(
+        (slot, value) ->
+            generator.writeStringField(
+                slot.toBytes().toHexString(), value.toBytes().toHexString()));
+    generator.writeEndObject();
+  }
+
+  @Override
+  public void serializeWithType(
+      final JsonGenerator generator,
+      final SerializerProvider serializers,
+      final TypeSerializer typeSerializer)
+      throws IOException {
+    serialize(generator, serializers);
+  }
+
+  private GenesisStorage add(final long slots, final Layout layout) {
+    layouts.add(layout);
+    size += slots;
+    return this;
+  }
+
+  @FunctionalInterface
+  public interface SlotConsumer {
+    void accept(UInt256 slot, UInt256 value) throws IOException;
+  }
+
+  @FunctionalInterface
+  private interface Layout {
+    void forEachSlot(SlotConsumer consumer) throws IOException;
+  }
+}
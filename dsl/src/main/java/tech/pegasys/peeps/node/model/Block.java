@@ -0,0 +1,80 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.node.model;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/** Block with the hashes of its transactions, rather than the transactions in full. */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class Block {
+
+  private final long number;
+  private final Hash hash;
+  private final Hash parentHash;
+  private final Hash stateRoot;
+  private final long timestamp;
+  private final List<Hash> transactions;
+
+  @JsonCreator
+  public Block(
+      @JsonProperty("number") final String number,
+      @JsonProperty("hash") final Hash hash,
+      @JsonProperty("parentHash") final Hash parentHash,
+      @JsonProperty("stateRoot") final Hash stateRoot,
+      @JsonProperty("timestamp") final String timestamp,
+      @JsonProperty("transactions") final List<Hash> transactions) {
+    this.number = Long.decode(number);
+    this.hash = hash;
+    this.parentHash = parentHash;
+    this.stateRoot = stateRoot;
+    this.timestamp = Long.decode(timestamp);
+    this.transactions = List.copyOf(transactions);
+  }
+
+  public long getNumber() {
+    return number;
+  }
+
+  public Hash getHash() {
+    return hash;
+  }
+
+  public Hash getParentHash() {
+    return parentHash;
+  }
+
+  /** @return root of the world state after the block, equal only when the whole state is. */
+  public Hash getStateRoot() {
+    return stateRoot;
+  }
+
+  /** @return seconds since the epoch, as set by the block producer. */
+  public long getTimestamp() {
+    return timestamp;
+  }
+
+  public List<Hash> getTransactions() {
+    return transactions;
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "Block %s (%s), state root %s, %s transactions",
+        number, hash, stateRoot, transactions.size());
+  }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.node.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+
+import com.google.common.hash.Hashing;
+import org.apache.tuweni.bytes.Bytes32;
+
+/** Digest of the content of a model object, for comparing objects without reflection. */
+public class Fingerprint {
+
+  /**
+   * Each field is length prefixed, so no two sequences of fields share an encoding.
+   *
+   * @param fields content of the object in a fixed order, arrays compared element by element.
+   * @return digest equal for objects whose fields have equal text, ignoring the case of hex.
+   */
+  public static Bytes32 of(final Object... fields) {
+    final StringBuilder content = new StringBuilder();
+    for (final Object field : fields) {
+      final String text =
+          field instanceof Object[] ? Arrays.deepToString((Object[]) field) : String.valueOf(field);
+      content.append(text.length()).append(':').append(text.toLowerCase(Locale.ROOT));
+    }
+
+    return Bytes32.wrap(Hashing.sha256().hashString(content, StandardCharsets.UTF_8).asBytes());
+  }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.node.model;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.Map;
+import java.util.Optional;
+
+import org.apache.tuweni.eth.Address;
+import org.apache.tuweni.units.ethereum.Wei;
+
+/**
+ * Balances, receipts and transactions of a node, fetched together so that many assertions may be
+ * evaluated without a request each.
+ */
+public class NodeSnapshot {
+
+  private final Map<Address, Wei> balances;
+  private final Map<Hash, TransactionReceipt> receipts;
+  private final Map<Hash, Transaction> transactions;
+
+  /** Receipts and transactions unknown to the node are absent from their maps. */
+  public NodeSnapshot(
+      final Map<Address, Wei> balances,
+      final Map<Hash, TransactionReceipt> receipts,
+      final Map<Hash, Transaction> transactions) {
+    this.balances = Map.copyOf(balances);
+    this.receipts = Map.copyOf(receipts);
+    this.transactions = Map.copyOf(transactions);
+  }
+
+  public Wei getBalance(final Address account) {
+    final Wei balance = balances.get(account);
+    checkArgument(balance != null, "Balance of %s was not fetched", account);
+    return balance;
+  }
+
+  /** @return receipt of the transaction, empty when the node had none. */
+  public Optional<TransactionReceipt> getTransactionReceipt(final Hash transaction) {
+    return Optional.ofNullable(receipts.get(transaction));
+  }
+
+  /** @return the transaction, empty when the node did not know of it. */
+  public Optional<Transaction> getTransactionByHash(final Hash transaction) {
+    return Optional.ofNullable(transactions.get(transaction));
+  }
+}
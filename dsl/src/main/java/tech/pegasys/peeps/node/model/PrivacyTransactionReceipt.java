@@ -18,6 +18,7 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonSetter;
+import org.apache.tuweni.bytes.Bytes32;
 import org.apache.tuweni.eth.Address;
 
 @JsonIgnoreProperties(ignoreUnknown = true)
@@ -74,4 +75,9 @@ public class PrivacyTransactionReceipt {
   public boolean isSuccess() {
     return status.contentEquals("0x1");
   }
+
+  /** @return digest of every field, equal for receipts that are the same in every field. */
+  public Bytes32 fingerprint() {
+    return Fingerprint.of(contract, sender, output, logs, status, recipient);
+  }
 }
@@ -16,6 +16,7 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonSetter;
+import org.apache.tuweni.bytes.Bytes32;
 import org.apache.tuweni.eth.Address;
 import org.apache.tuweni.units.bigints.UInt256;
 import org.apache.tuweni.units.ethereum.Gas;
@@ -135,4 +136,23 @@ public class Transaction {
   public boolean isProcessed() {
     return transactionIndex != null;
   }
+
+  /** @return digest of every field, equal for transactions that are the same in every field. */
+  public Bytes32 fingerprint() {
+    return Fingerprint.of(
+        sender,
+        gas,
+        gasPrice,
+        value,
+        blockHash,
+        blockNumber,
+        hash,
+        input,
+        nonce,
+        v,
+        r,
+        s,
+        recipient,
+        transactionIndex);
+  }
 }
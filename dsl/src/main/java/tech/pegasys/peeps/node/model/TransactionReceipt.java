@@ -18,6 +18,7 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonSetter;
+import org.apache.tuweni.bytes.Bytes32;
 import org.apache.tuweni.eth.Address;
 import org.apache.tuweni.units.bigints.UInt256;
 import org.apache.tuweni.units.ethereum.Gas;
@@ -115,4 +116,20 @@ public class TransactionReceipt {
   public boolean isSuccess() {
     return status.contentEquals("0x1");
   }
+
+  /** @return digest of every field, equal for receipts that are the same in every field. */
+  public Bytes32 fingerprint() {
+    return Fingerprint.of(
+        sender,
+        blockHash,
+        transactionHash,
+        gasUsed,
+        blockNumber,
+        cumulativeGasUsed,
+        logsBloom,
+        transactionIndex,
+        status,
+        recipient,
+        contract);
+  }
 }
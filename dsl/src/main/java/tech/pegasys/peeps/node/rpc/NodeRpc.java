@@ -12,12 +12,17 @@
  */
 package tech.pegasys.peeps.node.rpc;
 
+import tech.pegasys.peeps.node.model.Block;
 import tech.pegasys.peeps.node.model.Hash;
+import tech.pegasys.peeps.node.model.NodeSnapshot;
 import tech.pegasys.peeps.node.model.PrivacyTransactionReceipt;
 import tech.pegasys.peeps.node.model.Transaction;
 import tech.pegasys.peeps.node.model.TransactionReceipt;
 import tech.pegasys.peeps.node.rpc.admin.NodeInfo;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.apache.tuweni.eth.Address;
@@ -37,5 +42,29 @@ public interface NodeRpc extends QbftRpc {
 
   Wei getBalance(Address account);
 
+  /** @return balance of each account in the state after the block, fetched together. */
+  Map<Address, Wei> getBalances(Collection<Address> accounts, long blockNumber);
+
+  /**
+   * Fetches the balances, receipts and transactions together, in as few requests as possible, with
+   * the balances at a single block no earlier than that of any receipt found.
+   */
+  NodeSnapshot getSnapshot(Collection<Address> accounts, Collection<Hash> transactions);
+
   long getBlockNumber();
+
+  Block getBlockByNumber(long number);
+
+  /** @return the blocks from the first to the last number inclusive, fetched together. */
+  List<Block> getBlocksByNumber(long first, long last);
+
+  long getChainId();
+
+  long getTransactionCount(Address account);
+
+  Hash sendRawTransaction(String signedTransaction);
+
+  String newPendingTransactionFilter();
+
+  List<Hash> getFilterChanges(String filterId);
 }
@@ -12,8 +12,11 @@
  */
 package tech.pegasys.peeps.node.rpc;
 
+import tech.pegasys.peeps.json.rpc.JsonRpcBatch;
 import tech.pegasys.peeps.json.rpc.JsonRpcClient;
+import tech.pegasys.peeps.node.model.Block;
 import tech.pegasys.peeps.node.model.Hash;
+import tech.pegasys.peeps.node.model.NodeSnapshot;
 import tech.pegasys.peeps.node.model.PrivacyTransactionReceipt;
 import tech.pegasys.peeps.node.model.Transaction;
 import tech.pegasys.peeps.node.model.TransactionReceipt;
@@ -24,14 +27,26 @@ import tech.pegasys.peeps.node.rpc.admin.NodeInfo;
 import tech.pegasys.peeps.node.rpc.admin.NodeInfoResponse;
 import tech.pegasys.peeps.node.rpc.eth.GetBalanceResponse;
 import tech.pegasys.peeps.node.rpc.eth.GetBlockNumberResponse;
+import tech.pegasys.peeps.node.rpc.eth.GetBlockResponse;
+import tech.pegasys.peeps.node.rpc.eth.GetChainIdResponse;
+import tech.pegasys.peeps.node.rpc.eth.GetFilterChangesResponse;
 import tech.pegasys.peeps.node.rpc.eth.GetTransactionByHashResponse;
+import tech.pegasys.peeps.node.rpc.eth.GetTransactionCountResponse;
 import tech.pegasys.peeps.node.rpc.eth.GetTransactionReceiptResponse;
+import tech.pegasys.peeps.node.rpc.eth.NewFilterResponse;
+import tech.pegasys.peeps.node.rpc.eth.SendRawTransactionResponse;
 import tech.pegasys.peeps.node.rpc.priv.GetPrivateTransactionResponse;
+import tech.pegasys.peeps.util.HexFormatter;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.apache.tuweni.eth.Address;
@@ -83,10 +98,152 @@ public class NodeRpcClient {
         .getResult();
   }
 
+  /** @return balances at the block, fetched with one batch request rather than a request each. */
+  public Map<Address, Wei> getBalances(
+      final Collection<Address> accounts, final long blockNumber) {
+    final JsonRpcBatch batch = rpcClient.batch();
+    final String block = HexFormatter.ensureHexPrefix(Long.toHexString(blockNumber));
+    final Map<Address, Supplier<GetBalanceResponse>> balances = new HashMap<>();
+    accounts.forEach(
+        account ->
+            balances.put(
+                account,
+                batch.add(
+                    "eth_getBalance", GetBalanceResponse.class, account.toHexString(), block)));
+    rpcClient.post(batch);
+
+    final Map<Address, Wei> results = new HashMap<>();
+    balances.forEach((account, balance) -> results.put(account, balance.get().getResult()));
+    return results;
+  }
+
+  /**
+   * Fetches the receipts and transactions with one batch request, then the balances with another,
+   * all at a single block no earlier than the head or the block of any receipt, so that balances
+   * show every transaction found even when the calls span several batch requests.
+   *
+   * @return state of the node, fetched in batches rather than with a request each.
+   */
+  public NodeSnapshot getSnapshot(
+      final Collection<Address> accounts, final Collection<Hash> transactions) {
+    final JsonRpcBatch batch = rpcClient.batch();
+    final Supplier<GetBlockNumberResponse> head =
+        batch.add("eth_blockNumber", GetBlockNumberResponse.class);
+    final Map<Hash, Supplier<GetTransactionReceiptResponse>> receipts = new HashMap<>();
+    final Map<Hash, Supplier<GetTransactionByHashResponse>> bodies = new HashMap<>();
+
+    transactions.forEach(
+        transaction -> {
+          receipts.put(
+              transaction,
+              batch.add(
+                  "eth_getTransactionReceipt", GetTransactionReceiptResponse.class, transaction));
+          bodies.put(
+              transaction,
+              batch.add(
+                  "eth_getTransactionByHash", GetTransactionByHashResponse.class, transaction));
+        });
+    rpcClient.post(batch);
+
+    final Map<Hash, TransactionReceipt> receiptResults = new HashMap<>();
+    receipts.forEach(
+        (transaction, receipt) ->
+            receipt.get().getResult().ifPresent(found -> receiptResults.put(transaction, found)));
+    final Map<Hash, Transaction> bodyResults = new HashMap<>();
+    bodies.forEach(
+        (transaction, body) ->
+            body.get().getResult().ifPresent(found -> bodyResults.put(transaction, found)));
+
+    final long blockNumber =
+        receiptResults
+            .values()
+            .stream()
+            .mapToLong(receipt -> Long.decode(receipt.getBlockNumber()))
+            .reduce(head.get().getResult(), Math::max);
+    final Map<Address, Wei> balanceResults =
+        accounts.isEmpty() ? Map.of() : getBalances(accounts, blockNumber);
+
+    return new NodeSnapshot(balanceResults, receiptResults, bodyResults);
+  }
+
   public long getBlockNumber() {
     return rpcClient.post("eth_blockNumber", GetBlockNumberResponse.class).getResult();
   }
 
+  /** @return the block, with only the hashes of its transactions. */
+  public Optional<Block> getBlockByNumber(final long number) {
+    return rpcClient
+        .post(
+            "eth_getBlockByNumber",
+            GetBlockResponse.class,
+            HexFormatter.ensureHexPrefix(Long.toHexString(number)),
+            false)
+        .getResult();
+  }
+
+  /** @return the blocks in order, empty unless the node has every one of them. */
+  public Optional<List<Block>> getBlocksByNumber(final long first, final long last) {
+    final JsonRpcBatch batch = rpcClient.batch();
+    final List<Supplier<GetBlockResponse>> responses = new ArrayList<>();
+    for (long number = first; number <= last; number++) {
+      responses.add(
+          batch.add(
+              "eth_getBlockByNumber",
+              GetBlockResponse.class,
+              HexFormatter.ensureHexPrefix(Long.toHexString(number)),
+              false));
+    }
+    rpcClient.post(batch);
+
+    final List<Block> blocks = new ArrayList<>(responses.size());
+    for (final Supplier<GetBlockResponse> response : responses) {
+      final Optional<Block> block = response.get().getResult();
+      if (block.isEmpty()) {
+        return Optional.empty();
+      }
+      blocks.add(block.get());
+    }
+    return Optional.of(blocks);
+  }
+
+  public long getChainId() {
+    return rpcClient.post("eth_chainId", GetChainIdResponse.class).getResult();
+  }
+
+  /** @return nonce of the account, including its transactions not yet in a block. */
+  public long getTransactionCount(final Address account) {
+    return rpcClient
+        .post(
+            "eth_getTransactionCount",
+            GetTransactionCountResponse.class,
+            account.toHexString(),
+            "pending")
+        .getResult();
+  }
+
+  public Hash sendRawTransaction(final String signedTransaction) {
+    final SendRawTransactionResponse response =
+        rpcClient.post(
+            "eth_sendRawTransaction", SendRawTransactionResponse.class, signedTransaction);
+
+    if (response.getError() != null) {
+      throw new IllegalStateException("Transaction rejected: " + response.getError());
+    }
+    return response.getResult();
+  }
+
+  /** @return ID of a filter for the hashes of transactions entering the pool of the node. */
+  public String newPendingTransactionFilter() {
+    return rpcClient.post("eth_newPendingTransactionFilter", NewFilterResponse.class).getResult();
+  }
+
+  /** @return hashes since the filter was last polled, empty when the filter is unknown. */
+  public Optional<List<Hash>> getFilterChanges(final String filterId) {
+    return rpcClient
+        .post("eth_getFilterChanges", GetFilterChangesResponse.class, filterId)
+        .getResult();
+  }
+
   public boolean qbftProposeValidatorVote(final Address validator, final VoteType vote) {
     return qbftRpc.qbftProposeValidatorVote(validator, vote);
   }
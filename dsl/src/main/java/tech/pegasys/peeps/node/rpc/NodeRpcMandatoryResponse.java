@@ -12,17 +12,25 @@
  */
 package tech.pegasys.peeps.node.rpc;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static tech.pegasys.peeps.util.Await.await;
 import static tech.pegasys.peeps.util.Await.awaitData;
 import static tech.pegasys.peeps.util.Await.awaitPresence;
 
+import tech.pegasys.peeps.node.model.Block;
 import tech.pegasys.peeps.node.model.Hash;
+import tech.pegasys.peeps.node.model.NodeSnapshot;
 import tech.pegasys.peeps.node.model.PrivacyTransactionReceipt;
 import tech.pegasys.peeps.node.model.Transaction;
 import tech.pegasys.peeps.node.model.TransactionReceipt;
 import tech.pegasys.peeps.node.rpc.admin.NodeInfo;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.tuweni.eth.Address;
 import org.apache.tuweni.units.ethereum.Wei;
@@ -68,11 +76,99 @@ public class NodeRpcMandatoryResponse implements NodeRpc {
         () -> rpc.getBalance(account), "Failed to retrieve the balance for address: %s", account);
   }
 
+  @Override
+  public Map<Address, Wei> getBalances(
+      final Collection<Address> accounts, final long blockNumber) {
+    final AtomicReference<Map<Address, Wei>> balances = new AtomicReference<>();
+    await(
+        () -> balances.set(rpc.getBalances(accounts, blockNumber)),
+        "Failed to retrieve the balances of %s accounts at block %s",
+        accounts.size(),
+        blockNumber);
+    return balances.get();
+  }
+
+  /** Absent receipts and transactions are waited on, as with their single requests. */
+  @Override
+  public NodeSnapshot getSnapshot(
+      final Collection<Address> accounts, final Collection<Hash> transactions) {
+    final AtomicReference<NodeSnapshot> snapshot = new AtomicReference<>();
+    await(
+        () -> {
+          final NodeSnapshot found = rpc.getSnapshot(accounts, transactions);
+          transactions.forEach(
+              transaction -> {
+                assertThat(found.getTransactionReceipt(transaction)).isPresent();
+                assertThat(found.getTransactionByHash(transaction)).isPresent();
+              });
+          snapshot.set(found);
+        },
+        "Failed to retrieve the state of %s accounts and %s transactions",
+        accounts.size(),
+        transactions.size());
+    return snapshot.get();
+  }
+
   @Override
   public long getBlockNumber() {
     return awaitData(rpc::getBlockNumber, "Failed to retrieve block number");
   }
 
+  @Override
+  public Block getBlockByNumber(final long number) {
+    return awaitPresence(
+            () -> rpc.getBlockByNumber(number), "Failed to retrieve block number: %s", number)
+        .get();
+  }
+
+  @Override
+  public List<Block> getBlocksByNumber(final long first, final long last) {
+    final AtomicReference<List<Block>> blocks = new AtomicReference<>();
+    await(
+        () -> {
+          final Optional<List<Block>> found = rpc.getBlocksByNumber(first, last);
+          assertThat(found).isPresent();
+          blocks.set(found.get());
+        },
+        "Failed to retrieve blocks %s to %s",
+        first,
+        last);
+    return blocks.get();
+  }
+
+  @Override
+  public long getChainId() {
+    return awaitData(rpc::getChainId, "Failed to retrieve chain ID");
+  }
+
+  @Override
+  public long getTransactionCount(final Address account) {
+    return awaitData(
+        () -> rpc.getTransactionCount(account),
+        "Failed to retrieve the transaction count for address: %s",
+        account);
+  }
+
+  /** Sent only once, as a retry of an accepted transaction would be rejected for its nonce. */
+  @Override
+  public Hash sendRawTransaction(final String signedTransaction) {
+    return rpc.sendRawTransaction(signedTransaction);
+  }
+
+  @Override
+  public String newPendingTransactionFilter() {
+    return awaitData(
+        rpc::newPendingTransactionFilter, "Failed to create a pending transaction filter");
+  }
+
+  /** Not retried, as a filter unknown to the node will not become known. */
+  @Override
+  public List<Hash> getFilterChanges(final String filterId) {
+    return rpc
+        .getFilterChanges(filterId)
+        .orElseThrow(() -> new IllegalStateException("Unknown filter: " + filterId));
+  }
+
   @Override
   public boolean qbftProposeValidatorVote(final Address validator, final VoteType vote) {
     return awaitData(
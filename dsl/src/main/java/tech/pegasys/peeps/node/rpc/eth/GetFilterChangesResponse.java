@@ -0,0 +1,38 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.node.rpc.eth;
+
+import tech.pegasys.peeps.node.model.Hash;
+
+import java.util.List;
+import java.util.Optional;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonSetter;
+
+/** Changes of a block or pending transaction filter, which are both hashes. */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class GetFilterChangesResponse {
+
+  private List<Hash> result;
+
+  @JsonSetter("result")
+  public void setResult(final List<Hash> result) {
+    this.result = result;
+  }
+
+  /** @return empty when the filter is unknown, e.g. it expired while not being polled. */
+  public Optional<List<Hash>> getResult() {
+    return Optional.ofNullable(result);
+  }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.node.rpc.eth;
+
+import tech.pegasys.peeps.json.rpc.JsonRpcError;
+import tech.pegasys.peeps.node.model.Hash;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class SendRawTransactionResponse {
+
+  private final Hash result;
+  private final JsonRpcError error;
+
+  @JsonCreator
+  public SendRawTransactionResponse(
+      @JsonProperty("result") final Hash result, @JsonProperty("error") final JsonRpcError error) {
+    this.result = result;
+    this.error = error;
+  }
+
+  public Hash getResult() {
+    return result;
+  }
+
+  /** @return why the node rejected the transaction, when it did. */
+  public JsonRpcError getError() {
+    return error;
+  }
+}
@@ -12,9 +12,32 @@
  */
 package tech.pegasys.peeps.node.verification;
 
+import tech.pegasys.peeps.node.model.Hash;
+import tech.pegasys.peeps.node.model.NodeSnapshot;
 import tech.pegasys.peeps.node.rpc.NodeRpc;
 
+import java.util.Set;
+
+import org.apache.tuweni.eth.Address;
+
+/**
+ * Change in value a node must show, declaring the data it needs so that many transitions may be
+ * verified against one snapshot of the node.
+ */
 public interface NodeValueTransition {
 
-  void verify(NodeRpc rpc);
+  /** @return accounts whose balance the transition needs. */
+  Set<Address> accounts();
+
+  /** @return transactions whose receipt and body the transition needs. */
+  default Set<Hash> transactions() {
+    return Set.of();
+  }
+
+  /** Verifies the transition locally, without any request of the node. */
+  void verify(NodeSnapshot snapshot);
+
+  default void verify(final NodeRpc rpc) {
+    verify(rpc.getSnapshot(accounts(), transactions()));
+  }
 }
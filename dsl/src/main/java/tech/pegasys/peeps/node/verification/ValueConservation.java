@@ -0,0 +1,144 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.node.verification;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.peeps.node.model.Block;
+import tech.pegasys.peeps.node.model.Hash;
+import tech.pegasys.peeps.node.model.NodeSnapshot;
+import tech.pegasys.peeps.node.model.Transaction;
+import tech.pegasys.peeps.node.model.TransactionReceipt;
+import tech.pegasys.peeps.node.rpc.NodeRpc;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import com.google.common.collect.Iterables;
+import org.apache.tuweni.eth.Address;
+import org.apache.tuweni.units.ethereum.Wei;
+
+/**
+ * Verifies transfers among a set of accounts neither created nor destroyed value over a range of
+ * blocks: their balances after equal those before, less the gas their transactions spent and the
+ * value sent outside the set, plus the value received from outside it.
+ *
+ * <p>Balances are fetched in batches at fixed blocks and summed as each batch arrives, as are the
+ * transactions of the blocks, so the check holds no more than a batch however many accounts there
+ * are.
+ */
+public class ValueConservation {
+
+  private static final int BATCH_SIZE = 1000;
+
+  private final Set<Address> accounts;
+
+  public ValueConservation(final Collection<Address> accounts) {
+    checkArgument(!accounts.isEmpty(), "At least one account must be checked");
+    this.accounts = Set.copyOf(accounts);
+  }
+
+  /**
+   * @param before block whose state is the starting balances.
+   * @param after block whose state is the final balances, its transactions included.
+   */
+  public ValueConservationReport verify(final NodeRpc rpc, final long before, final long after) {
+    checkArgument(before <= after, "Block %s is after block %s", before, after);
+
+    final BigInteger balancesBefore = sumBalances(rpc, before);
+    final BigInteger balancesAfter = sumBalances(rpc, after);
+    final Flows flows = new Flows();
+
+    for (long first = before + 1; first <= after; first += BATCH_SIZE) {
+      final List<Hash> transactions = new ArrayList<>();
+      rpc.getBlocksByNumber(first, Math.min(first + BATCH_SIZE - 1, after))
+          .stream()
+          .map(Block::getTransactions)
+          .forEach(transactions::addAll);
+
+      for (final List<Hash> batch : Iterables.partition(transactions, BATCH_SIZE / 2)) {
+        final NodeSnapshot snapshot = rpc.getSnapshot(List.of(), batch);
+        batch.forEach(transaction -> flows.add(transaction, snapshot));
+      }
+    }
+
+    final ValueConservationReport report =
+        new ValueConservationReport(
+            accounts.size(),
+            balancesBefore,
+            balancesAfter,
+            flows.transactions,
+            flows.gasSpent,
+            flows.received,
+            flows.sent);
+    assertThat(report.getDiscrepancy())
+        .withFailMessage("Value was not conserved: %s", report)
+        .isEqualTo(BigInteger.ZERO);
+
+    return report;
+  }
+
+  private BigInteger sumBalances(final NodeRpc rpc, final long blockNumber) {
+    BigInteger sum = BigInteger.ZERO;
+    for (final List<Address> batch : Iterables.partition(accounts, BATCH_SIZE)) {
+      for (final Wei balance : rpc.getBalances(batch, blockNumber).values()) {
+        sum = sum.add(balance.toBigInteger());
+      }
+    }
+    return sum;
+  }
+
+  private class Flows {
+    private long transactions;
+    private BigInteger gasSpent = BigInteger.ZERO;
+    private BigInteger received = BigInteger.ZERO;
+    private BigInteger sent = BigInteger.ZERO;
+
+    private void add(final Hash hash, final NodeSnapshot snapshot) {
+      final Optional<TransactionReceipt> receipt = snapshot.getTransactionReceipt(hash);
+      final Optional<Transaction> transaction = snapshot.getTransactionByHash(hash);
+      assertThat(receipt).withFailMessage("No receipt for transaction %s", hash).isPresent();
+      assertThat(transaction).withFailMessage("No transaction %s", hash).isPresent();
+
+      final boolean fromInside = accounts.contains(receipt.get().getSender());
+      final boolean toInside = receipt.get().getRecipient().filter(accounts::contains).isPresent();
+      if (!fromInside && !toInside) {
+        return;
+      }
+
+      transactions++;
+      if (fromInside) {
+        gasSpent =
+            gasSpent.add(
+                receipt
+                    .get()
+                    .getGasUsed()
+                    .priceFor(transaction.get().getGasPrice())
+                    .toBigInteger());
+      }
+      if (receipt.get().isSuccess() && fromInside != toInside) {
+        final BigInteger value = transaction.get().getValue().toBigInteger();
+        if (fromInside) {
+          sent = sent.add(value);
+        } else {
+          received = received.add(value);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.node.verification;
+
+import java.math.BigInteger;
+
+/** Sums over a set of accounts, from which any creation or loss of value is found. */
+public class ValueConservationReport {
+
+  private final int accounts;
+  private final BigInteger balancesBefore;
+  private final BigInteger balancesAfter;
+  private final long transactions;
+  private final BigInteger gasSpent;
+  private final BigInteger received;
+  private final BigInteger sent;
+
+  public ValueConservationReport(
+      final int accounts,
+      final BigInteger balancesBefore,
+      final BigInteger balancesAfter,
+      final long transactions,
+      final BigInteger gasSpent,
+      final BigInteger received,
+      final BigInteger sent) {
+    this.accounts = accounts;
+    this.balancesBefore = balancesBefore;
+    this.balancesAfter = balancesAfter;
+    this.transactions = transactions;
+    this.gasSpent = gasSpent;
+    this.received = received;
+    this.sent = sent;
+  }
+
+  public int getAccounts() {
+    return accounts;
+  }
+
+  /** @return sum of the balances in Wei, in the state of the first block. */
+  public BigInteger getBalancesBefore() {
+    return balancesBefore;
+  }
+
+  /** @return sum of the balances in Wei, in the state of the last block. */
+  public BigInteger getBalancesAfter() {
+    return balancesAfter;
+  }
+
+  /** @return number of transactions sent or received by the accounts. */
+  public long getTransactions() {
+    return transactions;
+  }
+
+  /** @return Wei paid for the gas of the transactions the accounts sent. */
+  public BigInteger getGasSpent() {
+    return gasSpent;
+  }
+
+  /** @return Wei received from accounts outside of the set. */
+  public BigInteger getReceived() {
+    return received;
+  }
+
+  /** @return Wei sent to accounts outside of the set. */
+  public BigInteger getSent() {
+    return sent;
+  }
+
+  /** @return Wei created when positive, or lost when negative. */
+  public BigInteger getDiscrepancy() {
+    return balancesAfter.subtract(balancesBefore.subtract(gasSpent).subtract(sent).add(received));
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "%s accounts, %s transactions%n"
+            + "balances before: %s, after: %s%n"
+            + "gas spent: %s, received: %s, sent: %s, discrepancy: %s",
+        accounts,
+        transactions,
+        balancesBefore,
+        balancesAfter,
+        gasSpent,
+        received,
+        sent,
+        getDiscrepancy());
+  }
+}
@@ -14,7 +14,9 @@ package tech.pegasys.peeps.node.verification;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
-import tech.pegasys.peeps.node.rpc.NodeRpc;
+import tech.pegasys.peeps.node.model.NodeSnapshot;
+
+import java.util.Set;
 
 import org.apache.tuweni.eth.Address;
 import org.apache.tuweni.units.ethereum.Wei;
@@ -32,8 +34,13 @@ public class ValueReceived implements NodeValueTransition {
   }
 
   @Override
-  public void verify(final NodeRpc rpc) {
-    final Wei after = rpc.getBalance(receiver);
+  public Set<Address> accounts() {
+    return Set.of(receiver);
+  }
+
+  @Override
+  public void verify(final NodeSnapshot snapshot) {
+    final Wei after = snapshot.getBalance(receiver);
     assertThat(after).isEqualTo(before.add(value));
   }
 }
@@ -15,14 +15,20 @@ package tech.pegasys.peeps.node.verification;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import tech.pegasys.peeps.node.model.Hash;
+import tech.pegasys.peeps.node.model.NodeSnapshot;
 import tech.pegasys.peeps.node.model.Transaction;
 import tech.pegasys.peeps.node.model.TransactionReceipt;
-import tech.pegasys.peeps.node.rpc.NodeRpc;
+
+import java.util.Set;
 
 import org.apache.tuweni.eth.Address;
 import org.apache.tuweni.units.ethereum.Gas;
 import org.apache.tuweni.units.ethereum.Wei;
 
+/**
+ * Balance of the sender reduced by the value and cost of its transaction, which must have a
+ * successful receipt in the snapshot, whose balances must be at or after the block of the receipt.
+ */
 public class ValueSent implements NodeValueTransition {
 
   private final Address sender;
@@ -36,30 +42,41 @@ public class ValueSent implements NodeValueTransition {
   }
 
   @Override
-  public void verify(final NodeRpc rpc) {
+  public Set<Address> accounts() {
+    return Set.of(sender);
+  }
+
+  @Override
+  public Set<Hash> transactions() {
+    return Set.of(transactionReceipt);
+  }
+
+  @Override
+  public void verify(final NodeSnapshot snapshot) {
 
-    final Wei after = rpc.getBalance(sender);
-    final TransactionReceipt receipt = transactionReceipt(rpc);
-    final Wei cost = transactionCost(rpc, receipt);
+    final Wei after = snapshot.getBalance(sender);
+    final TransactionReceipt receipt = transactionReceipt(snapshot);
+    final Wei cost = transactionCost(snapshot, receipt);
 
     assertThat(after).isEqualTo(before.subtract(cost));
   }
 
-  private TransactionReceipt transactionReceipt(final NodeRpc rpc) {
-    final TransactionReceipt transferReceipt = rpc.getTransactionReceipt(transactionReceipt);
+  private TransactionReceipt transactionReceipt(final NodeSnapshot snapshot) {
+    final TransactionReceipt transferReceipt =
+        snapshot.getTransactionReceipt(transactionReceipt).orElse(null);
     assertThat(transferReceipt).isNotNull();
     assertThat(transferReceipt.isSuccess()).isTrue();
     return transferReceipt;
   }
 
-  private Wei transactionCost(final NodeRpc rpc, final TransactionReceipt transferReceipt) {
-    assertThat(transferReceipt.getTransactionHash()).isNotNull();
-    final Hash transaction = transferReceipt.getTransactionHash();
+  private Wei transactionCost(
+      final NodeSnapshot snapshot, final TransactionReceipt transferReceipt) {
+    assertThat(transferReceipt.getTransactionHash()).isEqualTo(transactionReceipt);
 
     assertThat(transferReceipt.getGasUsed()).isNotNull();
     final Gas used = transferReceipt.getGasUsed();
 
-    final Transaction transfer = rpc.getTransactionByHash(transaction);
+    final Transaction transfer = snapshot.getTransactionByHash(transactionReceipt).orElse(null);
     assertThat(transfer).isNotNull();
     assertThat(transfer.getGasPrice()).isNotNull();
     final Wei eachUnit = transfer.getGasPrice();
@@ -12,6 +12,8 @@
  */
 package tech.pegasys.peeps.privacy;
 
+import java.util.List;
+
 import org.testcontainers.containers.GenericContainer;
 
 public class Orion extends PrivateTransactionManager {
@@ -21,12 +23,11 @@ public class Orion extends PrivateTransactionManager {
 
   public Orion(final PrivateTransactionManagerConfiguration config) {
     super(config, new GenericContainer<>(ORION_IMAGE));
-    addContainerNetwork(config, container);
-    addContainerIpAddress(config, container);
-    addPrivateKeys(config, CONTAINER_WORKING_DIRECTORY_PREFIX, container);
-    addPublicKeys(config, CONTAINER_WORKING_DIRECTORY_PREFIX, container);
-    addConfigurationFile(config, container);
-    container.withCommand(CONTAINER_CONFIG_FILE).waitingFor(liveliness());
+    addPrivateKeys(config, CONTAINER_WORKING_DIRECTORY_PREFIX);
+    addPublicKeys(config, CONTAINER_WORKING_DIRECTORY_PREFIX);
+    addConfigurationFile(config);
+    runtime.withCommand(List.of(CONTAINER_CONFIG_FILE));
+    container.waitingFor(liveliness());
   }
 
   @Override
@@ -21,6 +21,9 @@ import tech.pegasys.peeps.privacy.model.PrivacyPublicKeyResource;
 import tech.pegasys.peeps.privacy.model.TransactionManagerKey;
 import tech.pegasys.peeps.privacy.rpc.TransactionManagerRpc;
 import tech.pegasys.peeps.privacy.rpc.TransactionManagerRpcExpectingData;
+import tech.pegasys.peeps.runtime.DockerRuntime;
+import tech.pegasys.peeps.runtime.NodeRuntime;
+import tech.pegasys.peeps.runtime.ReplayRuntime;
 import tech.pegasys.peeps.util.ClasspathResources;
 import tech.pegasys.peeps.util.DockerLogs;
 
@@ -31,12 +34,10 @@ import java.util.function.Supplier;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.testcontainers.containers.BindMode;
 import org.testcontainers.containers.ContainerLaunchException;
 import org.testcontainers.containers.GenericContainer;
 import org.testcontainers.containers.wait.strategy.HttpWaitStrategy;
 import org.testcontainers.containers.wait.strategy.Wait;
-import org.testcontainers.utility.MountableFile;
 
 public abstract class PrivateTransactionManager implements NetworkMember {
   private static final Logger LOG = LogManager.getLogger();
@@ -48,26 +49,29 @@ public abstract class PrivateTransactionManager implements NetworkMember {
   protected static final String CONTAINER_CONFIG_FILE = "/etc/transaction_manager.conf";
 
   protected final GenericContainer<?> container;
+  protected final NodeRuntime runtime;
   private final TransactionManagerRpc transactionManagerRpc;
   private final TransactionManagerRpcExpectingData rpc;
 
   private final String networkP2PAddress;
-  private final String networkRpcAddress;
 
   protected final String id;
 
   public PrivateTransactionManager(
       final PrivateTransactionManagerConfiguration config, final GenericContainer<?> container) {
     this.container = container;
+    this.runtime =
+        ReplayRuntime.replayingOr(
+            config.getCassette(),
+            new DockerRuntime(container, config.getContainerNetwork(), config.getIpAddress()));
     this.networkP2PAddress =
         String.format("http://%s:%s", config.getIpAddress().get(), CONTAINER_PEER_TO_PEER_PORT);
-    this.networkRpcAddress =
-        String.format("http://%s:%s", config.getIpAddress().get(), CONTAINER_HTTP_RPC_PORT);
 
     // TODO just using the first key, selecting the identity could be an option for
     // multi-key TransactionManager
     this.id = ClasspathResources.read(config.getPublicKeys().get(0).get());
     this.transactionManagerRpc = new TransactionManagerRpc(config.getVertx(), id, dockerLogs());
+    config.getCassette().ifPresent(cassette -> transactionManagerRpc.use(cassette, id));
     this.rpc = new TransactionManagerRpcExpectingData(transactionManagerRpc);
   }
 
@@ -78,16 +82,11 @@ public abstract class PrivateTransactionManager implements NetworkMember {
   @Override
   public void start() {
     try {
-      container.start();
-
-      container.followOutput(
-          outputFrame ->
-              LOG.info("{}: {}", getNodeName(), outputFrame.getUtf8String().stripTrailing()));
+      runtime.start();
+      runtime.followOutput(line -> LOG.info("{}: {}", getNodeName(), line));
 
       transactionManagerRpc.bind(
-          container.getContainerId(),
-          container.getContainerIpAddress(),
-          container.getMappedPort(CONTAINER_HTTP_RPC_PORT));
+          runtime.id(), runtime.hostAddress(), runtime.hostPort(CONTAINER_HTTP_RPC_PORT));
 
       // TODO validate the node has the expected state, e.g. consensus, genesis,
       // networkId,
@@ -95,17 +94,16 @@ public abstract class PrivateTransactionManager implements NetworkMember {
 
       logTransactionManagerDetails();
       logPortMappings();
-      logContainerNetworkDetails();
     } catch (final ContainerLaunchException e) {
-      LOG.error(container.getLogs());
+      LOG.error(runtime.getLogs());
       throw e;
     }
   }
 
   @Override
   public void stop() {
-    if (container != null) {
-      container.stop();
+    if (runtime != null) {
+      runtime.stop();
     }
     if (transactionManagerRpc != null) {
       transactionManagerRpc.close();
@@ -126,8 +124,12 @@ public abstract class PrivateTransactionManager implements NetworkMember {
     return rpc;
   }
 
-  public String getNetworkRpcAddress() {
-    return networkRpcAddress;
+  /** @return RPC address the member running in the client runtime uses to reach the manager. */
+  public String getNetworkRpcAddressFrom(final NodeRuntime client) {
+    return String.format(
+        "http://%s:%s",
+        runtime.networkAddressFrom(client),
+        runtime.networkPortFrom(client, CONTAINER_HTTP_RPC_PORT));
   }
 
   // TODO stronger typing than String
@@ -163,71 +165,42 @@ public abstract class PrivateTransactionManager implements NetworkMember {
   }
 
   protected void addPrivateKeys(
-      final PrivateTransactionManagerConfiguration config,
-      final String containerWorkingDir,
-      final GenericContainer<?> container) {
+      final PrivateTransactionManagerConfiguration config, final String containerWorkingDir) {
     for (final PrivacyPrivateKeyResource key : config.getPrivateKeys()) {
       final String location = key.get();
-      container.withClasspathResourceMapping(
-          location, Path.of(containerWorkingDir, location).toString(), BindMode.READ_ONLY);
+      runtime.provisionClasspathResource(
+          location, Path.of(containerWorkingDir, location).toString());
     }
   }
 
   protected void addPublicKeys(
-      final PrivateTransactionManagerConfiguration config,
-      final String containerWorkingDir,
-      final GenericContainer<?> container) {
+      final PrivateTransactionManagerConfiguration config, final String containerWorkingDir) {
     for (final PrivacyPublicKeyResource key : config.getPublicKeys()) {
       final String location = key.get();
-      container.withClasspathResourceMapping(
-          location, Path.of(containerWorkingDir, location).toString(), BindMode.READ_ONLY);
+      runtime.provisionClasspathResource(
+          location, Path.of(containerWorkingDir, location).toString());
     }
   }
 
   public String getLogs() {
-    return DockerLogs.format("TransactionManager", container);
+    return DockerLogs.format("TransactionManager", runtime);
   }
 
   private void logTransactionManagerDetails() {
-    LOG.info("TransactionManager Container: {}, ID: {}", container.getContainerId(), id);
-  }
-
-  private void logContainerNetworkDetails() {
-    if (container.getNetwork() == null) {
-      LOG.info("TransactionManager Container: {}, has no network", container.getContainerId());
-    } else {
-      LOG.info(
-          "TransactionManager Container: {}, IP address: {}, Network: {}",
-          container.getContainerId(),
-          container.getContainerIpAddress(),
-          container.getNetwork().getId());
-    }
+    LOG.info("TransactionManager Container: {}, ID: {}", runtime.id(), id);
   }
 
   private void logPortMappings() {
     LOG.info(
         "TransactionManager Container: {}, HTTP RPC port mapping: {} -> {}, p2p port mapping: {} -> {}",
-        container.getContainerId(),
+        runtime.id(),
         CONTAINER_HTTP_RPC_PORT,
-        container.getMappedPort(CONTAINER_HTTP_RPC_PORT),
+        runtime.hostPort(CONTAINER_HTTP_RPC_PORT),
         CONTAINER_PEER_TO_PEER_PORT,
-        container.getMappedPort(CONTAINER_PEER_TO_PEER_PORT));
-  }
-
-  protected void addContainerNetwork(
-      final PrivateTransactionManagerConfiguration config, final GenericContainer<?> container) {
-    container.withNetwork(config.getContainerNetwork());
+        runtime.hostPort(CONTAINER_PEER_TO_PEER_PORT));
   }
 
-  protected void addContainerIpAddress(
-      final PrivateTransactionManagerConfiguration config, final GenericContainer<?> container) {
-    container.withCreateContainerCmdModifier(
-        modifier -> modifier.withIpv4Address(config.getIpAddress().get()));
-  }
-
-  protected void addConfigurationFile(
-      final PrivateTransactionManagerConfiguration config, final GenericContainer<?> container) {
-    container.withCopyFileToContainer(
-        MountableFile.forHostPath(config.getFileSystemConfigurationFile()), CONTAINER_CONFIG_FILE);
+  protected void addConfigurationFile(final PrivateTransactionManagerConfiguration config) {
+    runtime.provisionFile(config.getFileSystemConfigurationFile(), CONTAINER_CONFIG_FILE);
   }
 }
@@ -12,6 +12,7 @@
  */
 package tech.pegasys.peeps.privacy;
 
+import tech.pegasys.peeps.json.rpc.Cassette;
 import tech.pegasys.peeps.network.subnet.SubnetAddress;
 import tech.pegasys.peeps.privacy.model.PrivacyPrivateKeyResource;
 import tech.pegasys.peeps.privacy.model.PrivacyPublicKeyResource;
@@ -29,6 +30,7 @@ public class PrivateTransactionManagerConfiguration {
   private final List<PrivacyPublicKeyResource> pubKeys;
   private final List<String> bootnodeUrls;
   private final Path fileSystemConfigurationFile;
+  private final Optional<Cassette> cassette;
 
   // TODO move these out, they are not related to the node, but test container setups
   private final Network containerNetwork;
@@ -42,7 +44,8 @@ public class PrivateTransactionManagerConfiguration {
       final SubnetAddress ipAddress,
       final Network containerNetwork,
       final Vertx vertx,
-      final Path fileSystemConfigurationFile) {
+      final Path fileSystemConfigurationFile,
+      final Cassette cassette) {
     this.privKeys = privKeys;
     this.pubKeys = pubKeys;
     this.bootnodeUrls = bootnodeUrls;
@@ -50,6 +53,7 @@ public class PrivateTransactionManagerConfiguration {
     this.containerNetwork = containerNetwork;
     this.vertx = vertx;
     this.fileSystemConfigurationFile = fileSystemConfigurationFile;
+    this.cassette = Optional.ofNullable(cassette);
   }
 
   public Path getFileSystemConfigurationFile() {
@@ -79,4 +83,9 @@ public class PrivateTransactionManagerConfiguration {
   public Vertx getVertx() {
     return vertx;
   }
+
+  /** When present the RPC exchanges are recorded to, or replayed from, the cassette. */
+  public Optional<Cassette> getCassette() {
+    return cassette;
+  }
 }
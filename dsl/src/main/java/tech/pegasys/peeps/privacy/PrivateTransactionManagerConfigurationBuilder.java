@@ -15,6 +15,7 @@ package tech.pegasys.peeps.privacy;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import tech.pegasys.peeps.json.rpc.Cassette;
 import tech.pegasys.peeps.network.subnet.SubnetAddress;
 import tech.pegasys.peeps.privacy.model.PrivacyKeyPair;
 import tech.pegasys.peeps.privacy.model.PrivacyPrivateKeyResource;
@@ -33,6 +34,7 @@ public class PrivateTransactionManagerConfigurationBuilder {
   private List<PrivacyPublicKeyResource> pubKeys;
   private List<String> bootnodeUrls;
   private Path fileSystemConfigFile;
+  private Cassette cassette;
 
   // TODO these into their own builder, not node related but test container related
   private Network containerNetwork;
@@ -81,6 +83,11 @@ public class PrivateTransactionManagerConfigurationBuilder {
     return this;
   }
 
+  public PrivateTransactionManagerConfigurationBuilder withCassette(final Cassette cassette) {
+    this.cassette = cassette;
+    return this;
+  }
+
   public PrivateTransactionManagerConfiguration build() {
     checkNotNull(privKeys, "Private keys are mandatory");
     checkArgument(privKeys.size() > 0, "At least one private key is required");
@@ -92,6 +99,13 @@ public class PrivateTransactionManagerConfigurationBuilder {
     checkNotNull(ipAddress, "Container IP Address is mandatory");
 
     return new PrivateTransactionManagerConfiguration(
-        privKeys, pubKeys, bootnodeUrls, ipAddress, containerNetwork, vertx, fileSystemConfigFile);
+        privKeys,
+        pubKeys,
+        bootnodeUrls,
+        ipAddress,
+        containerNetwork,
+        vertx,
+        fileSystemConfigFile,
+        cassette);
   }
 }
@@ -33,11 +33,9 @@ public class Tessera extends PrivateTransactionManager {
         new GenericContainer<>(TESSERA_IMAGE)
             .withReuse(false)
             .withImagePullPolicy(PullPolicy.ageBased(Duration.ofHours(1))));
-    addContainerNetwork(config, container);
-    addContainerIpAddress(config, container);
-    addPrivateKeys(config, CONTAINER_WORKING_DIRECTORY_PREFIX, container);
-    addPublicKeys(config, CONTAINER_WORKING_DIRECTORY_PREFIX, container);
-    addConfigurationFile(config, container);
+    addPrivateKeys(config, CONTAINER_WORKING_DIRECTORY_PREFIX);
+    addPublicKeys(config, CONTAINER_WORKING_DIRECTORY_PREFIX);
+    addConfigurationFile(config);
     container.addExposedPort(CONTAINER_PEER_TO_PEER_PORT);
     container.addExposedPort(CONTAINER_HTTP_RPC_PORT);
 
@@ -45,7 +43,8 @@ public class Tessera extends PrivateTransactionManager {
     commandLineOptions.add("-configfile");
     commandLineOptions.add(CONTAINER_CONFIG_FILE);
 
-    container.withCommand(commandLineOptions.toArray(new String[0])).waitingFor(liveliness());
+    runtime.withCommand(commandLineOptions);
+    container.waitingFor(liveliness());
   }
 
   @Override
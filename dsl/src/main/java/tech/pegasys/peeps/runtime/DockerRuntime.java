@@ -0,0 +1,137 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.runtime;
+
+import tech.pegasys.peeps.network.subnet.SubnetAddress;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testcontainers.containers.BindMode;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.Network;
+import org.testcontainers.utility.MountableFile;
+
+/** Runs the Network member inside a Docker container, with a fixed IP on the Network's subnet. */
+public class DockerRuntime implements NodeRuntime {
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  private final GenericContainer<?> container;
+  private final SubnetAddress ipAddress;
+
+  public DockerRuntime(
+      final GenericContainer<?> container,
+      final Network containerNetwork,
+      final SubnetAddress ipAddress) {
+    this.container = container;
+    this.ipAddress = ipAddress;
+
+    container.withNetwork(containerNetwork);
+    container.withCreateContainerCmdModifier(modifier -> modifier.withIpv4Address(ipAddress.get()));
+  }
+
+  /** Docker specific configuration, such as wait strategies and entry points. */
+  public GenericContainer<?> container() {
+    return container;
+  }
+
+  @Override
+  public void start() {
+    container.start();
+
+    LOG.info(
+        "Started container {} with imageId {}",
+        container.getDockerImageName(),
+        container.getContainerInfo().getImageId());
+
+    logContainerNetworkDetails();
+  }
+
+  @Override
+  public void stop() {
+    container.stop();
+  }
+
+  @Override
+  public void withCommand(final List<String> arguments) {
+    container.withCommand(arguments.toArray(new String[0]));
+  }
+
+  @Override
+  public String provisionFile(final Path hostFile, final String runtimeLocation) {
+    container.withCopyFileToContainer(MountableFile.forHostPath(hostFile), runtimeLocation);
+    return runtimeLocation;
+  }
+
+  @Override
+  public String provisionClasspathResource(final String resource, final String runtimeLocation) {
+    container.withClasspathResourceMapping(resource, runtimeLocation, BindMode.READ_ONLY);
+    return runtimeLocation;
+  }
+
+  @Override
+  public String resolveDirectory(final String runtimeLocation) {
+    return runtimeLocation;
+  }
+
+  @Override
+  public String networkAddress() {
+    return ipAddress.get();
+  }
+
+  @Override
+  public int networkPort(final int defaultPort) {
+    return defaultPort;
+  }
+
+  @Override
+  public String hostAddress() {
+    return container.getContainerIpAddress();
+  }
+
+  @Override
+  public int hostPort(final int defaultPort) {
+    return container.getMappedPort(defaultPort);
+  }
+
+  @Override
+  public String id() {
+    return container.getContainerId();
+  }
+
+  @Override
+  public String getLogs() {
+    return container.getLogs();
+  }
+
+  @Override
+  public void followOutput(final Consumer<String> line) {
+    container.followOutput(outputFrame -> line.accept(outputFrame.getUtf8String().stripTrailing()));
+  }
+
+  private void logContainerNetworkDetails() {
+    if (container.getNetwork() == null) {
+      LOG.info("Container: {}, has no network", container.getContainerId());
+    } else {
+      LOG.info(
+          "Container: {}, IP address: {}, Network: {}",
+          container.getContainerId(),
+          container.getContainerIpAddress(),
+          container.getNetwork().getId());
+    }
+  }
+}
@@ -0,0 +1,336 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.runtime;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+import static org.assertj.core.api.Assertions.assertThat;
+import static tech.pegasys.peeps.util.Await.await;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.google.common.base.MoreObjects;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testcontainers.Testcontainers;
+import org.testcontainers.containers.GenericContainer;
+
+/**
+ * Runs the Network member as a child process of the JVM, from a client distribution installed on
+ * the host, listening only on loopback ports.
+ *
+ * <p>Avoids the container creation overhead and lets native host tooling (profilers, debuggers)
+ * attach directly to the process. Members running in containers reach it through the host ports
+ * Testcontainers exposes to them.
+ */
+public class LocalProcessRuntime implements NodeRuntime {
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  private static final String LOOPBACK_ADDRESS = "127.0.0.1";
+  private static final int STARTUP_TIMEOUT_SECONDS = 60;
+  private static final int STOP_TIMEOUT_SECONDS = 10;
+  private static final int CONNECT_TIMEOUT_MILLIS = 250;
+  private static final int RETAINED_LOG_LINES = 5000;
+
+  private final String identity;
+  private final Path executable;
+  private final Path workingDirectory;
+  private final int readinessPort;
+
+  private final List<String> arguments = new ArrayList<>();
+  private final Map<Integer, Integer> ports = new ConcurrentHashMap<>();
+  private final Map<Path, Path> files = new ConcurrentHashMap<>();
+  private final Map<Path, String> classpathResources = new ConcurrentHashMap<>();
+  private final List<Consumer<String>> outputFollowers = new CopyOnWriteArrayList<>();
+  private final Deque<String> logs = new ArrayDeque<>();
+
+  private Process process;
+
+  /**
+   * @param identity name of the Network member, used for the working directory and logging.
+   * @param executable launcher script or binary of the client distribution.
+   * @param readinessPort default port that is accepting connections once the process is ready.
+   */
+  public LocalProcessRuntime(
+      final String identity, final Path executable, final int readinessPort) {
+    checkArgument(Files.isExecutable(executable), "Cannot execute: %s", executable);
+    this.identity = identity;
+    this.executable = executable;
+    this.readinessPort = readinessPort;
+
+    try {
+      this.workingDirectory = Files.createTempDirectory("peeps-" + identity);
+    } catch (final IOException e) {
+      throw new UncheckedIOException("Failed creating working directory for " + identity, e);
+    }
+  }
+
+  @Override
+  public synchronized void start() {
+    checkState(process == null, "Process for %s is already running", identity);
+
+    provisionFiles();
+
+    final List<String> command = new ArrayList<>();
+    command.add(executable.toString());
+    command.addAll(arguments);
+
+    try {
+      process =
+          new ProcessBuilder(command)
+              .directory(workingDirectory.toFile())
+              .redirectErrorStream(true)
+              .start();
+    } catch (final IOException e) {
+      throw new UncheckedIOException("Failed to launch " + executable, e);
+    }
+
+    final Thread output = new Thread(this::streamOutput, identity + "-output");
+    output.setDaemon(true);
+    output.start();
+
+    LOG.info("Started process {}, pid: {}, command: {}", identity, process.pid(), command);
+
+    await(
+        () -> assertThat(isAcceptingConnections(hostPort(readinessPort))).isTrue(),
+        STARTUP_TIMEOUT_SECONDS,
+        "Process %s failed to accept connections on port %s",
+        identity,
+        hostPort(readinessPort));
+  }
+
+  @Override
+  public synchronized void stop() {
+    if (process == null) {
+      return;
+    }
+
+    process.destroy();
+
+    try {
+      if (!process.waitFor(STOP_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+        LOG.warn("Process {} did not stop in time, forcibly destroying", identity);
+        process.destroyForcibly().waitFor();
+      }
+    } catch (final InterruptedException e) {
+      process.destroyForcibly();
+      Thread.currentThread().interrupt();
+    }
+
+    process = null;
+    outputFollowers.clear();
+  }
+
+  /** Stops the process and deletes its working directory. */
+  @Override
+  public synchronized void close() {
+    stop();
+    if (!Files.exists(workingDirectory)) {
+      return;
+    }
+
+    try {
+      final List<Path> paths;
+      try (final Stream<Path> walk = Files.walk(workingDirectory)) {
+        paths = walk.sorted(Comparator.reverseOrder()).collect(Collectors.toList());
+      }
+      for (final Path path : paths) {
+        Files.deleteIfExists(path);
+      }
+    } catch (final IOException e) {
+      LOG.warn("Failed deleting working directory {} of {}", workingDirectory, identity, e);
+    }
+  }
+
+  @Override
+  public void withCommand(final List<String> arguments) {
+    this.arguments.clear();
+    this.arguments.addAll(arguments);
+  }
+
+  @Override
+  public String provisionFile(final Path hostFile, final String runtimeLocation) {
+    final Path target = resolve(runtimeLocation);
+    files.put(target, hostFile);
+    return target.toString();
+  }
+
+  @Override
+  public String provisionClasspathResource(final String resource, final String runtimeLocation) {
+    final Path target = resolve(runtimeLocation);
+    classpathResources.put(target, resource);
+    return target.toString();
+  }
+
+  @Override
+  public String resolveDirectory(final String runtimeLocation) {
+    return resolve(runtimeLocation).toString();
+  }
+
+  @Override
+  public String networkAddress() {
+    return LOOPBACK_ADDRESS;
+  }
+
+  @Override
+  public int networkPort(final int defaultPort) {
+    return ports.computeIfAbsent(defaultPort, port -> freePort());
+  }
+
+  @Override
+  public String networkAddressFrom(final NodeRuntime client) {
+    return client instanceof DockerRuntime
+        ? GenericContainer.INTERNAL_HOST_HOSTNAME
+        : networkAddress();
+  }
+
+  /** The port must be exposed before the container of the client starts. */
+  @Override
+  public int networkPortFrom(final NodeRuntime client, final int defaultPort) {
+    final int port = networkPort(defaultPort);
+    if (client instanceof DockerRuntime) {
+      Testcontainers.exposeHostPorts(port);
+    }
+    return port;
+  }
+
+  @Override
+  public String hostAddress() {
+    return LOOPBACK_ADDRESS;
+  }
+
+  @Override
+  public int hostPort(final int defaultPort) {
+    return networkPort(defaultPort);
+  }
+
+  @Override
+  public String id() {
+    return process == null ? identity : identity + "-" + process.pid();
+  }
+
+  @Override
+  public String getLogs() {
+    synchronized (logs) {
+      return String.join("\n", logs);
+    }
+  }
+
+  /** Followers are dropped when the process stops, so each start adds its own afresh. */
+  @Override
+  public void followOutput(final Consumer<String> line) {
+    outputFollowers.add(line);
+  }
+
+  public Path workingDirectory() {
+    return workingDirectory;
+  }
+
+  private Path resolve(final String runtimeLocation) {
+    return workingDirectory.resolve(runtimeLocation.replaceFirst("^/+", ""));
+  }
+
+  /** Mirrors Docker, where files are copied when the container is started, not when declared. */
+  private void provisionFiles() {
+    try {
+      for (final Map.Entry<Path, Path> file : files.entrySet()) {
+        Files.createDirectories(file.getKey().getParent());
+        Files.copy(file.getValue(), file.getKey(), StandardCopyOption.REPLACE_EXISTING);
+      }
+
+      for (final Map.Entry<Path, String> resource : classpathResources.entrySet()) {
+        Files.createDirectories(resource.getKey().getParent());
+        try (final InputStream in = classpathLoader().getResourceAsStream(resource.getValue())) {
+          checkNotNull(in, "'%s' is not found", resource.getValue());
+          Files.copy(in, resource.getKey(), StandardCopyOption.REPLACE_EXISTING);
+        }
+      }
+    } catch (final IOException e) {
+      throw new UncheckedIOException("Failed provisioning files for " + identity, e);
+    }
+  }
+
+  private void streamOutput() {
+    final Process running = process;
+    try (final BufferedReader reader =
+        new BufferedReader(
+            new InputStreamReader(running.getInputStream(), StandardCharsets.UTF_8))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        retain(line);
+        for (final Consumer<String> follower : outputFollowers) {
+          follower.accept(line);
+        }
+      }
+    } catch (final IOException e) {
+      LOG.debug("Output stream of process {} closed", identity, e);
+    }
+  }
+
+  private void retain(final String line) {
+    synchronized (logs) {
+      if (logs.size() == RETAINED_LOG_LINES) {
+        logs.removeFirst();
+      }
+      logs.addLast(line);
+    }
+  }
+
+  private boolean isAcceptingConnections(final int port) {
+    try (final Socket socket = new Socket()) {
+      socket.connect(new InetSocketAddress(LOOPBACK_ADDRESS, port), CONNECT_TIMEOUT_MILLIS);
+      return true;
+    } catch (final IOException e) {
+      return false;
+    }
+  }
+
+  private static int freePort() {
+    try (final ServerSocket socket = new ServerSocket(0)) {
+      socket.setReuseAddress(true);
+      return socket.getLocalPort();
+    } catch (final IOException e) {
+      throw new UncheckedIOException("No free loopback port available", e);
+    }
+  }
+
+  private static ClassLoader classpathLoader() {
+    return MoreObjects.firstNonNull(
+        Thread.currentThread().getContextClassLoader(), LocalProcessRuntime.class.getClassLoader());
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.runtime;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Where the process of a Network member runs, e.g. a Docker container or a local child process.
+ *
+ * <p>Locations and ports are expressed as they would be inside a container; each runtime
+ * translates them into what the process actually uses.
+ */
+public interface NodeRuntime {
+
+  void start();
+
+  void stop();
+
+  void withCommand(List<String> arguments);
+
+  /**
+   * Makes a host file available to the process when it starts.
+   *
+   * @return the location the process must use to read the file.
+   */
+  String provisionFile(Path hostFile, String runtimeLocation);
+
+  /**
+   * Makes a classpath resource available to the process when it starts.
+   *
+   * @return the location the process must use to read the resource.
+   */
+  String provisionClasspathResource(String resource, String runtimeLocation);
+
+  /** @return the location the process must use for the given directory. */
+  String resolveDirectory(String runtimeLocation);
+
+  /** @return address other Network members use to reach the process. */
+  String networkAddress();
+
+  /** @return port the process listens on, as seen by other Network members. */
+  int networkPort(int defaultPort);
+
+  /** @return address the member running in the client runtime uses to reach the process. */
+  default String networkAddressFrom(final NodeRuntime client) {
+    return networkAddress();
+  }
+
+  /** @return port the member running in the client runtime uses to reach the process. */
+  default int networkPortFrom(final NodeRuntime client, final int defaultPort) {
+    return networkPort(defaultPort);
+  }
+
+  /** @return address the DSL uses to reach the process. */
+  String hostAddress();
+
+  /** @return port the DSL uses to reach the process, only available after start. */
+  int hostPort(int defaultPort);
+
+  String id();
+
+  String getLogs();
+
+  /** Follows the output of the process until it is stopped. */
+  void followOutput(Consumer<String> line);
+
+  /** Releases what is kept between runs of the process, once it will not be started again. */
+  default void close() {}
+}
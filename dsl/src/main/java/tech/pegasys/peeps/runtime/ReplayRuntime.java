@@ -0,0 +1,119 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.runtime;
+
+import tech.pegasys.peeps.json.rpc.Cassette;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Stands in for a runtime whose RPC responses are replayed from a {@link Cassette}: the member is
+ * configured as usual, but its process is never started.
+ */
+public class ReplayRuntime implements NodeRuntime {
+
+  private static final String LOOPBACK_ADDRESS = "127.0.0.1";
+
+  private final NodeRuntime configured;
+
+  public ReplayRuntime(final NodeRuntime configured) {
+    this.configured = configured;
+  }
+
+  /** @return the runtime, or a stand-in when the cassette replays. */
+  public static NodeRuntime replayingOr(
+      final Optional<Cassette> cassette, final NodeRuntime runtime) {
+    if (cassette.filter(Cassette::isReplaying).isPresent()) {
+      return new ReplayRuntime(runtime);
+    }
+    return runtime;
+  }
+
+  @Override
+  public void start() {}
+
+  @Override
+  public void stop() {}
+
+  @Override
+  public void withCommand(final List<String> arguments) {
+    configured.withCommand(arguments);
+  }
+
+  @Override
+  public String provisionFile(final Path hostFile, final String runtimeLocation) {
+    return configured.provisionFile(hostFile, runtimeLocation);
+  }
+
+  @Override
+  public String provisionClasspathResource(final String resource, final String runtimeLocation) {
+    return configured.provisionClasspathResource(resource, runtimeLocation);
+  }
+
+  @Override
+  public String resolveDirectory(final String runtimeLocation) {
+    return configured.resolveDirectory(runtimeLocation);
+  }
+
+  @Override
+  public String networkAddress() {
+    return configured.networkAddress();
+  }
+
+  @Override
+  public int networkPort(final int defaultPort) {
+    return configured.networkPort(defaultPort);
+  }
+
+  /** Nothing is started to reach, so no host port is exposed to containers. */
+  @Override
+  public String networkAddressFrom(final NodeRuntime client) {
+    return configured.networkAddress();
+  }
+
+  @Override
+  public int networkPortFrom(final NodeRuntime client, final int defaultPort) {
+    return configured.networkPort(defaultPort);
+  }
+
+  @Override
+  public String hostAddress() {
+    return LOOPBACK_ADDRESS;
+  }
+
+  @Override
+  public int hostPort(final int defaultPort) {
+    return defaultPort;
+  }
+
+  @Override
+  public String id() {
+    return "replay";
+  }
+
+  @Override
+  public String getLogs() {
+    return "";
+  }
+
+  @Override
+  public void followOutput(final Consumer<String> line) {}
+
+  @Override
+  public void close() {
+    configured.close();
+  }
+}
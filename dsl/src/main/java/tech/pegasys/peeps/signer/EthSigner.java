@@ -20,6 +20,7 @@ import tech.pegasys.peeps.network.NetworkMember;
 import tech.pegasys.peeps.node.Web3Provider;
 import tech.pegasys.peeps.node.model.EnodeHelpers;
 import tech.pegasys.peeps.node.rpc.BesuQbftRpcClient;
+import tech.pegasys.peeps.runtime.DockerRuntime;
 import tech.pegasys.peeps.signer.rpc.SignerRpc;
 import tech.pegasys.peeps.signer.rpc.SignerRpcClient;
 import tech.pegasys.peeps.signer.rpc.SignerRpcMandatoryResponse;
@@ -33,7 +34,6 @@ import java.util.function.Supplier;
 import com.google.common.collect.Lists;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.testcontainers.containers.BindMode;
 import org.testcontainers.containers.ContainerLaunchException;
 import org.testcontainers.containers.GenericContainer;
 import org.testcontainers.containers.wait.strategy.HttpWaitStrategy;
@@ -52,28 +52,30 @@ public class EthSigner implements NetworkMember {
   private static final String CONTAINER_KEY_FILE = "/etc/ethsigner/key_file.v3";
   private static final String CONTAINER_PASSWORD_FILE = "/etc/ethsigner/password_file.txt";
 
-  private final GenericContainer<?> ethSigner;
+  private final DockerRuntime ethSigner;
   private final JsonRpcClient jsonRpcClient;
   private final SignerRpc rpc;
   private final Web3Provider downstream;
 
   public EthSigner(final EthSignerConfiguration config) {
 
-    final GenericContainer<?> container = new GenericContainer<>(ETH_SIGNER_IMAGE);
+    this.ethSigner =
+        new DockerRuntime(
+            new GenericContainer<>(ETH_SIGNER_IMAGE),
+            config.getContainerNetwork(),
+            config.getIpAddress());
     final List<String> commandLineOptions = standardCommandLineOptions();
 
     addChainId(config, commandLineOptions);
     addDownstreamPort(config, commandLineOptions);
     addDownstreamHost(config, commandLineOptions);
-    addContainerNetwork(config, container);
-    addContainerIpAddress(config, container);
-    addFileBasedSigner(config, commandLineOptions, container);
+    addFileBasedSigner(config, commandLineOptions);
 
     LOG.info("EthSigner command line: {}", commandLineOptions);
 
     this.downstream = config.getDownstream();
-    this.ethSigner =
-        container.withCommand(commandLineOptions.toArray(new String[0])).waitingFor(liveliness());
+    ethSigner.withCommand(commandLineOptions);
+    ethSigner.container().waitingFor(liveliness());
 
     jsonRpcClient = new JsonRpcClient(config.getVertx(), DOWNSTREAM_TIMEOUT, LOG, dockerLogs());
     final BesuQbftRpcClient qbftRpc = new BesuQbftRpcClient(jsonRpcClient);
@@ -87,15 +89,12 @@ public class EthSigner implements NetworkMember {
       ethSigner.start();
 
       jsonRpcClient.bind(
-          ethSigner.getContainerId(),
-          ethSigner.getContainerIpAddress(),
-          ethSigner.getMappedPort(CONTAINER_HTTP_RPC_PORT));
+          ethSigner.id(), ethSigner.hostAddress(), ethSigner.hostPort(CONTAINER_HTTP_RPC_PORT));
 
       // TODO validate the node has the expected state, e.g. consensus, genesis, networkId,
       // protocol(s), ports, listen address
 
       logPortMappings();
-      logContainerNetworkDetails();
     } catch (final ContainerLaunchException e) {
       LOG.error(ethSigner.getLogs());
       throw e;
@@ -151,24 +150,12 @@ public class EthSigner implements NetworkMember {
         String.valueOf(DOWNSTREAM_TIMEOUT.toMillis()));
   }
 
-  private void logContainerNetworkDetails() {
-    if (ethSigner.getNetwork() == null) {
-      LOG.info("EthSigner Container: {}, has no network", ethSigner.getContainerId());
-    } else {
-      LOG.info(
-          "EthSigner Container: {}, IP address: {}, Network: {}",
-          ethSigner.getContainerId(),
-          ethSigner.getContainerIpAddress(),
-          ethSigner.getNetwork().getId());
-    }
-  }
-
   private void logPortMappings() {
     LOG.info(
         "EthSigner Container: {}, HTTP RPC port mapping: {} -> {}",
-        ethSigner.getContainerId(),
+        ethSigner.id(),
         CONTAINER_HTTP_RPC_PORT,
-        ethSigner.getMappedPort(CONTAINER_HTTP_RPC_PORT));
+        ethSigner.hostPort(CONTAINER_HTTP_RPC_PORT));
   }
 
   private void addChainId(
@@ -180,40 +167,26 @@ public class EthSigner implements NetworkMember {
   private void addDownstreamPort(
       final EthSignerConfiguration config, final List<String> commandLineOptions) {
     commandLineOptions.add("--downstream-http-port");
-    commandLineOptions.add(String.valueOf(config.getDownstream().httpRpcPort()));
+    commandLineOptions.add(String.valueOf(config.getDownstream().httpRpcPortFrom(ethSigner)));
   }
 
   private void addDownstreamHost(
       final EthSignerConfiguration config, final List<String> commandLineOptions) {
     commandLineOptions.add("--downstream-http-host");
-    commandLineOptions.add(config.getDownstream().ipAddress().get());
-  }
-
-  private void addContainerNetwork(
-      final EthSignerConfiguration config, final GenericContainer<?> container) {
-    container.withNetwork(config.getContainerNetwork());
-  }
-
-  private void addContainerIpAddress(
-      final EthSignerConfiguration config, final GenericContainer<?> container) {
-    container.withCreateContainerCmdModifier(
-        modifier -> modifier.withIpv4Address(config.getIpAddress().get()));
+    commandLineOptions.add(config.getDownstream().networkAddressFrom(ethSigner));
   }
 
   private void addFileBasedSigner(
-      final EthSignerConfiguration config,
-      final List<String> commandLineOptions,
-      final GenericContainer<?> container) {
+      final EthSignerConfiguration config, final List<String> commandLineOptions) {
     commandLineOptions.add("file-based-signer");
 
     commandLineOptions.add("--key-file");
-    commandLineOptions.add(CONTAINER_KEY_FILE);
-    container.withClasspathResourceMapping(
-        config.getKeyFile().get(), CONTAINER_KEY_FILE, BindMode.READ_ONLY);
+    commandLineOptions.add(
+        ethSigner.provisionClasspathResource(config.getKeyFile().get(), CONTAINER_KEY_FILE));
 
     commandLineOptions.add("--password-file");
-    commandLineOptions.add(CONTAINER_PASSWORD_FILE);
-    container.withClasspathResourceMapping(
-        config.getPasswordFile().get(), CONTAINER_PASSWORD_FILE, BindMode.READ_ONLY);
+    commandLineOptions.add(
+        ethSigner.provisionClasspathResource(
+            config.getPasswordFile().get(), CONTAINER_PASSWORD_FILE));
   }
 }
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.signer.local;
+
+import static org.web3j.crypto.Hash.sha3;
+
+import tech.pegasys.peeps.node.model.Hash;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import org.web3j.crypto.TransactionEncoder;
+import org.web3j.utils.Numeric;
+
+/**
+ * Signs transactions inside the JVM, in place of an EthSigner, for submission with
+ * eth_sendRawTransaction.
+ *
+ * <p>Batches are signed in parallel across the cores, keeping the cost of signing out of what a
+ * load measures of the nodes.
+ */
+public class LocalSigner {
+
+  private final long chainId;
+
+  public LocalSigner(final long chainId) {
+    this.chainId = chainId;
+  }
+
+  public long getChainId() {
+    return chainId;
+  }
+
+  public SignedTransaction sign(final Transfer transfer) {
+    final byte[] encoded =
+        TransactionEncoder.signMessage(transfer.toRawTransaction(), chainId, transfer.getSender());
+
+    return new SignedTransaction(
+        Numeric.toHexString(encoded),
+        new Hash(Numeric.toHexString(sha3(encoded))),
+        transfer.getSenderAddress(),
+        transfer.getNonce());
+  }
+
+  public SigningReport signAll(final List<Transfer> transfers) {
+    final long start = System.nanoTime();
+    final List<SignedTransaction> signed =
+        transfers.parallelStream().map(this::sign).collect(Collectors.toList());
+
+    return new SigningReport(
+        signed,
+        Duration.ofNanos(System.nanoTime() - start),
+        ForkJoinPool.getCommonPoolParallelism() + 1);
+  }
+}
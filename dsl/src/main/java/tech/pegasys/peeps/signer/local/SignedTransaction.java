@@ -0,0 +1,51 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.signer.local;
+
+import tech.pegasys.peeps.node.model.Hash;
+
+import org.apache.tuweni.eth.Address;
+
+/** Transaction signed in the JVM, ready for eth_sendRawTransaction. */
+public class SignedTransaction {
+
+  private final String encoded;
+  private final Hash hash;
+  private final Address sender;
+  private final long nonce;
+
+  public SignedTransaction(
+      final String encoded, final Hash hash, final Address sender, final long nonce) {
+    this.encoded = encoded;
+    this.hash = hash;
+    this.sender = sender;
+    this.nonce = nonce;
+  }
+
+  /** @return the RLP encoding of the signed transaction, as hex. */
+  public String getEncoded() {
+    return encoded;
+  }
+
+  public Hash getHash() {
+    return hash;
+  }
+
+  public Address getSender() {
+    return sender;
+  }
+
+  public long getNonce() {
+    return nonce;
+  }
+}
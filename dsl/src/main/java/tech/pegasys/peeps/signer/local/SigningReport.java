@@ -0,0 +1,57 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.signer.local;
+
+import java.time.Duration;
+import java.util.List;
+
+/** Transactions signed as a batch, with how long the signing took on its own. */
+public class SigningReport {
+
+  private static final double NANOS_PER_SECOND = 1_000_000_000d;
+
+  private final List<SignedTransaction> transactions;
+  private final Duration elapsed;
+  private final int parallelism;
+
+  public SigningReport(
+      final List<SignedTransaction> transactions, final Duration elapsed, final int parallelism) {
+    this.transactions = List.copyOf(transactions);
+    this.elapsed = elapsed;
+    this.parallelism = parallelism;
+  }
+
+  /** @return the signed transactions, in the order of their transfers. */
+  public List<SignedTransaction> getTransactions() {
+    return transactions;
+  }
+
+  public Duration getElapsed() {
+    return elapsed;
+  }
+
+  public int getParallelism() {
+    return parallelism;
+  }
+
+  public double getTransactionsPerSecond() {
+    return elapsed.isZero() ? 0 : transactions.size() * NANOS_PER_SECOND / elapsed.toNanos();
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "signed %d transactions in %d ms: %.1f per second on %d threads",
+        transactions.size(), elapsed.toMillis(), getTransactionsPerSecond(), parallelism);
+  }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.signer.local;
+
+import java.math.BigInteger;
+
+import org.apache.tuweni.eth.Address;
+import org.apache.tuweni.units.ethereum.Wei;
+import org.web3j.crypto.Credentials;
+import org.web3j.crypto.RawTransaction;
+
+/** Value transfer to be signed in the JVM, with the sender's nonce already decided. */
+public class Transfer {
+
+  private static final BigInteger GAS_LIMIT = BigInteger.valueOf(21_000);
+  private static final BigInteger GAS_PRICE = BigInteger.ZERO;
+
+  private final Credentials sender;
+  private final Address receiver;
+  private final Wei amount;
+  private final long nonce;
+
+  public Transfer(
+      final Credentials sender, final Address receiver, final Wei amount, final long nonce) {
+    this.sender = sender;
+    this.receiver = receiver;
+    this.amount = amount;
+    this.nonce = nonce;
+  }
+
+  public Credentials getSender() {
+    return sender;
+  }
+
+  public Address getSenderAddress() {
+    return Address.fromHexString(sender.getAddress());
+  }
+
+  public Address getReceiver() {
+    return receiver;
+  }
+
+  public Wei getAmount() {
+    return amount;
+  }
+
+  public long getNonce() {
+    return nonce;
+  }
+
+  RawTransaction toRawTransaction() {
+    return RawTransaction.createEtherTransaction(
+        BigInteger.valueOf(nonce),
+        GAS_PRICE,
+        GAS_LIMIT,
+        receiver.toHexString(),
+        amount.toBigInteger());
+  }
+}
@@ -24,6 +24,9 @@ public interface SignerRpc extends NodeRpc {
 
   Hash transfer(Address sender, Address receiver, Wei amount);
 
+  /** Sent only once, as a retry of an accepted transaction would be rejected for its nonce. */
+  Hash transfer(Address sender, Address receiver, Wei amount, long nonce);
+
   NodeInfo getConnectedNodeInfo();
 
   Hash deployContractToPrivacyGroup(
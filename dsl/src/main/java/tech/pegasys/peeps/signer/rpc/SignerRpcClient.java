@@ -48,11 +48,21 @@ public class SignerRpcClient extends NodeRpcClient {
   }
 
   public Hash transfer(final Address sender, final Address receiver, final Wei amount) {
-    return rpcClient
-        .post(
-            "eth_sendTransaction",
-            SendTransactionResponse.class,
-            new SendTransactionRequest(sender, receiver, null, amount))
-        .getResult();
+    return sendTransaction(new SendTransactionRequest(sender, receiver, null, amount));
+  }
+
+  public Hash transfer(
+      final Address sender, final Address receiver, final Wei amount, final long nonce) {
+    return sendTransaction(new SendTransactionRequest(sender, receiver, null, amount, nonce));
+  }
+
+  private Hash sendTransaction(final SendTransactionRequest request) {
+    final SendTransactionResponse response =
+        rpcClient.post("eth_sendTransaction", SendTransactionResponse.class, request);
+
+    if (response.getError() != null) {
+      throw new IllegalStateException("Transaction rejected: " + response.getError());
+    }
+    return response.getResult();
   }
 }
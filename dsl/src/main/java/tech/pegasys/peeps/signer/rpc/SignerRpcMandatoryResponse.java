@@ -43,6 +43,12 @@ public class SignerRpcMandatoryResponse extends NodeRpcMandatoryResponse impleme
     return rpc.transfer(sender, receiver, amount);
   }
 
+  @Override
+  public Hash transfer(
+      final Address sender, final Address receiver, final Wei amount, final long nonce) {
+    return rpc.transfer(sender, receiver, amount, nonce);
+  }
+
   @Override
   public NodeInfo getConnectedNodeInfo() {
     return rpc.nodeInfo();
@@ -12,6 +12,7 @@
  */
 package tech.pegasys.peeps.signer.rpc;
 
+import tech.pegasys.peeps.load.NonceManager;
 import tech.pegasys.peeps.node.model.Hash;
 import tech.pegasys.peeps.node.model.PrivacyTransactionReceipt;
 import tech.pegasys.peeps.node.model.Transaction;
@@ -62,6 +63,11 @@ public class SignerRpcSenderKnown {
     return rpc.transfer(sender, receiver, amount);
   }
 
+  /** Transfer with the next nonce of the sender from the manager, rather than the signer. */
+  public Hash transferTo(final Address receiver, final Wei amount, final NonceManager nonces) {
+    return nonces.submit(sender, nonce -> rpc.transfer(sender, receiver, amount, nonce));
+  }
+
   public Hash deployContractToPrivacyGroup(
       final String binary,
       final PrivacyAddreess string,
@@ -30,13 +30,25 @@ public class SendTransactionRequest {
   private final Address recipient;
   private final String data;
   private final Wei value;
+  private final Long nonce;
 
   public SendTransactionRequest(
       final Address sender, final Address recipient, final String data, final Wei value) {
+    this(sender, recipient, data, value, null);
+  }
+
+  /** @param nonce of the transaction, or null for the signer to choose it. */
+  public SendTransactionRequest(
+      final Address sender,
+      final Address recipient,
+      final String data,
+      final Wei value,
+      final Long nonce) {
     this.sender = sender;
     this.recipient = recipient;
     this.data = data;
     this.value = value;
+    this.nonce = nonce;
   }
 
   @JsonGetter("from")
@@ -74,4 +86,9 @@ public class SendTransactionRequest {
   public String getValue() {
     return value.toShortHexString();
   }
+
+  @JsonGetter("nonce")
+  public String getNonce() {
+    return nonce == null ? null : "0x" + Long.toHexString(nonce);
+  }
 }
@@ -12,21 +12,32 @@
  */
 package tech.pegasys.peeps.signer.rpc.eth;
 
+import tech.pegasys.peeps.json.rpc.JsonRpcError;
 import tech.pegasys.peeps.node.model.Hash;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+@JsonIgnoreProperties(ignoreUnknown = true)
 public class SendTransactionResponse {
 
   private final Hash result;
+  private final JsonRpcError error;
 
   @JsonCreator
-  public SendTransactionResponse(@JsonProperty("result") final Hash result) {
+  public SendTransactionResponse(
+      @JsonProperty("result") final Hash result, @JsonProperty("error") final JsonRpcError error) {
     this.result = result;
+    this.error = error;
   }
 
   public Hash getResult() {
     return result;
   }
+
+  /** @return why the node rejected the transaction, when it did. */
+  public JsonRpcError getError() {
+    return error;
+  }
 }
@@ -12,12 +12,12 @@
  */
 package tech.pegasys.peeps.util;
 
-import org.testcontainers.containers.GenericContainer;
+import tech.pegasys.peeps.runtime.NodeRuntime;
 
 public class DockerLogs {
-  public static String format(final String containerType, final GenericContainer<?> container) {
+  public static String format(final String containerType, final NodeRuntime runtime) {
     return String.format(
         "%s container: %s.\n%s",
-        containerType, container.getContainerId(), container.getLogs().replaceAll("\n\n", "\n\t"));
+        containerType, runtime.id(), runtime.getLogs().replaceAll("\n\n", "\n\t"));
   }
 }
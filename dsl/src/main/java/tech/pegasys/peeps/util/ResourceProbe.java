@@ -0,0 +1,73 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.util;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.OperatingSystemMXBean;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Measures what the JVM spends between {@link #start()} and {@link #stop()}: CPU time, heap and
+ * threads, for reporting the cost of the DSL itself.
+ */
+public class ResourceProbe {
+
+  private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+  private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+  private static final OperatingSystemMXBean OS = ManagementFactory.getOperatingSystemMXBean();
+
+  private final long startNanos;
+  private final long startCpuNanos;
+  private final long startHeapBytes;
+  private final int startThreads;
+
+  private ResourceProbe() {
+    THREADS.resetPeakThreadCount();
+    this.startHeapBytes = MEMORY.getHeapMemoryUsage().getUsed();
+    this.startThreads = THREADS.getThreadCount();
+    this.startCpuNanos = processCpuNanos();
+    this.startNanos = System.nanoTime();
+  }
+
+  public static ResourceProbe start() {
+    return new ResourceProbe();
+  }
+
+  public ResourceUsage stop() {
+    final long heapBytes = MEMORY.getHeapMemoryUsage().getUsed();
+
+    return new ResourceUsage(
+        Duration.ofNanos(System.nanoTime() - startNanos),
+        Duration.ofNanos(processCpuNanos() - startCpuNanos),
+        heapBytes,
+        heapBytes - startHeapBytes,
+        THREADS.getThreadCount(),
+        THREADS.getPeakThreadCount(),
+        THREADS.getPeakThreadCount() - startThreads);
+  }
+
+  private static long processCpuNanos() {
+    if (OS instanceof com.sun.management.OperatingSystemMXBean) {
+      return ((com.sun.management.OperatingSystemMXBean) OS).getProcessCpuTime();
+    }
+
+    // Without the process CPU time, the live threads are the best approximation
+    return Arrays.stream(THREADS.getAllThreadIds())
+        .map(THREADS::getThreadCpuTime)
+        .filter(nanos -> nanos > 0)
+        .sum();
+  }
+}
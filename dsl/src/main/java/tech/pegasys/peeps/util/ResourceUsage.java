@@ -0,0 +1,96 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.util;
+
+import java.time.Duration;
+
+/** JVM resources spent over the period measured by a {@link ResourceProbe}. */
+public class ResourceUsage {
+
+  private static final long MEBIBYTE = 1024 * 1024;
+
+  private final Duration elapsed;
+  private final Duration cpuTime;
+  private final long heapUsedBytes;
+  private final long heapGrowthBytes;
+  private final int liveThreads;
+  private final int peakThreads;
+  private final int threadGrowth;
+
+  public ResourceUsage(
+      final Duration elapsed,
+      final Duration cpuTime,
+      final long heapUsedBytes,
+      final long heapGrowthBytes,
+      final int liveThreads,
+      final int peakThreads,
+      final int threadGrowth) {
+    this.elapsed = elapsed;
+    this.cpuTime = cpuTime;
+    this.heapUsedBytes = heapUsedBytes;
+    this.heapGrowthBytes = heapGrowthBytes;
+    this.liveThreads = liveThreads;
+    this.peakThreads = peakThreads;
+    this.threadGrowth = threadGrowth;
+  }
+
+  public Duration getElapsed() {
+    return elapsed;
+  }
+
+  public Duration getCpuTime() {
+    return cpuTime;
+  }
+
+  /** @return average number of cores kept busy over the elapsed time. */
+  public double getCpuUtilization() {
+    return elapsed.isZero() ? 0 : (double) cpuTime.toNanos() / elapsed.toNanos();
+  }
+
+  public long getHeapUsedBytes() {
+    return heapUsedBytes;
+  }
+
+  /** @return change in the used heap, negative when a garbage collection freed more. */
+  public long getHeapGrowthBytes() {
+    return heapGrowthBytes;
+  }
+
+  public int getLiveThreads() {
+    return liveThreads;
+  }
+
+  public int getPeakThreads() {
+    return peakThreads;
+  }
+
+  /** @return threads at the peak beyond those live when measuring began. */
+  public int getThreadGrowth() {
+    return threadGrowth;
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "elapsed: %d ms, cpu: %d ms (%.2f cores), heap: %d MiB (%+d MiB), "
+            + "threads: %d (peak %d, %+d)",
+        elapsed.toMillis(),
+        cpuTime.toMillis(),
+        getCpuUtilization(),
+        heapUsedBytes / MEBIBYTE,
+        heapGrowthBytes / MEBIBYTE,
+        liveThreads,
+        peakThreads,
+        threadGrowth);
+  }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.json.rpc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import tech.pegasys.peeps.json.rpc.Cassette.Timing;
+import tech.pegasys.peeps.node.rpc.eth.GetBlockNumberResponse;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.json.JsonObject;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class CassetteTest {
+
+  private static final Logger LOG = LogManager.getLogger();
+  private static final String NODE = "alpha";
+
+  @TempDir Path directory;
+
+  private Vertx vertx;
+  private HttpServer server;
+  private Path file;
+
+  @BeforeEach
+  public void setUp() throws Exception {
+    vertx = Vertx.vertx();
+    file = directory.resolve("cassette.jsonl.gz");
+
+    final AtomicInteger blockNumber = new AtomicInteger();
+    final CompletableFuture<HttpServer> listening = new CompletableFuture<>();
+    vertx
+        .createHttpServer()
+        .requestHandler(
+            request ->
+                request.bodyHandler(
+                    body ->
+                        request
+                            .response()
+                            .end(
+                                new JsonObject()
+                                    .put("jsonrpc", "2.0")
+                                    .put("id", 1)
+                                    .put("result", "0x" + blockNumber.getAndIncrement())
+                                    .encode())))
+        .listen(
+            0,
+            "127.0.0.1",
+            result -> {
+              if (result.succeeded()) {
+                listening.complete(result.result());
+              } else {
+                listening.completeExceptionally(result.cause());
+              }
+            });
+    server = listening.get();
+  }
+
+  @AfterEach
+  public void tearDown() {
+    vertx.close();
+  }
+
+  @Test
+  public void replayMustServeRecordedResponsesInSequence() {
+    final Cassette recording = Cassette.record(file);
+    final JsonRpcClient recorder = client(recording);
+    recorder.bind("container", "127.0.0.1", server.actualPort());
+    assertThat(result(recorder, "eth_blockNumber")).isZero();
+    assertThat(result(recorder, "eth_blockNumber")).isEqualTo(1L);
+    recorder.close();
+    recording.close();
+
+    server.close();
+
+    final JsonRpcClient replayer = client(Cassette.replay(file, Timing.COMPRESSED));
+    replayer.bind("other-container", "127.0.0.1", 1);
+    assertThat(result(replayer, "eth_blockNumber")).isZero();
+    assertThat(result(replayer, "eth_blockNumber")).isEqualTo(1L);
+    assertThat(result(replayer, "eth_blockNumber")).isEqualTo(1L);
+  }
+
+  @Test
+  public void replayOfUnrecordedRequestMustFail() {
+    Cassette.record(file).close();
+
+    final JsonRpcClient replayer = client(Cassette.replay(file, Timing.COMPRESSED));
+    replayer.bind("container", "127.0.0.1", 1);
+
+    assertThatThrownBy(() -> result(replayer, "eth_chainId"))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("No recorded response");
+  }
+
+  private JsonRpcClient client(final Cassette cassette) {
+    final JsonRpcClient client = new JsonRpcClient(vertx, Duration.ofSeconds(1), LOG, Set.of());
+    client.use(cassette, NODE);
+    return client;
+  }
+
+  private static long result(final JsonRpcClient client, final String method) {
+    return client.post(method, GetBlockNumberResponse.class).getResult();
+  }
+}
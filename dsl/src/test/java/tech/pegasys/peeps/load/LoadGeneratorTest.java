@@ -0,0 +1,104 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.load;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.peeps.node.model.Hash;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.Test;
+
+public class LoadGeneratorTest {
+
+  private static final Hash HASH = new Hash("0x01");
+
+  @Test
+  public void warmUpTransactionsMustBeSentButNotReported() {
+    final Set<Long> sent = ConcurrentHashMap.newKeySet();
+    final LoadReport report =
+        new LoadGenerator(
+                new LoadConfigurationBuilder()
+                    .withTransactionsPerSecond(200)
+                    .withWarmUp(Duration.ofMillis(100))
+                    .withDuration(Duration.ofMillis(500))
+                    .build(),
+                sequence -> {
+                  sent.add(sequence);
+                  return HASH;
+                })
+            .run();
+
+    assertThat(sent).hasSize(120);
+    assertThat(report.getOffered()).isEqualTo(100);
+    assertThat(report.getSucceeded()).isEqualTo(100);
+    assertThat(report.getFailed()).isZero();
+    assertThat(report.getHashes()).hasSize(100);
+    assertThat(report.getAchievedTransactionsPerSecond()).isBetween(150d, 200d);
+  }
+
+  @Test
+  public void failedTransactionsMustBeCounted() {
+    final LoadReport report =
+        new LoadGenerator(
+                new LoadConfigurationBuilder()
+                    .withTransactionsPerSecond(100)
+                    .withDuration(Duration.ofMillis(200))
+                    .build(),
+                sequence -> {
+                  if (sequence % 2 == 0) {
+                    throw new IllegalStateException("Rejected");
+                  }
+                  return HASH;
+                })
+            .run();
+
+    assertThat(report.getOffered()).isEqualTo(20);
+    assertThat(report.getSucceeded()).isEqualTo(10);
+    assertThat(report.getFailed()).isEqualTo(10);
+  }
+
+  @Test
+  public void stalledTransactionMustDelayLatencyOfThoseQueuedBehindIt() {
+    final LoadReport report =
+        new LoadGenerator(
+                new LoadConfigurationBuilder()
+                    .withTransactionsPerSecond(100)
+                    .withDuration(Duration.ofMillis(500))
+                    .withConcurrency(1)
+                    .build(),
+                sequence -> {
+                  if (sequence == 0) {
+                    sleep(Duration.ofMillis(200));
+                  }
+                  return HASH;
+                })
+            .run();
+
+    assertThat(report.getSucceeded()).isEqualTo(50);
+    assertThat(report.getLatency().getMax()).isGreaterThanOrEqualTo(Duration.ofMillis(200));
+    assertThat(report.getLatency().getP90()).isGreaterThanOrEqualTo(Duration.ofMillis(100));
+  }
+
+  private static void sleep(final Duration duration) {
+    try {
+      Thread.sleep(duration.toMillis());
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    }
+  }
+}
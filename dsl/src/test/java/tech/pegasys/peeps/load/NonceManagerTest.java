@@ -0,0 +1,140 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.load;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import tech.pegasys.peeps.node.model.Hash;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+import org.apache.tuweni.eth.Address;
+import org.junit.jupiter.api.Test;
+
+public class NonceManagerTest {
+
+  private static final Address ACCOUNT =
+      Address.fromHexString("0xf17f52151ebef6c7334fad080c5704d77216b732");
+  private static final Hash HASH = new Hash("0x01");
+
+  private final AtomicLong pending = new AtomicLong(5);
+  private final NonceManager nonces = new NonceManager(account -> pending.get());
+
+  @Test
+  public void concurrentSendersMustReceiveDistinctNonces() {
+    final Set<Long> issued = ConcurrentHashMap.newKeySet();
+
+    LongStream.range(0, 1000).parallel().forEach(i -> issued.add(nonces.next(ACCOUNT)));
+
+    assertThat(issued).hasSize(1000);
+    assertThat(issued).allMatch(nonce -> nonce >= 5 && nonce < 1005);
+  }
+
+  @Test
+  public void resynchronizingUnderLoadMustNotReissueNonces() {
+    final Set<Long> issued = ConcurrentHashMap.newKeySet();
+
+    LongStream.range(0, 1000)
+        .parallel()
+        .forEach(
+            i -> {
+              final long nonce = nonces.next(ACCOUNT);
+              issued.add(nonce);
+              if (i % 10 == 0) {
+                nonces.rejected(
+                    ACCOUNT,
+                    nonce,
+                    new IllegalStateException("Transaction rejected: Known transaction"));
+              } else {
+                nonces.accepted(ACCOUNT, nonce);
+              }
+            });
+
+    assertThat(issued).hasSize(1000);
+    assertThat(nonces.next(ACCOUNT)).isEqualTo(1005);
+  }
+
+  @Test
+  public void nonceOfRejectedTransactionMustBeReused() {
+    assertThatThrownBy(
+            () ->
+                nonces.submit(
+                    ACCOUNT,
+                    nonce -> {
+                      throw new IllegalStateException("Transaction rejected: Gas limit exceeded");
+                    }))
+        .isInstanceOf(IllegalStateException.class);
+
+    assertThat(nonces.next(ACCOUNT)).isEqualTo(5);
+    assertThat(nonces.next(ACCOUNT)).isEqualTo(6);
+    assertThat(nonces.getGapsFilled()).isEqualTo(1);
+  }
+
+  @Test
+  public void nonceTooLowMustResynchronizeWithNode() {
+    final long nonce = nonces.next(ACCOUNT);
+    pending.set(9);
+
+    nonces.rejected(
+        ACCOUNT, nonce, new IllegalStateException("Transaction rejected: Nonce too low"));
+
+    assertThat(nonces.next(ACCOUNT)).isEqualTo(9);
+    assertThat(nonces.getResynchronizations()).isEqualTo(1);
+  }
+
+  @Test
+  public void nonceAlreadyUsedMustNotReissueAcceptedNonces() {
+    for (int i = 0; i < 4; i++) {
+      nonces.submit(ACCOUNT, nonce -> HASH);
+    }
+    final long nonce = nonces.next(ACCOUNT);
+    // the node is yet to count the accepted transactions with nonces 7 and 8
+    pending.set(7);
+
+    nonces.rejected(
+        ACCOUNT, nonce, new IllegalStateException("Transaction rejected: Already known"));
+
+    assertThat(nonces.getGapsFilled()).isZero();
+    assertThat(nonces.next(ACCOUNT)).isEqualTo(10);
+  }
+
+  @Test
+  public void reconcileMustRefillNoncesDroppedByNode() {
+    for (int i = 0; i < 4; i++) {
+      nonces.submit(ACCOUNT, nonce -> HASH);
+    }
+    // the node dropped the transactions with nonces 7 and 8
+    pending.set(7);
+
+    nonces.reconcile();
+
+    assertThat(nonces.getGapsFilled()).isEqualTo(2);
+    assertThat(nonces.next(ACCOUNT)).isEqualTo(7);
+    assertThat(nonces.next(ACCOUNT)).isEqualTo(8);
+    assertThat(nonces.next(ACCOUNT)).isEqualTo(9);
+  }
+
+  @Test
+  public void reconcileMustNotReissueNoncesInFlight() {
+    final long inFlight = nonces.next(ACCOUNT);
+
+    nonces.reconcile(ACCOUNT);
+
+    assertThat(nonces.getGapsFilled()).isZero();
+    assertThat(nonces.next(ACCOUNT)).isEqualTo(inFlight + 1);
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.monitor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static tech.pegasys.peeps.util.Await.await;
+
+import tech.pegasys.peeps.node.model.Block;
+import tech.pegasys.peeps.node.model.Hash;
+import tech.pegasys.peeps.node.rpc.NodeRpc;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class BlockPollerTest {
+
+  @Mock private NodeRpc rpc;
+
+  @Test
+  public void eachBlockMustBeFetchedOnceInOrder() {
+    when(rpc.getBlockNumber()).thenReturn(1L, 3L);
+    when(rpc.getBlockByNumber(0)).thenReturn(block(0));
+    when(rpc.getBlockByNumber(1)).thenReturn(block(1));
+    when(rpc.getBlockByNumber(2)).thenReturn(block(2));
+    when(rpc.getBlockByNumber(3)).thenReturn(block(3));
+    final List<Long> seen = new ArrayList<>();
+    final BlockPoller poller =
+        new BlockPoller(rpc, Duration.ofSeconds(1)).subscribe(block -> seen.add(block.getNumber()));
+
+    assertThat(poller.poll()).isEqualTo(2);
+    assertThat(poller.poll()).isEqualTo(2);
+
+    assertThat(seen).containsExactly(0L, 1L, 2L, 3L);
+  }
+
+  @Test
+  public void startMustSkipBlocksAlreadyProduced() {
+    when(rpc.getBlockNumber()).thenReturn(5L);
+
+    try (final BlockPoller poller = new BlockPoller(rpc, Duration.ofHours(1))) {
+      poller.start();
+      assertThat(poller.poll()).isZero();
+    }
+
+    verify(rpc, never()).getBlockByNumber(5);
+  }
+
+  @Test
+  public void unreachableNodeMustNotEndPolling() {
+    when(rpc.getBlockNumber())
+        .thenReturn(0L)
+        .thenThrow(new AssertionError("Failed to retrieve block number"))
+        .thenReturn(1L);
+    when(rpc.getBlockByNumber(1)).thenReturn(block(1));
+    final List<Long> seen = new CopyOnWriteArrayList<>();
+
+    try (final BlockPoller poller = new BlockPoller(rpc, Duration.ofMillis(10))) {
+      poller.subscribe(block -> seen.add(block.getNumber())).start();
+      await(() -> assertThat(seen).contains(1L), "Poller failed to recover");
+    }
+  }
+
+  private static Block block(final long number) {
+    return new Block(
+        "0x" + Long.toHexString(number),
+        new Hash("0xb" + number),
+        new Hash("0xa" + number),
+        new Hash("0x0"),
+        "0x0",
+        List.of());
+  }
+}
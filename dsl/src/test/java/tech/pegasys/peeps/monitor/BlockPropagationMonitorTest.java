@@ -0,0 +1,114 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.monitor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.peeps.node.model.Block;
+import tech.pegasys.peeps.node.model.Hash;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+
+public class BlockPropagationMonitorTest {
+
+  private final AtomicLong clock = new AtomicLong();
+  private final BlockPropagationMonitor monitor =
+      new BlockPropagationMonitor(
+          Map.of("besu-1", "Besu", "besu-2", "Besu", "quorum-1", "GoQuorum"), clock::get);
+
+  @Test
+  public void delaysMustBeAfterFirstNodeToSeeBlock() {
+    seen("besu-1", 1, 100);
+    seen("quorum-1", 1, 130);
+    assertThat(monitor.report().getPropagating()).isEqualTo(1);
+
+    seen("besu-2", 1, 110);
+
+    final BlockPropagationReport report = monitor.report();
+    assertThat(report.getPropagated()).isEqualTo(1);
+    assertThat(report.getPropagating()).isZero();
+    assertThat(report.getDelay().getCount()).isEqualTo(3);
+    assertThat(report.getSpread().getMax()).isEqualTo(Duration.ofNanos(30));
+    assertThat(report.getByNode().get("besu-2").getMax()).isEqualTo(Duration.ofNanos(10));
+    assertThat(report.getByNodeType().get("GoQuorum").getMax()).isEqualTo(Duration.ofNanos(30));
+    assertThat(report.getByNodeType().get("Besu").getCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void blockSeenAgainMustKeepFirstSighting() {
+    seen("besu-1", 1, 100);
+    seen("besu-1", 1, 150);
+    seen("besu-2", 1, 120);
+    seen("quorum-1", 1, 120);
+
+    assertThat(monitor.report().getSpread().getMax()).isEqualTo(Duration.ofNanos(20));
+  }
+
+  @Test
+  public void heightsBeforeEveryNodeWasFollowedMustBeUnobserved() {
+    seen("besu-1", 1, 100);
+    seen("besu-2", 1, 100);
+    seen("besu-1", 2, 200);
+    seen("besu-2", 2, 200);
+    seen("quorum-1", 2, 210);
+
+    final BlockPropagationReport report = monitor.report();
+    assertThat(report.getPropagated()).isEqualTo(1);
+    assertThat(report.getUnobserved()).isEqualTo(1);
+    assertThat(report.getPropagating()).isZero();
+  }
+
+  @Test
+  public void nodeThatNeverReportsMustHoldBackOnlyTheHorizon() {
+    for (long number = 1; number <= 5000; number++) {
+      seen("besu-1", number, number);
+      seen("besu-2", number, number);
+    }
+
+    final BlockPropagationReport report = monitor.report();
+    assertThat(report.getPropagated()).isZero();
+    assertThat(report.getPropagating()).isEqualTo(1024);
+    assertThat(report.getUnobserved()).isEqualTo(5000 - 1024);
+  }
+
+  @Test
+  public void heightGivenUpOnMustNotBeCountedAgain() {
+    for (long number = 1; number <= 1025; number++) {
+      seen("besu-1", number, number);
+    }
+    seen("quorum-1", 1, 2000);
+
+    final BlockPropagationReport report = monitor.report();
+    assertThat(report.getPropagating()).isEqualTo(1024);
+    assertThat(report.getUnobserved()).isOne();
+  }
+
+  private void seen(final String node, final long number, final long at) {
+    clock.set(at);
+    final Consumer<Block> subscriber = monitor.subscriber(node);
+    subscriber.accept(
+        new Block(
+            "0x" + Long.toHexString(number),
+            new Hash("0xb" + number),
+            new Hash("0xb" + (number - 1)),
+            new Hash("0x0"),
+            "0x0",
+            List.of()));
+  }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.monitor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.peeps.node.model.Block;
+import tech.pegasys.peeps.node.model.Hash;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class ChainProgressMonitorTest {
+
+  private static final Instant START = Instant.parse("2021-01-01T00:00:00Z");
+  private static final Duration STALL_AFTER = Duration.ofSeconds(4);
+
+  private final SettableClock clock = new SettableClock();
+  private final ChainProgressMonitor monitor =
+      new ChainProgressMonitor(List.of("alpha", "beta"), STALL_AFTER, clock);
+
+  @Test
+  public void intervalsMustComeFromBlockTimestamps() {
+    seen("alpha", 1, 100, 1);
+    seen("alpha", 2, 102, 2);
+    seen("alpha", 3, 104, 3);
+    seen("alpha", 4, 108, 4);
+
+    final ChainProgress progress = monitor.progress("alpha");
+    assertThat(progress.getHead()).isEqualTo(4);
+    assertThat(progress.getMeanInterval()).isEqualTo(Duration.ofMillis(2667));
+    assertThat(progress.getJitter()).isEqualTo(Duration.ofMillis(943));
+    assertThat(progress.getStalls()).isEmpty();
+  }
+
+  @Test
+  public void stallMustBeFlaggedThenRecovered() {
+    seen("alpha", 1, 100, 1);
+    clock.at(6);
+    assertThat(monitor.isStalled("alpha")).isTrue();
+    assertThat(monitor.progress("alpha").getStalls().get(0).getSince())
+        .isEqualTo(START.plusSeconds(1));
+
+    seen("alpha", 2, 107, 7);
+
+    final ChainProgress progress = monitor.progress("alpha");
+    assertThat(progress.isStalled()).isFalse();
+    assertThat(progress.getStalls()).hasSize(1);
+    assertThat(progress.getStalls().get(0).getHeight()).isEqualTo(1);
+    assertThat(progress.getStalls().get(0).getRecoveredAt()).contains(START.plusSeconds(7));
+  }
+
+  @Test
+  public void nodeWithoutBlocksMustStallFromStartOfMonitoring() {
+    clock.at(3);
+    assertThat(monitor.isStalled("beta")).isFalse();
+
+    clock.at(5);
+    assertThat(monitor.isStalled("beta")).isTrue();
+    assertThat(monitor.progress().get("beta").getHead()).isEqualTo(-1);
+  }
+
+  @Test
+  public void blockAlreadySeenMustNotCountAsProgress() {
+    seen("alpha", 1, 100, 1);
+    seen("alpha", 1, 100, 6);
+
+    assertThat(monitor.isStalled("alpha")).isTrue();
+  }
+
+  private void seen(final String node, final long number, final long timestamp, final long at) {
+    clock.at(at);
+    monitor
+        .subscriber(node)
+        .accept(
+            new Block(
+                "0x" + Long.toHexString(number),
+                new Hash("0xb" + number),
+                new Hash("0xb" + (number - 1)),
+                new Hash("0x0"),
+                "0x" + Long.toHexString(timestamp),
+                List.of()));
+  }
+
+  /** Seconds after the start of each test. */
+  private static class SettableClock extends Clock {
+    private Instant now = START;
+
+    private void at(final long seconds) {
+      now = START.plusSeconds(seconds);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(final ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.monitor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+import tech.pegasys.peeps.node.model.Block;
+import tech.pegasys.peeps.node.model.Hash;
+import tech.pegasys.peeps.node.rpc.NodeRpc;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class ForkDetectorTest {
+
+  @Mock private NodeRpc alpha;
+  @Mock private NodeRpc beta;
+  @Mock private NodeRpc gamma;
+
+  @Test
+  public void forkMustBeFoundAtFirstDivergentHeight() {
+    chain(alpha, "a", 1000, 1000);
+    chain(beta, "b", 1000, 637);
+    chain(gamma, "a", 900, 1000);
+
+    final ForkReport report =
+        new ForkDetector(Map.of("alpha", alpha, "beta", beta, "gamma", gamma)).detect();
+
+    assertThat(report.isForked()).isTrue();
+    assertThat(report.getForkHeight()).contains(637L);
+    assertThat(report.getAgreedHeight()).isEqualTo(636);
+    assertThat(report.getBranches())
+        .containsOnly(
+            Map.entry(new Hash("0xa637"), Set.of("alpha", "gamma")),
+            Map.entry(new Hash("0xb637"), Set.of("beta")));
+    assertThat(report.getHeads()).containsEntry("gamma", 900L);
+    // heads, the common height, genesis, then about log2(900) halvings, of three nodes each
+    assertThat(report.getRequests()).isLessThanOrEqualTo(3 * (3 + 10));
+  }
+
+  @Test
+  public void nodesAtDifferentHeightsOfOneChainMustNotBeForked() {
+    chain(alpha, "a", 20, 100);
+    chain(beta, "a", 15, 100);
+
+    final ForkReport report = new ForkDetector(Map.of("alpha", alpha, "beta", beta)).detect();
+
+    assertThat(report.isForked()).isFalse();
+    assertThat(report.getForkHeight()).isEmpty();
+    assertThat(report.getAgreedHeight()).isEqualTo(15);
+    assertThat(report.getRequests()).isEqualTo(4);
+  }
+
+  @Test
+  public void differentGenesisMustForkAtZero() {
+    chain(alpha, "a", 5, 0);
+    chain(beta, "b", 5, 0);
+
+    final ForkReport report = new ForkDetector(Map.of("alpha", alpha, "beta", beta)).detect();
+
+    assertThat(report.getForkHeight()).contains(0L);
+  }
+
+  /** Blocks from the fork height on are named by the branch, those before are shared. */
+  private static void chain(
+      final NodeRpc node, final String branch, final long head, final long forkHeight) {
+    when(node.getBlockNumber()).thenReturn(head);
+    when(node.getBlockByNumber(anyLong()))
+        .thenAnswer(
+            invocation -> {
+              final long number = invocation.getArgument(0);
+              return block(number, number < forkHeight ? "a" : branch);
+            });
+  }
+
+  private static Block block(final long number, final String branch) {
+    return new Block(
+        "0x" + Long.toHexString(number),
+        new Hash("0x" + branch + number),
+        new Hash("0x" + branch + (number - 1)),
+        new Hash("0x0"),
+        "0x0",
+        List.of());
+  }
+}
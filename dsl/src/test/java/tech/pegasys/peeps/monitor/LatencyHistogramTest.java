@@ -0,0 +1,57 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.monitor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.time.Duration;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+
+public class LatencyHistogramTest {
+
+  @Test
+  public void smallLatenciesMustBeExact() {
+    final LatencyHistogram histogram = new LatencyHistogram();
+    LongStream.rangeClosed(1, 100).forEach(histogram::record);
+
+    assertThat(histogram.valueAtPercentile(50)).isEqualTo(Duration.ofNanos(50));
+    assertThat(histogram.valueAtPercentile(99)).isEqualTo(Duration.ofNanos(99));
+    assertThat(histogram.getMax()).isEqualTo(Duration.ofNanos(100));
+  }
+
+  @Test
+  public void percentilesMustBeWithinOnePercent() {
+    final LatencyHistogram histogram = new LatencyHistogram();
+    LongStream.rangeClosed(1, 100_000).forEach(millis -> histogram.record(millis * 1_000_000));
+
+    final LatencyPercentiles percentiles = histogram.percentiles();
+
+    assertThat(percentiles.getCount()).isEqualTo(100_000);
+    assertThat(percentiles.getP50().toMillis()).isCloseTo(50_000, within(500L));
+    assertThat(percentiles.getP90().toMillis()).isCloseTo(90_000, within(900L));
+    assertThat(percentiles.getP99().toMillis()).isCloseTo(99_000, within(990L));
+    assertThat(percentiles.getP999().toMillis()).isCloseTo(99_900, within(999L));
+    assertThat(percentiles.getMax()).isEqualTo(Duration.ofSeconds(100));
+  }
+
+  @Test
+  public void emptyHistogramMustReportZero() {
+    final LatencyPercentiles percentiles = new LatencyHistogram().percentiles();
+
+    assertThat(percentiles.getCount()).isZero();
+    assertThat(percentiles.getP99()).isEqualTo(Duration.ZERO);
+  }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.monitor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+import tech.pegasys.peeps.monitor.InvariantViolation.Invariant;
+import tech.pegasys.peeps.node.model.Block;
+import tech.pegasys.peeps.node.model.Hash;
+import tech.pegasys.peeps.node.rpc.NodeRpc;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class NetworkInvariantMonitorTest {
+
+  private static final Instant START = Instant.parse("2021-01-01T00:00:00Z");
+  private static final Duration STALL_AFTER = Duration.ofSeconds(4);
+
+  @Mock private NodeRpc alpha;
+  @Mock private NodeRpc beta;
+
+  private final SettableClock clock = new SettableClock();
+  private NetworkInvariantMonitor monitor;
+
+  @BeforeEach
+  public void setUp() {
+    monitor =
+        new NetworkInvariantMonitor(Map.of("alpha", alpha, "beta", beta), STALL_AFTER, 1, clock);
+  }
+
+  @Test
+  public void differentBlocksAtSameHeightMustBeFlaggedOnceAsFork() {
+    seen("alpha", 1, "0xb1", 1);
+    seen("beta", 1, "0xc1", 2);
+    seen("beta", 1, "0xc1", 3);
+
+    assertThat(monitor.getViolations()).hasSize(1);
+    final InvariantViolation fork = monitor.getViolations().get(0);
+    assertThat(fork.getInvariant()).isEqualTo(Invariant.FORK);
+    assertThat(fork.getNode()).isEqualTo("beta");
+    assertThat(fork.getAt()).isEqualTo(START.plusSeconds(2));
+  }
+
+  @Test
+  public void sameBlocksMustNotBeViolations() {
+    when(alpha.getConnectedPeerIds()).thenReturn(Set.of("beta"));
+    when(beta.getConnectedPeerIds()).thenReturn(Set.of("alpha"));
+    seen("alpha", 1, "0xb1", 1);
+    seen("beta", 1, "0xb1", 2);
+    seen("beta", 2, "0xb2", 3);
+
+    monitor.check();
+
+    assertThat(monitor.isViolated()).isFalse();
+    monitor.verify();
+  }
+
+  @Test
+  public void stallMustBeFlaggedOncePerStall() {
+    when(alpha.getConnectedPeerIds()).thenReturn(Set.of("beta"));
+    when(beta.getConnectedPeerIds()).thenReturn(Set.of("alpha"));
+    seen("alpha", 1, "0xb1", 3);
+    seen("beta", 1, "0xb1", 3);
+
+    clock.at(6);
+    monitor.check();
+    assertThat(monitor.isViolated()).isFalse();
+
+    clock.at(8);
+    monitor.check();
+    monitor.check();
+    assertThat(monitor.getViolations())
+        .extracting(InvariantViolation::getInvariant)
+        .containsExactly(Invariant.STALL, Invariant.STALL);
+
+    seen("alpha", 2, "0xb2", 9);
+    clock.at(14);
+    monitor.check();
+    assertThat(monitor.getViolations()).hasSize(3);
+    assertThat(monitor.getViolations().get(2).getNode()).isEqualTo("alpha");
+  }
+
+  @Test
+  public void tooFewPeersMustFailVerificationWithDiagnosis() {
+    when(alpha.getConnectedPeerIds()).thenReturn(Set.of());
+    when(beta.getConnectedPeerIds()).thenThrow(new IllegalStateException("Connection refused"));
+    seen("alpha", 1, "0xb1", 1);
+
+    clock.at(2);
+    monitor.check();
+
+    assertThat(monitor.getViolations())
+        .extracting(InvariantViolation::getNode)
+        .containsExactly("alpha", "beta");
+    assertThatThrownBy(monitor::verify)
+        .isInstanceOf(AssertionError.class)
+        .hasMessageContaining("2 network invariant violations")
+        .hasMessageContaining("0 peers, fewer than the minimum of 1")
+        .hasMessageContaining("Connection refused")
+        .hasMessageContaining("alpha: head 1");
+  }
+
+  private void seen(final String node, final long number, final String hash, final long at) {
+    clock.at(at);
+    monitor
+        .subscriber(node)
+        .accept(
+            new Block(
+                "0x" + Long.toHexString(number),
+                new Hash(hash),
+                new Hash("0xb" + (number - 1)),
+                new Hash("0x0"),
+                "0x" + Long.toHexString(at),
+                List.of()));
+  }
+
+  /** Seconds after the start of each test. */
+  private static class SettableClock extends Clock {
+    private Instant now = START;
+
+    private void at(final long seconds) {
+      now = START.plusSeconds(seconds);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(final ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+  }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.monitor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+import tech.pegasys.peeps.node.model.Hash;
+import tech.pegasys.peeps.node.rpc.NodeRpc;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class PendingTransactionPollerTest {
+
+  private static final Hash POOLED = new Hash("0xa1");
+
+  @Mock private NodeRpc rpc;
+
+  @Test
+  public void forgottenFilterMustBeInstalledAfresh() {
+    when(rpc.newPendingTransactionFilter()).thenReturn("0x1", "0x2");
+    when(rpc.getFilterChanges("0x1")).thenThrow(new IllegalStateException("Unknown filter: 0x1"));
+    when(rpc.getFilterChanges("0x2")).thenReturn(List.of(POOLED));
+    final List<Hash> seen = new ArrayList<>();
+    final PendingTransactionPoller poller =
+        new PendingTransactionPoller(rpc, Duration.ofSeconds(1)).subscribe(seen::addAll);
+
+    assertThatThrownBy(poller::poll).hasMessage("Unknown filter: 0x1");
+    assertThat(poller.poll()).isOne();
+
+    assertThat(seen).containsExactly(POOLED);
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.monitor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import tech.pegasys.peeps.node.model.Hash;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+public class TransactionGossipMonitorTest {
+
+  private static final Hash FIRST = new Hash("0x01");
+  private static final Hash SECOND = new Hash("0x02");
+
+  private final AtomicLong clock = new AtomicLong();
+  private final TransactionGossipMonitor monitor =
+      new TransactionGossipMonitor(List.of("alpha", "beta", "gamma"), clock::get);
+
+  @Test
+  public void delaysMustBeByPairOfSourceAndDestination() {
+    monitor.submitted(FIRST, "alpha", 0);
+    pooled("alpha", 10, FIRST);
+    pooled("beta", 40, FIRST);
+    assertThat(monitor.report().getOutstanding()).isEqualTo(1);
+
+    pooled("gamma", 70, FIRST);
+
+    final TransactionGossipReport report = monitor.report();
+    assertThat(report.getGossiped()).isEqualTo(1);
+    assertThat(report.getOutstanding()).isZero();
+    assertThat(report.getOverall().getCount()).isEqualTo(2);
+    assertThat(report.getBySource()).containsOnlyKeys("alpha");
+    assertThat(report.getBySource().get("alpha")).containsOnlyKeys("beta", "gamma");
+    assertThat(report.getBySource().get("alpha").get("gamma").getMax())
+        .isEqualTo(Duration.ofNanos(70));
+  }
+
+  @Test
+  public void poolSightingBeforeSubmissionReturnsMustBeCounted() {
+    pooled("beta", 20, SECOND);
+    pooled("alpha", 25, SECOND);
+    monitor.submitted(SECOND, "gamma", 5);
+
+    final TransactionGossipReport report = monitor.report();
+    assertThat(report.getGossiped()).isEqualTo(1);
+    assertThat(report.getBySource().get("gamma").get("beta").getMax())
+        .isEqualTo(Duration.ofNanos(15));
+  }
+
+  @Test
+  public void untrackedTransactionsMustNotBeReported() {
+    pooled("alpha", 10, FIRST);
+    pooled("beta", 10, FIRST);
+    pooled("gamma", 10, FIRST);
+
+    final TransactionGossipReport report = monitor.report();
+    assertThat(report.getGossiped()).isZero();
+    assertThat(report.getOutstanding()).isZero();
+    assertThat(report.getOverall().getCount()).isZero();
+  }
+
+  @Test
+  public void unknownNodeMustBeRejected() {
+    assertThatThrownBy(() -> monitor.subscriber("delta"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Node is not followed: delta");
+  }
+
+  private void pooled(final String node, final long at, final Hash... hashes) {
+    clock.set(at);
+    monitor.subscriber(node).accept(List.of(hashes));
+  }
+}
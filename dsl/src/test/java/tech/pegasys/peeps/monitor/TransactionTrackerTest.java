@@ -0,0 +1,139 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.monitor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.peeps.node.model.Block;
+import tech.pegasys.peeps.node.model.Hash;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+
+public class TransactionTrackerTest {
+
+  private static final Hash FIRST = new Hash("0x01");
+  private static final Hash SECOND = new Hash("0x02");
+  private static final Hash UNTRACKED = new Hash("0x03");
+
+  private final AtomicLong clock = new AtomicLong();
+
+  @Test
+  public void inclusionMustBeResolvedFromBlockTransactions() {
+    final TransactionTracker tracker = new TransactionTracker(0, 1, clock::get);
+    tracker.accepted(FIRST, 0, 10);
+    tracker.accepted(SECOND, 5, 15);
+
+    clock.set(100);
+    tracker.accept(block(1, FIRST, UNTRACKED));
+
+    final TrackingReport report = tracker.report();
+    assertThat(report.getTracked()).isEqualTo(2);
+    assertThat(report.getIncluded()).isEqualTo(1);
+    assertThat(report.getFinalized()).isEqualTo(1);
+    assertThat(report.getPendingLatencies()).containsExactly(10, 10);
+    assertThat(report.getInclusionLatencies()).containsExactly(100);
+  }
+
+  @Test
+  public void finalityMustAwaitConfirmations() {
+    final TransactionTracker tracker = new TransactionTracker(2, 1, clock::get);
+    tracker.accepted(FIRST, 0, 0);
+
+    clock.set(100);
+    tracker.accept(block(1, FIRST));
+    clock.set(200);
+    tracker.accept(block(2));
+    assertThat(tracker.report().getFinalized()).isZero();
+
+    clock.set(300);
+    tracker.accept(block(3));
+
+    final TrackingReport report = tracker.report();
+    assertThat(report.getInclusionLatencies()).containsExactly(100);
+    assertThat(report.getFinalizationLatencies()).containsExactly(300);
+  }
+
+  @Test
+  public void laterTransactionMustFinalizeDespiteEarlierPending() {
+    final TransactionTracker tracker = new TransactionTracker(0, 1, clock::get);
+    tracker.accepted(FIRST, 0, 0);
+    tracker.accepted(SECOND, 0, 0);
+
+    clock.set(50);
+    tracker.accept(block(1, SECOND));
+
+    assertThat(tracker.report().getFinalizationLatencies()).containsExactly(50);
+  }
+
+  @Test
+  public void blockSeenBeforeTrackingMustStillCountInclusion() {
+    final TransactionTracker tracker = new TransactionTracker(0, 1, clock::get);
+
+    clock.set(40);
+    tracker.accept(block(1, FIRST));
+    tracker.accepted(FIRST, 0, 60);
+
+    final TrackingReport report = tracker.report();
+    assertThat(report.getIncluded()).isEqualTo(1);
+    assertThat(report.getFinalized()).isEqualTo(1);
+  }
+
+  @Test
+  public void trackingMustGrowBeyondInitialCapacity() {
+    final TransactionTracker tracker = new TransactionTracker(0, 1, clock::get);
+
+    for (int i = 1; i <= 5000; i++) {
+      tracker.track(new Hash(String.format("0x%x", i)));
+    }
+
+    assertThat(tracker.report().getTracked()).isEqualTo(5000);
+  }
+
+  @Test
+  public void consensusMustAwaitEveryNode() {
+    final TransactionTracker tracker = new TransactionTracker(0, 2, clock::get);
+    final Consumer<Block> alpha = tracker.subscriber();
+    final Consumer<Block> beta = tracker.subscriber();
+    tracker.accepted(FIRST, 0, 0, "alpha", "transfer");
+    tracker.accepted(SECOND, 0, 0, "beta", "transfer");
+
+    clock.set(100);
+    alpha.accept(block(1, FIRST, SECOND));
+    clock.set(250);
+    beta.accept(block(1, FIRST, SECOND));
+
+    final LatencyReport report =
+        tracker.latencyReport(node -> "alpha".equals(node) ? "Besu" : "GoQuorum");
+    assertThat(report.getInclusion().getOverall().getCount()).isEqualTo(2);
+    assertThat(report.getInclusion().getOverall().getMax()).isEqualTo(Duration.ofNanos(100));
+    assertThat(report.getConsensus().getOverall().getMax()).isEqualTo(Duration.ofNanos(250));
+    assertThat(report.getConsensus().getByEntryNode()).containsOnlyKeys("alpha", "beta");
+    assertThat(report.getConsensus().getByNodeType()).containsOnlyKeys("Besu", "GoQuorum");
+    assertThat(report.getConsensus().getByKind().get("transfer").getCount()).isEqualTo(2);
+  }
+
+  private static Block block(final long number, final Hash... transactions) {
+    return new Block(
+        "0x" + Long.toHexString(number),
+        new Hash("0xb" + number),
+        new Hash("0xb" + (number - 1)),
+        new Hash("0x0"),
+        "0x0",
+        List.of(transactions));
+  }
+}
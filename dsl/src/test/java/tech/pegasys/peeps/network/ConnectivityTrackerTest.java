@@ -0,0 +1,83 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.network;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+public class ConnectivityTrackerTest {
+
+  private static final String ALPHA = "enode://aa01@127.0.0.1:30303";
+  private static final String BETA = "enode://bb02@127.0.0.1:30304";
+  private static final String GAMMA = "enode://cc03@127.0.0.1:30305";
+  private static final String OUTSIDER = "enode://dd04@127.0.0.1:30306";
+
+  @Test
+  public void missingLinksMustBeReportedByNode() {
+    final ConnectivityTracker tracker = new ConnectivityTracker();
+    tracker.add("alpha", ALPHA, () -> Set.of(BETA, OUTSIDER));
+    tracker.add("beta", BETA, () -> Set.of(ALPHA));
+    tracker.add("gamma", GAMMA, Set::of);
+    tracker.expectFullMesh();
+
+    assertThat(tracker.poll()).isFalse();
+    final Map<String, Set<String>> missing = tracker.getMissingLinks();
+    assertThat(missing).containsOnlyKeys("alpha", "beta", "gamma");
+    assertThat(missing.get("alpha")).containsExactly("gamma");
+    assertThat(missing.get("beta")).containsExactly("gamma");
+    assertThat(missing.get("gamma")).containsExactly("alpha", "beta");
+  }
+
+  @Test
+  public void linksOutsideTheExpectedMustBeReported() {
+    final ConnectivityTracker tracker = new ConnectivityTracker();
+    tracker.add("alpha", ALPHA, () -> Set.of(BETA, GAMMA));
+    tracker.add("beta", BETA, () -> Set.of(ALPHA));
+    tracker.add("gamma", GAMMA, () -> Set.of(ALPHA));
+    tracker.expectLink("alpha", "beta");
+
+    assertThat(tracker.poll()).isFalse();
+    assertThat(tracker.getMissingLinks()).isEmpty();
+    assertThat(tracker.getUnexpectedLinks())
+        .isEqualTo(Map.of("alpha", Set.of("gamma"), "gamma", Set.of("alpha")));
+  }
+
+  @Test
+  public void satisfiedNodesMustNotBePolledAgain() {
+    final AtomicInteger alphaPolls = new AtomicInteger();
+    final AtomicInteger betaPolls = new AtomicInteger();
+    final ConnectivityTracker tracker = new ConnectivityTracker();
+    tracker.add(
+        "alpha",
+        ALPHA,
+        () -> {
+          alphaPolls.incrementAndGet();
+          return Set.of(BETA);
+        });
+    tracker.add("beta", BETA, () -> betaPolls.incrementAndGet() == 1 ? Set.of() : Set.of(ALPHA));
+    tracker.add("gamma", GAMMA, Set::of);
+    tracker.expectLink("alpha", "beta");
+
+    assertThat(tracker.poll()).isFalse();
+    assertThat(tracker.poll()).isTrue();
+
+    assertThat(alphaPolls).hasValue(1);
+    assertThat(betaPolls).hasValue(2);
+    assertThat(tracker.getMissingLinks()).isEmpty();
+  }
+}
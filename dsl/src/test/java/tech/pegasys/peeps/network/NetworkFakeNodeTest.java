@@ -0,0 +1,381 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.network;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+import static tech.pegasys.peeps.util.Await.await;
+
+import tech.pegasys.peeps.load.LoadConfigurationBuilder;
+import tech.pegasys.peeps.load.LoadReport;
+import tech.pegasys.peeps.load.NonceManager;
+import tech.pegasys.peeps.load.TransactionSubmitter;
+import tech.pegasys.peeps.monitor.ChainProgressMonitor;
+import tech.pegasys.peeps.monitor.TransactionGossipMonitor;
+import tech.pegasys.peeps.network.subnet.Subnet;
+import tech.pegasys.peeps.node.Account;
+import tech.pegasys.peeps.node.FundedAccounts;
+import tech.pegasys.peeps.node.Web3Provider;
+import tech.pegasys.peeps.node.model.Block;
+import tech.pegasys.peeps.node.model.Hash;
+import tech.pegasys.peeps.node.model.NodeSnapshot;
+import tech.pegasys.peeps.node.rpc.QbftRpc.VoteType;
+import tech.pegasys.peeps.node.verification.NodeValueTransition;
+import tech.pegasys.peeps.node.verification.ValueConservationReport;
+import tech.pegasys.peeps.node.verification.ValueReceived;
+import tech.pegasys.peeps.node.verification.ValueSent;
+import tech.pegasys.peeps.signer.local.SignedTransaction;
+import tech.pegasys.peeps.signer.local.Transfer;
+import tech.pegasys.peeps.util.Await;
+
+import java.math.BigInteger;
+import java.nio.file.Path;
+import java.security.Security;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.tuweni.crypto.SECP256K1.KeyPair;
+import org.apache.tuweni.eth.Address;
+import org.apache.tuweni.units.ethereum.Wei;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class NetworkFakeNodeTest {
+
+  static {
+    Security.addProvider(new BouncyCastleProvider());
+  }
+
+  @Mock private Subnet subnet;
+  @Mock private org.testcontainers.containers.Network containerNetwork;
+  @TempDir Path configurationDirectory;
+
+  private Network network;
+
+  @BeforeEach
+  public void setUp() {
+    when(subnet.network()).thenReturn(containerNetwork);
+    network = new Network(configurationDirectory, subnet);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    network.close();
+  }
+
+  @Test
+  public void fakeNodesMustReachConsensusOnTransfer() {
+    final Web3Provider alpha = network.addFakeNode("alpha", KeyPair.random());
+    network.addFakeNode("beta", KeyPair.random());
+    network.addFakeNode("gamma", KeyPair.random());
+    network.start();
+
+    final Wei before = alpha.rpc().getBalance(Account.BETA.address());
+    final Hash transfer =
+        alpha.rpc().transfer(Account.ALPHA.address(), Account.BETA.address(), Wei.valueOf(5000));
+
+    network.awaitConsensusOnTransactionReceipt(transfer);
+    network.verifyConsensusOnTransaction(transfer);
+    network.verifyConsensusOnValue(Account.ALPHA.address(), Account.BETA.address());
+    network.verifyConsensusOnState();
+    assertThat(alpha.rpc().getBalance(Account.BETA.address()))
+        .isEqualTo(before.add(Wei.valueOf(5000)));
+  }
+
+  @Test
+  public void stateRootMustChangeWithBalances() {
+    final Web3Provider alpha = network.addFakeNode("alpha", KeyPair.random());
+    network.addFakeNode("beta", KeyPair.random());
+    network.start();
+
+    final Block genesis = alpha.rpc().getBlockByNumber(0);
+    final Hash transfer =
+        alpha.rpc().transfer(Account.ALPHA.address(), Account.BETA.address(), Wei.valueOf(5000));
+    network.awaitConsensusOnTransactionReceipt(transfer);
+
+    final Block head = alpha.rpc().getBlockByNumber(alpha.rpc().getBlockNumber());
+    assertThat(head.getStateRoot()).isNotEqualTo(genesis.getStateRoot());
+    assertThat(alpha.rpc().getBlockByNumber(0).getStateRoot()).isEqualTo(genesis.getStateRoot());
+    network.verifyConsensusOnState();
+  }
+
+  @Test
+  public void locallySignedTransfersMustBeIncludedInNonceOrder() {
+    final Web3Provider alpha = network.addFakeNode("alpha", KeyPair.random());
+    network.addFakeNode("beta", KeyPair.random());
+    network.start();
+
+    final Wei before = alpha.rpc().getBalance(Account.GAMMA.address());
+    final long nonce = alpha.rpc().getTransactionCount(Account.ALPHA.address());
+    final List<Transfer> transfers = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      transfers.add(
+          new Transfer(
+              Account.ALPHA.credentials(), Account.GAMMA.address(), Wei.valueOf(100), nonce + i));
+    }
+    final List<SignedTransaction> signed =
+        network.localSigner().signAll(transfers).getTransactions();
+
+    // submitted out of order, later nonces wait for the gap to be filled
+    final List<SignedTransaction> reversed = new ArrayList<>(signed);
+    Collections.reverse(reversed);
+    reversed.forEach(transaction -> alpha.rpc().sendRawTransaction(transaction.getEncoded()));
+
+    network.awaitConsensusOnTransactionReceipt(signed.get(signed.size() - 1).getHash());
+    assertThat(signed.get(0).getSender()).isEqualTo(Account.ALPHA.address());
+    assertThat(alpha.rpc().getTransactionCount(Account.ALPHA.address())).isEqualTo(nonce + 10);
+    assertThat(alpha.rpc().getBalance(Account.GAMMA.address()))
+        .isEqualTo(before.add(Wei.valueOf(1000)));
+  }
+
+  @Test
+  public void transitionsMustBeVerifiedFromOneSnapshotPerNode() {
+    final int pairs = 20;
+    final FundedAccounts accounts = network.fundAccounts(1234, pairs * 2);
+    final Web3Provider alpha = network.addFakeNode("alpha", KeyPair.random());
+    network.addFakeNode("beta", KeyPair.random());
+    network.start();
+
+    final List<Address> addresses = new ArrayList<>();
+    for (int i = 0; i < accounts.size(); i++) {
+      addresses.add(accounts.address(i));
+    }
+    final NodeSnapshot before = alpha.rpc().getSnapshot(addresses, List.of());
+
+    final List<Transfer> transfers = new ArrayList<>();
+    for (int i = 0; i < pairs; i++) {
+      transfers.add(
+          new Transfer(
+              accounts.credentials(i),
+              accounts.address(pairs + i),
+              Wei.valueOf(100 + i),
+              alpha.rpc().getTransactionCount(accounts.address(i))));
+    }
+    final List<SignedTransaction> signed =
+        network.localSigner().signAll(transfers).getTransactions();
+    signed.forEach(transaction -> alpha.rpc().sendRawTransaction(transaction.getEncoded()));
+    network.awaitConsensusOnTransactionReceipt(signed.get(signed.size() - 1).getHash());
+
+    final List<NodeValueTransition> transitions = new ArrayList<>();
+    for (int i = 0; i < pairs; i++) {
+      final Address sender = accounts.address(i);
+      final Address receiver = accounts.address(pairs + i);
+      transitions.add(new ValueSent(sender, before.getBalance(sender), signed.get(i).getHash()));
+      transitions.add(
+          new ValueReceived(receiver, before.getBalance(receiver), Wei.valueOf(100 + i)));
+    }
+
+    new NetworkVerify(network).transition(transitions);
+
+    final Address firstReceiver = accounts.address(pairs);
+    final NodeValueTransition wrong =
+        new ValueReceived(firstReceiver, before.getBalance(firstReceiver), Wei.valueOf(1));
+    assertThatThrownBy(() -> alpha.verifyTransition(wrong)).isInstanceOf(AssertionError.class);
+  }
+
+  @Test
+  public void fundedAccountsMustSendLoadInParallel() {
+    final FundedAccounts accounts = network.fundAccounts(1234, 50);
+    final Web3Provider alpha = network.addFakeNode("alpha", KeyPair.random());
+    final Web3Provider beta = network.addFakeNode("beta", KeyPair.random());
+    network.start();
+
+    final Wei before = alpha.rpc().getBalance(Account.GAMMA.address());
+    final LoadReport report =
+        network.generateLoad(
+            new LoadConfigurationBuilder()
+                .withTransactionsPerSecond(200)
+                .withDuration(Duration.ofMillis(500))
+                .build(),
+            TransactionSubmitter.signedTransfers(
+                List.of(alpha.rpc(), beta.rpc()),
+                network.localSigner(),
+                new NonceManager(alpha.rpc()::getTransactionCount),
+                accounts.credentials(),
+                Account.GAMMA.address(),
+                Wei.valueOf(1)));
+
+    assertThat(report.getFailed()).isZero();
+    assertThat(report.getAbandoned()).isZero();
+    assertThat(alpha.rpc().getTransactionCount(accounts.address(49))).isPositive();
+    assertThat(alpha.rpc().getBalance(Account.GAMMA.address()))
+        .isEqualTo(before.add(Wei.valueOf(report.getSucceeded())));
+  }
+
+  @Test
+  public void transferLoadMustConserveValue() {
+    final FundedAccounts accounts = network.fundAccounts(1234, 50);
+    final Web3Provider alpha = network.addFakeNode("alpha", KeyPair.random());
+    final Web3Provider beta = network.addFakeNode("beta", KeyPair.random());
+    network.start();
+
+    final long fromBlock = alpha.rpc().getBlockNumber();
+    final LoadReport load =
+        network.generateLoad(
+            new LoadConfigurationBuilder()
+                .withTransactionsPerSecond(200)
+                .withDuration(Duration.ofMillis(250))
+                .build(),
+            TransactionSubmitter.signedTransfers(
+                List.of(alpha.rpc(), beta.rpc()),
+                network.localSigner(),
+                new NonceManager(alpha.rpc()::getTransactionCount),
+                accounts.credentials(),
+                Account.GAMMA.address(),
+                Wei.valueOf(3)));
+    assertThat(load.getSucceeded()).isPositive();
+
+    final Map<String, ValueConservationReport> withRecipient =
+        network.verifyValueConservation(fromBlock, Account.GAMMA.address());
+    final ValueConservationReport report = withRecipient.get(alpha.identity());
+    assertThat(withRecipient).hasSize(2);
+    assertThat(report.getAccounts()).isEqualTo(51);
+    assertThat(report.getTransactions()).isGreaterThanOrEqualTo(load.getSucceeded());
+    assertThat(report.getGasSpent()).isPositive();
+    assertThat(report.getSent()).isZero();
+
+    final ValueConservationReport fundedOnly =
+        network.verifyValueConservation(fromBlock).get(beta.identity());
+    assertThat(fundedOnly.getSent())
+        .isEqualTo(BigInteger.valueOf(report.getTransactions() * 3));
+  }
+
+  @Test
+  public void majorityVoteMustRemoveValidator() {
+    final Web3Provider alpha = network.addFakeNode("alpha", KeyPair.random());
+    final Web3Provider beta = network.addFakeNode("beta", KeyPair.random());
+    final Web3Provider gamma = network.addFakeNode("gamma", KeyPair.random());
+    network.start();
+
+    alpha.rpc().qbftProposeValidatorVote(gamma.address(), VoteType.REMOVE);
+    beta.rpc().qbftProposeValidatorVote(gamma.address(), VoteType.REMOVE);
+    alpha.rpc().transfer(Account.ALPHA.address(), Account.BETA.address(), Wei.valueOf(1));
+
+    assertThat(gamma.rpc().qbftGetValidatorsByBlockBlockNumber("latest"))
+        .containsExactly(alpha.address(), beta.address());
+    assertThat(gamma.rpc().qbftGetValidatorsByBlockBlockNumber("0x0"))
+        .containsExactly(alpha.address(), beta.address(), gamma.address());
+  }
+
+  @Test
+  public void latencyMustDelayResponses() {
+    final Duration latency = Duration.ofMillis(50);
+    final Web3Provider alpha = network.addFakeNode("alpha", KeyPair.random(), latency);
+    network.addFakeNode("beta", KeyPair.random());
+    network.start();
+
+    final long start = System.nanoTime();
+    final long blockNumber = alpha.rpc().getBlockNumber();
+
+    assertThat(blockNumber).isZero();
+    assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(latency);
+  }
+
+  @Test
+  public void fakeNodesMustHaveConnectedPeers() {
+    final Web3Provider alpha = network.addFakeNode("alpha", KeyPair.random());
+    final Web3Provider beta = network.addFakeNode("beta", KeyPair.random());
+    network.start();
+
+    assertThat(alpha.rpc().getConnectedPeerIds()).containsExactly(beta.getEnodeId());
+    assertThat(beta.rpc().getConnectedPeerIds()).containsExactly(alpha.getEnodeId());
+  }
+
+  @Test
+  public void fakeNodesMustPeerAsTheTopology() {
+    network.set(Topology.ring());
+    final Web3Provider alpha = network.addFakeNode("alpha", KeyPair.random());
+    final Web3Provider beta = network.addFakeNode("beta", KeyPair.random());
+    final Web3Provider gamma = network.addFakeNode("gamma", KeyPair.random());
+    final Web3Provider delta = network.addFakeNode("delta", KeyPair.random());
+    network.start();
+
+    assertThat(alpha.rpc().getConnectedPeerIds())
+        .containsExactlyInAnyOrder(beta.getEnodeId(), delta.getEnodeId());
+    assertThat(gamma.rpc().getConnectedPeerIds())
+        .containsExactlyInAnyOrder(beta.getEnodeId(), delta.getEnodeId());
+    assertThat(beta.rpc().getConnectedPeerIds())
+        .containsExactlyInAnyOrder(alpha.getEnodeId(), gamma.getEnodeId());
+    assertThat(delta.rpc().getConnectedPeerIds())
+        .containsExactlyInAnyOrder(alpha.getEnodeId(), gamma.getEnodeId());
+  }
+
+  @Test
+  public void topologyMustBeSetBeforeNodesAreAdded() {
+    network.addFakeNode("alpha", KeyPair.random());
+
+    assertThatThrownBy(() -> network.set(Topology.ring()))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("Cannot set topology after adding nodes");
+  }
+
+  @Test
+  public void nodeUnreachableBeyondAwaitTimeoutMustBeFollowedAgainOnceRestarted()
+      throws InterruptedException {
+    final Web3Provider alpha = network.addFakeNode("alpha", KeyPair.random());
+    final Web3Provider beta = network.addFakeNode("beta", KeyPair.random());
+    network.start();
+    final ChainProgressMonitor monitor = network.monitorChainProgress(Duration.ofMinutes(1));
+
+    // stopped outside the Network, so its poller carries on against the unreachable node
+    beta.stop();
+    Thread.sleep(Duration.ofSeconds(Await.DEFAULT_TIMEOUT_IN_SECONDS + 5).toMillis());
+    beta.start();
+
+    alpha.rpc().transfer(Account.ALPHA.address(), Account.BETA.address(), Wei.valueOf(1));
+    final long head = alpha.rpc().getBlockNumber();
+    await(
+        () -> assertThat(monitor.progress("beta").getHead()).isGreaterThanOrEqualTo(head),
+        "Restarted node was not followed again");
+  }
+
+  @Test
+  public void restartedNodeMustHaveItsPoolFollowedAgain() {
+    final Web3Provider alpha = network.addFakeNode("alpha", KeyPair.random());
+    final Web3Provider beta = network.addFakeNode("beta", KeyPair.random());
+    network.start();
+    final TransactionGossipMonitor monitor = network.monitorTransactionGossip();
+    final TransactionSubmitter transfers =
+        monitor.track(
+            TransactionSubmitter.transfers(
+                List.of(alpha.rpc()),
+                Account.ALPHA.address(),
+                Account.BETA.address(),
+                Wei.valueOf(1)),
+            sequence -> alpha.identity());
+
+    // the restarted node has forgotten the filter installed by its poller
+    network.stop(beta);
+    network.start(beta);
+
+    final AtomicLong sequence = new AtomicLong();
+    await(
+        () -> {
+          transfers.submit(sequence.getAndIncrement());
+          assertThat(monitor.report().getGossiped()).isPositive();
+        },
+        "Pool of the restarted node was not followed again");
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.network;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import tech.pegasys.peeps.json.rpc.Cassette.Timing;
+import tech.pegasys.peeps.network.subnet.Subnet;
+import tech.pegasys.peeps.node.Account;
+import tech.pegasys.peeps.node.Web3Provider;
+import tech.pegasys.peeps.node.model.Hash;
+
+import java.nio.file.Path;
+import java.security.Security;
+
+import org.apache.tuweni.crypto.SECP256K1.KeyPair;
+import org.apache.tuweni.units.ethereum.Wei;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class NetworkReplayTest {
+
+  static {
+    Security.addProvider(new BouncyCastleProvider());
+  }
+
+  private final KeyPair alphaKeys = KeyPair.random();
+  private final KeyPair betaKeys = KeyPair.random();
+
+  @Mock private Subnet subnet;
+  @Mock private org.testcontainers.containers.Network containerNetwork;
+  @TempDir Path configurationDirectory;
+
+  @Test
+  public void replayMustNotCreateDockerNetwork() {
+    final Path cassette = configurationDirectory.resolve("cassette.jsonl.gz");
+    when(subnet.network()).thenReturn(containerNetwork);
+
+    final Hash recorded;
+    try (final Network recording = new Network(configurationDirectory, subnet)) {
+      recording.record(cassette);
+      recorded = transfer(recording);
+    }
+
+    final Subnet unused = spy(new Subnet());
+    try (final Network replaying = new Network(configurationDirectory, unused)) {
+      replaying.replay(cassette, Timing.COMPRESSED);
+      assertThat(transfer(replaying)).isEqualTo(recorded);
+    }
+
+    verify(unused, never()).network();
+    verify(unused, never()).getAddressAndIncrement();
+  }
+
+  private Hash transfer(final Network network) {
+    final Web3Provider alpha = network.addFakeNode("alpha", alphaKeys);
+    network.addFakeNode("beta", betaKeys);
+    network.start();
+
+    return alpha.rpc().transfer(Account.ALPHA.address(), Account.BETA.address(), Wei.valueOf(5000));
+  }
+}
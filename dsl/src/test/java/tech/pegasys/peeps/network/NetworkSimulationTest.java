@@ -0,0 +1,292 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.network;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+import static tech.pegasys.peeps.util.Await.await;
+
+import tech.pegasys.peeps.load.LoadConfigurationBuilder;
+import tech.pegasys.peeps.load.TransactionSubmitter;
+import tech.pegasys.peeps.monitor.BlockPropagationMonitor;
+import tech.pegasys.peeps.monitor.BlockPropagationReport;
+import tech.pegasys.peeps.monitor.LatencyReport;
+import tech.pegasys.peeps.monitor.TransactionGossipMonitor;
+import tech.pegasys.peeps.monitor.TransactionGossipReport;
+import tech.pegasys.peeps.monitor.TransactionTracker;
+import tech.pegasys.peeps.network.subnet.Subnet;
+import tech.pegasys.peeps.node.Account;
+import tech.pegasys.peeps.node.Web3Provider;
+import tech.pegasys.peeps.node.fake.Fault;
+import tech.pegasys.peeps.node.fake.SimulatedConsensus;
+import tech.pegasys.peeps.node.fake.SimulationConfigurationBuilder;
+import tech.pegasys.peeps.util.ResourceProbe;
+import tech.pegasys.peeps.util.ResourceUsage;
+
+import java.nio.file.Path;
+import java.security.Security;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.tuweni.crypto.SECP256K1.KeyPair;
+import org.apache.tuweni.units.ethereum.Wei;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class NetworkSimulationTest {
+
+  static {
+    Security.addProvider(new BouncyCastleProvider());
+  }
+
+  private static final Logger LOG = LogManager.getLogger();
+  private static final Duration BLOCK_PERIOD = Duration.ofMillis(100);
+  private static final int SCALE_NODES = 500;
+  private static final long MAX_HEAP_GROWTH_PER_NODE_BYTES = 1024 * 1024;
+
+  @Mock private Subnet subnet;
+  @Mock private org.testcontainers.containers.Network containerNetwork;
+  @TempDir Path configurationDirectory;
+
+  private Network network;
+  private SimulatedConsensus simulation;
+
+  @BeforeEach
+  public void setUp() {
+    when(subnet.network()).thenReturn(containerNetwork);
+    network = new Network(configurationDirectory, subnet);
+    simulation =
+        network.simulateConsensus(
+            new SimulationConfigurationBuilder()
+                .withBlockPeriod(BLOCK_PERIOD)
+                .withPropagation(Duration.ofMillis(5), Duration.ofMillis(30))
+                .withSeed(42)
+                .build());
+  }
+
+  @AfterEach
+  public void tearDown() {
+    network.close();
+  }
+
+  @Test
+  public void hundredsOfNodesMustImportBlocksOnBoundedResources() {
+    final ResourceProbe probe = ResourceProbe.start();
+    final List<Web3Provider> nodes = addFakeNodes(SCALE_NODES);
+    network.start();
+
+    awaitBlockNumber(nodes, 5);
+    network.verifyConsensusOnValue(Account.ALPHA.address());
+
+    final ResourceUsage usage = probe.stop();
+    LOG.info("DSL cost of {} simulated nodes: {}", nodes.size(), usage);
+    // fake nodes share the event loops of one Vert.x instance, rather than taking threads each
+    assertThat(usage.getThreadGrowth()).isLessThan(nodes.size() / 2);
+    assertThat(usage.getHeapGrowthBytes() / nodes.size())
+        .isLessThan(MAX_HEAP_GROWTH_PER_NODE_BYTES);
+  }
+
+  @Test
+  public void lossOfQuorumMustHaltBlockProductionUntilRestored() {
+    final List<Web3Provider> nodes = addFakeNodes(4);
+    network.start();
+    awaitBlockNumber(nodes, 1);
+
+    network.monitorChainProgress(BLOCK_PERIOD.multipliedBy(3));
+    final NetworkVerify verify = new NetworkVerify(network);
+
+    simulation.fault(nodes.get(2).address(), Fault.PARTITIONED);
+    simulation.fault(nodes.get(3).address(), Fault.CRASHED);
+    verify.chainStalled(nodes.get(0), nodes.get(1));
+
+    simulation.fault(nodes.get(2).address(), Fault.NONE);
+    verify.chainProgressing(nodes.get(0), nodes.get(1), nodes.get(2));
+  }
+
+  @Test
+  public void partitionedNodeMustCatchUpAfterHealing() {
+    final List<Web3Provider> nodes = addFakeNodes(4);
+    final Web3Provider partitioned = nodes.get(3);
+    network.start();
+
+    simulation.fault(partitioned.address(), Fault.PARTITIONED);
+    awaitBlockNumber(nodes.subList(0, 3), 3);
+    assertThat(partitioned.rpc().getBlockNumber()).isZero();
+    assertThat(partitioned.rpc().getConnectedPeerIds()).isEmpty();
+
+    simulation.fault(partitioned.address(), Fault.NONE);
+    awaitBlockNumber(List.of(partitioned), nodes.get(0).rpc().getBlockNumber());
+    new NetworkVerify(network).noFork();
+  }
+
+  @Test
+  public void quorumVerificationMustNotWaitOnSlowNode() {
+    final List<Web3Provider> nodes = addFakeNodes(4);
+    final Web3Provider slow = nodes.get(3);
+    network.start();
+    simulation.fault(slow.address(), Fault.SLOW);
+
+    final QuorumVerification<Long> verification =
+        new NetworkVerify(network).quorumOnBlockNumberIsAtLeast(3);
+
+    assertThat(verification.getQuorum()).isEqualTo(3);
+    assertThat(verification.getAgreed()).hasSize(3).doesNotContainKey(slow.identity());
+    assertThat(verification.getLaggards()).containsExactly(slow.identity());
+    assertThat(verification.getQuorumLatency()).isLessThan(Duration.ofSeconds(2));
+
+    assertThat(verification.awaitAll()).hasSize(4).containsKey(slow.identity());
+    assertThat(verification.getLatencies().get(slow.identity()))
+        .isGreaterThan(verification.getQuorumLatency());
+  }
+
+  @Test
+  public void invariantBreachMustEndLoadEarly() {
+    final List<Web3Provider> nodes = addFakeNodes(4);
+    final Web3Provider partitioned = nodes.get(3);
+    network.start();
+    network.monitorInvariants(BLOCK_PERIOD.multipliedBy(20), 1);
+    simulation.fault(partitioned.address(), Fault.PARTITIONED);
+
+    final long start = System.nanoTime();
+    assertThatThrownBy(
+            () ->
+                network.generateLoad(
+                    new LoadConfigurationBuilder()
+                        .withTransactionsPerSecond(20)
+                        .withDuration(Duration.ofMinutes(1))
+                        .build(),
+                    TransactionSubmitter.transfers(
+                        List.of(nodes.get(0).rpc()),
+                        Account.ALPHA.address(),
+                        Account.BETA.address(),
+                        Wei.valueOf(1))))
+        .isInstanceOf(AssertionError.class)
+        .hasMessageContaining("PEERS on " + partitioned.identity());
+
+    assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(10));
+    assertThatThrownBy(new NetworkVerify(network)::invariants).isInstanceOf(AssertionError.class);
+  }
+
+  @Test
+  public void latencyReportMustCoverEveryTrackedTransaction() {
+    final List<Web3Provider> nodes = addFakeNodes(4);
+    network.start();
+    final TransactionTracker tracker = network.trackTransactions();
+    final TransactionSubmitter transfers =
+        tracker.track(
+            TransactionSubmitter.transfers(
+                List.of(nodes.get(0).rpc(), nodes.get(1).rpc()),
+                Account.ALPHA.address(),
+                Account.BETA.address(),
+                Wei.valueOf(1)),
+            sequence -> nodes.get((int) (sequence % 2)).identity(),
+            "transfer");
+
+    for (long sequence = 0; sequence < 10; sequence++) {
+      transfers.submit(sequence);
+    }
+
+    final NetworkVerify verify = new NetworkVerify(network);
+    await(
+        () ->
+            assertThat(verify.latencyReport().getConsensus().getOverall().getCount()).isEqualTo(10),
+        "Tracked transactions failed to reach every node");
+    final LatencyReport report = verify.latencyReport();
+    LOG.info(report);
+
+    assertThat(report.getInclusion().getOverall().getCount()).isEqualTo(10);
+    assertThat(report.getConsensus().getOverall().getP50())
+        .isGreaterThanOrEqualTo(report.getInclusion().getOverall().getP50());
+    assertThat(report.getInclusion().getByEntryNode()).hasSize(2);
+    assertThat(report.getInclusion().getByNodeType()).containsOnlyKeys("FakeWeb3Provider");
+    assertThat(report.getInclusion().getByKind().get("transfer").getCount()).isEqualTo(10);
+  }
+
+  @Test
+  public void blockPropagationMustBeMeasuredAcrossEveryNode() {
+    final List<Web3Provider> nodes = addFakeNodes(4);
+    network.start();
+    final BlockPropagationMonitor monitor = network.monitorBlockPropagation();
+
+    await(
+        () -> assertThat(monitor.report().getPropagated()).isGreaterThanOrEqualTo(3),
+        "Blocks failed to reach every node");
+    final BlockPropagationReport report = monitor.report();
+    LOG.info(report);
+
+    assertThat(report.getByNode()).hasSize(nodes.size());
+    assertThat(report.getByNodeType()).containsOnlyKeys("FakeWeb3Provider");
+    assertThat(report.getDelay().getCount()).isEqualTo(report.getPropagated() * nodes.size());
+    assertThat(report.getSpread().getMax()).isLessThan(BLOCK_PERIOD.multipliedBy(2));
+  }
+
+  @Test
+  public void transactionGossipMustBeMeasuredForEveryPairOfNodes() {
+    final List<Web3Provider> nodes = addFakeNodes(3);
+    network.start();
+    final TransactionGossipMonitor monitor = network.monitorTransactionGossip();
+    final TransactionSubmitter transfers =
+        monitor.track(
+            TransactionSubmitter.transfers(
+                List.of(nodes.get(0).rpc(), nodes.get(1).rpc()),
+                Account.ALPHA.address(),
+                Account.BETA.address(),
+                Wei.valueOf(1)),
+            sequence -> nodes.get((int) (sequence % 2)).identity());
+
+    for (long sequence = 0; sequence < 10; sequence++) {
+      transfers.submit(sequence);
+    }
+
+    await(
+        () -> assertThat(monitor.report().getGossiped()).isEqualTo(10),
+        "Transactions failed to reach every pool");
+    final TransactionGossipReport report = monitor.report();
+    LOG.info(report);
+
+    assertThat(report.getOverall().getCount()).isEqualTo(20);
+    assertThat(report.getBySource()).hasSize(2);
+    assertThat(report.getBySource().get(nodes.get(0).identity()))
+        .containsOnlyKeys(nodes.get(1).identity(), nodes.get(2).identity());
+  }
+
+  private List<Web3Provider> addFakeNodes(final int count) {
+    final List<Web3Provider> nodes = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      nodes.add(network.addFakeNode("node-" + i, KeyPair.random()));
+    }
+    return nodes;
+  }
+
+  private void awaitBlockNumber(final List<Web3Provider> nodes, final long blockNumber) {
+    await(
+        () -> {
+          for (final Web3Provider node : nodes) {
+            assertThat(node.rpc().getBlockNumber()).isGreaterThanOrEqualTo(blockNumber);
+          }
+        },
+        "Nodes failed to import block %s",
+        blockNumber);
+  }
+}
@@ -15,6 +15,13 @@ package tech.pegasys.peeps.network;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import org.junit.jupiter.api.Test;
 
 public class NetworkStateTest {
@@ -217,4 +224,40 @@ public class NetworkStateTest {
     assertThat(exception.getMessage())
         .isEqualTo("Only a Network in a stopped state can be closed. Current state: CLOSED");
   }
+
+  @Test
+  public void concurrentStartsMustOnlyTransitionOnce() throws Exception {
+    final NetworkState state = new NetworkState();
+    final int threads = 8;
+    final ExecutorService executor = Executors.newFixedThreadPool(threads);
+    final CountDownLatch ready = new CountDownLatch(1);
+    final List<Future<Boolean>> starts = new ArrayList<>();
+
+    try {
+      for (int i = 0; i < threads; i++) {
+        starts.add(
+            executor.submit(
+                () -> {
+                  ready.await();
+                  try {
+                    state.start();
+                    return true;
+                  } catch (final IllegalStateException e) {
+                    return false;
+                  }
+                }));
+      }
+      ready.countDown();
+
+      int started = 0;
+      for (final Future<Boolean> start : starts) {
+        started += start.get() ? 1 : 0;
+      }
+
+      assertThat(started).isEqualTo(1);
+      assertThat(state.isStarted()).isTrue();
+    } finally {
+      executor.shutdownNow();
+    }
+  }
 }
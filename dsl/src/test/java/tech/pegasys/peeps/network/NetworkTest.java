@@ -14,7 +14,8 @@ package tech.pegasys.peeps.network;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 
@@ -99,7 +100,6 @@ public class NetworkTest {
     network.start();
     network.close();
 
-    verify(node).awaitConnectivity(anyCollection());
     verify(node).start();
     verify(node).stop();
     verifyNoMoreInteractions(node);
@@ -112,9 +112,81 @@ public class NetworkTest {
     network.stop();
     network.close();
 
-    verify(node).awaitConnectivity(anyCollection());
     verify(node).start();
     verify(node).stop();
     verifyNoMoreInteractions(node);
   }
+
+  @Test
+  public void stoppedMemberMustNotBeStoppedAgainByNetwork() {
+    network.addNode(node);
+    network.start();
+    network.stop(node);
+    network.stop();
+
+    verify(node).start();
+    verify(node).stop();
+    verifyNoMoreInteractions(node);
+  }
+
+  @Test
+  public void restartOfStoppedMemberMustStartIt() {
+    network.addNode(node);
+    network.start();
+    network.stop(node);
+    network.start(node);
+    network.close();
+
+    verify(node, times(2)).start();
+    verify(node, times(2)).stop();
+    verifyNoMoreInteractions(node);
+  }
+
+  @Test
+  public void stopOfStoppedMemberMustException() {
+    network.addNode(node);
+    network.start();
+    network.stop(node);
+
+    final Exception exception =
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> {
+              network.stop(node);
+            });
+
+    assertThat(exception.getMessage()).startsWith("Member is already stopped");
+  }
+
+  @Test
+  public void startOfRunningMemberMustException() {
+    network.addNode(node);
+    network.start();
+
+    final Exception exception =
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> {
+              network.start(node);
+            });
+
+    assertThat(exception.getMessage()).startsWith("Member is not stopped");
+  }
+
+  @Test
+  public void bftQuorumMustBeTwoThirdsRoundedUp() {
+    assertThat(bftQuorumOf(1)).isEqualTo(1);
+    assertThat(bftQuorumOf(3)).isEqualTo(2);
+    assertThat(bftQuorumOf(4)).isEqualTo(3);
+    assertThat(bftQuorumOf(6)).isEqualTo(4);
+  }
+
+  private int bftQuorumOf(final int nodes) {
+    try (final Network sized = new Network(configurationDirectory, subnet)) {
+      for (int i = 0; i < nodes; i++) {
+        sized.addNode(mock(Besu.class));
+      }
+      return sized.bftQuorum();
+    }
+  }
 }
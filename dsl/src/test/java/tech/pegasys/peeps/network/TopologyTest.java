@@ -0,0 +1,73 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.network;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.BitSet;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class TopologyTest {
+
+  @Test
+  public void ringMustLinkNeighbours() {
+    final List<BitSet> links = Topology.ring().links(4);
+
+    assertThat(links.get(0).stream()).containsExactly(1, 3);
+    assertThat(links.get(2).stream()).containsExactly(1, 3);
+  }
+
+  @Test
+  public void hubAndSpokeMustSpreadSpokesAcrossHubs() {
+    final List<BitSet> links = Topology.hubAndSpoke(2).links(6);
+
+    assertThat(links.get(0).stream()).containsExactly(1, 2, 4);
+    assertThat(links.get(1).stream()).containsExactly(0, 3, 5);
+    assertThat(links.get(5).stream()).containsExactly(1);
+  }
+
+  @Test
+  public void clustersMustBeJoinedByGateways() {
+    final List<BitSet> links = Topology.clusters(2).links(6);
+
+    assertThat(links.get(0).stream()).containsExactly(1, 2, 3);
+    assertThat(links.get(1).stream()).containsExactly(0, 2);
+    assertThat(links.get(3).stream()).containsExactly(0, 4, 5);
+  }
+
+  @Test
+  public void randomRegularMustGiveEveryNodeTheDegree() {
+    final List<BitSet> links = Topology.randomRegular(3, 42).links(20);
+
+    for (int node = 0; node < links.size(); node++) {
+      assertThat(links.get(node).cardinality()).isEqualTo(3);
+      assertThat(links.get(node).get(node)).isFalse();
+      for (final int peer : links.get(node).stream().toArray()) {
+        assertThat(links.get(peer).get(node)).isTrue();
+      }
+    }
+    assertThat(Topology.randomRegular(3, 42).links(20)).isEqualTo(links);
+  }
+
+  @Test
+  public void randomRegularMustRejectOddTotalDegree() {
+    final Topology topology = Topology.randomRegular(3, 42);
+
+    assertThatThrownBy(() -> topology.links(5))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("even number of nodes");
+  }
+}
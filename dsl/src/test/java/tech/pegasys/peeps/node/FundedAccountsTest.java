@@ -0,0 +1,67 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.node;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.peeps.node.model.GenesisAddress;
+
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.web3j.utils.Numeric;
+
+public class FundedAccountsTest {
+
+  @Test
+  public void sameSeedMustDeriveSameAccounts() {
+    final FundedAccounts first = new FundedAccounts(42, 10);
+    final FundedAccounts second = new FundedAccounts(42, 10);
+
+    IntStream.range(0, 10)
+        .forEach(
+            i -> {
+              assertThat(first.address(i)).isEqualTo(second.address(i));
+              assertThat(first.credentials(i).getEcKeyPair())
+                  .isEqualTo(second.credentials(i).getEcKeyPair());
+            });
+  }
+
+  @Test
+  public void differentSeedMustDeriveDifferentAccounts() {
+    assertThat(new FundedAccounts(1, 1).address(0))
+        .isNotEqualTo(new FundedAccounts(2, 1).address(0));
+  }
+
+  @Test
+  public void derivedKeysMustBeCached() {
+    final FundedAccounts accounts = new FundedAccounts(7, 3);
+
+    assertThat(accounts.credentials(1)).isSameAs(accounts.credentials(1));
+  }
+
+  @Test
+  public void allocMustFundEveryDistinctAccount() {
+    final FundedAccounts accounts = new FundedAccounts(7, 1000);
+
+    assertThat(accounts.alloc()).hasSize(1000);
+    assertThat(accounts.alloc().keySet())
+        .isEqualTo(
+            accounts
+                .credentials()
+                .stream()
+                .map(account -> new GenesisAddress(Numeric.cleanHexPrefix(account.getAddress())))
+                .collect(Collectors.toSet()));
+  }
+}
@@ -19,12 +19,16 @@ import tech.pegasys.peeps.json.Json;
 import tech.pegasys.peeps.node.Account;
 import tech.pegasys.peeps.node.genesis.ethhash.EthHashConfig;
 import tech.pegasys.peeps.node.genesis.ethhash.GenesisConfigEthHash;
+import tech.pegasys.peeps.node.model.GenesisAddress;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.attribute.FileTime;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import io.vertx.core.json.DecodeException;
 import org.junit.jupiter.api.Test;
@@ -72,6 +76,25 @@ public class GenesisFileTest {
     assertThat(Arrays.areEqual(bytes(genesis), bytes(location))).isTrue();
   }
 
+  @Test
+  public void largeAllocMustBeStreamedAndMatched(@TempDir Path directory) throws IOException {
+    final Path location = directory.resolve("largeAllocMustBeStreamedAndMatched.json");
+    final GenesisFile genesisFile = new GenesisFile(location);
+    final Map<GenesisAddress, GenesisAccount> alloc =
+        IntStream.range(0, 100_000)
+            .boxed()
+            .collect(
+                Collectors.toMap(
+                    i -> new GenesisAddress(String.format("%040x", i)),
+                    i -> new GenesisAccount("0x1")));
+    final Genesis genesis = new Genesis(new GenesisConfigEthHash(123, new EthHashConfig()), alloc);
+
+    genesisFile.ensureExists(genesis);
+    genesisFile.ensureExists(genesis);
+
+    assertThat(Arrays.areEqual(bytes(genesis), bytes(location))).isTrue();
+  }
+
   private Genesis createGenesis(final Account... accounts) {
     return new Genesis(new GenesisConfigEthHash(123, new EthHashConfig()), Account.of(accounts));
   }
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.node.genesis;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.peeps.json.Json;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import io.vertx.core.json.JsonObject;
+import org.apache.tuweni.units.bigints.UInt256;
+import org.junit.jupiter.api.Test;
+
+public class GenesisStorageTest {
+
+  /* keccak256 of slot zero, where the elements of an array at slot zero start. */
+  private static final String ARRAY_AT_SLOT_ZERO =
+      "0x290decd9548b62a8d60345a988386fc84ba6bc95484008f6362f93160ef3e563";
+
+  /* keccak256 of key zero and slot zero, the entry for key zero in a mapping at slot zero. */
+  private static final String MAPPING_AT_SLOT_ZERO =
+      "0xad3228b676f7d3cd4284a5443f17f1962b36e491b30a40b2405849e597ba5fb5";
+
+  @Test
+  public void arrayMustHoldLengthAndElementsFromKeccakOfSlot() throws IOException {
+    final Map<String, String> slots = slots(new GenesisStorage().array(0, 3, UInt256::valueOf));
+
+    assertThat(slots).hasSize(4);
+    assertThat(slots).containsEntry(hex(0), hex(3));
+    assertThat(slots).containsEntry(ARRAY_AT_SLOT_ZERO, hex(0));
+    assertThat(slots)
+        .containsEntry(
+            UInt256.fromHexString(ARRAY_AT_SLOT_ZERO).add(2).toBytes().toHexString(), hex(2));
+  }
+
+  @Test
+  public void mappingMustHoldEntriesAtKeccakOfKeyAndSlot() throws IOException {
+    final Map<String, String> slots =
+        slots(new GenesisStorage().mapping(0, 10, key -> UInt256.valueOf(key + 100)));
+
+    assertThat(slots).hasSize(10);
+    assertThat(slots).containsEntry(MAPPING_AT_SLOT_ZERO, hex(100));
+  }
+
+  @Test
+  public void contractMustBeEncodedWithCodeStorageAndNonce() {
+    final GenesisStorage storage = new GenesisStorage().slot(1, UInt256.valueOf(42));
+
+    final JsonObject account =
+        new JsonObject(Json.encode(GenesisAccount.contract("0x6000", storage)));
+
+    assertThat(account.getString("code")).isEqualTo("0x6000");
+    assertThat(account.getString("nonce")).isEqualTo("0x1");
+    assertThat(account.getJsonObject("storage").getString(hex(1))).isEqualTo(hex(42));
+  }
+
+  @Test
+  public void sizeMustCountEverySlot() {
+    final GenesisStorage storage =
+        new GenesisStorage()
+            .slot(0, UInt256.ONE)
+            .array(1, 1000, UInt256::valueOf)
+            .mapping(2, 5000, UInt256::valueOf);
+
+    assertThat(storage.size()).isEqualTo(1 + 1001 + 5000);
+  }
+
+  private static Map<String, String> slots(final GenesisStorage storage) throws IOException {
+    final Map<String, String> slots = new HashMap<>();
+    storage.forEachSlot(
+        (slot, value) -> slots.put(slot.toBytes().toHexString(), value.toBytes().toHexString()));
+    return slots;
+  }
+
+  private static String hex(final long value) {
+    return UInt256.valueOf(value).toBytes().toHexString();
+  }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.node.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+public class FingerprintTest {
+
+  private static final String SENDER = "0x627306090abab3a6e1400e9345bc60c78a8bef57";
+
+  @Test
+  public void receiptsWithEqualContentMustShareFingerprint() {
+    assertThat(receipt("0x1").fingerprint()).isEqualTo(receipt("0x1").fingerprint());
+    assertThat(receipt("0x1").fingerprint()).isNotEqualTo(receipt("0x0").fingerprint());
+  }
+
+  @Test
+  public void hexCaseMustNotChangeFingerprint() {
+    assertThat(Fingerprint.of("0xABCDEF", null)).isEqualTo(Fingerprint.of("0xabcdef", null));
+  }
+
+  @Test
+  public void fieldBoundariesMustChangeFingerprint() {
+    assertThat(Fingerprint.of("ab", "c")).isNotEqualTo(Fingerprint.of("a", "bc"));
+    assertThat(Fingerprint.of((Object) new String[] {"a", "b"}))
+        .isNotEqualTo(Fingerprint.of((Object) new String[] {"ab"}));
+  }
+
+  private static TransactionReceipt receipt(final String status) {
+    return new TransactionReceipt(
+        new Hash("0xb1"),
+        "0x1",
+        SENDER,
+        new Hash("0x01"),
+        "0x0",
+        status,
+        "0x5208",
+        "0x5208",
+        "0x0");
+  }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.peeps.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class LocalProcessRuntimeTest {
+
+  @TempDir Path distribution;
+
+  @Test
+  public void closeMustDeleteWorkingDirectory() throws IOException {
+    final Path executable = Files.createFile(distribution.resolve("client"));
+    assertThat(executable.toFile().setExecutable(true)).isTrue();
+    final Path genesis = Files.writeString(distribution.resolve("genesis.json"), "{}");
+    final LocalProcessRuntime runtime = new LocalProcessRuntime("alpha", executable, 8545);
+    Files.createDirectories(Path.of(runtime.resolveDirectory("/opt/data/database")));
+    runtime.provisionFile(genesis, "/etc/genesis.json");
+
+    runtime.close();
+
+    assertThat(runtime.workingDirectory()).doesNotExist();
+  }
+}
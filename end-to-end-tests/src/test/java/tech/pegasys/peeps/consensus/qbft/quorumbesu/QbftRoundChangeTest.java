@@ -12,16 +12,14 @@
  */
 package tech.pegasys.peeps.consensus.qbft.quorumbesu;
 
-import static org.assertj.core.api.Assertions.assertThat;
-
 import tech.pegasys.peeps.NetworkTest;
 import tech.pegasys.peeps.network.ConsensusMechanism;
 import tech.pegasys.peeps.network.Network;
 import tech.pegasys.peeps.node.Web3Provider;
 import tech.pegasys.peeps.node.Web3ProviderType;
 import tech.pegasys.peeps.node.genesis.bft.BftConfig;
-import tech.pegasys.peeps.util.Await;
 
+import java.time.Duration;
 import java.util.List;
 
 import org.apache.tuweni.crypto.SECP256K1.KeyPair;
@@ -29,6 +27,7 @@ import org.junit.jupiter.api.Test;
 
 public class QbftRoundChangeTest extends NetworkTest {
 
+  private Network network;
   private Web3Provider quorumNode1;
   private Web3Provider quorumNode2;
   private Web3Provider besuNode1;
@@ -36,6 +35,7 @@ public class QbftRoundChangeTest extends NetworkTest {
 
   @Override
   protected void setUpNetwork(final Network network) {
+    this.network = network;
     besuNode1 = network.addNode("besu1", KeyPair.random());
     besuNode2 = network.addNode("besu2", KeyPair.random());
     quorumNode1 = network.addNode("quorum1", KeyPair.random(), Web3ProviderType.GOQUORUM);
@@ -46,33 +46,21 @@ public class QbftRoundChangeTest extends NetworkTest {
   @Test
   public void roundChangesWhenNodesLessThanQuorum() {
     verify().consensusOnBlockNumberIsAtLeast(1);
+    network.monitorChainProgress(Duration.ofSeconds(BftConfig.DEFAULT_BLOCK_PERIOD_SECONDS * 2));
 
-    besuNode1.stop();
-    quorumNode1.stop();
+    network.stop(besuNode1, quorumNode1);
 
     // network should now be stalled and creating round changes
     final List<Web3Provider> runningNodes = List.of(besuNode2, quorumNode2);
     besuNode2.awaitConnectivity(runningNodes);
     quorumNode2.awaitConnectivity(runningNodes);
 
-    runningNodes.forEach(this::verifyChainStalled);
+    verify().chainStalled(besuNode2, quorumNode2);
 
     // network should function and start producing blocks after starting the two stopped nodes
     final long stalledBlockNumber = quorumNode2.rpc().getBlockNumber();
-    besuNode1.start();
-    quorumNode1.start();
+    network.start(besuNode1, quorumNode1);
     verify().consensusOnBlockNumberIsAtLeast(stalledBlockNumber + 1);
-  }
-
-  private void verifyChainStalled(final Web3Provider web3Provider) {
-    Await.await(
-        () -> {
-          final long startBlockNumber = web3Provider.rpc().getBlockNumber();
-          Thread.sleep(BftConfig.DEFAULT_BLOCK_PERIOD_SECONDS * 2);
-          final long currentBlockNumber = web3Provider.rpc().getBlockNumber();
-          assertThat(currentBlockNumber).isEqualTo(startBlockNumber);
-        },
-        "Node %s has not stalled",
-        web3Provider.getNodeId());
+    verify().chainProgressing(besuNode1, besuNode2, quorumNode1, quorumNode2);
   }
 }